@@ -0,0 +1,304 @@
+﻿package sep.football;
+
+import java.io.Serializable;
+
+/**
+ * A reusable buffer of player actions, which is submitted to a
+ * {@link BatchActionHandler} at once.
+ *
+ * <p>The commands are stored in primitive arrays, so filling and submitting
+ * the buffer does not allocate memory. The buffer is meant to be created once
+ * by the AI and cleared at the beginning of each tick. After submission, the
+ * result of each command can be read via {@link #getStatus(int)}.</p>
+ *
+ * <p>A buffer holds the complete decision of an AI for one tick in a compact
+ * form and can therefore be serialized, e.g. to record or replay
+ * decisions.</p>
+ */
+public final class ActionCommandBuffer implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Action type of {@link ActionHandler#changePlayerDirection(int, Position, double)}.
+	 * The direction is relative to the player's position, the value is the
+	 * target speed.
+	 */
+	public static final byte ACTION_CHANGE_PLAYER_DIRECTION = 0;
+
+	/**
+	 * Action type of {@link ActionHandler#kickBall(int, Position, double)}.
+	 * The direction is relative to the player's position, the value is the
+	 * strength.
+	 */
+	public static final byte ACTION_KICK_BALL = 1;
+
+	/**
+	 * Action type of {@link FreePlayActionHandler#acquireBallControl(int, double)}.
+	 * The direction is ignored, the value is the determination.
+	 */
+	public static final byte ACTION_ACQUIRE_BALL_CONTROL = 2;
+
+	/**
+	 * Action type of {@link KickActionHandler#placePlayer(int, Position)}.
+	 * The direction is the absolute target position, the value is ignored.
+	 */
+	public static final byte ACTION_PLACE_PLAYER = 3;
+
+	/**
+	 * Status of a command that has not been submitted yet.
+	 */
+	public static final byte STATUS_PENDING = 0;
+
+	/**
+	 * Status of a command that has been executed.
+	 */
+	public static final byte STATUS_EXECUTED = 1;
+
+	/**
+	 * Status of a command that refers to a player id that does not exist.
+	 */
+	public static final byte STATUS_INVALID_PLAYER = 2;
+
+	/**
+	 * Status of a command with a strength, speed or determination out of its
+	 * valid range.
+	 */
+	public static final byte STATUS_INVALID_VALUE = 3;
+
+	/**
+	 * Status of a command for a player that is still blocked.
+	 */
+	public static final byte STATUS_PLAYER_BLOCKED = 4;
+
+	/**
+	 * Status of a kick by a player that is not in possession of the ball.
+	 */
+	public static final byte STATUS_NO_BALL_POSSESSION = 5;
+
+	/**
+	 * Status of a command that is not permitted in the current tick, e.g. an
+	 * action not supported by the action handler or a submission to an action
+	 * handler of a past tick.
+	 */
+	public static final byte STATUS_NOT_PERMITTED = 6;
+
+	private final int[] playerIds;
+
+	private final byte[] actionTypes;
+
+	private final double[] directionX;
+
+	private final double[] directionY;
+
+	private final double[] values;
+
+	private final byte[] statuses;
+
+	private int size;
+
+	/**
+	 * Creates an empty buffer.
+	 *
+	 * @param capacity
+	 *            The maximum number of commands the buffer can hold.
+	 */
+	public ActionCommandBuffer(int capacity) {
+		if (capacity < 0)
+			throw new IllegalArgumentException("capacity must not be negative");
+
+		this.playerIds = new int[capacity];
+		this.actionTypes = new byte[capacity];
+		this.directionX = new double[capacity];
+		this.directionY = new double[capacity];
+		this.values = new double[capacity];
+		this.statuses = new byte[capacity];
+	}
+
+	/**
+	 * Removes all commands from the buffer.
+	 */
+	public void clear() {
+		this.size = 0;
+	}
+
+	/**
+	 * Returns the number of commands in the buffer.
+	 *
+	 * @return The number of commands.
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	/**
+	 * Returns the maximum number of commands the buffer can hold.
+	 *
+	 * @return The capacity of the buffer.
+	 */
+	public int getCapacity() {
+		return this.playerIds.length;
+	}
+
+	/**
+	 * Appends a command to the buffer.
+	 *
+	 * @param playerId
+	 *            The id of the player in the AI's team.
+	 * @param actionType
+	 *            One of the <code>ACTION_</code> constants.
+	 * @param x
+	 *            The x-coordinate of the direction or position.
+	 * @param y
+	 *            The y-coordinate of the direction or position.
+	 * @param value
+	 *            The speed, strength or determination of the action.
+	 * @throws IllegalStateException
+	 *             Thrown, if the buffer is full.
+	 */
+	public void add(int playerId, byte actionType, double x, double y,
+			double value) throws IllegalStateException {
+		if (this.size == this.playerIds.length)
+			throw new IllegalStateException("Command buffer is full");
+
+		this.playerIds[this.size] = playerId;
+		this.actionTypes[this.size] = actionType;
+		this.directionX[this.size] = x;
+		this.directionY[this.size] = y;
+		this.values[this.size] = value;
+		this.statuses[this.size] = STATUS_PENDING;
+		this.size++;
+	}
+
+	/**
+	 * Appends a {@link #ACTION_CHANGE_PLAYER_DIRECTION} command.
+	 *
+	 * @see ActionHandler#changePlayerDirection(int, Position, double)
+	 */
+	public void addChangePlayerDirection(int playerId, double directionX,
+			double directionY, double targetSpeed) {
+		this.add(playerId, ACTION_CHANGE_PLAYER_DIRECTION, directionX,
+				directionY, targetSpeed);
+	}
+
+	/**
+	 * Appends a {@link #ACTION_KICK_BALL} command.
+	 *
+	 * @see ActionHandler#kickBall(int, Position, double)
+	 */
+	public void addKickBall(int playerId, double directionX, double directionY,
+			double strength) {
+		this.add(playerId, ACTION_KICK_BALL, directionX, directionY, strength);
+	}
+
+	/**
+	 * Appends a {@link #ACTION_ACQUIRE_BALL_CONTROL} command.
+	 *
+	 * @see FreePlayActionHandler#acquireBallControl(int, double)
+	 */
+	public void addAcquireBallControl(int playerId, double determination) {
+		this.add(playerId, ACTION_ACQUIRE_BALL_CONTROL, 0, 0, determination);
+	}
+
+	/**
+	 * Appends a {@link #ACTION_PLACE_PLAYER} command.
+	 *
+	 * @see KickActionHandler#placePlayer(int, Position)
+	 */
+	public void addPlacePlayer(int playerId, double x, double y) {
+		this.add(playerId, ACTION_PLACE_PLAYER, x, y, 0);
+	}
+
+	/**
+	 * Returns the player id of a command.
+	 *
+	 * @param index
+	 *            The index of the command in [0, {@link #size()}[.
+	 * @return The id of the player in the AI's team.
+	 */
+	public int getPlayerId(int index) {
+		this.checkIndex(index);
+		return this.playerIds[index];
+	}
+
+	/**
+	 * Returns the action type of a command.
+	 *
+	 * @param index
+	 *            The index of the command in [0, {@link #size()}[.
+	 * @return One of the <code>ACTION_</code> constants.
+	 */
+	public byte getActionType(int index) {
+		this.checkIndex(index);
+		return this.actionTypes[index];
+	}
+
+	/**
+	 * Returns the x-coordinate of the direction or position of a command.
+	 *
+	 * @param index
+	 *            The index of the command in [0, {@link #size()}[.
+	 * @return The x-coordinate.
+	 */
+	public double getDirectionX(int index) {
+		this.checkIndex(index);
+		return this.directionX[index];
+	}
+
+	/**
+	 * Returns the y-coordinate of the direction or position of a command.
+	 *
+	 * @param index
+	 *            The index of the command in [0, {@link #size()}[.
+	 * @return The y-coordinate.
+	 */
+	public double getDirectionY(int index) {
+		this.checkIndex(index);
+		return this.directionY[index];
+	}
+
+	/**
+	 * Returns the speed, strength or determination of a command.
+	 *
+	 * @param index
+	 *            The index of the command in [0, {@link #size()}[.
+	 * @return The value of the command.
+	 */
+	public double getValue(int index) {
+		this.checkIndex(index);
+		return this.values[index];
+	}
+
+	/**
+	 * Returns the result of a command after submission.
+	 *
+	 * @param index
+	 *            The index of the command in [0, {@link #size()}[.
+	 * @return One of the <code>STATUS_</code> constants.
+	 */
+	public byte getStatus(int index) {
+		this.checkIndex(index);
+		return this.statuses[index];
+	}
+
+	/**
+	 * Sets the result of a command. Called by the simulation during
+	 * submission.
+	 *
+	 * @param index
+	 *            The index of the command in [0, {@link #size()}[.
+	 * @param status
+	 *            One of the <code>STATUS_</code> constants.
+	 */
+	public void setStatus(int index, byte status) {
+		this.checkIndex(index);
+		this.statuses[index] = status;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= this.size)
+			throw new IndexOutOfBoundsException("Command index " + index
+					+ " out of range");
+	}
+
+}
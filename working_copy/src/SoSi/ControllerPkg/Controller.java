@@ -31,6 +31,8 @@ public class Controller {
     private ActionListener setSpeed;
     private ActionListener simulationStepBack;
     private ActionListener simulationStepForward;
+    private ActionListener jumpToPreviousEvent;
+    private ActionListener jumpToNextEvent;
     private ActionListener replay;
     private ActionListener jumpToTime;
     private ActionListener rewindButton;
@@ -105,6 +107,8 @@ public class Controller {
         this.setSpeed = new SetSpeed(playbackHandler);
         this.simulationStepBack = new SimulationStepBack(playbackHandler);
         this.simulationStepForward = new SimulationStepForward(playbackHandler);
+        this.jumpToPreviousEvent = new JumpToPreviousEvent(playbackHandler);
+        this.jumpToNextEvent = new JumpToNextEvent(playbackHandler);
         this.replay = new Replay(playbackHandler);
         this.jumpToTime = new JumpToTime(playbackHandler);
         this.rewindButton = new RewindButton(playbackHandler);
@@ -223,6 +227,26 @@ public class Controller {
         return simulationStepForward;
     }
 
+    /**
+     * Getter für JumpToPreviousEvent-ActionListener.
+     * 
+     * @return JumpToPreviousEvent-ActionListener Instanz.
+     */
+    public ActionListener getJumpToPreviousEvent() {
+
+        return jumpToPreviousEvent;
+    }
+
+    /**
+     * Getter für JumpToNextEvent-ActionListener.
+     * 
+     * @return JumpToNextEvent-ActionListener Instanz.
+     */
+    public ActionListener getJumpToNextEvent() {
+
+        return jumpToNextEvent;
+    }
+
     /**
      * Getter für Replay-ActionListener.
      * 
@@ -0,0 +1,26 @@
+﻿package SoSi.ControllerPkg;
+
+import java.awt.event.ActionEvent;
+
+import SoSi.Model.PlaybackHandler;
+
+/**
+ * Dient dazu, in der Wiedergabe zum nächsten Spiel-Ereignis (z.B. Tor oder Foul) zu springen.
+ * 
+ * @see PlaybackHandler#jumpToNextEvent()
+ */
+public class JumpToNextEvent extends ControllerAction {
+
+    /**
+     * @see ControllerAction#ControllerAction(PlaybackHandler)
+     */
+    public JumpToNextEvent(PlaybackHandler playbackHandler) {
+        super(playbackHandler);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        this.playbackHandler.jumpToNextEvent();
+    }
+
+}
@@ -0,0 +1,26 @@
+﻿package SoSi.ControllerPkg;
+
+import java.awt.event.ActionEvent;
+
+import SoSi.Model.PlaybackHandler;
+
+/**
+ * Dient dazu, in der Wiedergabe zum vorherigen Spiel-Ereignis (z.B. Tor oder Foul) zu springen.
+ * 
+ * @see PlaybackHandler#jumpToPreviousEvent()
+ */
+public class JumpToPreviousEvent extends ControllerAction {
+
+    /**
+     * @see ControllerAction#ControllerAction(PlaybackHandler)
+     */
+    public JumpToPreviousEvent(PlaybackHandler playbackHandler) {
+        super(playbackHandler);
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        this.playbackHandler.jumpToPreviousEvent();
+    }
+
+}
@@ -46,6 +46,10 @@ public class SpeedSelectorChanged extends ControllerAction implements ChangeList
             int value = ((JSlider) source).getValue();
             double speed = SoccerControlPanel.convertSpeedSliderValueToSpeedRate(value);
 
+            // Der Slider endet bei der maximalen Wiedergabegeschwindigkeit, ein Scrub-Modus bleibt dort erhalten
+            if (speed >= PlaybackHandler.MAX_PLAYBACK_SPEED_RATE && playbackHandler.isScrubbing())
+                return;
+
             playbackHandler.setPlaybackSpeedRate(Math.signum(playbackHandler.getPlaybackSpeedRate()) * speed);
         }
     }
@@ -0,0 +1,17 @@
+﻿package SoSi.Debugging;
+
+/**
+ * Gibt Diagnosemeldungen auf der Fehlerausgabe (<code>System.err</code>) aus.
+ */
+public class ConsoleDiagnosticsSink implements DiagnosticsSink {
+
+    @Override
+    public void write(DiagnosticMessage message) {
+        System.err.println(message.toString());
+    }
+
+    @Override
+    public void flush() {
+        System.err.flush();
+    }
+}
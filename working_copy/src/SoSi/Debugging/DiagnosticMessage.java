@@ -0,0 +1,85 @@
+﻿package SoSi.Debugging;
+
+/**
+ * Eine über {@link Diagnostics} gemeldete und zur Ausgabe bestimmte Diagnosemeldung.
+ */
+public class DiagnosticMessage {
+
+    /**
+     * Zeitpunkt der Meldung in Millisekunden seit 1970
+     */
+    private final long timestamp;
+
+    /**
+     * Formatvorlage der Meldung, dient der Gruppierung von Meldungen bei der Auswertung
+     */
+    private final String template;
+
+    /**
+     * Formatierter Text der Meldung
+     */
+    private final String text;
+
+    /**
+     * Anzahl der seit der vorherigen Ausgabe unterdrückten gleichartigen Meldungen
+     */
+    private final long suppressedRepeats;
+
+    /**
+     * Erstellt eine neue Diagnosemeldung.
+     *
+     * @param timestamp
+     *            Zeitpunkt der Meldung in Millisekunden seit 1970
+     * @param template
+     *            Formatvorlage der Meldung
+     * @param text
+     *            Formatierter Text der Meldung
+     * @param suppressedRepeats
+     *            Anzahl der seit der vorherigen Ausgabe unterdrückten gleichartigen Meldungen
+     */
+    public DiagnosticMessage(long timestamp, String template, String text, long suppressedRepeats) {
+        this.timestamp = timestamp;
+        this.template = template;
+        this.text = text;
+        this.suppressedRepeats = suppressedRepeats;
+    }
+
+    /**
+     * @return Zeitpunkt der Meldung in Millisekunden seit 1970
+     */
+    public long getTimestamp() {
+        return this.timestamp;
+    }
+
+    /**
+     * @return Formatvorlage der Meldung
+     */
+    public String getTemplate() {
+        return this.template;
+    }
+
+    /**
+     * @return Formatierter Text der Meldung
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * @return Anzahl der seit der vorherigen Ausgabe unterdrückten gleichartigen Meldungen
+     */
+    public long getSuppressedRepeats() {
+        return this.suppressedRepeats;
+    }
+
+    /**
+     * Gibt den Text der Meldung inkl. eines Hinweises auf unterdrückte Wiederholungen zurück.
+     */
+    @Override
+    public String toString() {
+        if (this.suppressedRepeats == 0)
+            return this.text;
+        else
+            return String.format("%s (suppressed %,d repeats)", this.text, this.suppressedRepeats);
+    }
+}
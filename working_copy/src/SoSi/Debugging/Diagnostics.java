@@ -0,0 +1,403 @@
+﻿package SoSi.Debugging;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Asynchroner Kanal für Diagnosemeldungen des Frameworks, z.B. Zeitüberschreitungen oder Exceptions einer KI.<br>
+ * Meldungen werden ohne zu blockieren in eine beschränkte Warteschlange eingereiht und von einem eigenen Thread
+ * formatiert und an den {@link DiagnosticsSink} ausgegeben. Ist die Warteschlange voll, wird die Meldung verworfen und
+ * lediglich gezählt. Gleichartige Meldungen (d.h. mit identischer Formatvorlage und identischen Argumenten, abgesehen
+ * von der Nummer des Ticks bei {@link #reportForTick(int, String, Object...)}, bzw. mit identischem Schlüssel bei
+ * {@link #reportGroupedForTick(int, String, String, Object...)}) werden höchstens einmal je
+ * {@link #RATE_LIMIT_INTERVAL_MILLISECONDS} ausgegeben, die Anzahl der dazwischen unterdrückten Wiederholungen wird
+ * mit der nächsten Ausgabe gemeldet. Somit bremst z.B. eine in jedem Tick fehlschlagende KI die Berechnung nicht durch
+ * Konsolenausgaben aus.
+ */
+public final class Diagnostics {
+
+    /**
+     * Maximale Anzahl an Meldungen in der Warteschlange
+     */
+    public static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * Mindestabstand (in Millisekunden) zwischen zwei Ausgaben gleichartiger Meldungen
+     */
+    public static final long RATE_LIMIT_INTERVAL_MILLISECONDS = 1000;
+
+    /**
+     * Formatvorlage der Meldung über verworfene Meldungen
+     */
+    private static final String DROPPED_REPORTS_TEMPLATE = "Diagnostics queue full, %,d messages dropped";
+
+    /**
+     * Warteschlange der noch nicht verarbeiteten Meldungen
+     */
+    private static final BlockingQueue<Report> QUEUE = new ArrayBlockingQueue<Report>(QUEUE_CAPACITY);
+
+    /**
+     * Anzahl der wegen voller Warteschlange verworfenen Meldungen
+     */
+    private static final AtomicLong DROPPED_REPORTS = new AtomicLong();
+
+    /**
+     * Sperre für die Verarbeitung der Meldungen, welche sowohl durch den Ausgabe-Thread als auch durch
+     * {@link #flush()} erfolgen kann
+     */
+    private static final Object PROCESSING_LOCK = new Object();
+
+    /**
+     * Zustand der Ratenbegrenzung je Art der Meldung (siehe {@link Report#getKey()}), wird nur unter
+     * {@link #PROCESSING_LOCK} verwendet
+     */
+    private static final Map<String, ReportState> REPORT_STATES = new HashMap<String, ReportState>();
+
+    /**
+     * Zeitpunkt der letzten Ausgabe über verworfene Meldungen, wird nur unter {@link #PROCESSING_LOCK} verwendet
+     */
+    private static long lastDroppedReportsOutput = 0;
+
+    /**
+     * Aktuelles Ausgabeziel
+     */
+    private static volatile DiagnosticsSink sink = new ConsoleDiagnosticsSink();
+
+    /**
+     * Der Ausgabe-Thread, <code>null</code> bis zur ersten Meldung
+     */
+    private static Thread outputThread = null;
+
+    private Diagnostics() {
+    }
+
+    /**
+     * Meldet eine Diagnosemeldung, ohne zu blockieren. Die Formatierung erfolgt erst im Ausgabe-Thread, weshalb als
+     * Argumente nur unveränderliche Werte (z.B. Zahlen oder Strings) übergeben werden dürfen.
+     *
+     * @param template
+     *            Formatvorlage der Meldung für {@link String#format(String, Object...)}
+     * @param args
+     *            Argumente der Formatvorlage, Meldungen mit identischer Formatvorlage und identischen Argumenten
+     *            gelten als gleichartig
+     */
+    public static void report(String template, Object... args) {
+        enqueue(new Report(System.currentTimeMillis(), template, args, 0, null));
+    }
+
+    /**
+     * Meldet eine Diagnosemeldung zu einem Tick, ohne zu blockieren. Die Nummer des Ticks wird als erstes Argument in
+     * die Formatvorlage eingesetzt, jedoch beim Erkennen gleichartiger Meldungen nicht berücksichtigt. Somit werden
+     * z.B. in jedem Tick wiederholte Exceptions einer KI zusammengefasst.
+     *
+     * @param tickNumber
+     *            Nummer des Ticks, erstes Argument der Formatvorlage
+     * @param template
+     *            Formatvorlage der Meldung für {@link String#format(String, Object...)}
+     * @param args
+     *            Weitere Argumente der Formatvorlage
+     * @see #report(String, Object...)
+     */
+    public static void reportForTick(int tickNumber, String template, Object... args) {
+        Object[] allArgs = new Object[args.length + 1];
+        allArgs[0] = tickNumber;
+        System.arraycopy(args, 0, allArgs, 1, args.length);
+
+        enqueue(new Report(System.currentTimeMillis(), template, allArgs, 1, null));
+    }
+
+    /**
+     * Meldet eine Diagnosemeldung zu einem Tick, ohne zu blockieren. Gleichartige Meldungen werden anstatt über die
+     * Argumente über die Formatvorlage und den angegebenen Schlüssel erkannt. Somit werden auch Meldungen
+     * zusammengefasst, deren Argumente sich in jedem Tick unterscheiden, z.B. Exceptions mit wechselnden Indizes in der
+     * Nachricht.
+     *
+     * @param tickNumber
+     *            Nummer des Ticks, erstes Argument der Formatvorlage
+     * @param groupKey
+     *            Schlüssel, welcher zusammen mit der Formatvorlage gleichartige Meldungen kennzeichnet
+     * @param template
+     *            Formatvorlage der Meldung für {@link String#format(String, Object...)}
+     * @param args
+     *            Weitere Argumente der Formatvorlage
+     * @see #reportForTick(int, String, Object...)
+     */
+    public static void reportGroupedForTick(int tickNumber, String groupKey, String template, Object... args) {
+        Object[] allArgs = new Object[args.length + 1];
+        allArgs[0] = tickNumber;
+        System.arraycopy(args, 0, allArgs, 1, args.length);
+
+        enqueue(new Report(System.currentTimeMillis(), template, allArgs, allArgs.length, groupKey));
+    }
+
+    /**
+     * Reiht eine Meldung ohne zu blockieren in die Warteschlange ein.
+     */
+    private static void enqueue(Report report) {
+        ensureOutputThreadStarted();
+
+        if (!QUEUE.offer(report))
+            DROPPED_REPORTS.incrementAndGet();
+    }
+
+    /**
+     * Legt das Ausgabeziel fest. Noch nicht ausgegebene Meldungen werden zuvor an das bisherige Ausgabeziel
+     * ausgegeben.
+     *
+     * @param newSink
+     *            Das neue Ausgabeziel
+     */
+    public static void setSink(DiagnosticsSink newSink) {
+        if (newSink == null)
+            throw new IllegalArgumentException("sink must not be null");
+
+        synchronized (PROCESSING_LOCK) {
+            flush();
+            sink = newSink;
+        }
+    }
+
+    /**
+     * Verarbeitet sämtliche anstehenden Meldungen im aufrufenden Thread und gibt noch ausstehende unterdrückte
+     * Wiederholungen aus. Wird beim Beenden der Anwendung automatisch aufgerufen.
+     */
+    public static void flush() {
+        synchronized (PROCESSING_LOCK) {
+            List<Report> reports = new ArrayList<Report>();
+            QUEUE.drainTo(reports);
+
+            for (Report report : reports)
+                process(report);
+
+            emitSuppressedRepeats(Long.MAX_VALUE);
+            flushSink();
+        }
+    }
+
+    /**
+     * Startet den Ausgabe-Thread, sofern dieser noch nicht läuft.
+     */
+    private static synchronized void ensureOutputThreadStarted() {
+        if (outputThread != null)
+            return;
+
+        outputThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                runOutputLoop();
+            }
+        }, "Diagnostics output");
+        outputThread.setDaemon(true);
+        outputThread.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                flush();
+            }
+        }, "Diagnostics flush"));
+    }
+
+    /**
+     * Hauptschleife des Ausgabe-Threads. Wartet höchstens {@link #RATE_LIMIT_INTERVAL_MILLISECONDS} auf neue
+     * Meldungen, so dass unterdrückte Wiederholungen auch ohne weitere Meldungen zeitnah ausgegeben werden.
+     */
+    private static void runOutputLoop() {
+        while (true) {
+            Report report;
+            try {
+                report = QUEUE.poll(RATE_LIMIT_INTERVAL_MILLISECONDS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            synchronized (PROCESSING_LOCK) {
+                if (report != null)
+                    process(report);
+
+                emitSuppressedRepeats(System.currentTimeMillis());
+
+                if (QUEUE.isEmpty())
+                    flushSink();
+            }
+        }
+    }
+
+    /**
+     * Verarbeitet eine Meldung: Gibt diese aus, sofern die letzte Ausgabe einer gleichartigen Meldung mindestens
+     * {@link #RATE_LIMIT_INTERVAL_MILLISECONDS} zurückliegt, andernfalls wird diese unterdrückt.
+     */
+    private static void process(Report report) {
+        String key = report.getKey();
+        ReportState state = REPORT_STATES.get(key);
+        if (state == null) {
+            state = new ReportState();
+            REPORT_STATES.put(key, state);
+        } else if (report.timestamp - state.lastOutput < RATE_LIMIT_INTERVAL_MILLISECONDS) {
+            state.suppressed++;
+            state.lastSuppressed = report;
+            return;
+        }
+
+        write(report.toMessage(state.suppressed));
+        state.lastOutput = report.timestamp;
+        state.suppressed = 0;
+        state.lastSuppressed = null;
+    }
+
+    /**
+     * Gibt für alle Arten von Meldungen mit unterdrückten Wiederholungen, deren letzte Ausgabe mindestens
+     * {@link #RATE_LIMIT_INTERVAL_MILLISECONDS} vor dem angegebenen Zeitpunkt liegt, die zuletzt unterdrückte Meldung
+     * aus. Der Zustand von Arten ohne Meldung innerhalb des letzten Intervalls wird verworfen. Ebenso wird höchstens
+     * einmal je Intervall die Anzahl der verworfenen Meldungen ausgegeben.
+     */
+    private static void emitSuppressedRepeats(long now) {
+        if (now - lastDroppedReportsOutput >= RATE_LIMIT_INTERVAL_MILLISECONDS) {
+            long dropped = DROPPED_REPORTS.getAndSet(0);
+            if (dropped > 0) {
+                lastDroppedReportsOutput = System.currentTimeMillis();
+                write(new DiagnosticMessage(lastDroppedReportsOutput, DROPPED_REPORTS_TEMPLATE, String.format(
+                        DROPPED_REPORTS_TEMPLATE, dropped), 0));
+            }
+        }
+
+        for (Iterator<ReportState> iterator = REPORT_STATES.values().iterator(); iterator.hasNext();) {
+            ReportState state = iterator.next();
+            if (now - state.lastOutput < RATE_LIMIT_INTERVAL_MILLISECONDS)
+                continue;
+
+            if (state.lastSuppressed != null) {
+                write(state.lastSuppressed.toMessage(state.suppressed - 1));
+                state.lastOutput = state.lastSuppressed.timestamp;
+                state.suppressed = 0;
+                state.lastSuppressed = null;
+            } else {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Gibt eine Meldung aus. Schlägt die Ausgabe fehl, wird auf die Konsole ausgewichen.
+     */
+    private static void write(DiagnosticMessage message) {
+        try {
+            sink.write(message);
+        } catch (IOException e) {
+            fallBackToConsole(e);
+            System.err.println(message.toString());
+        }
+    }
+
+    /**
+     * Schreibt gepufferte Meldungen des Ausgabeziels.
+     */
+    private static void flushSink() {
+        try {
+            sink.flush();
+        } catch (IOException e) {
+            fallBackToConsole(e);
+        }
+    }
+
+    /**
+     * Wechselt nach einem Fehler des Ausgabeziels auf die Konsole.
+     */
+    private static void fallBackToConsole(IOException e) {
+        System.err.println("Diagnostics output failed, using console instead: " + e.toString());
+        sink = new ConsoleDiagnosticsSink();
+    }
+
+    /**
+     * Eine noch nicht formatierte Meldung
+     */
+    private static class Report {
+
+        /**
+         * Zeitpunkt der Meldung
+         */
+        private final long timestamp;
+
+        /**
+         * Formatvorlage der Meldung
+         */
+        private final String template;
+
+        /**
+         * Argumente der Formatvorlage
+         */
+        private final Object[] args;
+
+        /**
+         * Anzahl der führenden Argumente, welche beim Erkennen gleichartiger Meldungen nicht berücksichtigt werden
+         */
+        private final int ignoredArgs;
+
+        /**
+         * Zusätzlicher Schlüssel gleichartiger Meldungen, <code>null</code> falls nicht angegeben
+         */
+        private final String groupKey;
+
+        private Report(long timestamp, String template, Object[] args, int ignoredArgs, String groupKey) {
+            this.timestamp = timestamp;
+            this.template = template;
+            this.args = args;
+            this.ignoredArgs = ignoredArgs;
+            this.groupKey = groupKey;
+        }
+
+        /**
+         * Erstellt den Schlüssel, anhand dessen gleichartige Meldungen erkannt werden: Die Formatvorlage, ggf. der
+         * {@link #groupKey} sowie alle Argumente mit Ausnahme der {@link #ignoredArgs}.
+         */
+        private String getKey() {
+            if (this.args.length <= this.ignoredArgs && this.groupKey == null)
+                return this.template;
+
+            StringBuilder key = new StringBuilder(this.template);
+            if (this.groupKey != null)
+                key.append('\u0000').append(this.groupKey);
+            for (int i = this.ignoredArgs; i < this.args.length; i++)
+                key.append('\u0000').append(this.args[i]);
+
+            return key.toString();
+        }
+
+        /**
+         * Formatiert die Meldung.
+         */
+        private DiagnosticMessage toMessage(long suppressedRepeats) {
+            String text = (this.args.length == 0) ? this.template : String.format(this.template, this.args);
+            return new DiagnosticMessage(this.timestamp, this.template, text, suppressedRepeats);
+        }
+    }
+
+    /**
+     * Zustand der Ratenbegrenzung einer Art von Meldungen
+     */
+    private static class ReportState {
+
+        /**
+         * Zeitpunkt der letzten Ausgabe
+         */
+        private long lastOutput;
+
+        /**
+         * Anzahl der seit der letzten Ausgabe unterdrückten Meldungen
+         */
+        private long suppressed = 0;
+
+        /**
+         * Zuletzt unterdrückte Meldung, <code>null</code> falls seit der letzten Ausgabe keine unterdrückt wurde
+         */
+        private Report lastSuppressed = null;
+    }
+}
@@ -0,0 +1,28 @@
+﻿package SoSi.Debugging;
+
+import java.io.IOException;
+
+/**
+ * Ausgabeziel der über {@link Diagnostics} gemeldeten Diagnosemeldungen. Sämtliche Methoden werden ausschließlich vom
+ * Ausgabe-Thread der {@link Diagnostics} aufgerufen.
+ */
+public interface DiagnosticsSink {
+
+    /**
+     * Gibt eine Diagnosemeldung aus.
+     *
+     * @param message
+     *            Die auszugebende Meldung
+     * @throws IOException
+     *             Falls die Ausgabe fehlschlägt
+     */
+    public void write(DiagnosticMessage message) throws IOException;
+
+    /**
+     * Schreibt ggf. gepufferte Meldungen. Wird aufgerufen, sobald keine weiteren Meldungen anstehen.
+     *
+     * @throws IOException
+     *             Falls die Ausgabe fehlschlägt
+     */
+    public void flush() throws IOException;
+}
@@ -0,0 +1,84 @@
+﻿package SoSi.Debugging;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+/**
+ * Hängt Diagnosemeldungen als JSON-Objekte, eines je Zeile, an eine Datei an. Jedes Objekt enthält den Zeitstempel
+ * (<code>time</code>, Millisekunden seit 1970), die Formatvorlage (<code>template</code>), den Text
+ * (<code>message</code>) sowie die Anzahl unterdrückter Wiederholungen (<code>suppressed</code>).
+ */
+public class JsonLinesDiagnosticsSink implements DiagnosticsSink {
+
+    /**
+     * Die geöffnete Datei
+     */
+    private final Writer writer;
+
+    /**
+     * Öffnet die angegebene Datei. Bestehende Inhalte bleiben erhalten.
+     *
+     * @param path
+     *            Pfad der Datei
+     * @throws IOException
+     *             Falls die Datei nicht geöffnet werden kann
+     */
+    public JsonLinesDiagnosticsSink(String path) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path, true), "UTF-8"));
+    }
+
+    @Override
+    public void write(DiagnosticMessage message) throws IOException {
+        StringBuilder line = new StringBuilder("{\"time\":").append(message.getTimestamp());
+        line.append(",\"template\":");
+        appendJsonString(line, message.getTemplate());
+        line.append(",\"message\":");
+        appendJsonString(line, message.getText());
+        line.append(",\"suppressed\":").append(message.getSuppressedRepeats()).append("}\n");
+
+        this.writer.write(line.toString());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+
+    /**
+     * Fügt einen String als JSON-String inkl. Anführungszeichen an.
+     */
+    private static void appendJsonString(StringBuilder builder, String value) {
+        builder.append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                builder.append("\\\"");
+                break;
+            case '\\':
+                builder.append("\\\\");
+                break;
+            case '\n':
+                builder.append("\\n");
+                break;
+            case '\r':
+                builder.append("\\r");
+                break;
+            case '\t':
+                builder.append("\\t");
+                break;
+            default:
+                if (c < 0x20)
+                    builder.append(String.format("\\u%04x", (int) c));
+                else
+                    builder.append(c);
+            }
+        }
+
+        builder.append('"');
+    }
+}
@@ -1,44 +1,156 @@
 ﻿package SoSi.Debugging;
 
 /**
- * Sammelt die Eingaben einer {@link DebuggingAI} als String, welcher vom Framework ausgelesen werden kann.
+ * Sammelt die Eingaben einer {@link DebuggingAI} als String, welcher vom Framework ausgelesen werden kann.<br>
+ * Die Nachrichten eines Ticks werden in einem wiederverwendeten Puffer gesammelt, welcher auf
+ * {@link #MAX_DEBUG_MESSAGE_LENGTH} Zeichen je Tick beschränkt ist. Unmittelbar aufeinanderfolgende identische
+ * Nachrichten werden nur einmal mit der Anzahl der Wiederholungen aufgenommen.
  */
 public class SoSiDebugManager implements DebugManager {
 
+    /**
+     * Maximale Anzahl an Zeichen der Debugnachricht eines Ticks. Weitere Nachrichten werden verworfen.
+     */
+    public static final int MAX_DEBUG_MESSAGE_LENGTH = 16 * 1024;
+
+    /**
+     * Hinweis, welcher beim Verwerfen von Nachrichten angehängt wird
+     */
+    private static final String TRUNCATED_NOTICE = "\n[Weitere Debugnachrichten dieses Ticks verworfen]";
+
+    /**
+     * Hinweis, welcher an eine durch {@link #printTruncated(String)} gekürzte Nachricht angehängt wird
+     */
+    private static final String SHORTENED_NOTICE = "\n\t... (gekürzt)";
+
+    /**
+     * Maximale Länge des Vermerks der Wiederholungen einer Nachricht, siehe {@link #appendRepeatCount()}
+     */
+    private static final int MAX_REPEAT_NOTICE_LENGTH = (" (" + Integer.MAX_VALUE + "x wiederholt)").length();
+
+    /**
+     * Maximale Anzahl an Zeichen der aufgenommenen Nachrichten. Der übrige Platz bis
+     * {@link #MAX_DEBUG_MESSAGE_LENGTH} bleibt für den Vermerk der Wiederholungen der letzten Nachricht sowie den
+     * {@link #TRUNCATED_NOTICE} reserviert, welche erst nachträglich angehängt werden.
+     */
+    private static final int MAX_CONTENT_LENGTH = MAX_DEBUG_MESSAGE_LENGTH - MAX_REPEAT_NOTICE_LENGTH
+            - TRUNCATED_NOTICE.length();
+
     /**
      * Die Debug-Nachrichteneingabe der KI.
      */
-    private String debugMessage;
+    private final StringBuilder debugMessage = new StringBuilder();
+
+    /**
+     * Die zuletzt aufgenommene Nachricht
+     */
+    private String lastMessage = null;
+
+    /**
+     * Anzahl der noch nicht vermerkten Wiederholungen von {@link #lastMessage}
+     */
+    private int repeatCount = 0;
+
+    /**
+     * Flag, ob in diesem Tick bereits Nachrichten verworfen wurden
+     */
+    private boolean isTruncated = false;
 
     /**
      * Initialisiert einen neuen SoSiDebugManager.
      */
     public SoSiDebugManager() {
-        this.debugMessage = "";
     }
 
     @Override
-    public void print(String message) {
-        if (!debugMessage.isEmpty())
-            this.debugMessage += "\n";
-        
-        this.debugMessage += message;
+    public synchronized void print(String message) {
+        if (this.isTruncated)
+            return;
+
+        message = String.valueOf(message);
+        if (message.equals(this.lastMessage)) {
+            this.repeatCount++;
+            return;
+        }
+
+        this.appendRepeatCount();
+        this.lastMessage = message;
+
+        if (this.debugMessage.length() + message.length() + 1 > MAX_CONTENT_LENGTH) {
+            this.debugMessage.append(TRUNCATED_NOTICE);
+            this.isTruncated = true;
+            return;
+        }
+
+        if (this.debugMessage.length() > 0)
+            this.debugMessage.append('\n');
+
+        this.debugMessage.append(message);
     }
 
     /**
-     * Dient dazu, die Eingaben einer {@link DebuggingAI} zu erfragen.
+     * Nimmt eine mehrzeilige Nachricht (z.B. einen Stacktrace) auf. Passt diese nicht mehr vollständig in die
+     * Debugnachricht des Ticks, werden lediglich so viele ganze Zeilen aufgenommen, wie noch Platz ist, anstatt die
+     * Nachricht vollständig zu verwerfen.
      * 
+     * @param message
+     *            Aufzunehmende Nachricht
+     */
+    public synchronized void printTruncated(String message) {
+        if (this.isTruncated)
+            return;
+
+        message = String.valueOf(message);
+        this.appendRepeatCount();
+
+        int available = MAX_CONTENT_LENGTH - this.debugMessage.length() - 1;
+        if (message.length() > available) {
+            // An der letzten vollständigen Zeile kürzen, welche zusammen mit dem Hinweis noch Platz findet
+            int end = message.lastIndexOf('\n', available - SHORTENED_NOTICE.length());
+            if (end <= 0) {
+                this.debugMessage.append(TRUNCATED_NOTICE);
+                this.isTruncated = true;
+                return;
+            }
+
+            message = message.substring(0, end) + SHORTENED_NOTICE;
+        }
+
+        this.lastMessage = message;
+        if (this.debugMessage.length() > 0)
+            this.debugMessage.append('\n');
+
+        this.debugMessage.append(message);
+    }
+
+    /**
+     * Vermerkt ggf. die Anzahl der Wiederholungen der zuletzt aufgenommenen Nachricht.
+     */
+    private void appendRepeatCount() {
+        if (this.repeatCount > 0) {
+            this.debugMessage.append(" (").append(this.repeatCount).append("x wiederholt)");
+            this.repeatCount = 0;
+        }
+    }
+
+    /**
+     * Dient dazu, die Eingaben einer {@link DebuggingAI} zu erfragen.
+     *
      * @return Die Nachrichten, welche eine {@link DebuggingAI} bereits eingegeben hat.
      */
-    public String getDebugMessage() {
-        return this.debugMessage;
+    public synchronized String getDebugMessage() {
+        this.appendRepeatCount();
+        return (this.debugMessage.length() == 0) ? "" : this.debugMessage.toString();
     }
-    
+
     /**
-     * Löscht den bisherigen Inhalt der Debugnachricht.
+     * Löscht den bisherigen Inhalt der Debugnachricht. Der Puffer wird für den nächsten Tick wiederverwendet.
      */
-    public void clear() {
-        this.debugMessage = "";
+    public synchronized void clear() {
+        this.debugMessage.setLength(0);
+        this.lastMessage = null;
+        this.repeatCount = 0;
+        this.isTruncated = false;
     }
 
 }
@@ -0,0 +1,50 @@
+﻿package SoSi.Debugging;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Hängt Diagnosemeldungen mit Zeitstempel zeilenweise an eine Textdatei an.
+ */
+public class TextFileDiagnosticsSink implements DiagnosticsSink {
+
+    /**
+     * Die geöffnete Datei
+     */
+    private final Writer writer;
+
+    /**
+     * Format des Zeitstempels
+     */
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
+
+    /**
+     * Öffnet die angegebene Datei. Bestehende Inhalte bleiben erhalten.
+     *
+     * @param path
+     *            Pfad der Datei
+     * @throws IOException
+     *             Falls die Datei nicht geöffnet werden kann
+     */
+    public TextFileDiagnosticsSink(String path) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(path, true), "UTF-8"));
+    }
+
+    @Override
+    public void write(DiagnosticMessage message) throws IOException {
+        this.writer.write(this.dateFormat.format(new Date(message.getTimestamp())));
+        this.writer.write(' ');
+        this.writer.write(message.toString());
+        this.writer.write(System.getProperty("line.separator"));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.writer.flush();
+    }
+}
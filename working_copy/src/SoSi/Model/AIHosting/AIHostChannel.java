@@ -0,0 +1,470 @@
+﻿package SoSi.Model.AIHosting;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import sep.football.ActionCommandBuffer;
+import sep.football.GameInformation;
+import sep.football.Position;
+import sep.football.TickInformation;
+import SoSi.Model.Calculation.SoSiGameInformation;
+import SoSi.Model.Calculation.SoSiTickInformation;
+import SoSi.Model.Calculation.SpatialIndex;
+import SoSi.Model.Calculation.Vector2D;
+import SoSi.Model.GamePhysics.BallTrajectoryPredictor.BallTrajectory;
+
+/**
+ * Gemeinsamer Speicherbereich zwischen Simulation und KI-Prozess. Die Datei besteht aus einem Kontrollbereich mit dem
+ * Zustand des KI-Prozesses, gefolgt von zwei {@link MappedRingBuffer}n: einer für die Tick-Anfragen der Simulation und
+ * einer für die Antworten (Befehle) der KI.<br>
+ * Zusätzlich enthält die Klasse das binäre Format der Anfragen und Antworten.
+ */
+class AIHostChannel {
+
+    /**
+     * Zustand: Der KI-Prozess lädt die KI
+     */
+    static final int STATE_STARTING = 0;
+
+    /**
+     * Zustand: Die KI wurde geladen, Anfragen werden bearbeitet
+     */
+    static final int STATE_READY = 1;
+
+    /**
+     * Zustand: Die KI konnte nicht geladen werden, die Fehlermeldung liegt im Kontrollbereich
+     */
+    static final int STATE_FAILED = 2;
+
+    /**
+     * Art der Anfrage: {@link sep.football.AI#freePlay}
+     */
+    static final byte EVENT_FREE_PLAY = 0;
+
+    /**
+     * Art der Anfrage: {@link sep.football.AI#kickOff}
+     */
+    static final byte EVENT_KICK_OFF = 1;
+
+    /**
+     * Art der Anfrage: {@link sep.football.AI#freeKick}
+     */
+    static final byte EVENT_FREE_KICK = 2;
+
+    /**
+     * Antwort: Die KI hat ihre Entscheidung getroffen, es folgen die Befehle
+     */
+    static final byte RESPONSE_COMMANDS = 0;
+
+    /**
+     * Antwort: Die KI hat eine Exception geworfen, es folgen die bis dahin erteilten Befehle und die Fehlermeldung
+     */
+    static final byte RESPONSE_EXCEPTION = 1;
+
+    /**
+     * Maximale Anzahl an Befehlen je Antwort. Weitere Aktionen der KI werden verworfen.
+     */
+    static final int MAX_COMMANDS = 1024;
+
+    /**
+     * Maximale Länge (in Bytes) der Fehlermeldung einer Antwort. Längere Meldungen werden gekürzt.
+     */
+    private static final int MAX_EXCEPTION_MESSAGE_LENGTH = 1024;
+
+    /**
+     * Größe des Kontrollbereichs
+     */
+    private static final int CONTROL_SIZE = 4096;
+
+    /**
+     * Offset des Zustands im Kontrollbereich
+     */
+    private static final int STATE_OFFSET = 0;
+
+    /**
+     * Offset der Fehlermeldung (Länge gefolgt von UTF-8-Bytes) im Kontrollbereich
+     */
+    private static final int MESSAGE_OFFSET = 8;
+
+    /**
+     * Anzahl der Frames je Ringpuffer
+     */
+    private static final int SLOT_COUNT = 4;
+
+    /**
+     * Größe eines Anfrage-Frames
+     */
+    private static final int REQUEST_SLOT_SIZE = 8192;
+
+    /**
+     * Größe eines Antwort-Frames: Art und Anzahl der Befehle, je Befehl Spieler-ID, Aktion und drei Werte, sowie die
+     * Länge und die Bytes einer Fehlermeldung
+     */
+    private static final int RESPONSE_SLOT_SIZE = 8 + MAX_COMMANDS * (4 + 1 + 3 * 8) + 4
+            + MAX_EXCEPTION_MESSAGE_LENGTH;
+
+    /**
+     * Zeichensatz der Fehlermeldungen
+     */
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * Datei des gemeinsamen Speicherbereichs
+     */
+    private final File file;
+
+    /**
+     * Kontrollbereich
+     */
+    private final ByteBuffer control;
+
+    /**
+     * Ringpuffer der Anfragen (Simulation an KI-Prozess)
+     */
+    private final MappedRingBuffer requests;
+
+    /**
+     * Ringpuffer der Antworten (KI-Prozess an Simulation)
+     */
+    private final MappedRingBuffer responses;
+
+    /**
+     * Blendet die Datei eines gemeinsamen Speicherbereichs ein.
+     *
+     * @param file
+     *            Datei des Speicherbereichs
+     * @param create
+     *            <code>true</code>, falls die Datei (von der Simulation) neu angelegt werden soll
+     * @throws IOException
+     *             Falls die Datei nicht angelegt oder eingeblendet werden kann
+     */
+    AIHostChannel(File file, boolean create) throws IOException {
+        this.file = file;
+
+        int requestsSize = MappedRingBuffer.getRequiredSize(SLOT_COUNT, REQUEST_SLOT_SIZE);
+        int responsesSize = MappedRingBuffer.getRequiredSize(SLOT_COUNT, RESPONSE_SLOT_SIZE);
+        int size = CONTROL_SIZE + requestsSize + responsesSize;
+
+        MappedByteBuffer mapping;
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            if (create)
+                randomAccessFile.setLength(size);
+
+            // Die Einblendung bleibt auch nach dem Schließen der Datei bestehen
+            mapping = randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } finally {
+            randomAccessFile.close();
+        }
+        mapping.order(ByteOrder.nativeOrder());
+
+        this.control = slice(mapping, 0, CONTROL_SIZE);
+        this.requests = new MappedRingBuffer(slice(mapping, CONTROL_SIZE, requestsSize), SLOT_COUNT,
+                REQUEST_SLOT_SIZE);
+        this.responses = new MappedRingBuffer(slice(mapping, CONTROL_SIZE + requestsSize, responsesSize), SLOT_COUNT,
+                RESPONSE_SLOT_SIZE);
+    }
+
+    /**
+     * Erstellt eine Sicht auf einen Ausschnitt eines Puffers.
+     */
+    private static ByteBuffer slice(ByteBuffer buffer, int offset, int length) {
+        ByteBuffer duplicate = buffer.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + length);
+        return duplicate.slice().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Gibt die Datei des gemeinsamen Speicherbereichs zurück.
+     *
+     * @return Datei des Speicherbereichs
+     */
+    File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Gibt den Ringpuffer der Anfragen zurück.
+     *
+     * @return Ringpuffer der Anfragen
+     */
+    MappedRingBuffer getRequests() {
+        return this.requests;
+    }
+
+    /**
+     * Gibt den Ringpuffer der Antworten zurück.
+     *
+     * @return Ringpuffer der Antworten
+     */
+    MappedRingBuffer getResponses() {
+        return this.responses;
+    }
+
+    /**
+     * Gibt den Zustand des KI-Prozesses zurück.
+     *
+     * @return Eine der <code>STATE_</code>-Konstanten
+     */
+    int getState() {
+        return this.control.getInt(STATE_OFFSET);
+    }
+
+    /**
+     * Meldet die erfolgreich geladene KI.
+     */
+    void setReady() {
+        this.control.putInt(STATE_OFFSET, STATE_READY);
+    }
+
+    /**
+     * Meldet einen Fehler beim Laden der KI.
+     *
+     * @param message
+     *            Fehlermeldung, wird bei Bedarf gekürzt
+     */
+    void setFailed(String message) {
+        byte[] bytes = String.valueOf(message).getBytes(CHARSET);
+        int length = Math.min(bytes.length, CONTROL_SIZE - MESSAGE_OFFSET - 4);
+
+        this.control.putInt(MESSAGE_OFFSET, length);
+        for (int i = 0; i < length; i++)
+            this.control.put(MESSAGE_OFFSET + 4 + i, bytes[i]);
+
+        this.control.putInt(STATE_OFFSET, STATE_FAILED);
+    }
+
+    /**
+     * Gibt die Fehlermeldung beim Laden der KI zurück.
+     *
+     * @return Fehlermeldung des KI-Prozesses
+     */
+    String getFailureMessage() {
+        byte[] bytes = new byte[this.control.getInt(MESSAGE_OFFSET)];
+        for (int i = 0; i < bytes.length; i++)
+            bytes[i] = this.control.get(MESSAGE_OFFSET + 4 + i);
+
+        return new String(bytes, CHARSET);
+    }
+
+    /**
+     * Schreibt eine Tick-Anfrage in einen Frame.
+     *
+     * @param frame
+     *            Frame-Puffer ab Position 0
+     * @param event
+     *            Eine der <code>EVENT_</code>-Konstanten
+     * @param game
+     *            Allgemeine Spielparameter
+     * @param tick
+     *            Informationen über den aktuellen Tick aus Sicht der KI
+     */
+    static void writeRequest(ByteBuffer frame, byte event, GameInformation game, TickInformation tick) {
+        frame.put(event);
+
+        frame.putDouble(game.getFieldWidth());
+        frame.putDouble(game.getFieldLength());
+        frame.putDouble(game.getGoalSize());
+        frame.putDouble(game.getPlayerDiameter());
+        frame.putDouble(game.getBallDiameter());
+        frame.putInt(game.getMaximumTickNumber());
+
+        frame.putInt(tick.getCurrentTickNumber());
+        frame.putDouble(tick.getBallPosition().getX());
+        frame.putDouble(tick.getBallPosition().getY());
+        frame.put((byte) (tick.isPlayingOnTheLeft() ? 1 : 0));
+        frame.putInt(tick.getTeamGoals());
+        frame.putInt(tick.getOpponentTeamGoals());
+        boolean teamHasBall = tick.hasTeamBall(true);
+        boolean opponentHasBall = tick.hasTeamBall(false);
+        frame.put((byte) (teamHasBall ? 1 : 0));
+        frame.put((byte) (opponentHasBall ? 1 : 0));
+        frame.putInt((teamHasBall || opponentHasBall) ? tick.getPlayerWithBall() : -1);
+
+        List<Position> players = tick.getPlayerPositions();
+        frame.putInt(players.size());
+        for (int i = 0; i < players.size(); i++) {
+            frame.putDouble(players.get(i).getX());
+            frame.putDouble(players.get(i).getY());
+            frame.putInt(tick.getMinimalBlockingTime(i));
+        }
+
+        List<Position> opponents = tick.getOpponentPlayerPositions();
+        frame.putInt(opponents.size());
+        for (Position opponent : opponents) {
+            frame.putDouble(opponent.getX());
+            frame.putDouble(opponent.getY());
+        }
+
+        // Der räumliche Index wird im KI-Prozess aus den Positionen neu aufgebaut, die Flugbahn des Balles aus deren
+        // Ausgangszustand neu berechnet
+        SoSiTickInformation sosiTick = (tick instanceof SoSiTickInformation) ? (SoSiTickInformation) tick : null;
+        frame.put((byte) ((sosiTick != null && sosiTick.hasSpatialIndex()) ? 1 : 0));
+
+        BallTrajectory ballTrajectory = (sosiTick != null) ? sosiTick.getBallTrajectory() : null;
+        frame.put((byte) ((ballTrajectory != null) ? 1 : 0));
+        if (ballTrajectory != null) {
+            frame.putDouble(ballTrajectory.getTopLeftBoxPosition().getX());
+            frame.putDouble(ballTrajectory.getTopLeftBoxPosition().getY());
+            frame.putDouble(ballTrajectory.getBottomRightBoxPosition().getX());
+            frame.putDouble(ballTrajectory.getBottomRightBoxPosition().getY());
+
+            Position startPosition = ballTrajectory.getStartPosition();
+            Vector2D startMovementDirection = ballTrajectory.getStartMovementDirection();
+            frame.putDouble(startPosition.getX());
+            frame.putDouble(startPosition.getY());
+            frame.putDouble(startMovementDirection.getX());
+            frame.putDouble(startMovementDirection.getY());
+        }
+    }
+
+    /**
+     * Liest die Art einer Tick-Anfrage. Muss vor {@link #readGameInformation(ByteBuffer)} aufgerufen werden.
+     *
+     * @param frame
+     *            Frame-Puffer ab Position 0
+     * @return Eine der <code>EVENT_</code>-Konstanten
+     */
+    static byte readEvent(ByteBuffer frame) {
+        return frame.get();
+    }
+
+    /**
+     * Liest die Spielparameter einer Tick-Anfrage. Muss vor
+     * {@link #readTickInformation(ByteBuffer, GameInformation, AIHostQueries)} aufgerufen werden.
+     *
+     * @param frame
+     *            Frame-Puffer nach der Art der Anfrage
+     * @return Allgemeine Spielparameter
+     */
+    static GameInformation readGameInformation(ByteBuffer frame) {
+        double fieldWidth = frame.getDouble();
+        double fieldLength = frame.getDouble();
+        double goalSize = frame.getDouble();
+        double playerDiameter = frame.getDouble();
+        double ballDiameter = frame.getDouble();
+        int maximumTickNumber = frame.getInt();
+
+        return new SoSiGameInformation(fieldWidth, fieldLength, goalSize, playerDiameter, ballDiameter,
+                maximumTickNumber);
+    }
+
+    /**
+     * Liest die Tick-Informationen einer Tick-Anfrage.
+     *
+     * @param frame
+     *            Frame-Puffer nach den Spielparametern
+     * @param game
+     *            Die zuvor gelesenen Spielparameter
+     * @param queries
+     *            Räumlicher Index und Flugbahnberechnung des KI-Prozesses, welche für die Anfrage aktualisiert werden
+     * @return Informationen über den Tick aus Sicht der KI
+     */
+    static TickInformation readTickInformation(ByteBuffer frame, GameInformation game, AIHostQueries queries) {
+        int tickNumber = frame.getInt();
+        double ballX = frame.getDouble();
+        double ballY = frame.getDouble();
+        boolean isPlayingLeft = frame.get() != 0;
+        int teamGoals = frame.getInt();
+        int opponentTeamGoals = frame.getInt();
+        boolean teamHasBall = frame.get() != 0;
+        boolean opponentHasBall = frame.get() != 0;
+        int playerWithBall = frame.getInt();
+
+        int playerCount = frame.getInt();
+        double[] players = new double[2 * playerCount];
+        int[] blockingTimes = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[2 * i] = frame.getDouble();
+            players[2 * i + 1] = frame.getDouble();
+            blockingTimes[i] = frame.getInt();
+        }
+
+        int opponentCount = frame.getInt();
+        double[] opponents = new double[2 * opponentCount];
+        for (int i = 0; i < 2 * opponentCount; i++)
+            opponents[i] = frame.getDouble();
+
+        SpatialIndex.TeamView spatialIndexView = null;
+        if (frame.get() != 0)
+            spatialIndexView = queries.updateSpatialIndex(game, players, opponents, ballX, ballY);
+
+        BallTrajectory ballTrajectory = null;
+        if (frame.get() != 0) {
+            ballTrajectory = queries.predictBallTrajectory(game, frame.getDouble(), frame.getDouble(),
+                    frame.getDouble(), frame.getDouble(), frame.getDouble(), frame.getDouble(), frame.getDouble(),
+                    frame.getDouble());
+        }
+
+        return new SnapshotTickInformation(tickNumber, ballX, ballY, isPlayingLeft, teamGoals, opponentTeamGoals,
+                teamHasBall, opponentHasBall, playerWithBall, players, blockingTimes, opponents, ballTrajectory,
+                spatialIndexView);
+    }
+
+    /**
+     * Schreibt die Antwort einer KI in einen Frame. Hat die KI eine Exception geworfen, werden die bis dahin erteilten
+     * Befehle gemeinsam mit der Fehlermeldung übertragen, damit sie wie bei einer KI innerhalb der Simulation
+     * ausgeführt werden.
+     *
+     * @param frame
+     *            Frame-Puffer ab Position 0
+     * @param commands
+     *            Befehle der KI
+     * @param exceptionMessage
+     *            Fehlermeldung der von der KI geworfenen Exception, wird bei Bedarf gekürzt, oder <code>null</code>
+     *            falls die KI keine Exception geworfen hat
+     */
+    static void writeResponse(ByteBuffer frame, ActionCommandBuffer commands, String exceptionMessage) {
+        frame.put((exceptionMessage == null) ? RESPONSE_COMMANDS : RESPONSE_EXCEPTION);
+        frame.putInt(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            frame.putInt(commands.getPlayerId(i));
+            frame.put(commands.getActionType(i));
+            frame.putDouble(commands.getDirectionX(i));
+            frame.putDouble(commands.getDirectionY(i));
+            frame.putDouble(commands.getValue(i));
+        }
+
+        if (exceptionMessage != null) {
+            byte[] bytes = exceptionMessage.getBytes(CHARSET);
+            int length = Math.min(bytes.length, MAX_EXCEPTION_MESSAGE_LENGTH);
+
+            frame.putInt(length);
+            frame.put(bytes, 0, length);
+        }
+    }
+
+    /**
+     * Liest eine Antwort des KI-Prozesses.
+     *
+     * @param frame
+     *            Frame-Puffer ab Position 0
+     * @param commands
+     *            Buffer, in welchen die Befehle der KI geschrieben werden. Enthält auch dann die bis zur Exception
+     *            erteilten Befehle, wenn die KI eine Exception geworfen hat.
+     * @return <code>null</code>, falls die KI keine Exception geworfen hat, andernfalls die Fehlermeldung der KI
+     */
+    static String readResponse(ByteBuffer frame, ActionCommandBuffer commands) {
+        commands.clear();
+
+        byte type = frame.get();
+        int count = frame.getInt();
+        for (int i = 0; i < count; i++)
+            commands.add(frame.getInt(), frame.get(), frame.getDouble(), frame.getDouble(), frame.getDouble());
+
+        if (type != RESPONSE_EXCEPTION)
+            return null;
+
+        byte[] bytes = new byte[frame.getInt()];
+        frame.get(bytes);
+        return new String(bytes, CHARSET);
+    }
+}
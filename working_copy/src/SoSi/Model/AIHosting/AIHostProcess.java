@@ -0,0 +1,127 @@
+﻿package SoSi.Model.AIHosting;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import sep.football.AI;
+import sep.football.ActionCommandBuffer;
+import sep.football.GameInformation;
+import sep.football.TickInformation;
+import SoSi.Model.Calculation.AILoader;
+import SoSi.Model.Calculation.AILoader.AiLoadingException;
+
+/**
+ * Startklasse des separaten KI-Prozesses, welcher von {@link RemoteAI} gestartet wird.<br>
+ * Der Prozess lädt genau eine KI, bearbeitet anschließend die Tick-Anfragen der Simulation aus dem gemeinsamen
+ * Speicherbereich und liefert die Aktionen der KI als Befehle zurück. Wird die Standardeingabe geschlossen (z.B. weil
+ * die Simulation beendet wurde), beendet sich der Prozess selbstständig.
+ */
+public final class AIHostProcess {
+
+    /**
+     * Private-Konstruktor der Klasse, da diese nur static Elemente enthält und eine Instanzierung der Klasse daher
+     * nicht gewünscht ist.
+     */
+    private AIHostProcess() {
+    }
+
+    /**
+     * Startmethode des KI-Prozesses.
+     *
+     * @param args
+     *            Dateipfad des gemeinsamen Speicherbereichs, gefolgt vom Dateipfad der KI
+     * @throws IOException
+     *             Falls der gemeinsame Speicherbereich nicht eingeblendet werden kann
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: AIHostProcess <channel file> <AI jar file>");
+            System.exit(1);
+        }
+
+        AIHostChannel channel = new AIHostChannel(new File(args[0]), false);
+
+        AI ai;
+        try {
+            ai = AILoader.LoadAI(args[1]);
+        } catch (AiLoadingException e) {
+            channel.setFailed(e.getMessage());
+            return;
+        }
+
+        watchParentProcess();
+        channel.setReady();
+
+        ActionCommandBuffer commands = new ActionCommandBuffer(AIHostChannel.MAX_COMMANDS);
+        RecordingActionHandler actionHandler = new RecordingActionHandler(commands);
+        AIHostQueries queries = new AIHostQueries();
+
+        MappedRingBuffer requests = channel.getRequests();
+        MappedRingBuffer responses = channel.getResponses();
+
+        while (true) {
+            // Zwischen zwei Anfragen kann beliebig viel Zeit vergehen, daher mit zunehmender Schlafdauer warten
+            ByteBuffer request;
+            for (int iteration = 0; (request = requests.poll()) == null; iteration++)
+                MappedRingBuffer.idleWithBackoff(iteration);
+
+            byte event = AIHostChannel.readEvent(request);
+            GameInformation game = AIHostChannel.readGameInformation(request);
+            TickInformation tick = AIHostChannel.readTickInformation(request, game, queries);
+            requests.release();
+
+            commands.clear();
+            String exceptionMessage = null;
+            try {
+                switch (event) {
+                case AIHostChannel.EVENT_KICK_OFF:
+                    ai.kickOff(game, tick, actionHandler);
+                    break;
+                case AIHostChannel.EVENT_FREE_KICK:
+                    ai.freeKick(game, tick, actionHandler);
+                    break;
+                default:
+                    ai.freePlay(game, tick, actionHandler);
+                    break;
+                }
+            } catch (Throwable e) {
+                // Auch Errors der KI dürfen den KI-Prozess nicht beenden
+                exceptionMessage = e.toString();
+            }
+
+            // Die Simulation wartet auf jede Antwort, bevor sie die nächste Anfrage stellt
+            ByteBuffer response;
+            for (int iteration = 0; (response = responses.claim()) == null; iteration++)
+                MappedRingBuffer.idle(iteration);
+
+            AIHostChannel.writeResponse(response, commands, exceptionMessage);
+
+            responses.publish();
+        }
+    }
+
+    /**
+     * Startet einen Thread, welcher den Prozess beendet, sobald die Standardeingabe geschlossen wird. Dies ist der
+     * Fall, sobald die Simulation beendet wird, auch wenn diese abstürzt.
+     */
+    private static void watchParentProcess() {
+        Thread watcher = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (System.in.read() >= 0) {
+                        // Eingaben ignorieren
+                    }
+                } catch (IOException e) {
+                    // Simulation nicht mehr erreichbar
+                }
+
+                System.exit(0);
+            }
+        }, "AIHostProcess parent watcher");
+
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+}
@@ -0,0 +1,88 @@
+﻿package SoSi.Model.AIHosting;
+
+import sep.football.GameInformation;
+import SoSi.Model.SoSiPosition;
+import SoSi.Model.Calculation.SpatialIndex;
+import SoSi.Model.GameObjects.BallGameObject;
+import SoSi.Model.GamePhysics.BallTrajectoryPredictor;
+import SoSi.Model.GamePhysics.BallTrajectoryPredictor.BallTrajectory;
+
+/**
+ * Räumlicher Index und Vorausberechnung der Flugbahn des Balles innerhalb des KI-Prozesses.<br>
+ * Beide werden aus den Daten einer Tick-Anfrage mit denselben Klassen wie in der Simulation berechnet, so dass die KI
+ * über {@link SnapshotTickInformation} dieselben Ergebnisse wie innerhalb der Simulation erhält. Die Instanzen werden
+ * bei der ersten Anfrage angelegt und anschließend wiederverwendet, da sich Spielparameter und Spielfeldbegrenzung
+ * während eines Spiels nicht ändern.
+ */
+class AIHostQueries {
+
+    /**
+     * Räumlicher Index über die Spieler beider Teams, <code>null</code> solange nicht angelegt
+     */
+    private SpatialIndex spatialIndex;
+
+    /**
+     * Vorausberechnung der Flugbahn des Balles, <code>null</code> solange nicht angelegt
+     */
+    private BallTrajectoryPredictor ballTrajectoryPredictor;
+
+    /**
+     * Baut den räumlichen Index neu auf. Das eigene Team wird dabei als Team A eingetragen.
+     *
+     * @param game
+     *            Allgemeine Spielparameter
+     * @param players
+     *            Koordinaten der eigenen Spieler, jeweils x- und y-Koordinate hintereinander
+     * @param opponents
+     *            Koordinaten der gegnerischen Spieler, jeweils x- und y-Koordinate hintereinander
+     * @param ballX
+     *            x-Koordinate des Balles
+     * @param ballY
+     *            y-Koordinate des Balles
+     * @return Sicht des eigenen Teams auf den Index
+     */
+    SpatialIndex.TeamView updateSpatialIndex(GameInformation game, double[] players, double[] opponents,
+            double ballX, double ballY) {
+        if (this.spatialIndex == null)
+            this.spatialIndex = new SpatialIndex(game, players.length / 2);
+
+        this.spatialIndex.update(players, opponents, ballX, ballY);
+        return this.spatialIndex.getTeamView(true);
+    }
+
+    /**
+     * Gibt die Flugbahn des Balles ausgehend vom übertragenen Ausgangszustand zurück. Die Berechnung erfolgt wie in der
+     * Simulation erst beim ersten Zugriff.
+     *
+     * @param game
+     *            Allgemeine Spielparameter
+     * @param topLeftBoxX
+     *            x-Koordinate der linken, oberen Ecke der Box, von der der Ball abprallt
+     * @param topLeftBoxY
+     *            y-Koordinate der linken, oberen Ecke der Box, von der der Ball abprallt
+     * @param bottomRightBoxX
+     *            x-Koordinate der rechten, unteren Ecke der Box, von der der Ball abprallt
+     * @param bottomRightBoxY
+     *            y-Koordinate der rechten, unteren Ecke der Box, von der der Ball abprallt
+     * @param ballX
+     *            x-Koordinate der Position des Balles
+     * @param ballY
+     *            y-Koordinate der Position des Balles
+     * @param movementX
+     *            x-Komponente der Bewegungsrichtung des Balles
+     * @param movementY
+     *            y-Komponente der Bewegungsrichtung des Balles
+     * @return Die vorausberechnete Flugbahn des Balles
+     */
+    BallTrajectory predictBallTrajectory(GameInformation game, double topLeftBoxX, double topLeftBoxY,
+            double bottomRightBoxX, double bottomRightBoxY, double ballX, double ballY, double movementX,
+            double movementY) {
+        if (this.ballTrajectoryPredictor == null) {
+            BallGameObject ball = new BallGameObject(new SoSiPosition(ballX, ballY), game.getBallDiameter());
+            this.ballTrajectoryPredictor = new BallTrajectoryPredictor(ball, new SoSiPosition(topLeftBoxX,
+                    topLeftBoxY), new SoSiPosition(bottomRightBoxX, bottomRightBoxY));
+        }
+
+        return this.ballTrajectoryPredictor.predict(ballX, ballY, movementX, movementY);
+    }
+}
@@ -0,0 +1,182 @@
+﻿package SoSi.Model.AIHosting;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Ringpuffer mit Frames fester Größe für genau einen schreibenden und einen lesenden Prozess, welcher in einem
+ * gemeinsam eingeblendeten Speicherbereich (Memory-Mapped-File) liegt.<br>
+ * Der Speicherbereich beginnt mit zwei Sequenznummern (geschriebene bzw. gelesene Frames), welche jeweils nur von
+ * einer Seite verändert werden. Die Sequenznummer wird erst nach dem vollständigen Schreiben bzw. Lesen eines Frames
+ * mit Release-Semantik erhöht und von der Gegenseite mit Acquire-Semantik gelesen, so dass die Inhalte des Frames
+ * sichtbar sind, bevor die neue Sequenznummer gelesen wird, und keine weiteren Sperren notwendig sind. Sämtliche
+ * Frame-Puffer werden einmalig im Konstruktor angelegt.
+ */
+class MappedRingBuffer {
+
+    /**
+     * Offset der Sequenznummer der geschriebenen Frames. Beide Sequenznummern liegen in unterschiedlichen
+     * Cache-Lines.
+     */
+    private static final int WRITE_SEQUENCE_OFFSET = 0;
+
+    /**
+     * Offset der Sequenznummer der gelesenen Frames
+     */
+    private static final int READ_SEQUENCE_OFFSET = 64;
+
+    /**
+     * Größe des Headers mit den Sequenznummern
+     */
+    private static final int HEADER_SIZE = 128;
+
+    /**
+     * Zugriff auf die Sequenznummern mit Speicher-Ordnung. Erfordert, dass die Sequenznummern an 8 Byte ausgerichtet
+     * im Speicher liegen.
+     */
+    private static final VarHandle SEQUENCE = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+
+    /**
+     * Anzahl an Warte-Iterationen, in denen lediglich {@link Thread#yield()} aufgerufen wird, bevor der wartende Thread
+     * schlafen gelegt wird
+     */
+    private static final int SPIN_ITERATIONS = 1000;
+
+    /**
+     * Schlafdauer (in Nanosekunden) je Warte-Iteration nach Ablauf der {@link #SPIN_ITERATIONS}
+     */
+    private static final long PARK_NANOSECONDS = 20000;
+
+    /**
+     * Maximale Schlafdauer (in Nanosekunden) je Warte-Iteration in {@link #idleWithBackoff(int)}
+     */
+    private static final long MAXIMUM_BACKOFF_PARK_NANOSECONDS = 10000000;
+
+    /**
+     * Speicherbereich des Ringpuffers inkl. Header
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Sichten auf die einzelnen Frames
+     */
+    private final ByteBuffer[] slots;
+
+    /**
+     * Erstellt einen Ringpuffer in einem Ausschnitt des gemeinsamen Speicherbereichs.
+     *
+     * @param region
+     *            Ausschnitt des gemeinsamen Speicherbereichs mit mindestens {@link #getRequiredSize(int, int)} Bytes,
+     *            dessen Beginn an 8 Byte ausgerichtet ist
+     * @param slotCount
+     *            Anzahl an Frames im Ringpuffer
+     * @param slotSize
+     *            Größe eines Frames in Bytes
+     */
+    MappedRingBuffer(ByteBuffer region, int slotCount, int slotSize) {
+        this.buffer = region.slice().order(ByteOrder.nativeOrder());
+        this.slots = new ByteBuffer[slotCount];
+
+        for (int i = 0; i < slotCount; i++) {
+            ByteBuffer slot = this.buffer.duplicate();
+            slot.position(HEADER_SIZE + i * slotSize);
+            slot.limit(HEADER_SIZE + (i + 1) * slotSize);
+            this.slots[i] = slot.slice().order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Berechnet die Größe des Speicherbereichs für einen Ringpuffer.
+     *
+     * @param slotCount
+     *            Anzahl an Frames im Ringpuffer
+     * @param slotSize
+     *            Größe eines Frames in Bytes
+     * @return Benötigte Größe in Bytes
+     */
+    static int getRequiredSize(int slotCount, int slotSize) {
+        return HEADER_SIZE + slotCount * slotSize;
+    }
+
+    /**
+     * Gibt den nächsten freien Frame zum Schreiben zurück. Der Frame wird erst durch {@link #publish()} für die lesende
+     * Seite sichtbar.
+     *
+     * @return Frame-Puffer ab Position 0, oder <code>null</code>, falls der Ringpuffer voll ist
+     */
+    ByteBuffer claim() {
+        long writeSequence = (long) SEQUENCE.get(this.buffer, WRITE_SEQUENCE_OFFSET);
+        if (writeSequence - (long) SEQUENCE.getAcquire(this.buffer, READ_SEQUENCE_OFFSET) >= this.slots.length)
+            return null;
+
+        ByteBuffer slot = this.slots[(int) (writeSequence % this.slots.length)];
+        slot.clear();
+        return slot;
+    }
+
+    /**
+     * Gibt den zuletzt mit {@link #claim()} angeforderten Frame für die lesende Seite frei.
+     */
+    void publish() {
+        long writeSequence = (long) SEQUENCE.get(this.buffer, WRITE_SEQUENCE_OFFSET);
+        SEQUENCE.setRelease(this.buffer, WRITE_SEQUENCE_OFFSET, writeSequence + 1);
+    }
+
+    /**
+     * Gibt den ältesten ungelesenen Frame zurück. Der Frame bleibt bis zum Aufruf von {@link #release()} reserviert.
+     *
+     * @return Frame-Puffer ab Position 0, oder <code>null</code>, falls kein ungelesener Frame vorliegt
+     */
+    ByteBuffer poll() {
+        long readSequence = (long) SEQUENCE.get(this.buffer, READ_SEQUENCE_OFFSET);
+        if ((long) SEQUENCE.getAcquire(this.buffer, WRITE_SEQUENCE_OFFSET) <= readSequence)
+            return null;
+
+        ByteBuffer slot = this.slots[(int) (readSequence % this.slots.length)];
+        slot.clear();
+        return slot;
+    }
+
+    /**
+     * Gibt den zuletzt mit {@link #poll()} gelesenen Frame zum erneuten Beschreiben frei.
+     */
+    void release() {
+        long readSequence = (long) SEQUENCE.get(this.buffer, READ_SEQUENCE_OFFSET);
+        SEQUENCE.setRelease(this.buffer, READ_SEQUENCE_OFFSET, readSequence + 1);
+    }
+
+    /**
+     * Wartet kurzzeitig zwischen zwei Abfragen des Ringpuffers. Zu Beginn wird lediglich die Rechenzeit abgegeben, um
+     * kurze Antwortzeiten zu erreichen, bei längerem Warten wird der Thread schlafen gelegt.
+     *
+     * @param iteration
+     *            Anzahl der bisherigen Warte-Iterationen
+     */
+    static void idle(int iteration) {
+        if (iteration < SPIN_ITERATIONS)
+            Thread.yield();
+        else
+            LockSupport.parkNanos(PARK_NANOSECONDS);
+    }
+
+    /**
+     * Wartet zwischen zwei Abfragen des Ringpuffers, wobei die Schlafdauer bei längerem Warten bis auf
+     * {@link #MAXIMUM_BACKOFF_PARK_NANOSECONDS} verdoppelt wird. Für Seiten, welche (z.B. nach dem Ende der
+     * Berechnung) beliebig lange auf den nächsten Frame warten können, ohne dabei einen Prozessorkern zu belegen.
+     *
+     * @param iteration
+     *            Anzahl der bisherigen Warte-Iterationen
+     */
+    static void idleWithBackoff(int iteration) {
+        if (iteration < SPIN_ITERATIONS) {
+            Thread.yield();
+        } else {
+            int doublings = Math.min(iteration - SPIN_ITERATIONS, 20);
+            LockSupport.parkNanos(Math.min(PARK_NANOSECONDS << doublings, MAXIMUM_BACKOFF_PARK_NANOSECONDS));
+        }
+    }
+}
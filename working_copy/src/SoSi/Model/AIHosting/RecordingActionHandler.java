@@ -0,0 +1,87 @@
+﻿package SoSi.Model.AIHosting;
+
+import sep.football.ActionCommandBuffer;
+import sep.football.BatchActionHandler;
+import sep.football.FreePlayActionHandler;
+import sep.football.KickActionHandler;
+import sep.football.Position;
+
+/**
+ * ActionHandler innerhalb des KI-Prozesses. Die Aktionen der KI werden nicht ausgeführt, sondern in einem
+ * {@link ActionCommandBuffer} gesammelt und anschließend an die Simulation übertragen, welche sie prüft und ausführt.<br>
+ * Aktionen, die über {@link AIHostChannel#MAX_COMMANDS} hinausgehen, werden verworfen.<br>
+ * Wie in der Simulation wird {@link BatchActionHandler} angeboten. Da die Befehle erst nach der Rückkehr der KI in der
+ * Simulation geprüft werden, verbleiben sie dabei im Status {@link ActionCommandBuffer#STATUS_PENDING}.
+ */
+class RecordingActionHandler implements FreePlayActionHandler, KickActionHandler, BatchActionHandler {
+
+    /**
+     * Buffer, in welchem die Aktionen gesammelt werden
+     */
+    private final ActionCommandBuffer commands;
+
+    /**
+     * Erstellt einen neuen ActionHandler.
+     *
+     * @param commands
+     *            Buffer, in welchem die Aktionen gesammelt werden
+     */
+    RecordingActionHandler(ActionCommandBuffer commands) {
+        this.commands = commands;
+    }
+
+    /**
+     * Fügt einen Befehl hinzu, sofern der Buffer nicht voll ist.
+     */
+    private void record(int playerId, byte actionType, double x, double y, double value) {
+        if (this.commands.size() < this.commands.getCapacity())
+            this.commands.add(playerId, actionType, x, y, value);
+    }
+
+    @Override
+    public void kickBall(int playerId, Position direction, double strength) {
+        this.record(playerId, ActionCommandBuffer.ACTION_KICK_BALL, direction.getX(), direction.getY(), strength);
+    }
+
+    @Override
+    public void changePlayerDirection(int playerId, Position targetDirection, double targetSpeed) {
+        this.record(playerId, ActionCommandBuffer.ACTION_CHANGE_PLAYER_DIRECTION, targetDirection.getX(),
+                targetDirection.getY(), targetSpeed);
+    }
+
+    @Override
+    public void acquireBallControl(int playerId, double determination) {
+        if (determination <= 0 || determination > 1)
+            throw new IllegalArgumentException("Determination nicht im Bereich ]0;1]");
+
+        this.record(playerId, ActionCommandBuffer.ACTION_ACQUIRE_BALL_CONTROL, 0, 0, determination);
+    }
+
+    @Override
+    public void placePlayer(int playerId, Position pos) {
+        this.record(playerId, ActionCommandBuffer.ACTION_PLACE_PLAYER, pos.getX(), pos.getY(), 0);
+    }
+
+    /**
+     * Übernimmt sämtliche Befehle in die an die Simulation übertragenen Befehle. Die Befehle werden erst von der
+     * Simulation geprüft und ausgeführt, ihr Status bleibt daher {@link ActionCommandBuffer#STATUS_PENDING}.
+     *
+     * @return Anzahl der übernommenen Befehle
+     */
+    @Override
+    public int submitCommands(ActionCommandBuffer commands) {
+        int recorded = 0;
+
+        for (int i = 0; i < commands.size(); i++) {
+            commands.setStatus(i, ActionCommandBuffer.STATUS_PENDING);
+
+            if (this.commands.size() < this.commands.getCapacity()) {
+                this.commands.add(commands.getPlayerId(i), commands.getActionType(i), commands.getDirectionX(i),
+                        commands.getDirectionY(i), commands.getValue(i));
+                recorded++;
+            }
+        }
+
+        return recorded;
+    }
+}
@@ -0,0 +1,244 @@
+﻿package SoSi.Model.AIHosting;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import sep.football.AI;
+import sep.football.ActionCommandBuffer;
+import sep.football.ActionHandler;
+import sep.football.BatchActionHandler;
+import sep.football.FreePlayActionHandler;
+import sep.football.GameInformation;
+import sep.football.KickActionHandler;
+import sep.football.TickInformation;
+import SoSi.Model.Calculation.AILoader.AiLoadingException;
+
+/**
+ * Stellvertreter einer KI, welche in einem separaten Java-Prozess ({@link AIHostProcess}) ausgeführt wird.<br>
+ * Die Tick-Informationen werden über einen gemeinsamen Speicherbereich ({@link AIHostChannel}) an den KI-Prozess
+ * übertragen, die zurückgelieferten Befehle werden über {@link BatchActionHandler#submitCommands(ActionCommandBuffer)}
+ * ausgeführt.<br>
+ * Eine Zeitüberschreitung wird über {@link #abortDecision()} behandelt, welches den KI-Prozess hart beendet. Der
+ * Prozess wird beim nächsten Aufruf neu gestartet; bis dieser die KI geladen hat, trifft die KI keine Entscheidungen.
+ */
+public class RemoteAI implements AI {
+
+    /**
+     * Maximale Wartezeit (in Millisekunden) auf das Laden der KI beim ersten Start des KI-Prozesses
+     */
+    private static final long STARTUP_TIMEOUT_MILLISECONDS = 30000;
+
+    /**
+     * Anzahl an Warte-Iterationen, nach welchen geprüft wird, ob der KI-Prozess noch läuft
+     */
+    private static final int PROCESS_CHECK_INTERVAL = 64;
+
+    /**
+     * Dateipfad der KI
+     */
+    private final String pathToJarFile;
+
+    /**
+     * URL der Sicherheitsrichtlinie des KI-Prozesses, oder <code>null</code> für einen Prozess ohne
+     * Sicherheitsrichtlinie
+     */
+    private final String securityPolicy;
+
+    /**
+     * Buffer, in welchen die Befehle des KI-Prozesses gelesen werden
+     */
+    private final ActionCommandBuffer commands = new ActionCommandBuffer(AIHostChannel.MAX_COMMANDS);
+
+    /**
+     * Aktuell laufender KI-Prozess
+     */
+    private volatile Process process;
+
+    /**
+     * Gemeinsamer Speicherbereich des aktuellen KI-Prozesses
+     */
+    private volatile AIHostChannel channel;
+
+    /**
+     * Flag, ob {@link #shutdown()} aufgerufen wurde. Danach wird kein KI-Prozess mehr gestartet.
+     */
+    private boolean isShutdown = false;
+
+    /**
+     * Startet einen KI-Prozess und wartet, bis dieser die KI geladen hat.
+     *
+     * @param pathToJarFile
+     *            Der Dateipfad der KI
+     * @param securityPolicy
+     *            URL der Policy-Datei, unter welcher die Simulation läuft und mit welcher auch der KI-Prozess gestartet
+     *            wird, oder <code>null</code> für einen Prozess ohne Sicherheitsrichtlinie
+     * @throws AiLoadingException
+     *             Wird geworfen, wenn der KI-Prozess nicht gestartet werden kann oder die KI nicht laden konnte
+     */
+    public RemoteAI(String pathToJarFile, String securityPolicy) throws AiLoadingException {
+        this.pathToJarFile = pathToJarFile;
+        this.securityPolicy = securityPolicy;
+
+        try {
+            this.startProcess();
+        } catch (IOException e) {
+            throw new AiLoadingException("Could not start AI host process", e);
+        }
+
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLISECONDS;
+        for (int iteration = 0; this.channel.getState() == AIHostChannel.STATE_STARTING; iteration++) {
+            if (!this.process.isAlive() || System.currentTimeMillis() > deadline) {
+                this.shutdown();
+                throw new AiLoadingException("AI host process did not start.\n\nFile: " + pathToJarFile);
+            }
+
+            MappedRingBuffer.idle(iteration);
+        }
+
+        if (this.channel.getState() == AIHostChannel.STATE_FAILED) {
+            String message = this.channel.getFailureMessage();
+            this.shutdown();
+            throw new AiLoadingException(message);
+        }
+    }
+
+    /**
+     * Startet einen neuen KI-Prozess mit einem neuen gemeinsamen Speicherbereich. Der Prozess verwendet den Classpath
+     * der Simulation sowie die {@link #securityPolicy}.
+     *
+     * @throws IOException
+     *             Falls der Speicherbereich nicht angelegt oder der Prozess nicht gestartet werden kann
+     */
+    private void startProcess() throws IOException {
+        if (this.channel != null)
+            this.channel.getFile().delete();
+
+        File channelFile = File.createTempFile("sosi-ai-", ".channel");
+        channelFile.deleteOnExit();
+        this.channel = new AIHostChannel(channelFile, true);
+
+        List<String> command = new ArrayList<String>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+
+        if (this.securityPolicy != null) {
+            command.add("-Djava.security.manager");
+            command.add("-Djava.security.policy=" + this.securityPolicy);
+        }
+
+        command.add(AIHostProcess.class.getName());
+        command.add(channelFile.getAbsolutePath());
+        command.add(this.pathToJarFile);
+
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.redirectOutput(ProcessBuilder.Redirect.INHERIT);
+        processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        this.process = processBuilder.start();
+    }
+
+    /**
+     * Beendet den aktuellen KI-Prozess hart. Ein auf die Entscheidung der KI wartender Thread kehrt daraufhin ohne
+     * Entscheidung zurück.
+     */
+    public void abortDecision() {
+        Process currentProcess = this.process;
+        if (currentProcess != null)
+            currentProcess.destroyForcibly();
+    }
+
+    /**
+     * Beendet den KI-Prozess und gibt den gemeinsamen Speicherbereich frei.
+     */
+    public synchronized void shutdown() {
+        this.isShutdown = true;
+        this.abortDecision();
+        this.process = null;
+
+        if (this.channel != null)
+            this.channel.getFile().delete();
+    }
+
+    @Override
+    public void kickOff(GameInformation game, TickInformation tick, KickActionHandler actionHandler) {
+        this.requestDecision(AIHostChannel.EVENT_KICK_OFF, game, tick, actionHandler);
+    }
+
+    @Override
+    public void freeKick(GameInformation game, TickInformation tick, KickActionHandler actionHandler) {
+        this.requestDecision(AIHostChannel.EVENT_FREE_KICK, game, tick, actionHandler);
+    }
+
+    @Override
+    public void freePlay(GameInformation game, TickInformation tick, FreePlayActionHandler actionHandler) {
+        this.requestDecision(AIHostChannel.EVENT_FREE_PLAY, game, tick, actionHandler);
+    }
+
+    /**
+     * Überträgt eine Tick-Anfrage an den KI-Prozess, wartet auf dessen Antwort und führt die erhaltenen Befehle aus.
+     *
+     * @param event
+     *            Eine der <code>EVENT_</code>-Konstanten von {@link AIHostChannel}
+     * @param game
+     *            Allgemeine Spielparameter
+     * @param tick
+     *            Informationen über den aktuellen Tick aus Sicht der KI
+     * @param actionHandler
+     *            ActionHandler des aktuellen Ticks, muss {@link BatchActionHandler} implementieren
+     */
+    private void requestDecision(byte event, GameInformation game, TickInformation tick, ActionHandler actionHandler) {
+        Process currentProcess = this.process;
+        if (currentProcess == null)
+            return;
+
+        if (!currentProcess.isAlive()) {
+            // Prozess wurde nach einer Zeitüberschreitung beendet, neu starten und diesen Tick auslassen
+            synchronized (this) {
+                if (!this.isShutdown) {
+                    try {
+                        this.startProcess();
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Could not restart AI host process", e);
+                    }
+                }
+            }
+            return;
+        }
+
+        if (this.channel.getState() != AIHostChannel.STATE_READY)
+            return;
+
+        ByteBuffer request = this.channel.getRequests().claim();
+        if (request == null)
+            return;
+
+        AIHostChannel.writeRequest(request, event, game, tick);
+        this.channel.getRequests().publish();
+
+        MappedRingBuffer responses = this.channel.getResponses();
+        ByteBuffer response;
+        for (int iteration = 0; (response = responses.poll()) == null; iteration++) {
+            if (iteration % PROCESS_CHECK_INTERVAL == 0 && !currentProcess.isAlive())
+                return;
+
+            MappedRingBuffer.idle(iteration);
+        }
+
+        String exceptionMessage = AIHostChannel.readResponse(response, this.commands);
+        responses.release();
+
+        // Wie innerhalb der Simulation bleiben die vor einer Exception erteilten Befehle gültig
+        ((BatchActionHandler) actionHandler).submitCommands(this.commands);
+
+        if (exceptionMessage != null)
+            throw new IllegalStateException("AI host process: " + exceptionMessage);
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteAI[" + this.pathToJarFile + "]";
+    }
+}
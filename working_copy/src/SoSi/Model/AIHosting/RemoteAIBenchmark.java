@@ -0,0 +1,205 @@
+﻿package SoSi.Model.AIHosting;
+
+import java.util.Random;
+
+import sep.football.AI;
+import sep.football.ActionCommandBuffer;
+import sep.football.GameInformation;
+import SoSi.Model.SoSiPosition;
+import SoSi.Model.Calculation.AILoader;
+import SoSi.Model.Calculation.AILoader.AiLoadingException;
+import SoSi.Model.Calculation.SoSiGameInformation;
+import SoSi.Model.Calculation.SoSiTickInformation;
+import SoSi.Model.Calculation.SpatialIndex;
+import SoSi.Model.Calculation.Team;
+import SoSi.Model.Calculation.Vector2D;
+import SoSi.Model.GameObjects.BallGameObject;
+import SoSi.Model.GameObjects.PlayerGameObject;
+import SoSi.Model.GamePhysics.BallTrajectoryPredictor;
+import SoSi.Model.Profiling.LogLinearHistogram;
+
+/**
+ * Misst die Dauer eines KI-Aufrufs innerhalb der Simulation und über einen {@link RemoteAI}-Prozess.<br>
+ * Dieselbe KI wird zunächst direkt und anschließend über den KI-Prozess mit denselben zufällig erzeugten
+ * Tick-Informationen aufgerufen. Wie in der Simulation enthalten diese die Flugbahn des Balles sowie den räumlichen
+ * Index. Ausgegeben werden die Startdauer des KI-Prozesses sowie Median, 99. Perzentil und Maximum der Aufrufdauer.
+ * Die Erstellung der Tick-Informationen wird nicht mitgemessen.<br>
+ * Aufruf: <code>java -cp &lt;Classpath der Simulation&gt; SoSi.Model.AIHosting.RemoteAIBenchmark &lt;KI&gt;
+ * [Aufrufe] [Spieler je Team]</code>
+ */
+public final class RemoteAIBenchmark {
+
+    /**
+     * Standardwert der Anzahl an gemessenen Aufrufen je Variante
+     */
+    private static final int DEFAULT_CALLS = 20000;
+
+    /**
+     * Standardwert der Anzahl an Spielern je Team
+     */
+    private static final int DEFAULT_PLAYERS_PER_TEAM = 11;
+
+    /**
+     * Anzahl der Aufrufe je Variante vor Beginn der Messung, damit der JIT-Compiler den Code bereits übersetzt hat
+     */
+    private static final int WARM_UP_CALLS = 5000;
+
+    /**
+     * Spielfeldlänge in Metern, entspricht dem Standardwert der Oberfläche
+     */
+    private static final double FIELD_LENGTH = 60;
+
+    /**
+     * Spielfeldbreite in Metern, entspricht dem Standardwert der Oberfläche
+     */
+    private static final double FIELD_WIDTH = 35;
+
+    /**
+     * Torbreite in Metern, entspricht dem Standardwert der Oberfläche
+     */
+    private static final double GOAL_SIZE = 5;
+
+    /**
+     * Spieler-Durchmesser in Metern, entspricht dem Standardwert der Oberfläche
+     */
+    private static final double PLAYER_DIAMETER = 1.4;
+
+    /**
+     * Balldurchmesser in Metern, entspricht dem Standardwert der Oberfläche
+     */
+    private static final double BALL_DIAMETER = 1.0;
+
+    /**
+     * Private-Konstruktor der Klasse, da diese nur static Elemente enthält und eine Instanzierung der Klasse daher
+     * nicht gewünscht ist.
+     */
+    private RemoteAIBenchmark() {
+    }
+
+    /**
+     * Startmethode des Benchmarks.
+     *
+     * @param args
+     *            Dateipfad der KI, optional gefolgt von der Anzahl an gemessenen Aufrufen je Variante und der Anzahl
+     *            an Spielern je Team
+     * @throws AiLoadingException
+     *             Falls die KI nicht geladen oder der KI-Prozess nicht gestartet werden kann
+     */
+    public static void main(String[] args) throws AiLoadingException {
+        if (args.length < 1 || args.length > 3) {
+            System.err.println("Usage: RemoteAIBenchmark <AI jar file> [calls] [players per team]");
+            System.exit(1);
+        }
+
+        int calls = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CALLS;
+        int playersPerTeam = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PLAYERS_PER_TEAM;
+
+        GameInformation game = new SoSiGameInformation(FIELD_WIDTH, FIELD_LENGTH, GOAL_SIZE, PLAYER_DIAMETER,
+                BALL_DIAMETER, WARM_UP_CALLS + calls);
+
+        AI localAi = AILoader.LoadAI(args[0]);
+
+        long startupStart = System.nanoTime();
+        RemoteAI remoteAi = new RemoteAI(args[0], null);
+        long startupNanos = System.nanoTime() - startupStart;
+
+        try {
+            System.out.printf("KI: %s, %d Spieler je Team, %d Aufrufe je Variante%n", args[0], playersPerTeam, calls);
+            System.out.printf("Start des KI-Prozesses: %.1f ms%n", startupNanos / 1000000d);
+
+            report("innerhalb", measure(localAi, game, playersPerTeam, calls));
+            report("KI-Prozess", measure(remoteAi, game, playersPerTeam, calls));
+        } finally {
+            remoteAi.shutdown();
+        }
+    }
+
+    /**
+     * Ruft die KI wiederholt mit zufällig erzeugten Tick-Informationen im freien Spiel auf und erfasst die Dauer der
+     * Aufrufe nach der Aufwärmphase. Der Zufallsgenerator verwendet einen festen Startwert, so dass jede Variante
+     * dieselben Tick-Informationen erhält.
+     *
+     * @param ai
+     *            Die aufzurufende KI
+     * @param game
+     *            Allgemeine Spielparameter
+     * @param playersPerTeam
+     *            Anzahl der Spieler je Team
+     * @param calls
+     *            Anzahl der gemessenen Aufrufe
+     * @return Dauer der gemessenen Aufrufe in Nanosekunden
+     */
+    private static LogLinearHistogram measure(AI ai, GameInformation game, int playersPerTeam, int calls) {
+        Random random = new Random(0);
+        Team ownTeam = new Team(playersPerTeam, ai, game.getPlayerDiameter(), new SoSiPosition(0, 0));
+        Team opponentTeam = new Team(playersPerTeam, ai, game.getPlayerDiameter(), new SoSiPosition(0, 0));
+        BallGameObject ball = new BallGameObject(new SoSiPosition(0, 0), game.getBallDiameter());
+        BallTrajectoryPredictor ballTrajectoryPredictor = new BallTrajectoryPredictor(ball, new SoSiPosition(0, 0),
+                new SoSiPosition(game.getFieldLength(), game.getFieldWidth()));
+        SpatialIndex spatialIndex = new SpatialIndex(game, playersPerTeam);
+
+        ActionCommandBuffer commands = new ActionCommandBuffer(AIHostChannel.MAX_COMMANDS);
+        RecordingActionHandler actionHandler = new RecordingActionHandler(commands);
+        LogLinearHistogram latencies = new LogLinearHistogram();
+        int exceptionCount = 0;
+
+        for (int i = 0; i < WARM_UP_CALLS + calls; i++) {
+            for (PlayerGameObject player : ownTeam.getPlayers())
+                player.setPosition(getRandomPosition(random, game));
+            for (PlayerGameObject player : opponentTeam.getPlayers())
+                player.setPosition(getRandomPosition(random, game));
+
+            ball.setPosition(getRandomPosition(random, game));
+            ball.setMovementDirection(new Vector2D(random.nextGaussian(), random.nextGaussian()));
+            spatialIndex.update(ownTeam, opponentTeam, ball.getPosition());
+
+            SoSiTickInformation tick = new SoSiTickInformation(ball.getPosition(), ownTeam, opponentTeam, true, i,
+                    null, ballTrajectoryPredictor.predict(), spatialIndex.getTeamView(true));
+            commands.clear();
+
+            long start = System.nanoTime();
+            try {
+                ai.freePlay(game, tick, actionHandler);
+            } catch (Exception e) {
+                exceptionCount++;
+            }
+            long duration = System.nanoTime() - start;
+
+            if (i >= WARM_UP_CALLS)
+                latencies.record(duration);
+        }
+
+        if (exceptionCount > 0)
+            System.out.printf("%s: %d Exceptions der KI%n", ai, exceptionCount);
+
+        return latencies;
+    }
+
+    /**
+     * Erzeugt eine zufällige Position auf dem Spielfeld.
+     *
+     * @param random
+     *            Der zu verwendende Zufallsgenerator
+     * @param game
+     *            Allgemeine Spielparameter
+     * @return Die erzeugte Position
+     */
+    private static SoSiPosition getRandomPosition(Random random, GameInformation game) {
+        return new SoSiPosition(random.nextDouble() * game.getFieldLength(), random.nextDouble()
+                * game.getFieldWidth());
+    }
+
+    /**
+     * Gibt Median, 99. Perzentil und Maximum der gemessenen Aufrufdauer in Mikrosekunden aus.
+     *
+     * @param label
+     *            Bezeichnung der Variante
+     * @param latencies
+     *            Dauer der gemessenen Aufrufe in Nanosekunden
+     */
+    private static void report(String label, LogLinearHistogram latencies) {
+        System.out.printf("%-10s p50 %.1f  p99 %.1f  max %.1f us%n", label,
+                latencies.getValueAtPercentile(50) / 1000d, latencies.getValueAtPercentile(99) / 1000d,
+                latencies.getMax() / 1000d);
+    }
+}
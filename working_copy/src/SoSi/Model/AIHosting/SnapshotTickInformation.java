@@ -0,0 +1,235 @@
+﻿package SoSi.Model.AIHosting;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import sep.football.BallTrajectoryInformation;
+import sep.football.Position;
+import sep.football.SpatialQueryInformation;
+import sep.football.TickInformation;
+import SoSi.Model.SoSiPosition;
+import SoSi.Model.Calculation.SpatialIndex;
+import SoSi.Model.GamePhysics.BallTrajectoryPredictor;
+import SoSi.Model.GamePhysics.BallTrajectoryPredictor.BallTrajectory;
+
+/**
+ * {@link TickInformation} innerhalb des KI-Prozesses. Enthält eine Kopie der Tick-Informationen, welche aus einer
+ * Tick-Anfrage der Simulation gelesen wurde.<br>
+ * Wie in der Simulation werden {@link BallTrajectoryInformation} und {@link SpatialQueryInformation} angeboten. Die
+ * Flugbahn und der räumliche Index werden dazu im KI-Prozess über {@link AIHostQueries} nachgebildet.
+ */
+class SnapshotTickInformation implements BallTrajectoryInformation, SpatialQueryInformation {
+
+    /**
+     * Aktuelle Tick-Position
+     */
+    private final int currentTickNumber;
+
+    /**
+     * Die Position des Balles
+     */
+    private final Position ballPosition;
+
+    /**
+     * Flag, ob das eigene Team gerade auf der linken Spielfeldhälfte spielt
+     */
+    private final boolean isPlayingLeft;
+
+    /**
+     * Anzahl der Tore des eigenen Teams
+     */
+    private final int teamGoals;
+
+    /**
+     * Anzahl der Tore des gegnerischen Teams
+     */
+    private final int opponentTeamGoals;
+
+    /**
+     * Flag, ob ein Spieler des eigenen Teams in Ballbesitz ist
+     */
+    private final boolean teamHasBall;
+
+    /**
+     * Flag, ob ein Spieler des gegnerischen Teams in Ballbesitz ist
+     */
+    private final boolean opponentHasBall;
+
+    /**
+     * ID des Spielers in Ballbesitz, -1 falls kein Spieler in Ballbesitz ist
+     */
+    private final int playerWithBall;
+
+    /**
+     * Koordinaten der eigenen Spieler, jeweils x- und y-Koordinate hintereinander
+     */
+    private final double[] players;
+
+    /**
+     * Minimale Blockierzeit (in Ticks) je eigenem Spieler
+     */
+    private final int[] blockingTimes;
+
+    /**
+     * Koordinaten der gegnerischen Spieler, jeweils x- und y-Koordinate hintereinander
+     */
+    private final double[] opponents;
+
+    /**
+     * Vorausberechnete Flugbahn des Balles, <code>null</code> falls die Simulation keine berechnet hat.
+     */
+    private final BallTrajectory ballTrajectory;
+
+    /**
+     * Sicht des eigenen Teams auf den räumlichen Index, <code>null</code> falls die Simulation keinen Index aufgebaut
+     * hat.
+     */
+    private final SpatialIndex.TeamView spatialIndexView;
+
+    /**
+     * Erstellt eine neue Kopie der Tick-Informationen.
+     *
+     * @see AIHostChannel#readTickInformation(java.nio.ByteBuffer, sep.football.GameInformation, AIHostQueries)
+     */
+    SnapshotTickInformation(int currentTickNumber, double ballX, double ballY, boolean isPlayingLeft, int teamGoals,
+            int opponentTeamGoals, boolean teamHasBall, boolean opponentHasBall, int playerWithBall,
+            double[] players, int[] blockingTimes, double[] opponents, BallTrajectory ballTrajectory,
+            SpatialIndex.TeamView spatialIndexView) {
+        this.currentTickNumber = currentTickNumber;
+        this.ballPosition = new SoSiPosition(ballX, ballY);
+        this.isPlayingLeft = isPlayingLeft;
+        this.teamGoals = teamGoals;
+        this.opponentTeamGoals = opponentTeamGoals;
+        this.teamHasBall = teamHasBall;
+        this.opponentHasBall = opponentHasBall;
+        this.playerWithBall = playerWithBall;
+        this.players = players;
+        this.blockingTimes = blockingTimes;
+        this.opponents = opponents;
+        this.ballTrajectory = ballTrajectory;
+        this.spatialIndexView = spatialIndexView;
+    }
+
+    /**
+     * Erstellt eine Liste von Positionen aus den Koordinaten.
+     */
+    private static List<Position> toPositions(double[] coordinates) {
+        ArrayList<Position> result = new ArrayList<Position>(coordinates.length / 2);
+
+        for (int i = 0; i < coordinates.length; i += 2)
+            result.add(new SoSiPosition(coordinates[i], coordinates[i + 1]));
+
+        return result;
+    }
+
+    @Override
+    public int getCurrentTickNumber() {
+        return this.currentTickNumber;
+    }
+
+    @Override
+    public List<Position> getPlayerPositions() {
+        return toPositions(this.players);
+    }
+
+    @Override
+    public List<Position> getOpponentPlayerPositions() {
+        return toPositions(this.opponents);
+    }
+
+    @Override
+    public Position getBallPosition() {
+        return this.ballPosition;
+    }
+
+    @Override
+    public boolean hasTeamBall(boolean ownTeam) {
+        return ownTeam ? this.teamHasBall : this.opponentHasBall;
+    }
+
+    @Override
+    public int getPlayerWithBall() throws IllegalStateException {
+        if (this.playerWithBall < 0)
+            throw new IllegalStateException("Kein Spieler ist im Ballbesitz");
+
+        return this.playerWithBall;
+    }
+
+    @Override
+    public int getTeamGoals() {
+        return this.teamGoals;
+    }
+
+    @Override
+    public int getOpponentTeamGoals() {
+        return this.opponentTeamGoals;
+    }
+
+    @Override
+    public int getMinimalBlockingTime(int playerId) {
+        if (playerId >= this.blockingTimes.length)
+            throw new ArrayIndexOutOfBoundsException(String.format("Die geforderte Spieler-ID %d ist nicht vorhanden!",
+                    playerId));
+
+        return this.blockingTimes[playerId];
+    }
+
+    @Override
+    public boolean isPlayingOnTheLeft() {
+        return this.isPlayingLeft;
+    }
+
+    @Override
+    public int getBallTrajectoryLength() {
+        return (this.ballTrajectory != null) ? this.ballTrajectory.getLength() : 0;
+    }
+
+    @Override
+    public Position getPredictedBallPosition(int ticksAhead) throws IndexOutOfBoundsException {
+        if (this.ballTrajectory == null) {
+            if (ticksAhead != 0)
+                throw new IndexOutOfBoundsException("Keine Flugbahn des Balles vorausberechnet");
+
+            return this.ballPosition;
+        }
+
+        return this.ballTrajectory.getPosition(ticksAhead);
+    }
+
+    @Override
+    public int getTicksUntilBallReaches(Position position) {
+        return (this.ballTrajectory != null) ? this.ballTrajectory.getTicksUntilReached(position) : -1;
+    }
+
+    @Override
+    public double getBallTrajectoryResolution() {
+        return BallTrajectoryPredictor.GRID_CELL_SIZE;
+    }
+
+    @Override
+    public int getNearestPlayer(Position position, boolean ownTeam) {
+        return (this.spatialIndexView != null) ? this.spatialIndexView.getNearestPlayer(position, ownTeam) : -1;
+    }
+
+    @Override
+    public int getNearestPlayerToBall(boolean ownTeam) {
+        return (this.spatialIndexView != null) ? this.spatialIndexView.getNearestPlayerToBall(ownTeam) : -1;
+    }
+
+    @Override
+    public int findNearestPlayers(Position position, boolean ownTeam, int[] playerIds) {
+        return (this.spatialIndexView != null) ? this.spatialIndexView.findNearestPlayers(position, ownTeam,
+                playerIds) : 0;
+    }
+
+    @Override
+    public int findPlayersWithinRadius(Position position, double radius, boolean ownTeam, int[] playerIds) {
+        return (this.spatialIndexView != null) ? this.spatialIndexView.findPlayersWithinRadius(position, radius,
+                ownTeam, playerIds) : 0;
+    }
+
+    @Override
+    public boolean isPassingLaneOpen(Position from, Position to, double clearance) {
+        return (this.spatialIndexView != null) ? this.spatialIndexView.isPassingLaneOpen(from, to, clearance) : true;
+    }
+}
@@ -11,6 +11,7 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
 import sep.football.AI;
+import SoSi.Model.AIHosting.RemoteAI;
 
 /**
  * Lädt die beiden Team-KIs aus dem Dateisystem. Zusätzlich finden entsprechende Überprüfungen statt, ob es sich bei der
@@ -23,6 +24,21 @@ public final class AILoader {
 
     private static final String CLASS_FILE_EXTENSION = ".class";
 
+    /**
+     * Gibt an, ob die KIs in separaten Java-Prozessen ausgeführt werden sollen.
+     * 
+     * @see RemoteAI
+     */
+    private static volatile boolean remoteHostingEnabled = false;
+
+    /**
+     * URL der Sicherheitsrichtlinie, mit welcher die separaten KI-Prozesse gestartet werden, oder <code>null</code>,
+     * falls die Simulation ohne Sicherheitsrichtlinie läuft.
+     * 
+     * @see RemoteAI
+     */
+    private static volatile String remoteHostingSecurityPolicy = null;
+
     /**
      * Private-Konstruktor der Klasse, da diese nur static Elemente enthält und eine Instanzierung der Klasse daher
      * nicht gewünscht ist.
@@ -30,10 +46,37 @@ public final class AILoader {
     private AILoader() {
     }
 
+    /**
+     * Bestimmt, ob die KIs in separaten Java-Prozessen ausgeführt werden sollen. Gilt für alle nachfolgend geladenen
+     * KIs.
+     * 
+     * @param remoteHostingEnabled
+     *            <code>true</code>, falls jede KI in einem eigenen Prozess ({@link RemoteAI}) ausgeführt werden soll,
+     *            <code>false</code> für die Ausführung innerhalb der Simulation
+     */
+    public static void setRemoteHostingEnabled(boolean remoteHostingEnabled) {
+        AILoader.remoteHostingEnabled = remoteHostingEnabled;
+    }
+
+    /**
+     * Legt die Sicherheitsrichtlinie fest, welche für die separaten KI-Prozesse aktiviert wird. Muss aufgerufen werden,
+     * sobald die Simulation selbst unter dieser Richtlinie läuft, damit die KIs in separaten Prozessen nicht mehr Rechte
+     * erhalten als innerhalb der Simulation.
+     * 
+     * @param securityPolicy
+     *            URL der Policy-Datei, oder <code>null</code>, falls die KI-Prozesse ohne Sicherheitsrichtlinie
+     *            gestartet werden sollen
+     */
+    public static void setRemoteHostingSecurityPolicy(String securityPolicy) {
+        AILoader.remoteHostingSecurityPolicy = securityPolicy;
+    }
+
     /**
      * Lädt ein JAR-File über den angegebenen Dateipfad. Die geladene Klasse wird als KI für eines der Teams verwendet.<br>
      * Der geladenen KI werden die benötigten Ausführungsrechte zugesichert, jedoch erweiterte Rechte, welche z.B. für
-     * System-Aufrufe oder Reflection benötigt werden, entzogen.
+     * System-Aufrufe oder Reflection benötigt werden, entzogen.<br>
+     * Ist die Ausführung in separaten Prozessen aktiviert, wird die KI in einem eigenen Prozess geladen und ein
+     * {@link RemoteAI} zurückgegeben.
      * 
      * @param pathToJarFile
      *            Der Dateipfad der zu ladenden .class-Datei
@@ -44,6 +87,8 @@ public final class AILoader {
      * @see AiLoadingException
      */
     public static AI LoadAI(String pathToJarFile) throws AiLoadingException {
+        if (remoteHostingEnabled)
+            return new RemoteAI(pathToJarFile, remoteHostingSecurityPolicy);
 
         try {
             File file = new File(pathToJarFile);
@@ -0,0 +1,322 @@
+﻿package SoSi.Model.Calculation;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import sep.football.AI;
+import sep.football.GameInformation;
+import SoSi.Debugging.DebugManager;
+import SoSi.Model.SoSiPosition;
+import SoSi.Model.AIHosting.RemoteAI;
+import SoSi.Model.GameObjects.BallGameObject;
+import SoSi.Model.GameObjects.PlayerGameObject;
+
+/**
+ * Aufwärmphase einer KI vor dem ersten Tick.<br>
+ * Die KI wird mit zufällig erzeugten Tick-Informationen und ActionHandlern auf Wegwerf-Objekten wiederholt aufgerufen,
+ * so dass der JIT-Compiler ihren Code bereits vor Beginn der Simulation übersetzt. Die Entscheidungen der KI werden
+ * verworfen. Die Aufwärmphase endet nach einer festgelegten Anzahl an Aufrufen oder nach einer festgelegten Dauer, je
+ * nachdem was zuerst eintritt.<br>
+ * Die Aufwärmphase ist standardmäßig deaktiviert und muss über {@link #configure(int, long)} aktiviert werden.
+ */
+public class AIWarmUp {
+
+    /**
+     * Standardwert der maximalen Anzahl an Aufrufen je KI bei aktivierter Aufwärmphase
+     */
+    public static final int DEFAULT_ITERATIONS = 300;
+
+    /**
+     * Standardwert der maximalen Dauer (in Millisekunden) je KI bei aktivierter Aufwärmphase
+     */
+    public static final long DEFAULT_DURATION_MILLISECONDS = 1000;
+
+    /**
+     * Anzahl der Aufrufe zu Beginn bzw. Ende der Aufwärmphase, welche für den Bericht ausgewertet werden
+     */
+    private static final int REPORT_SAMPLE_SIZE = 20;
+
+    /**
+     * Jeder wievielte Aufruf als Anstoß bzw. Freistoß anstatt als freies Spiel erfolgt
+     */
+    private static final int KICK_INTERVAL = 10;
+
+    /**
+     * Intervall (in Millisekunden), in welchem während der Aufwärmphase geprüft wird, ob die Berechnung abgebrochen
+     * wurde
+     */
+    private static final long ABORT_CHECK_INTERVAL_MILLISECONDS = 10;
+
+    /**
+     * Maximale Anzahl an Aufrufen je KI, 0 deaktiviert die Aufwärmphase
+     */
+    private static volatile int iterations = 0;
+
+    /**
+     * Maximale Dauer (in Millisekunden) je KI
+     */
+    private static volatile long durationMilliseconds = 0;
+
+    /**
+     * DebugManager für die Wegwerf-ActionHandler, verwirft sämtliche Meldungen
+     */
+    private static final DebugManager DISCARDING_DEBUG_MANAGER = new DebugManager() {
+        @Override
+        public void print(String message) {
+        }
+    };
+
+    /**
+     * Anzahl an Spielern je Team
+     */
+    private final int playersPerTeam;
+
+    /**
+     * Allgemeine Spielparameter, welche der KI übergeben werden
+     */
+    private final GameInformation gameInformation;
+
+    /**
+     * Zeitlimit (in Millisekunden) einer KI-Entscheidung während der Simulation
+     */
+    private final long decisionTimeoutMilliseconds;
+
+    /**
+     * Erstellt eine neue Aufwärmphase.
+     *
+     * @param playersPerTeam
+     *            Anzahl an Spielern je Team
+     * @param gameInformation
+     *            Allgemeine Spielparameter, welche der KI übergeben werden
+     * @param decisionTimeoutMilliseconds
+     *            Zeitlimit (in Millisekunden) einer KI-Entscheidung während der Simulation. Dient sowohl der Auswertung
+     *            als auch als zusätzliche Wartezeit auf einen noch laufenden Aufruf.
+     */
+    public AIWarmUp(int playersPerTeam, GameInformation gameInformation, long decisionTimeoutMilliseconds) {
+        this.playersPerTeam = playersPerTeam;
+        this.gameInformation = gameInformation;
+        this.decisionTimeoutMilliseconds = decisionTimeoutMilliseconds;
+    }
+
+    /**
+     * Legt Umfang und Dauer der Aufwärmphase für alle nachfolgend gestarteten Simulationen fest.
+     *
+     * @param iterations
+     *            Maximale Anzahl an Aufrufen je KI, 0 deaktiviert die Aufwärmphase
+     * @param durationMilliseconds
+     *            Maximale Dauer (in Millisekunden) je KI
+     */
+    public static void configure(int iterations, long durationMilliseconds) {
+        if (iterations < 0 || durationMilliseconds < 0)
+            throw new IllegalArgumentException("iterations and durationMilliseconds must not be negative");
+
+        AIWarmUp.iterations = iterations;
+        AIWarmUp.durationMilliseconds = durationMilliseconds;
+    }
+
+    /**
+     * Gibt an, ob die Aufwärmphase aktiviert ist.
+     *
+     * @return <code>true</code>, falls die KIs vor dem ersten Tick aufgewärmt werden sollen
+     */
+    public static boolean isEnabled() {
+        return iterations > 0 && durationMilliseconds > 0;
+    }
+
+    /**
+     * Wärmt eine KI auf. Die Aufrufe erfolgen in einem eigenen Thread, welcher nach jedem Aufruf prüft, ob die
+     * Berechnung abgebrochen wurde. Hängt ein Aufruf über das Ende der Aufwärmphase hinaus, wird er wie bei einer
+     * Zeitüberschreitung während der Simulation abgebrochen. Die Methode kehrt erst zurück, wenn der Thread beendet
+     * oder die Berechnung abgebrochen wurde, so dass die KI nie gleichzeitig aufgewärmt und für einen Tick aufgerufen
+     * wird.
+     *
+     * @param ai
+     *            Die aufzuwärmende KI
+     * @param calculationThread
+     *            Thread der Berechnung, bei dessen Abbruch auch die Aufwärmphase abgebrochen wird
+     * @return Bericht über die Dauer der Aufrufe zu Beginn und zum Ende der Aufwärmphase
+     */
+    @SuppressWarnings("deprecation")
+    public String warmUp(AI ai, AbortableThread calculationThread) {
+        WarmUpWorker worker = new WarmUpWorker(ai, calculationThread, iterations, durationMilliseconds);
+        Thread thread = new Thread(worker, "AI warm-up");
+        thread.setDaemon(true);
+        thread.start();
+
+        try {
+            long deadline = System.currentTimeMillis() + durationMilliseconds + this.decisionTimeoutMilliseconds;
+            while (thread.isAlive() && !calculationThread.getIsAborted() && System.currentTimeMillis() < deadline)
+                thread.join(ABORT_CHECK_INTERVAL_MILLISECONDS);
+
+            if (thread.isAlive()) {
+                worker.isAborted = true;
+
+                if (ai instanceof RemoteAI)
+                    ((RemoteAI) ai).abortDecision();
+                else
+                    thread.stop();
+
+                while (thread.isAlive() && !calculationThread.getIsAborted())
+                    thread.join(ABORT_CHECK_INTERVAL_MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            worker.isAborted = true;
+            Thread.currentThread().interrupt();
+        }
+
+        return worker.createReport();
+    }
+
+    /**
+     * Führt die Aufrufe der Aufwärmphase durch und misst deren Dauer.
+     */
+    private class WarmUpWorker implements Runnable {
+
+        /**
+         * Die aufzuwärmende KI
+         */
+        private final AI ai;
+
+        /**
+         * Thread der Berechnung, bei dessen Abbruch keine weiteren Aufrufe erfolgen
+         */
+        private final AbortableThread calculationThread;
+
+        /**
+         * Maximale Dauer (in Millisekunden)
+         */
+        private final long duration;
+
+        /**
+         * Dauer (in Nanosekunden) der bisherigen Aufrufe
+         */
+        private final long[] latencies;
+
+        /**
+         * Anzahl der abgeschlossenen Aufrufe
+         */
+        private volatile int completedCalls = 0;
+
+        /**
+         * Anzahl der Aufrufe, in welchen die KI eine Exception geworfen hat
+         */
+        private volatile int exceptionCount = 0;
+
+        /**
+         * Flag, ob die Aufwärmphase abgebrochen wurde
+         */
+        private volatile boolean isAborted = false;
+
+        /**
+         * Zufallsgenerator für die Tick-Informationen, mit festem Startwert für reproduzierbare Aufwärmphasen
+         */
+        private final Random random = new Random(0);
+
+        /**
+         * Erstellt einen neuen Worker.
+         */
+        private WarmUpWorker(AI ai, AbortableThread calculationThread, int iterations, long duration) {
+            this.ai = ai;
+            this.calculationThread = calculationThread;
+            this.duration = duration;
+            this.latencies = new long[iterations];
+        }
+
+        @Override
+        public void run() {
+            Team ownTeam = new Team(playersPerTeam, this.ai, gameInformation.getPlayerDiameter(), new SoSiPosition(0,
+                    0));
+            Team opponentTeam = new Team(playersPerTeam, this.ai, gameInformation.getPlayerDiameter(),
+                    new SoSiPosition(0, 0));
+            BallGameObject ball = new BallGameObject(new SoSiPosition(0, 0), gameInformation.getBallDiameter());
+
+            long deadline = System.nanoTime() + this.duration * 1000000L;
+
+            for (int i = 0; i < this.latencies.length && !this.isAborted && !this.calculationThread.getIsAborted()
+                    && System.nanoTime() < deadline; i++) {
+                this.randomizePositions(ownTeam, opponentTeam, ball);
+                SoSiTickInformation tickInformation = new SoSiTickInformation(ball.getPosition(), ownTeam,
+                        opponentTeam, this.random.nextBoolean(), i, ball.getBallPossession());
+
+                long start = System.nanoTime();
+                try {
+                    if (i % KICK_INTERVAL == KICK_INTERVAL - 1) {
+                        SoSiKickActionHandler actionHandler = new SoSiKickActionHandler(ownTeam.getPlayers(), ball,
+                                DISCARDING_DEBUG_MANAGER);
+                        if (this.random.nextBoolean())
+                            this.ai.kickOff(gameInformation, tickInformation, actionHandler);
+                        else
+                            this.ai.freeKick(gameInformation, tickInformation, actionHandler);
+                    } else {
+                        this.ai.freePlay(gameInformation, tickInformation, new SoSiFreePlayActionHandler(
+                                ownTeam.getPlayers(), ball, DISCARDING_DEBUG_MANAGER));
+                    }
+                } catch (ThreadDeath e) {
+                    // Abbruch durch warmUp()
+                    return;
+                } catch (Exception e) {
+                    this.exceptionCount++;
+                } catch (Error e) {
+                    this.exceptionCount++;
+                }
+
+                this.latencies[i] = System.nanoTime() - start;
+                this.completedCalls = i + 1;
+            }
+        }
+
+        /**
+         * Verteilt Spieler und Ball zufällig auf dem Spielfeld. Der Ball ist zufällig im Besitz eines Spielers.
+         */
+        private void randomizePositions(Team ownTeam, Team opponentTeam, BallGameObject ball) {
+            for (PlayerGameObject player : ownTeam.getPlayers())
+                player.setPosition(this.getRandomPosition());
+            for (PlayerGameObject player : opponentTeam.getPlayers())
+                player.setPosition(this.getRandomPosition());
+
+            ball.setPosition(this.getRandomPosition());
+
+            int possession = this.random.nextInt(3 * playersPerTeam);
+            if (possession < playersPerTeam)
+                ball.setBallPossession(ownTeam.getPlayers().get(possession));
+            else if (possession < 2 * playersPerTeam)
+                ball.setBallPossession(opponentTeam.getPlayers().get(possession - playersPerTeam));
+            else
+                ball.setBallPossession(null);
+        }
+
+        /**
+         * Erzeugt eine zufällige Position auf dem Spielfeld.
+         */
+        private SoSiPosition getRandomPosition() {
+            return new SoSiPosition(this.random.nextDouble() * gameInformation.getFieldLength(),
+                    this.random.nextDouble() * gameInformation.getFieldWidth());
+        }
+
+        /**
+         * Erstellt den Bericht über die Aufwärmphase.
+         */
+        private String createReport() {
+            int calls = this.completedCalls;
+            if (calls == 0)
+                return "KI-Aufwärmphase: Kein Aufruf abgeschlossen";
+
+            int sampleSize = Math.min(REPORT_SAMPLE_SIZE, calls);
+            long[] first = Arrays.copyOfRange(this.latencies, 0, sampleSize);
+            long[] last = Arrays.copyOfRange(this.latencies, calls - sampleSize, calls);
+            Arrays.sort(first);
+            Arrays.sort(last);
+
+            int timeouts = 0;
+            for (int i = 0; i < calls; i++) {
+                if (this.latencies[i] > decisionTimeoutMilliseconds * 1000000L)
+                    timeouts++;
+            }
+
+            return String.format("KI-Aufwärmphase: %d Aufrufe, zu Beginn Median %.3f ms / Max %.3f ms, "
+                    + "zum Ende Median %.3f ms / Max %.3f ms, %d Zeitüberschreitungen, %d Exceptions%s", calls,
+                    first[sampleSize / 2] / 1e6, first[sampleSize - 1] / 1e6, last[sampleSize / 2] / 1e6,
+                    last[sampleSize - 1] / 1e6, timeouts, this.exceptionCount, this.isAborted ? ", abgebrochen" : "");
+        }
+    }
+}
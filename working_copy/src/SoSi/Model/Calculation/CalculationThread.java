@@ -1,16 +1,21 @@
 ﻿package SoSi.Model.Calculation;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import SoSi.Model.SimulationOptions;
 import SoSi.Model.TickData;
+import SoSi.Model.Profiling.AIProfile;
+import SoSi.Model.Profiling.TickProfiler;
+import SoSi.Model.Profiling.FlightRecorder.FlightRecorderSupport;
+import SoSi.Model.Profiling.FlightRecorder.TickComputedEvent;
 import sep.football.AI;
 import sep.football.GameInformation;
 
 /**
  * Dient zur Vorausberechnung von Simulationsschritten (Ticks). Die Berechnung erfolgt asynchron in einem Thread.
- * Nachdem ein neues Datenelement ({@link TickData}) berechnet wurde, wird dieses über die Schnittstelle
- * {@link INewTickDataHandler} an eine andere Klasse weitergegeben. Im konkreten Fall enthält {@link DataHandler} eine
+ * Die berechneten Datenelemente ({@link TickData}) werden in einem {@link TickBatch} gesammelt und gemeinsam über die
+ * Schnittstelle {@link INewTickDataHandler} an eine andere Klasse weitergegeben. Im konkreten Fall enthält {@link DataHandler} eine
  * innere Klasse, welche {@link INewTickDataHandler} implementiert. Diese nimmt die neu berechneten Daten entgegen und
  * fügt diese der Liste mit sämtlichen {@link TickData} hinzu.
  * 
@@ -34,6 +39,34 @@ public class CalculationThread extends AbortableThread {
      */
     private final int maximumTickNumber;
 
+    /**
+     * Maximale Dauer (in Nanosekunden), welche ein Tick im {@link #tickBatch} auf die Weitergabe wartet. Verhindert,
+     * dass die Wiedergabe bei langsamen KIs auf einen vollständigen Batch warten muss.
+     */
+    private static final long MAXIMUM_BATCH_DELAY_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * Wiederverwendeter Batch, in welchem die berechneten Ticks vor der Weitergabe an den
+     * {@link #newTickDataHandler} gesammelt werden
+     */
+    private final TickBatch tickBatch = new TickBatch(TickBatch.DEFAULT_CAPACITY);
+
+    /**
+     * Zeitpunkt (in Nanosekunden), zu welchem der erste Tick des aktuellen {@link #tickBatch} berechnet wurde
+     */
+    private long tickBatchStartNanos;
+
+    /**
+     * Anzahl der bereits an den {@link #newTickDataHandler} weitergegebenen Ticks
+     */
+    private volatile int publishedTickCount = 0;
+
+    /**
+     * Flag, ob die KIs vor dem ersten Tick aufgewärmt werden, sofern die Aufwärmphase über
+     * {@link AIWarmUp#configure(int, long)} aktiviert ist
+     */
+    private volatile boolean aiWarmUpEnabled = true;
+
     /**
      * Erstellt eine neue {@link CalculationThread} Instanz, mit welchem asynchron (von der GUI bzw. anderen Klassen)
      * sämtliche Berechnungsschritte simuliert werden. Berechnete Zwischenstände werden mittels
@@ -74,22 +107,136 @@ public class CalculationThread extends AbortableThread {
      */
     @Override
     public void run() {
+        try {
+            this.calculateTicks();
+        } finally {
+            // KI-Threads und separate KI-Prozesse auch bei regulärem Ende oder einer Exception freigeben
+            this.currentTick.shutdown();
+        }
+    }
+
+    /**
+     * Berechnet die Ticks bis zum Ende der Simulation bzw. bis zum Abbruch der Berechnung.
+     */
+    private void calculateTicks() {
         boolean calculationFinished = false;
 
+        // KIs vor dem ersten Tick aufwärmen (falls aktiviert), damit die ersten Entscheidungen nicht am Zeitlimit
+        // scheitern
+        if (this.aiWarmUpEnabled)
+            this.currentTick.warmUpAis(this);
+
+        TickProfiler tickProfiler = this.currentTick.getTickProfiler();
+        int storeProfilerPhase = TickProfiler.ENABLED ? tickProfiler.registerPhase("Tick-Daten speichern") : -1;
+
         while ((!calculationFinished) && (!this.getIsAborted())) {
+            long tickStart = TickProfiler.ENABLED ? System.nanoTime() : 0;
+            TickComputedEvent tickComputedEvent = null;
+            if (FlightRecorderSupport.AVAILABLE) {
+                tickComputedEvent = new TickComputedEvent();
+                tickComputedEvent.begin();
+            }
+
             this.currentTick.doNextTick();
 
             SoSiTickInformation tickInfo = this.currentTick.getCurrentTickInformationOfTeamA();
-
-            this.newTickDataHandler.addNewTickData(tickInfo.getTeamGoals(), tickInfo.getOpponentTeamGoals(),
-                    tickInfo.getBallPosition(), tickInfo.getPlayerPositions(), tickInfo.getOpponentPlayerPositions(),
-                    currentTick.getTickEvent(), this.currentTick.getDebugMessageTeamA(),
-                    this.currentTick.getDebugMessageTeamB());
+            long storeStart = TickProfiler.ENABLED ? System.nanoTime() : 0;
 
             // Abbruchkriterium prüfen
             if (tickInfo.getCurrentTickNumber() >= this.maximumTickNumber - 1)
                 calculationFinished = true;
+
+            if (this.tickBatch.isEmpty())
+                this.tickBatchStartNanos = System.nanoTime();
+
+            this.tickBatch.add(tickInfo.getTeamGoals(), tickInfo.getOpponentTeamGoals(), tickInfo.getBallPosition(),
+                    tickInfo.getPlayerPositions(), tickInfo.getOpponentPlayerPositions(), currentTick.getTickEvent(),
+                    this.currentTick.getDebugMessageTeamA(), this.currentTick.getDebugMessageTeamB(),
+                    TimeUnit.NANOSECONDS.toMicros(this.currentTick.getAiCpuTimeNanosTeamA()),
+                    TimeUnit.NANOSECONDS.toMicros(this.currentTick.getAiCpuTimeNanosTeamB()));
+
+            // Ticks gesammelt weitergeben, sobald der Batch voll ist, der älteste Tick zu lange wartet oder die
+            // Berechnung abgeschlossen ist
+            if (this.tickBatch.isFull() || calculationFinished
+                    || System.nanoTime() - this.tickBatchStartNanos >= MAXIMUM_BATCH_DELAY_NANOS)
+                this.publishTickBatch();
+
+            if (TickProfiler.ENABLED) {
+                long tickEnd = System.nanoTime();
+                tickProfiler.record(storeProfilerPhase, tickEnd - storeStart);
+                tickProfiler.recordTick(tickEnd - tickStart);
+            }
+
+            if (tickComputedEvent != null && tickComputedEvent.shouldCommit()) {
+                tickComputedEvent.tickNumber = tickInfo.getCurrentTickNumber();
+                tickComputedEvent.tickEvent = (currentTick.getTickEvent() == null) ? "" : currentTick.getTickEvent()
+                        .toString();
+                tickComputedEvent.commit();
+            }
         }
+
+        // Bei Abbruch bereits berechnete Ticks nicht zurückhalten
+        this.publishTickBatch();
+    }
+
+    /**
+     * Legt fest, ob die KIs vor dem ersten Tick aufgewärmt werden. Muss vor dem Start der Berechnung aufgerufen werden.
+     * 
+     * @param aiWarmUpEnabled
+     *            <code>true</code>, falls die über {@link AIWarmUp#configure(int, long)} festgelegte Aufwärmphase
+     *            durchgeführt werden soll, <code>false</code>, falls diese für diese Berechnung entfällt
+     */
+    public void setAiWarmUpEnabled(boolean aiWarmUpEnabled) {
+        this.aiWarmUpEnabled = aiWarmUpEnabled;
+    }
+
+    /**
+     * Gibt die im {@link #tickBatch} gesammelten Ticks an den {@link #newTickDataHandler} weiter.
+     */
+    private void publishTickBatch() {
+        if (this.tickBatch.isEmpty())
+            return;
+
+        this.newTickDataHandler.addNewTickBatch(this.tickBatch);
+        this.publishedTickCount += this.tickBatch.size();
+        this.tickBatch.clear();
+    }
+
+    /**
+     * Gibt die Anzahl der bereits weitergegebenen Ticks zurück. Kann von einem beliebigen Thread aufgerufen werden.
+     * 
+     * @return Anzahl der weitergegebenen Ticks
+     */
+    public int getPublishedTickCount() {
+        return this.publishedTickCount;
+    }
+
+    /**
+     * Gibt den Profiler der einzelnen Phasen der Tick-Berechnung zurück. Dieser enthält nur Messwerte, falls
+     * {@link TickProfiler#ENABLED}.
+     * 
+     * @return Profiler der Tick-Berechnung
+     */
+    public TickProfiler getTickProfiler() {
+        return this.currentTick.getTickProfiler();
+    }
+
+    /**
+     * Gibt das Laufzeitprofil der KI des Teams A zurück, welches während der Berechnung fortlaufend ergänzt wird.
+     * 
+     * @return Laufzeitprofil der KI des Teams A
+     */
+    public AIProfile getAiProfileTeamA() {
+        return this.currentTick.getAiProfileTeamA();
+    }
+
+    /**
+     * Gibt das Laufzeitprofil der KI des Teams B zurück, welches während der Berechnung fortlaufend ergänzt wird.
+     * 
+     * @return Laufzeitprofil der KI des Teams B
+     */
+    public AIProfile getAiProfileTeamB() {
+        return this.currentTick.getAiProfileTeamB();
     }
 
     /**
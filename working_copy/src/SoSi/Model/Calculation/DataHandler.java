@@ -34,26 +34,44 @@ import SoSi.Model.IProgressInformation;
 import SoSi.Model.SimulationOptions;
 import SoSi.Model.TickData;
 import SoSi.Model.TickEvent;
+import SoSi.Model.AIHosting.RemoteAI;
 import SoSi.Model.Calculation.AILoader.AiLoadingException;
+import SoSi.Model.Monitoring.DataTransferMonitor;
+import SoSi.Model.Monitoring.IMonitoredSimulation;
+import SoSi.Model.Profiling.AIProfile;
+import SoSi.Model.Profiling.TickProfiler;
+import SoSi.Model.Profiling.FlightRecorder.FileChunkEvent;
+import SoSi.Model.Profiling.FlightRecorder.FlightRecorderSupport;
 
 /**
  * Zentrale Klasse, die eine (neue) Simulation initialisiert und deren Zustand verwaltet, insbesondere das Speichern der
  * Informationen aller bereits berechneten Simulations-Ticks (TickData), welche dem PlaybackHandler zur Verfügung
  * gestellt werden. Zusätzlich bietet sie das Speichern und Laden von Simulationen an.
  */
-public class DataHandler {
+public class DataHandler implements IMonitoredSimulation {
 
     private static final int ZIP_COMPRESSION_LEVEL = 9;
     private static final int ZIP_COMPRESSION_METHOD = ZipOutputStream.DEFLATED;
     private static final String ZIP_COMMENT = "SoSi - Simulation File";
 
-    private static final int ZIP_ENTRY_TICKDATA_COUNT = 500;
+    static final int ZIP_ENTRY_TICKDATA_COUNT = 500;
     private static final String ZIP_ENTRY = "save";
     private static final String ZIP_ENTRY_FILETYPE = ".xml";
     private static final String ZIP_ENTRY_DELIMITER = "$";
     private static final String ZIP_ENTRY_GAMEINFO = ZIP_ENTRY + ZIP_ENTRY_DELIMITER + "gameinfo" + ZIP_ENTRY_FILETYPE;
     private static final String ZIP_ENTRY_TICKDATA_PART = ZIP_ENTRY + ZIP_ENTRY_DELIMITER;
 
+    /**
+     * Geschätzter Speicherbedarf (in Bytes) einer TickData-Instanz ohne Positionen und Debug-Nachrichten, inkl. der
+     * beiden Positionslisten und der Referenz in {@link #tickDataList}
+     */
+    private static final int ESTIMATED_TICK_BYTES = 160;
+
+    /**
+     * Geschätzter Speicherbedarf (in Bytes) einer Position inkl. der Referenz in der Positionsliste
+     */
+    private static final int ESTIMATED_POSITION_BYTES = 40;
+
     static final String IDENTIFIER_FILE = "sosi";
     static final String IDENTIFIER_SIMULATION_INFOS = "simulation_infos";
     static final String IDENTIFIER_TEAM_A_NAME = "team_a_ai_name";
@@ -79,6 +97,8 @@ public class DataHandler {
     static final String IDENTIFIER_POSITION_X = "x";
     static final String IDENTIFIER_POSITION_Y = "y";
     static final String IDENTIFIER_EVENT = "event";
+    static final String IDENTIFIER_CPU_TIME_TEAM_A = "cpu_time_team_a";
+    static final String IDENTIFIER_CPU_TIME_TEAM_B = "cpu_time_team_b";
 
     static SaveProgressInformation saveProgressInformation;
 
@@ -94,6 +114,13 @@ public class DataHandler {
      */
     private List<TickData> tickDataList;
 
+    /**
+     * Anzahl der für andere Threads freigegebenen Einträge in {@link #tickDataList}. Wird vom {@link #workerThread}
+     * erst nach dem Hinzufügen eines vollständigen Batches erhöht, so dass lesende Threads nur einmal je Batch auf
+     * Änderungen synchronisiert werden.
+     */
+    private volatile int publishedTickCount = 0;
+
     /**
      * Der Thread, der die Berechnungen durchführen lässt und die neu berechneten Tick-Daten in die Liste
      * {@link #tickDataList} schreibt.
@@ -110,6 +137,18 @@ public class DataHandler {
      */
     private String teamBName;
 
+    /**
+     * Speicher der Debug-Nachrichten aller Ticks in {@link #tickDataList}, welcher diese außerhalb des Heaps hält.
+     * Wird erst nach der Prüfung der Parameter angelegt, da hierfür eine temporäre Datei geöffnet wird.
+     */
+    private DebugMessageStore debugMessageStore;
+
+    /**
+     * Index der in {@link #tickDataList} eingetretenen Events. Kann Ticks enthalten, welche noch nicht freigegeben
+     * wurden (siehe {@link #publishedTickCount}).
+     */
+    private final TickEventIndex tickEventIndex = new TickEventIndex();
+
     /**
      * Konstruktor zur Erstellung einer neuen Simulation(-sberechnung). Die Berechnung erfolgt mit Hilfe des
      * {@link CalculationThread}, der in dieser Klasser erstellt und gestartet wird.
@@ -135,21 +174,35 @@ public class DataHandler {
             List<SimulationOptions> simulationOptions) throws AiLoadingException {
         this(gameInformation, teamAAiPath, teamBAiPath);
 
-        // Parameter prüfen
-        if (gameInformation == null)
-            throw new IllegalArgumentException("gameInformation must not be null!");
-        if (simulationOptions == null)
-            throw new IllegalArgumentException("simulationOptions must not be null!");
-
-        // Simulation erstellen & Berechnung starten
-        AI teamAAi = AILoader.LoadAI(teamAAiPath);
-        AI teamBAi = AILoader.LoadAI(teamBAiPath);
+        try {
+            // Parameter prüfen
+            if (gameInformation == null)
+                throw new IllegalArgumentException("gameInformation must not be null!");
+            if (simulationOptions == null)
+                throw new IllegalArgumentException("simulationOptions must not be null!");
+
+            // Simulation erstellen & Berechnung starten
+            AI teamAAi = AILoader.LoadAI(teamAAiPath);
+            AI teamBAi;
+            try {
+                teamBAi = AILoader.LoadAI(teamBAiPath);
+            } catch (AiLoadingException e) {
+                // Bereits gestarteten KI-Prozess nicht zurücklassen
+                if (teamAAi instanceof RemoteAI)
+                    ((RemoteAI) teamAAi).shutdown();
+                throw e;
+            }
 
-        INewTickDataHandler newTickHandler = this.getNewTickDataHandler();
+            INewTickDataHandler newTickHandler = this.getNewTickDataHandler();
 
-        this.workerThread = new CalculationThread(playersPerTeam, gameInformation, teamAAi, teamBAi, newTickHandler,
-                simulationOptions);
-        this.workerThread.start();
+            this.workerThread = new CalculationThread(playersPerTeam, gameInformation, teamAAi, teamBAi,
+                    newTickHandler, simulationOptions);
+            this.workerThread.start();
+        } catch (AiLoadingException | RuntimeException e) {
+            // Temporäre Datei der Debug-Nachrichten nicht zurücklassen
+            this.debugMessageStore.close();
+            throw e;
+        }
     }
 
     /**
@@ -171,24 +224,26 @@ public class DataHandler {
             throw new IllegalArgumentException("AI-Paths must not be null!");
 
         // Namen der KIs auslesen
-        try {
-            File f = new File(teamAAiPath);
-            this.teamAName = f.getName();
-            this.teamAName = this.teamAName.substring(0, this.teamAName.lastIndexOf('.'));
-        } catch (Exception e) {
-            // do nothing here
-        }
-
-        try {
-            File f = new File(teamBAiPath);
-            this.teamBName = f.getName();
-            this.teamBName = this.teamBName.substring(0, this.teamBName.lastIndexOf('.'));
-        } catch (Exception e) {
-            // do nothing here
-        }
+        this.teamAName = getAiName(teamAAiPath);
+        this.teamBName = getAiName(teamBAiPath);
 
         this.tickDataList = new ArrayList<TickData>();
         this.gameInformation = gameInformation;
+        this.debugMessageStore = new DebugMessageStore();
+    }
+
+    /**
+     * Ermittelt den Namen einer KI anhand des Dateinamens ohne Endung.
+     * 
+     * @param aiPath
+     *            Der Dateipfad der KI
+     * @return Name der KI
+     */
+    static String getAiName(String aiPath) {
+        String name = new File(aiPath).getName();
+        int extensionIndex = name.lastIndexOf('.');
+
+        return (extensionIndex < 0) ? name : name.substring(0, extensionIndex);
     }
 
     /**
@@ -248,6 +303,7 @@ public class DataHandler {
             // final int expectedTickCount = gameInfo.getGameInformation().getMaximumTickNumber();
 
             this.gameInformation = gameInfo.getGameInformation();
+            this.debugMessageStore = new DebugMessageStore();
             INewTickDataHandler newTickHandler = new NewTickDataHandler();
 
             this.workerThread = new FileLoadingThread(newTickHandler, this.gameInformation, tickEntryCandidates,
@@ -359,19 +415,21 @@ public class DataHandler {
             DocumentBuilderFactory docFactory = DocumentBuilderFactory.newInstance();
             DocumentBuilder docBuilder = docFactory.newDocumentBuilder();
 
-            ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(new File(path)));
-            zipOutputStream.setLevel(ZIP_COMPRESSION_LEVEL);
-            zipOutputStream.setMethod(ZIP_COMPRESSION_METHOD);
-            zipOutputStream.setComment(ZIP_COMMENT);
+            long saveStartNanos = System.nanoTime();
+            File file = new File(path);
+            ZipOutputStream zipOutputStream = createSaveFileStream(file);
 
             TransformerFactory transformerFactory = TransformerFactory.newInstance();
             Transformer transformer = transformerFactory.newTransformer();
 
-            saveGameInformations(docBuilder, transformer, zipOutputStream);
+            saveGameInformations(docBuilder, transformer, zipOutputStream, this.gameInformation, this.getTeamAName(),
+                    this.getTeamBName());
             saveTicks(docBuilder, transformer, zipOutputStream, currentSaveProgressInformation);
 
             zipOutputStream.close();
 
+            DataTransferMonitor.getInstance().recordSave(file.length(), System.nanoTime() - saveStartNanos);
+
         } catch (Exception e) {
             currentSaveProgressInformation.setProgress(100);
             throw new SimulationSaveFileException("Simulationfile could not be saved", e);
@@ -380,17 +438,38 @@ public class DataHandler {
         }
     }
 
+    /**
+     * Öffnet eine Simulationsdatei zum Schreiben.
+     * 
+     * @param file
+     *            Die zu schreibende Datei
+     * @return ZipOutputStream, in welchen die Einträge der Simulationsdatei geschrieben werden
+     * @throws IOException
+     */
+    static ZipOutputStream createSaveFileStream(File file) throws IOException {
+        ZipOutputStream zipOutputStream = new ZipOutputStream(new FileOutputStream(file));
+        zipOutputStream.setLevel(ZIP_COMPRESSION_LEVEL);
+        zipOutputStream.setMethod(ZIP_COMPRESSION_METHOD);
+        zipOutputStream.setComment(ZIP_COMMENT);
+
+        return zipOutputStream;
+    }
+
     /**
      * Speichert die Simulationsinformationen, wie Teamnamen, Größenangaben et.c
      * 
      * @param docBuilder
      * @param transformer
      * @param zipOutputStream
+     * @param gameInformation
+     * @param teamAName
+     * @param teamBName
      * @throws IOException
      * @throws TransformerException
      */
-    private void saveGameInformations(DocumentBuilder docBuilder, Transformer transformer,
-            ZipOutputStream zipOutputStream) throws IOException, TransformerException {
+    static void saveGameInformations(DocumentBuilder docBuilder, Transformer transformer,
+            ZipOutputStream zipOutputStream, GameInformation gameInformation, String teamAName, String teamBName)
+            throws IOException, TransformerException {
 
         // root element
         Document doc = docBuilder.newDocument();
@@ -438,11 +517,11 @@ public class DataHandler {
         rootElement.appendChild(simulationInfos);
 
         Element team_a_ai_name = doc.createElement(IDENTIFIER_TEAM_A_NAME);
-        team_a_ai_name.appendChild(doc.createTextNode(this.getTeamAName()));
+        team_a_ai_name.appendChild(doc.createTextNode(teamAName));
         simulationInfos.appendChild(team_a_ai_name);
 
         Element team_b_ai_name = doc.createElement(IDENTIFIER_TEAM_B_NAME);
-        team_b_ai_name.appendChild(doc.createTextNode(this.getTeamBName()));
+        team_b_ai_name.appendChild(doc.createTextNode(teamBName));
         simulationInfos.appendChild(team_b_ai_name);
 
         ZipEntry entry = new ZipEntry(ZIP_ENTRY_GAMEINFO);
@@ -472,7 +551,7 @@ public class DataHandler {
      */
     private void saveTicks(DocumentBuilder docBuilder, Transformer transformer, ZipOutputStream zipOutputStream,
             SaveProgressInformation saveProgressInformation) throws TransformerException, IOException {
-        int listSize = this.tickDataList.size();
+        int listSize = this.publishedTickCount;
         int tickParts = (int) Math.round(Math.ceil((double) listSize / ZIP_ENTRY_TICKDATA_COUNT));
         for (int partCounter = 0, tickCounter = 0; partCounter < tickParts; ++partCounter) {
             // int newTickCounter = (partCounter < tickParts) ? tickCounter += ZIP_ENTRY_TICKDATA_COUNT : listSize - 1;
@@ -494,8 +573,13 @@ public class DataHandler {
      * @throws TransformerException
      * @throws IOException
      */
-    private void saveTickPart(DocumentBuilder docBuilder, Transformer transformer, ZipOutputStream zipOutputStream,
+    static void saveTickPart(DocumentBuilder docBuilder, Transformer transformer, ZipOutputStream zipOutputStream,
             List<TickData> tickDataList, int partCount) throws TransformerException, IOException {
+        FileChunkEvent chunkEvent = null;
+        if (FlightRecorderSupport.AVAILABLE) {
+            chunkEvent = new FileChunkEvent();
+            chunkEvent.begin();
+        }
 
         // root element
         Document doc = docBuilder.newDocument();
@@ -517,7 +601,14 @@ public class DataHandler {
         StreamResult result = new StreamResult(zipOutputStream);
 
         transformer.transform(source, result);
-        // zipOutputStream.closeEntry();
+        zipOutputStream.closeEntry();
+
+        if (chunkEvent != null && chunkEvent.shouldCommit()) {
+            chunkEvent.operation = FileChunkEvent.SAVE;
+            chunkEvent.entry = entry.getName();
+            chunkEvent.bytes = entry.getCompressedSize();
+            chunkEvent.commit();
+        }
     }
 
     /**
@@ -529,12 +620,16 @@ public class DataHandler {
      *            Zu konvertierender Tick
      * @return In XML konvertierte {@link Element}-Instanz des Ticks
      */
-    private Element convertToXmlElement(Document doc, TickData tick) {
+    private static Element convertToXmlElement(Document doc, TickData tick) {
         Element tickDataElement = doc.createElement(IDENTIFIER_TICK);
 
         // set attribute to staff element
         tickDataElement.setAttribute(IDENTIFIER_TICK_ID, Integer.toString(tick.getTickPosition()));
 
+        // CPU-Zeit der KIs (optional, in Mikrosekunden)
+        tickDataElement.setAttribute(IDENTIFIER_CPU_TIME_TEAM_A, Long.toString(tick.getAiCpuTimeTeamA()));
+        tickDataElement.setAttribute(IDENTIFIER_CPU_TIME_TEAM_B, Long.toString(tick.getAiCpuTimeTeamB()));
+
         // Ball-Position
         tickDataElement.appendChild(convertPositionToXmlElement(doc, tick.getBallPosition(), IDENTIFIER_BALL_POSITION));
 
@@ -588,7 +683,7 @@ public class DataHandler {
      *            Zu verwendender Prefix für den XML-Tag
      * @return In XML konvertierte {@link Element}-Instanz der Position
      */
-    private Element convertPositionToXmlElement(Document doc, Position position, String prefix) {
+    private static Element convertPositionToXmlElement(Document doc, Position position, String prefix) {
         Element positionElement = doc.createElement(prefix + IDENTIFIER_POSITION_SUFIX);
 
         Element x = doc.createElement(IDENTIFIER_POSITION_X);
@@ -607,6 +702,7 @@ public class DataHandler {
      * 
      * @return Der Name der KI von Team A.
      */
+    @Override
     public String getTeamAName() {
         return this.teamAName;
     }
@@ -616,6 +712,7 @@ public class DataHandler {
      * 
      * @return Der Name der KI von Team B.
      */
+    @Override
     public String getTeamBName() {
         return this.teamBName;
     }
@@ -626,8 +723,39 @@ public class DataHandler {
      * 
      * @return Tick-Position, die als letztes berechneten worden ist.
      */
+    @Override
     public int getSimulationTickCount() {
-        return this.tickDataList.size();
+        return this.publishedTickCount;
+    }
+
+    /**
+     * Schätzt den Speicherbedarf der bisher berechneten bzw. geladenen Tick-Daten. Die Schätzung geht von einer
+     * 64-Bit-JVM mit komprimierten Referenzen aus. Die Debug-Nachrichten werden nicht berücksichtigt, da diese
+     * außerhalb des Heaps gespeichert werden (siehe {@link #getDebugMessageBytes()}).
+     * 
+     * @return Geschätzter Speicherbedarf in Bytes
+     */
+    @Override
+    public long getEstimatedTickDataBytes() {
+        int tickCount = this.publishedTickCount;
+        if (tickCount == 0)
+            return 0;
+
+        TickData firstTick = this.tickDataList.get(0);
+        int positionsPerTick = 1 + firstTick.getPlayerPositionsTeamA().size()
+                + firstTick.getPlayerPositionsTeamB().size();
+
+        return tickCount * (long) (ESTIMATED_TICK_BYTES + positionsPerTick * ESTIMATED_POSITION_BYTES);
+    }
+
+    /**
+     * Gibt die Größe der außerhalb des Heaps gespeicherten Debug-Nachrichten zurück.
+     * 
+     * @return Größe in Bytes
+     */
+    @Override
+    public long getDebugMessageBytes() {
+        return this.debugMessageStore.getStoredBytes();
     }
 
     /**
@@ -638,12 +766,23 @@ public class DataHandler {
      * @return Die Tick-Daten, an der Position "tickPosition" aus der Liste, der berechneten Simulation.
      */
     public TickData getTickPositionData(int tickPosition) {
-        if (tickPosition >= this.tickDataList.size() || tickPosition < 0)
+        if (tickPosition >= this.publishedTickCount || tickPosition < 0)
             return null;
         else
             return this.tickDataList.get(tickPosition);
     }
 
+    /**
+     * Gibt den Index der eingetretenen Events zurück. Dieser wird während der Berechnung bzw. des Ladevorgangs
+     * fortlaufend erweitert und kann Tick-Positionen ab {@link #getSimulationTickCount()} enthalten, welche noch nicht
+     * über {@link #getTickPositionData(int)} abgefragt werden können.
+     * 
+     * @return Index der eingetretenen Events
+     */
+    public TickEventIndex getTickEventIndex() {
+        return this.tickEventIndex;
+    }
+
     /**
      * Bricht eine ggf. aktive Berechnung der Simulation ab. Dabei wird der Thread beendet und ggf. berechnete
      * Zwischenergebnisse verworfen.
@@ -651,6 +790,48 @@ public class DataHandler {
     public void abort() {
         if (this.workerThread != null)
             this.workerThread.abort();
+
+        this.debugMessageStore.close();
+    }
+
+    /**
+     * Gibt das Laufzeitprofil der KI des Teams A zurück.
+     * 
+     * @return Laufzeitprofil der KI des Teams A, <code>null</code> falls die Simulation aus einer Datei geladen wurde.
+     */
+    @Override
+    public AIProfile getAiProfileTeamA() {
+        if (this.workerThread instanceof CalculationThread)
+            return ((CalculationThread) this.workerThread).getAiProfileTeamA();
+        else
+            return null;
+    }
+
+    /**
+     * Gibt das Laufzeitprofil der KI des Teams B zurück.
+     * 
+     * @return Laufzeitprofil der KI des Teams B, <code>null</code> falls die Simulation aus einer Datei geladen wurde.
+     */
+    @Override
+    public AIProfile getAiProfileTeamB() {
+        if (this.workerThread instanceof CalculationThread)
+            return ((CalculationThread) this.workerThread).getAiProfileTeamB();
+        else
+            return null;
+    }
+
+    /**
+     * Gibt den Profiler der einzelnen Phasen der Tick-Berechnung zurück. Dieser enthält nur Messwerte, falls
+     * {@link TickProfiler#ENABLED}.
+     * 
+     * @return Profiler der Tick-Berechnung, <code>null</code> falls die Simulation aus einer Datei geladen wurde.
+     */
+    @Override
+    public TickProfiler getTickProfiler() {
+        if (this.workerThread instanceof CalculationThread)
+            return ((CalculationThread) this.workerThread).getTickProfiler();
+        else
+            return null;
     }
 
     /**
@@ -658,6 +839,7 @@ public class DataHandler {
      * 
      * @return <b>True</b>, falls die Berechnung der Simulation bereits abgeschlossen wurde, <b>False</b> andernfalls.
      */
+    @Override
     public boolean isSimulationCalculationFinished() {
         return this.workerThread == null || !this.workerThread.isAlive();
     }
@@ -689,10 +871,41 @@ public class DataHandler {
         @Override
         public void addNewTickData(int goalsTeamA, int goalsTeamB, Position ballPosition,
                 List<Position> playerPositionsTeamA, List<Position> playerPositionsTeamB, TickEvent tickEvent,
-                String debugMessageTeamA, String debugMessageTeamB) {
+                String debugMessageTeamA, String debugMessageTeamB, long aiCpuTimeTeamA, long aiCpuTimeTeamB) {
+            this.appendTickData(goalsTeamA, goalsTeamB, ballPosition, playerPositionsTeamA, playerPositionsTeamB,
+                    tickEvent, debugMessageTeamA, debugMessageTeamB, aiCpuTimeTeamA, aiCpuTimeTeamB);
+            publishedTickCount = tickDataList.size();
+        }
+
+        /**
+         * Fügt sämtliche Ticks des Batches der Liste hinzu und gibt diese anschließend gemeinsam frei.
+         */
+        @Override
+        public void addNewTickBatch(TickBatch tickBatch) {
+            for (int i = 0; i < tickBatch.size(); i++) {
+                this.appendTickData(tickBatch.getGoalsTeamA(i), tickBatch.getGoalsTeamB(i),
+                        tickBatch.getBallPosition(i), tickBatch.getPlayerPositionsTeamA(i),
+                        tickBatch.getPlayerPositionsTeamB(i), tickBatch.getTickEvent(i),
+                        tickBatch.getDebugMessageTeamA(i), tickBatch.getDebugMessageTeamB(i),
+                        tickBatch.getAiCpuTimeTeamA(i), tickBatch.getAiCpuTimeTeamB(i));
+            }
+            publishedTickCount = tickDataList.size();
+        }
+
+        /**
+         * Fügt einen Tick der Liste hinzu, ohne diesen freizugeben.
+         */
+        private void appendTickData(int goalsTeamA, int goalsTeamB, Position ballPosition,
+                List<Position> playerPositionsTeamA, List<Position> playerPositionsTeamB, TickEvent tickEvent,
+                String debugMessageTeamA, String debugMessageTeamB, long aiCpuTimeTeamA, long aiCpuTimeTeamB) {
+            if (debugMessageTeamA == null || debugMessageTeamB == null)
+                throw new IllegalArgumentException("Debugmessages must not be null");
+
             int newTickPosition = tickDataList.size();
+            debugMessageStore.append(debugMessageTeamA, debugMessageTeamB);
+            tickEventIndex.add(newTickPosition, tickEvent);
             tickDataList.add(new TickData(newTickPosition, goalsTeamA, goalsTeamB, ballPosition, playerPositionsTeamA,
-                    playerPositionsTeamB, tickEvent, debugMessageTeamA, debugMessageTeamB));
+                    playerPositionsTeamB, tickEvent, debugMessageStore, aiCpuTimeTeamA, aiCpuTimeTeamB));
 
             assert tickDataList.size() <= gameInformation.getMaximumTickNumber() : "Die Anzahl der maximal zu "
                     + "berechnenden Simulationsschritte wurde überschritten";
@@ -717,6 +930,7 @@ public class DataHandler {
      * 
      * @return GameInformation-Instanz
      */
+    @Override
     public GameInformation getGameInformation() {
         return this.gameInformation;
     }
@@ -0,0 +1,238 @@
+﻿package SoSi.Model.Calculation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import SoSi.Debugging.Diagnostics;
+
+/**
+ * Speichert die Debugnachrichten beider Teams aller Ticks einer Simulation außerhalb des Heaps.<br>
+ * Die Nachrichten werden UTF-8-kodiert an eine temporäre Datei angehängt; im Speicher verbleibt lediglich ein Index
+ * aus Position und Länge je Tick und Team. Die Nachrichten werden erst beim Auslesen wieder als String erzeugt. Kann
+ * die temporäre Datei nicht angelegt werden, werden die Nachrichten ersatzweise im Speicher gehalten.<br>
+ * Die Nachrichten eines Ticks müssen in der Reihenfolge der Ticks angehängt werden. Sämtliche Methoden sind
+ * threadsicher.
+ */
+public class DebugMessageStore {
+
+    /**
+     * Größe (in Bytes) des Puffers für noch nicht geschriebene Nachrichten
+     */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Kodierung der Nachrichten in der Datei
+     */
+    private static final Charset CHARSET = Charset.forName("UTF-8");
+
+    /**
+     * Die temporäre Datei, <code>null</code> falls die Nachrichten im Speicher gehalten werden
+     */
+    private final File file;
+
+    /**
+     * Zugriff auf die temporäre Datei, <code>null</code> nach {@link #close()}
+     */
+    private RandomAccessFile randomAccessFile;
+
+    /**
+     * Ersatzweise im Speicher gehaltene Nachrichten, je Tick zuerst Team A, dann Team B
+     */
+    private final List<String> inMemoryMessages;
+
+    /**
+     * Position (in Bytes) der Nachricht je Tick und Team in der Datei, je Tick zuerst Team A, dann Team B
+     */
+    private long[] offsets = new long[1024];
+
+    /**
+     * Länge (in Bytes) der Nachricht je Tick und Team in der Datei
+     */
+    private int[] lengths = new int[1024];
+
+    /**
+     * Anzahl der gespeicherten Ticks
+     */
+    private int tickCount = 0;
+
+    /**
+     * Puffer für noch nicht in die Datei geschriebene Nachrichten
+     */
+    private final byte[] writeBuffer;
+
+    /**
+     * Anzahl der Bytes in {@link #writeBuffer}
+     */
+    private int writeBufferLength = 0;
+
+    /**
+     * Anzahl der bereits in die Datei geschriebenen Bytes
+     */
+    private long fileLength = 0;
+
+    /**
+     * Erstellt einen neuen, leeren Speicher und legt die temporäre Datei an.
+     */
+    public DebugMessageStore() {
+        File tempFile = null;
+        RandomAccessFile tempRandomAccessFile = null;
+
+        try {
+            tempFile = File.createTempFile("sosi-debug", ".log");
+            tempFile.deleteOnExit();
+            tempRandomAccessFile = new RandomAccessFile(tempFile, "rw");
+        } catch (IOException e) {
+            Diagnostics.report("Could not create debug message file, keeping messages in memory: %s", e.toString());
+            if (tempFile != null)
+                tempFile.delete();
+            tempFile = null;
+        }
+
+        this.file = tempFile;
+        this.randomAccessFile = tempRandomAccessFile;
+        this.inMemoryMessages = (tempFile == null) ? new ArrayList<String>() : null;
+        this.writeBuffer = (tempFile == null) ? null : new byte[WRITE_BUFFER_SIZE];
+    }
+
+    /**
+     * Hängt die Debugnachrichten des nächsten Ticks an.
+     *
+     * @param debugMessageTeamA
+     *            Debugnachricht des Teams A
+     * @param debugMessageTeamB
+     *            Debugnachricht des Teams B
+     * @return Position des Ticks im Speicher
+     */
+    public synchronized int append(String debugMessageTeamA, String debugMessageTeamB) {
+        if (this.inMemoryMessages != null) {
+            this.inMemoryMessages.add(debugMessageTeamA);
+            this.inMemoryMessages.add(debugMessageTeamB);
+            return this.tickCount++;
+        }
+
+        if (2 * this.tickCount + 1 >= this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+            this.lengths = Arrays.copyOf(this.lengths, this.lengths.length * 2);
+        }
+
+        this.appendMessage(2 * this.tickCount, debugMessageTeamA);
+        this.appendMessage(2 * this.tickCount + 1, debugMessageTeamB);
+
+        return this.tickCount++;
+    }
+
+    /**
+     * Schreibt eine Nachricht in den Puffer und trägt diese in den Index ein. Leere Nachrichten belegen keinen Platz.
+     */
+    private void appendMessage(int index, String message) {
+        this.offsets[index] = this.fileLength + this.writeBufferLength;
+        this.lengths[index] = 0;
+
+        if (message.isEmpty() || this.randomAccessFile == null)
+            return;
+
+        byte[] bytes = message.getBytes(CHARSET);
+        try {
+            if (this.writeBufferLength + bytes.length > this.writeBuffer.length)
+                this.flushWriteBuffer();
+
+            if (bytes.length > this.writeBuffer.length) {
+                this.randomAccessFile.seek(this.fileLength);
+                this.randomAccessFile.write(bytes);
+                this.fileLength += bytes.length;
+            } else {
+                System.arraycopy(bytes, 0, this.writeBuffer, this.writeBufferLength, bytes.length);
+                this.writeBufferLength += bytes.length;
+            }
+
+            this.lengths[index] = bytes.length;
+        } catch (IOException e) {
+            Diagnostics.report("Could not write debug message file: %s", e.toString());
+        }
+    }
+
+    /**
+     * Schreibt den Puffer in die Datei.
+     */
+    private void flushWriteBuffer() throws IOException {
+        if (this.writeBufferLength == 0)
+            return;
+
+        this.randomAccessFile.seek(this.fileLength);
+        this.randomAccessFile.write(this.writeBuffer, 0, this.writeBufferLength);
+        this.fileLength += this.writeBufferLength;
+        this.writeBufferLength = 0;
+    }
+
+    /**
+     * Liest die Debugnachricht eines Teams zu einem Tick.
+     *
+     * @param tickPosition
+     *            Position des Ticks
+     * @param teamA
+     *            <code>true</code> für die Nachricht des Teams A, <code>false</code> für Team B
+     * @return Die Debugnachricht, ein leerer String falls keine vorliegt oder der Speicher bereits geschlossen wurde
+     */
+    public synchronized String get(int tickPosition, boolean teamA) {
+        if (tickPosition < 0 || tickPosition >= this.tickCount)
+            return "";
+
+        int index = 2 * tickPosition + (teamA ? 0 : 1);
+        if (this.inMemoryMessages != null)
+            return this.inMemoryMessages.get(index);
+
+        int length = this.lengths[index];
+        if (length == 0 || this.randomAccessFile == null)
+            return "";
+
+        long offset = this.offsets[index];
+        byte[] bytes = new byte[length];
+
+        if (offset >= this.fileLength) {
+            // Nachricht befindet sich noch vollständig im Puffer
+            System.arraycopy(this.writeBuffer, (int) (offset - this.fileLength), bytes, 0, length);
+        } else {
+            try {
+                this.randomAccessFile.seek(offset);
+                this.randomAccessFile.readFully(bytes);
+            } catch (IOException e) {
+                Diagnostics.report("Could not read debug message file: %s", e.toString());
+                return "";
+            }
+        }
+
+        return new String(bytes, CHARSET);
+    }
+
+    /**
+     * Gibt die Größe der gespeicherten Nachrichten zurück.
+     *
+     * @return Größe in Bytes
+     */
+    public synchronized long getStoredBytes() {
+        return this.fileLength + this.writeBufferLength;
+    }
+
+    /**
+     * Schließt und löscht die temporäre Datei. Nachfolgend angehängte Nachrichten werden verworfen, ausgelesene
+     * Nachrichten sind leer.
+     */
+    public synchronized void close() {
+        if (this.randomAccessFile == null)
+            return;
+
+        try {
+            this.randomAccessFile.close();
+        } catch (IOException e) {
+            // Datei wird dennoch gelöscht
+        }
+
+        this.randomAccessFile = null;
+        this.file.delete();
+    }
+}
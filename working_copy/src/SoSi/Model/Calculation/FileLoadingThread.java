@@ -1,5 +1,6 @@
 package SoSi.Model.Calculation;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -21,6 +22,9 @@ import sep.football.Position;
 import SoSi.Model.SoSiPosition;
 import SoSi.Model.TickEvent;
 import SoSi.Model.Calculation.DataHandler.SimulationSaveFileException;
+import SoSi.Model.Monitoring.DataTransferMonitor;
+import SoSi.Model.Profiling.FlightRecorder.FileChunkEvent;
+import SoSi.Model.Profiling.FlightRecorder.FlightRecorderSupport;
 
 /**
  * Dient zum Laden von TickDatas einer Simulationsdatei. Das Laden erfolgt dabei asynchron, so das bereits geladene
@@ -67,6 +71,11 @@ public class FileLoadingThread extends AbortableThread {
      */
     private int tickCounter = 0;
 
+    /**
+     * Wiederverwendeter Batch, in welchem die Ticks eines Eintrags vor der Weitergabe gesammelt werden
+     */
+    private final TickBatch tickBatch = new TickBatch(TickBatch.DEFAULT_CAPACITY);
+
     /**
      * Erstellt eine neue FileLoadingThread-Instanz.
      * 
@@ -96,10 +105,25 @@ public class FileLoadingThread extends AbortableThread {
 
     @Override
     public void run() {
+        long loadStartNanos = System.nanoTime();
+
         try {
             for (ZipEntry entry : tickEntryCandidates) {
+                FileChunkEvent chunkEvent = null;
+                if (FlightRecorderSupport.AVAILABLE) {
+                    chunkEvent = new FileChunkEvent();
+                    chunkEvent.begin();
+                }
+
                 loadTickPart(docBuilder, zipFile.getInputStream(entry));
 
+                if (chunkEvent != null && chunkEvent.shouldCommit()) {
+                    chunkEvent.operation = FileChunkEvent.LOAD;
+                    chunkEvent.entry = entry.getName();
+                    chunkEvent.bytes = entry.getCompressedSize();
+                    chunkEvent.commit();
+                }
+
                 if (this.getIsAborted())
                     break;
             }
@@ -111,6 +135,11 @@ public class FileLoadingThread extends AbortableThread {
                         this.expectedTickCount));
             }
 
+            if (!this.getIsAborted()) {
+                DataTransferMonitor.getInstance().recordLoad(new File(zipFile.getName()).length(),
+                        System.nanoTime() - loadStartNanos);
+            }
+
         } catch (IOException e) {
             System.err.println("An IOException occurred while loading the file!");
         } catch (SimulationSaveFileException e) {
@@ -170,16 +199,46 @@ public class FileLoadingThread extends AbortableThread {
                     SoSiPosition ballPosition = (SoSiPosition) getPositions(currentElement,
                             DataHandler.IDENTIFIER_BALL_POSITION + DataHandler.IDENTIFIER_POSITION_SUFIX).get(0);
 
+                    // CPU-Zeit der KIs, fehlt in lteren Dateien
+                    long cpuTimeTeamA = getOptionalLongAttribute(currentElement, DataHandler.IDENTIFIER_CPU_TIME_TEAM_A);
+                    long cpuTimeTeamB = getOptionalLongAttribute(currentElement, DataHandler.IDENTIFIER_CPU_TIME_TEAM_B);
+
                     tickCounter++;
-                    this.newTickDataHandler.addNewTickData(goalsTeamA, goalsTeamB, ballPosition, postionsTeamA,
-                            postionsTeamB, event, debugMessageA, debugMessageB);
+                    this.tickBatch.add(goalsTeamA, goalsTeamB, ballPosition, postionsTeamA, postionsTeamB, event,
+                            debugMessageA, debugMessageB, cpuTimeTeamA, cpuTimeTeamB);
+                    if (this.tickBatch.isFull())
+                        this.publishTickBatch();
                 }
             }
+            this.publishTickBatch();
         } else {
             throw new SimulationSaveFileException("XML-Node not found: " + DataHandler.IDENTIFIER_TICK);
         }
     }
 
+    /**
+     * Gibt die im Batch gesammelten Ticks weiter.
+     */
+    private void publishTickBatch() {
+        if (this.tickBatch.isEmpty())
+            return;
+
+        this.newTickDataHandler.addNewTickBatch(this.tickBatch);
+        this.tickBatch.clear();
+    }
+
+    private static long getOptionalLongAttribute(Element element, String name) throws SimulationSaveFileException {
+        String value = element.getAttribute(name);
+        if (value.isEmpty())
+            return 0;
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new SimulationSaveFileException("Invalid value of attribute " + name + ": " + value, e);
+        }
+    }
+
     private static ArrayList<Position> getPositions(Element root, String id) {
         ArrayList<Position> positionList = new ArrayList<Position>();
         NodeList nodeListPositions = root.getElementsByTagName(id);
@@ -0,0 +1,295 @@
+﻿package SoSi.Model.Calculation;
+
+import java.io.IOException;
+import java.util.List;
+
+import sep.football.AI;
+import sep.football.GameInformation;
+import SoSi.Model.SimulationOptions;
+import SoSi.Model.AIHosting.RemoteAI;
+import SoSi.Model.Calculation.AILoader.AiLoadingException;
+import SoSi.Model.Monitoring.IMonitoredSimulation;
+import SoSi.Model.Monitoring.SimulationMonitor;
+import SoSi.Model.Profiling.AIProfile;
+import SoSi.Model.Profiling.AIProfileResult;
+import SoSi.Model.Profiling.TickProfiler;
+
+/**
+ * Berechnet eine Simulation ohne Oberfläche, z.B. für Parameterstudien. Die berechneten Tick-Daten werden an einen
+ * {@link ITickSink} übergeben, welcher je Simulation gewählt wird:
+ * <ul>
+ * <li>{@link InMemoryTickSink}: Sämtliche Ticks werden im Speicher gehalten</li>
+ * <li>{@link StreamingFileTickSink}: Die Ticks werden während der Berechnung in eine Simulationsdatei geschrieben</li>
+ * <li>{@link StatisticsTickSink}: Die Ticks werden lediglich statistisch ausgewertet</li>
+ * <li>{@link NullTickSink}: Die Ticks werden verworfen</li>
+ * </ul>
+ * Mit den beiden letztgenannten ist der Speicherbedarf unabhängig von der Dauer der Simulation.<br>
+ * Für reine Messungen der Berechnungsgeschwindigkeit kann die Aufwärmphase der KIs über
+ * {@link #setAiWarmUpEnabled(boolean)} abgeschaltet werden. Laufzeitprofile werden nicht ausgegeben, sondern stehen
+ * über die entsprechenden Getter zur Verfügung. Nach {@link #run()} enthalten {@link #getAiResultTeamA()} bzw.
+ * {@link #getAiResultTeamB()} Perzentile der Aufrufdauer sowie die Exceptions je Fingerabdruck als Ergebnis neben
+ * denen des {@link ITickSink}, {@link #toString()} fasst sie zusammen.<br>
+ * Während der Berechnung ist ein {@link SimulationMonitor} registriert, so dass auch parallel laufende Simulationen
+ * ohne Oberfläche mit Ticks pro Sekunde und verbleibender Dauer per JMX überwacht werden können.
+ */
+public class HeadlessSimulation implements IMonitoredSimulation {
+
+    /**
+     * Empfänger der berechneten Tick-Daten
+     */
+    private final ITickSink tickSink;
+
+    /**
+     * Die Parameter, die die Rahmenbedingungen für das Spiel bilden
+     */
+    private final GameInformation gameInformation;
+
+    /**
+     * Namen der KIs
+     */
+    private final String teamAName, teamBName;
+
+    /**
+     * Thread-Instanz, welche die Berechnung durchführt. Wird von {@link #run()} im aufrufenden Thread ausgeführt.
+     */
+    private final CalculationThread calculationThread;
+
+    /**
+     * Ergebnis des Laufzeitprofils der KI des erstgewählten Teams, <code>null</code> bis {@link #run()} beendet ist
+     */
+    private volatile AIProfileResult aiResultTeamA;
+
+    /**
+     * Ergebnis des Laufzeitprofils der KI des zweitgewählten Teams, <code>null</code> bis {@link #run()} beendet ist
+     */
+    private volatile AIProfileResult aiResultTeamB;
+
+    /**
+     * Flag, ob {@link #run()} beendet ist
+     */
+    private volatile boolean isFinished = false;
+
+    /**
+     * Erstellt eine neue Simulation und lädt die KIs. Die Berechnung erfolgt erst durch {@link #run()}.
+     *
+     * @param playersPerTeam
+     *            Die Anzahl der Spieler, die jedes Team hat.
+     * @param gameInformation
+     *            Die Parameter, die die Rahmenbedingungen für das Spiel bilden.
+     * @param teamAAiPath
+     *            Der Dateipfad der erstgewählten KI, die geladen werden soll.
+     * @param teamBAiPath
+     *            Der Dateipfad der zweitgewählten KI, die geladen werden soll.
+     * @param simulationOptions
+     *            Die Liste an aktivierten Simulations-Optionen, die im Spiel vewendet werden.
+     * @param tickSink
+     *            Empfänger der berechneten Tick-Daten
+     * @throws AiLoadingException
+     *             Wird geworfen, wenn das Laden der KI über den angegebenen Dateipfad fehlschlägt
+     */
+    public HeadlessSimulation(int playersPerTeam, GameInformation gameInformation, String teamAAiPath,
+            String teamBAiPath, List<SimulationOptions> simulationOptions, ITickSink tickSink)
+            throws AiLoadingException {
+        if (gameInformation == null)
+            throw new IllegalArgumentException("gameInformation must not be null!");
+        if (teamAAiPath == null || teamBAiPath == null)
+            throw new IllegalArgumentException("AI-Paths must not be null!");
+        if (simulationOptions == null)
+            throw new IllegalArgumentException("simulationOptions must not be null!");
+        if (tickSink == null)
+            throw new IllegalArgumentException("tickSink must not be null!");
+
+        this.tickSink = tickSink;
+        this.gameInformation = gameInformation;
+        this.teamAName = DataHandler.getAiName(teamAAiPath);
+        this.teamBName = DataHandler.getAiName(teamBAiPath);
+
+        AI teamAAi = AILoader.LoadAI(teamAAiPath);
+        AI teamBAi;
+        try {
+            teamBAi = AILoader.LoadAI(teamBAiPath);
+        } catch (AiLoadingException e) {
+            // Bereits gestarteten KI-Prozess nicht zurücklassen
+            if (teamAAi instanceof RemoteAI)
+                ((RemoteAI) teamAAi).shutdown();
+            throw e;
+        }
+
+        this.calculationThread = new CalculationThread(playersPerTeam, gameInformation, teamAAi, teamBAi, tickSink,
+                simulationOptions);
+    }
+
+    /**
+     * Berechnet die Simulation im aufrufenden Thread und kehrt zurück, sobald diese abgeschlossen bzw. über
+     * {@link #abort()} abgebrochen wurde.
+     *
+     * @throws IOException
+     *             Falls der {@link ITickSink} die Tick-Daten nicht verarbeiten konnte
+     */
+    public void run() throws IOException {
+        try {
+            this.tickSink.simulationStarted(this.gameInformation, this.teamAName, this.teamBName);
+        } catch (IOException e) {
+            // KI-Threads bzw. -Prozesse freigeben
+            this.calculationThread.abort();
+            this.isFinished = true;
+            throw e;
+        }
+
+        SimulationMonitor simulationMonitor = new SimulationMonitor(null, this);
+        simulationMonitor.register();
+
+        try {
+            this.calculationThread.run();
+        } finally {
+            // KI-Threads bzw. -Prozesse in jedem Fall freigeben, auch bei Exceptions des ITickSink
+            this.calculationThread.abort();
+            this.isFinished = true;
+            simulationMonitor.unregister();
+            this.aiResultTeamA = this.getAiProfileTeamA().createResult();
+            this.aiResultTeamB = this.getAiProfileTeamB().createResult();
+            this.tickSink.simulationFinished();
+        }
+    }
+
+    /**
+     * Legt fest, ob die KIs vor dem ersten Tick aufgewärmt werden, sofern die Aufwärmphase über
+     * {@link AIWarmUp#configure(int, long)} aktiviert ist. Muss vor {@link #run()} aufgerufen werden.
+     *
+     * @param aiWarmUpEnabled
+     *            <code>false</code>, um die Aufwärmphase für diese Simulation zu überspringen
+     */
+    public void setAiWarmUpEnabled(boolean aiWarmUpEnabled) {
+        this.calculationThread.setAiWarmUpEnabled(aiWarmUpEnabled);
+    }
+
+    /**
+     * @return Profiler der einzelnen Phasen der Tick-Berechnung, enthält nur Messwerte, falls
+     *         {@link TickProfiler#ENABLED}
+     */
+    @Override
+    public TickProfiler getTickProfiler() {
+        return this.calculationThread.getTickProfiler();
+    }
+
+    /**
+     * Bricht die Berechnung ab. Kann von einem beliebigen Thread aufgerufen werden.
+     */
+    public void abort() {
+        this.calculationThread.abort();
+    }
+
+    /**
+     * @return Empfänger der berechneten Tick-Daten
+     */
+    public ITickSink getTickSink() {
+        return this.tickSink;
+    }
+
+    /**
+     * @return Laufzeitprofil der KI des erstgewählten Teams
+     */
+    @Override
+    public AIProfile getAiProfileTeamA() {
+        return this.calculationThread.getAiProfileTeamA();
+    }
+
+    /**
+     * @return Laufzeitprofil der KI des zweitgewählten Teams
+     */
+    @Override
+    public AIProfile getAiProfileTeamB() {
+        return this.calculationThread.getAiProfileTeamB();
+    }
+
+    /**
+     * @return Name der KI des erstgewählten Teams
+     */
+    @Override
+    public String getTeamAName() {
+        return this.teamAName;
+    }
+
+    /**
+     * @return Name der KI des zweitgewählten Teams
+     */
+    @Override
+    public String getTeamBName() {
+        return this.teamBName;
+    }
+
+    /**
+     * @return Die Parameter, die die Rahmenbedingungen für das Spiel bilden
+     */
+    @Override
+    public GameInformation getGameInformation() {
+        return this.gameInformation;
+    }
+
+    /**
+     * @return Anzahl der bereits an den {@link ITickSink} übergebenen Ticks
+     */
+    @Override
+    public int getSimulationTickCount() {
+        return this.calculationThread.getPublishedTickCount();
+    }
+
+    /**
+     * @return <code>true</code>, sobald {@link #run()} beendet ist
+     */
+    @Override
+    public boolean isSimulationCalculationFinished() {
+        return this.isFinished;
+    }
+
+    /**
+     * Der Speicherbedarf der Tick-Daten wird nicht geschätzt, da dieser vom {@link ITickSink} abhängt.
+     *
+     * @return Immer 0
+     */
+    @Override
+    public long getEstimatedTickDataBytes() {
+        return 0;
+    }
+
+    /**
+     * Debug-Nachrichten werden ausschließlich an den {@link ITickSink} übergeben und nicht außerhalb des Heaps
+     * gespeichert.
+     *
+     * @return Immer 0
+     */
+    @Override
+    public long getDebugMessageBytes() {
+        return 0;
+    }
+
+    /**
+     * @return Ergebnis des Laufzeitprofils der KI des erstgewählten Teams, <code>null</code> bis {@link #run()}
+     *         beendet ist
+     */
+    public AIProfileResult getAiResultTeamA() {
+        return this.aiResultTeamA;
+    }
+
+    /**
+     * @return Ergebnis des Laufzeitprofils der KI des zweitgewählten Teams, <code>null</code> bis {@link #run()}
+     *         beendet ist
+     */
+    public AIProfileResult getAiResultTeamB() {
+        return this.aiResultTeamB;
+    }
+
+    /**
+     * Fasst die Ergebnisse der Simulation zusammen: die Statistik eines {@link StatisticsTickSink}, sofern verwendet,
+     * sowie je KI eine Zeile mit dem Ergebnis des Laufzeitprofils.
+     */
+    @Override
+    public String toString() {
+        String result = this.teamAName + " - " + this.teamBName;
+        if (this.tickSink instanceof StatisticsTickSink)
+            result += ": " + this.tickSink;
+
+        return String.format("%s%n%s: %s%n%s: %s", result, this.teamAName, this.aiResultTeamA, this.teamBName,
+                this.aiResultTeamB);
+    }
+}
@@ -14,8 +14,18 @@ public interface INewTickDataHandler {
     /**
      * Methode zum Hinzufügen neuer Tick-Daten. Dient dazu den Zugriff auf die Liste mit den berechneten Tick-Daten im
      * DataHandler auf den CalculationThread zu beschränken und zusätzlich um seine Zugriffe auf den DataHandler auf das
-     * Minimum zu beschränken.
+     * Minimum zu beschränken.<br>
+     * Die CPU-Zeiten der KIs werden in Mikrosekunden angegeben, 0 falls diese nicht erfasst wurden.
      */
     void addNewTickData(int goalsTeamA, int goalsTeamB, Position ballPosition, List<Position> playerPositionsTeamA,
-            List<Position> playerPositionsTeamB, TickEvent tickEvent, String debugMessageTeamA, String debugMessageTeamB);
+            List<Position> playerPositionsTeamB, TickEvent tickEvent, String debugMessageTeamA, String debugMessageTeamB,
+            long aiCpuTimeTeamA, long aiCpuTimeTeamB);
+
+    /**
+     * Methode zum Hinzufügen mehrerer aufeinanderfolgender Tick-Daten. Entspricht dem Aufruf von
+     * {@link #addNewTickData(int, int, Position, List, List, TickEvent, String, String, long, long)} für jeden Tick des
+     * Batches, ermöglicht aber, die Ticks gemeinsam zu verarbeiten bzw. zu veröffentlichen.<br>
+     * Der Batch wird nach dem Aufruf wiederverwendet und darf daher nicht referenziert werden.
+     */
+    void addNewTickBatch(TickBatch tickBatch);
 }
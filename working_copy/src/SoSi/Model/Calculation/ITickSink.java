@@ -0,0 +1,37 @@
+﻿package SoSi.Model.Calculation;
+
+import java.io.IOException;
+
+import sep.football.GameInformation;
+
+/**
+ * Schnittstelle für Empfänger der Tick-Daten einer ohne Oberfläche berechneten Simulation (siehe
+ * {@link HeadlessSimulation}). Je nach Implementierung werden die Tick-Daten vollständig im Speicher gehalten, in eine
+ * Datei geschrieben, lediglich statistisch ausgewertet oder verworfen.<br>
+ * Sämtliche Methoden werden vom Thread der Berechnung aufgerufen.
+ */
+public interface ITickSink extends INewTickDataHandler {
+
+    /**
+     * Wird vor dem ersten Tick der Simulation aufgerufen.
+     *
+     * @param gameInformation
+     *            Die Parameter, die die Rahmenbedingungen für das Spiel bilden.
+     * @param teamAName
+     *            Der Name der KI des erstgewählten Teams.
+     * @param teamBName
+     *            Der Name der KI des zweitgewählten Teams.
+     * @throws IOException
+     *             Falls der Empfänger nicht geöffnet werden kann
+     */
+    void simulationStarted(GameInformation gameInformation, String teamAName, String teamBName) throws IOException;
+
+    /**
+     * Wird nach dem letzten Tick bzw. nach dem Abbruch der Simulation aufgerufen. Danach werden keine weiteren
+     * Tick-Daten übergeben.
+     *
+     * @throws IOException
+     *             Falls beim Verarbeiten der Tick-Daten ein Fehler aufgetreten ist
+     */
+    void simulationFinished() throws IOException;
+}
@@ -0,0 +1,55 @@
+﻿package SoSi.Model.Calculation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import sep.football.GameInformation;
+import sep.football.Position;
+import SoSi.Model.TickData;
+import SoSi.Model.TickEvent;
+
+/**
+ * Hält sämtliche Tick-Daten im Speicher, entsprechend dem {@link DataHandler} bei einer Simulation mit Oberfläche.
+ */
+public class InMemoryTickSink implements ITickSink {
+
+    /**
+     * Liste aller empfangenen Tick-Daten
+     */
+    private final List<TickData> tickDataList = Collections.synchronizedList(new ArrayList<TickData>());
+
+    @Override
+    public void simulationStarted(GameInformation gameInformation, String teamAName, String teamBName) {
+        this.tickDataList.clear();
+    }
+
+    @Override
+    public void addNewTickData(int goalsTeamA, int goalsTeamB, Position ballPosition,
+            List<Position> playerPositionsTeamA, List<Position> playerPositionsTeamB, TickEvent tickEvent,
+            String debugMessageTeamA, String debugMessageTeamB, long aiCpuTimeTeamA, long aiCpuTimeTeamB) {
+        this.tickDataList.add(new TickData(this.tickDataList.size(), goalsTeamA, goalsTeamB, ballPosition,
+                playerPositionsTeamA, playerPositionsTeamB, tickEvent, debugMessageTeamA, debugMessageTeamB,
+                aiCpuTimeTeamA, aiCpuTimeTeamB));
+    }
+
+    @Override
+    public void addNewTickBatch(TickBatch tickBatch) {
+        synchronized (this.tickDataList) {
+            tickBatch.forEachTick(this);
+        }
+    }
+
+    @Override
+    public void simulationFinished() {
+    }
+
+    /**
+     * Gibt die bisher empfangenen Tick-Daten zurück.
+     *
+     * @return Nicht veränderbare Liste der Tick-Daten
+     */
+    public List<TickData> getTickDataList() {
+        return Collections.unmodifiableList(this.tickDataList);
+    }
+}
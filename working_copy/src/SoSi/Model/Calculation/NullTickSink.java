@@ -0,0 +1,79 @@
+﻿package SoSi.Model.Calculation;
+
+import java.util.List;
+
+import sep.football.GameInformation;
+import sep.football.Position;
+import SoSi.Model.TickEvent;
+
+/**
+ * Verwirft sämtliche Tick-Daten. Es werden lediglich die Anzahl der Ticks sowie der letzte Spielstand festgehalten.
+ * Dient für Läufe, bei welchen ausschließlich die Geschwindigkeit der Berechnung bzw. das Endergebnis von Interesse
+ * ist.
+ */
+public class NullTickSink implements ITickSink {
+
+    /**
+     * Anzahl der empfangenen Ticks
+     */
+    private volatile int tickCount = 0;
+
+    /**
+     * Anzahl der Tore des erstgewählten Teams im zuletzt empfangenen Tick
+     */
+    private volatile int goalsTeamA = 0;
+
+    /**
+     * Anzahl der Tore des zweitgewählten Teams im zuletzt empfangenen Tick
+     */
+    private volatile int goalsTeamB = 0;
+
+    @Override
+    public void simulationStarted(GameInformation gameInformation, String teamAName, String teamBName) {
+    }
+
+    @Override
+    public void addNewTickData(int goalsTeamA, int goalsTeamB, Position ballPosition,
+            List<Position> playerPositionsTeamA, List<Position> playerPositionsTeamB, TickEvent tickEvent,
+            String debugMessageTeamA, String debugMessageTeamB, long aiCpuTimeTeamA, long aiCpuTimeTeamB) {
+        this.goalsTeamA = goalsTeamA;
+        this.goalsTeamB = goalsTeamB;
+        this.tickCount++;
+    }
+
+    @Override
+    public void addNewTickBatch(TickBatch tickBatch) {
+        if (tickBatch.isEmpty())
+            return;
+
+        int lastIndex = tickBatch.size() - 1;
+        this.goalsTeamA = tickBatch.getGoalsTeamA(lastIndex);
+        this.goalsTeamB = tickBatch.getGoalsTeamB(lastIndex);
+        this.tickCount += tickBatch.size();
+    }
+
+    @Override
+    public void simulationFinished() {
+    }
+
+    /**
+     * @return Anzahl der empfangenen Ticks
+     */
+    public int getTickCount() {
+        return this.tickCount;
+    }
+
+    /**
+     * @return Anzahl der Tore des erstgewählten Teams
+     */
+    public int getGoalsTeamA() {
+        return this.goalsTeamA;
+    }
+
+    /**
+     * @return Anzahl der Tore des zweitgewählten Teams
+     */
+    public int getGoalsTeamB() {
+        return this.goalsTeamB;
+    }
+}
@@ -2,7 +2,8 @@
 
 import java.util.List;
 
-import sep.football.ActionHandler;
+import sep.football.ActionCommandBuffer;
+import sep.football.BatchActionHandler;
 import sep.football.Position;
 import sep.football.TickInformation;
 
@@ -12,9 +13,10 @@ import SoSi.Model.GameObjects.PlayerGameObject;
 import SoSi.Model.GamePhysics.GamePhysic;
 
 /**
- * Beinhaltet Spielaktionen, die einer KI während der Simulation zur Verfügung stehen.
+ * Beinhaltet Spielaktionen, die einer KI während der Simulation zur Verfügung stehen.<br>
+ * Die Aktionen können sowohl einzeln als auch gesammelt über einen {@link ActionCommandBuffer} ausgeführt werden.
  */
-public abstract class SoSiActionHandler implements ActionHandler {
+public abstract class SoSiActionHandler implements BatchActionHandler {
 
     /**
      * Liste aller Spieler eines Teams, je nach dem von welcher KI der ActionHandler aufgerufen wird.
@@ -61,6 +63,13 @@ public abstract class SoSiActionHandler implements ActionHandler {
     protected static final String PLAYER_BLOCKED_ERROR_MSG = "Warnung: Der Spieler %d ist noch geblockt, "
             + "Aktion %s ungültig!";
 
+    /**
+     * Fehlermeldung, die einmalig je Aufruf von {@link #submitCommands(ActionCommandBuffer)} ausgegeben wird, falls
+     * Befehle abgelehnt wurden.
+     */
+    protected static final String REJECTED_COMMANDS_ERROR_MSG = "Warnung: %d von %d Befehlen abgelehnt, "
+            + "erster abgelehnter Befehl %d (Spieler %d, Status %d)!";
+
     /**
      * Referenz auf {@link DebugManager}, um in der Entwicklerkonsole über nicht erlaubte Aktionen zu informieren.
      */
@@ -117,77 +126,102 @@ public abstract class SoSiActionHandler implements ActionHandler {
             if (playerId >= this.players.size()) {
                 throw new ArrayIndexOutOfBoundsException(String.format("Spieler-ID %d existiert nicht!", playerId));
             }
-            PlayerGameObject player = players.get(playerId);
-            if (player.getBlockTimeReamining() <= 0 && strength > 0) {
-                if (originalPlayerWithBall == player) {
-                    Vector2D desiredBallMovement = new Vector2D(direction.getX(), direction.getY());
-
-                    if (strength > 1.0d) {
-                        strength = 1.0d;
-                    }
-
-                    double delta;
-                    if (desiredBallMovement.getLength() == 0
-                            || players.get(playerId).getMovementDirection().getLength() == 0) {
-                        delta = 0;
-                    } else {
-                        delta = Vector2D.getSmallestAngleBetweenVectors(desiredBallMovement, players.get(playerId)
-                                .getMovementDirection());
-                    }
-
-                    double playerMaxSpeed = GamePhysic.convertVelocity(PlayerGameObject.MAX_SPEED_WITH_BALL);
-                    double currentPlayerSpeed = player.getMovementDirection().getLength();
-
-                    double beta = strength * ((currentPlayerSpeed + 0.5 * playerMaxSpeed) / (1.5 * playerMaxSpeed))
-                            * ((delta + 90) / 3d);
-
-                    double newRandomBallAngle = (-Math.abs(beta)) + (Math.random() * 2 * Math.abs(beta));
-
-                    Vector2D newBallMovement = new Vector2D(0, 0);
-
-                    // Berechnung des Schussvektors mittels des berechneten Streuungswinkel
-                    newBallMovement = desiredBallMovement.getRotatedVector(newRandomBallAngle, true);
-
-                    // testcode only: (stets exakte schüsse) [in finaler Abgabe unbedingt auskommentiert lassen ;) ]
-                    // newBallMovement = desiredBallMovement;
-
-                    // Betrag der Schussstärke setzen
-                    if (newBallMovement.getLength() > 0) {
-                        newBallMovement = newBallMovement.getNewLengthVector(strength
-                                * GamePhysic.convertVelocity(BallGameObject.MAX_SHOOTING_SPEED));
-                    }
-
-                    // Ballgeschwindigkeit und Ballbesitz aktualisieren
-                    ball.setMovementDirection(newBallMovement);
-                    ball.setBallPossession(null);
-
-                    // Ballposition von Spieler weg bewegen
-                    if (newBallMovement.getLength() > 0) {
-                        Vector2D newBallPosition = new Vector2D(ball.getPosition().getX(), ball.getPosition().getY());
-                        newBallPosition = Vector2D.addVectors(newBallPosition,
-                                newBallMovement.getNewLengthVector((player.getDiameter() + ball.getDiameter()) / 2d));
-
-                        ball.setPosition(newBallPosition.convertToPosition());
-                    }
-
-                    player.setBlockTimeRemaining(BLOCK_TIME_AFTER_KICK);
-                } else {
-                    this.debugManager.print(String.format("Spieler %d ist nicht in Ballbesitz in Aktion kickBall",
-                            playerId));
-                }
-            } else {
-                if (strength > 0) {
-                    this.debugManager.print(String.format(
-                            "Strength muss größer 0 sein (Spieler %d in Aktion kickBall)", playerId));
-                } else {
-                    this.debugManager.print(String.format(PLAYER_BLOCKED_ERROR_MSG, playerId, "kickBall"));
-                }
+
+            switch (this.executeKickBall(playerId, direction.getX(), direction.getY(), strength)) {
+            case ActionCommandBuffer.STATUS_NO_BALL_POSSESSION:
+                this.debugManager.print(String.format("Spieler %d ist nicht in Ballbesitz in Aktion kickBall",
+                        playerId));
+                break;
+            case ActionCommandBuffer.STATUS_INVALID_VALUE:
+                this.debugManager.print(String.format("Strength muss größer 0 sein (Spieler %d in Aktion kickBall)",
+                        playerId));
+                break;
+            case ActionCommandBuffer.STATUS_PLAYER_BLOCKED:
+                this.debugManager.print(String.format(PLAYER_BLOCKED_ERROR_MSG, playerId, "kickBall"));
+                break;
+            default:
+                break;
             }
         } else {
             this.debugManager.print(String.format(COMPLETED_ACTION_ERROR_MSG, "kickBall"));
         }
     }
 
+    /**
+     * Führt einen Schuss aus, ohne Meldungen auszugeben.
+     * 
+     * @param playerId
+     *            Die Nummer des Spieler im Team der KI, muss gültig sein.
+     * @param directionX
+     *            x-Anteil der Richtung des Schusses
+     * @param directionY
+     *            y-Anteil der Richtung des Schusses
+     * @param strength
+     *            Die Stärke des Schusses
+     * @return Ergebnis der Aktion als <code>STATUS_</code>-Konstante des {@link ActionCommandBuffer}
+     * @see #kickBall(int, Position, double)
+     */
+    protected byte executeKickBall(int playerId, double directionX, double directionY, double strength) {
+        PlayerGameObject player = players.get(playerId);
+        if (player.getBlockTimeReamining() > 0)
+            return ActionCommandBuffer.STATUS_PLAYER_BLOCKED;
+        if (!(strength > 0))
+            return ActionCommandBuffer.STATUS_INVALID_VALUE;
+        if (originalPlayerWithBall != player)
+            return ActionCommandBuffer.STATUS_NO_BALL_POSSESSION;
+
+        Vector2D desiredBallMovement = new Vector2D(directionX, directionY);
+
+        if (strength > 1.0d) {
+            strength = 1.0d;
+        }
+
+        double delta;
+        if (desiredBallMovement.getLength() == 0 || player.getMovementDirection().getLength() == 0) {
+            delta = 0;
+        } else {
+            delta = Vector2D.getSmallestAngleBetweenVectors(desiredBallMovement, player.getMovementDirection());
+        }
+
+        double playerMaxSpeed = GamePhysic.convertVelocity(PlayerGameObject.MAX_SPEED_WITH_BALL);
+        double currentPlayerSpeed = player.getMovementDirection().getLength();
+
+        double beta = strength * ((currentPlayerSpeed + 0.5 * playerMaxSpeed) / (1.5 * playerMaxSpeed))
+                * ((delta + 90) / 3d);
+
+        double newRandomBallAngle = (-Math.abs(beta)) + (Math.random() * 2 * Math.abs(beta));
+
+        Vector2D newBallMovement = new Vector2D(0, 0);
+
+        // Berechnung des Schussvektors mittels des berechneten Streuungswinkel
+        newBallMovement = desiredBallMovement.getRotatedVector(newRandomBallAngle, true);
+
+        // testcode only: (stets exakte schüsse) [in finaler Abgabe unbedingt auskommentiert lassen ;) ]
+        // newBallMovement = desiredBallMovement;
+
+        // Betrag der Schussstärke setzen
+        if (newBallMovement.getLength() > 0) {
+            newBallMovement = newBallMovement.getNewLengthVector(strength
+                    * GamePhysic.convertVelocity(BallGameObject.MAX_SHOOTING_SPEED));
+        }
+
+        // Ballgeschwindigkeit und Ballbesitz aktualisieren
+        ball.setMovementDirection(newBallMovement);
+        ball.setBallPossession(null);
+
+        // Ballposition von Spieler weg bewegen
+        if (newBallMovement.getLength() > 0) {
+            Vector2D newBallPosition = new Vector2D(ball.getPosition().getX(), ball.getPosition().getY());
+            newBallPosition = Vector2D.addVectors(newBallPosition,
+                    newBallMovement.getNewLengthVector((player.getDiameter() + ball.getDiameter()) / 2d));
+
+            ball.setPosition(newBallPosition.convertToPosition());
+        }
+
+        player.setBlockTimeRemaining(BLOCK_TIME_AFTER_KICK);
+        return ActionCommandBuffer.STATUS_EXECUTED;
+    }
+
     /**
      * <p>
      * Ändert die Laufrichtung und die Geschwindigkeit eines Spielers.
@@ -215,25 +249,8 @@ public abstract class SoSiActionHandler implements ActionHandler {
                 throw new ArrayIndexOutOfBoundsException(String.format("Spieler-ID %d existiert nicht!", playerId));
             }
 
-            PlayerGameObject player = players.get(playerId);
-            if (player.getBlockTimeReamining() == 0) {
-                if (playerId >= this.players.size()) {
-                    throw new ArrayIndexOutOfBoundsException(String.format("Spieler-ID %d existiert nicht!", playerId));
-                }
-
-                targetSpeed = Math.abs(targetSpeed);
-                if (targetSpeed > 1.0d) {
-                    targetSpeed = 1.0d;
-                }
-
-                targetSpeed *= player.getMaxSpeed(this.ball);
-
-                Vector2D calculatedTargetDirection = new Vector2D(targetDirection.getX(), targetDirection.getY());
-                if (calculatedTargetDirection.getLength() != 0)
-                    calculatedTargetDirection = calculatedTargetDirection.getNewLengthVector(targetSpeed);
-
-                player.setTargetDirection(calculatedTargetDirection);
-            } else {
+            if (this.executeChangePlayerDirection(playerId, targetDirection.getX(), targetDirection.getY(),
+                    targetSpeed) == ActionCommandBuffer.STATUS_PLAYER_BLOCKED) {
                 this.debugManager.print(String.format(PLAYER_BLOCKED_ERROR_MSG, playerId, "changePlayerDirection"));
             }
         } else {
@@ -241,6 +258,103 @@ public abstract class SoSiActionHandler implements ActionHandler {
         }
     }
 
+    /**
+     * Ändert die Laufrichtung und die Geschwindigkeit eines Spielers, ohne Meldungen auszugeben.
+     * 
+     * @param playerId
+     *            Die Nummer des Spieler im Team der KI, muss gültig sein.
+     * @param directionX
+     *            x-Anteil der Richtung, in die der Spieler beschleunigen soll
+     * @param directionY
+     *            y-Anteil der Richtung, in die der Spieler beschleunigen soll
+     * @param targetSpeed
+     *            Die Geschwindigkeit, abhängig von der Maximalgeschwindkeit eines Spieler
+     * @return Ergebnis der Aktion als <code>STATUS_</code>-Konstante des {@link ActionCommandBuffer}
+     * @see #changePlayerDirection(int, Position, double)
+     */
+    protected byte executeChangePlayerDirection(int playerId, double directionX, double directionY,
+            double targetSpeed) {
+        PlayerGameObject player = players.get(playerId);
+        if (player.getBlockTimeReamining() != 0)
+            return ActionCommandBuffer.STATUS_PLAYER_BLOCKED;
+
+        targetSpeed = Math.abs(targetSpeed);
+        if (targetSpeed > 1.0d) {
+            targetSpeed = 1.0d;
+        }
+
+        targetSpeed *= player.getMaxSpeed(this.ball);
+
+        Vector2D calculatedTargetDirection = new Vector2D(directionX, directionY);
+        if (calculatedTargetDirection.getLength() != 0)
+            calculatedTargetDirection = calculatedTargetDirection.getNewLengthVector(targetSpeed);
+
+        player.setTargetDirection(calculatedTargetDirection);
+        return ActionCommandBuffer.STATUS_EXECUTED;
+    }
+
+    /**
+     * Führt sämtliche Befehle eines {@link ActionCommandBuffer} in einem Durchlauf aus. Abgelehnte Befehle werden im
+     * Buffer vermerkt und gesammelt mit einer einzigen Meldung an den {@link DebugManager} gemeldet.
+     * 
+     * @param commands
+     *            Die auszuführenden Befehle
+     * @return Anzahl der ausgeführten Befehle
+     */
+    public int submitCommands(ActionCommandBuffer commands) {
+        int executed = 0;
+        int firstRejected = -1;
+
+        for (int i = 0; i < commands.size(); i++) {
+            int playerId = commands.getPlayerId(i);
+            byte status;
+
+            if (this.actionCompleted)
+                status = ActionCommandBuffer.STATUS_NOT_PERMITTED;
+            else if (playerId < 0 || playerId >= this.players.size())
+                status = ActionCommandBuffer.STATUS_INVALID_PLAYER;
+            else
+                status = this.executeCommand(commands, i);
+
+            commands.setStatus(i, status);
+            if (status == ActionCommandBuffer.STATUS_EXECUTED)
+                executed++;
+            else if (firstRejected < 0)
+                firstRejected = i;
+        }
+
+        if (firstRejected >= 0) {
+            this.debugManager.print(String.format(REJECTED_COMMANDS_ERROR_MSG, commands.size() - executed,
+                    commands.size(), firstRejected, commands.getPlayerId(firstRejected),
+                    commands.getStatus(firstRejected)));
+        }
+
+        return executed;
+    }
+
+    /**
+     * Führt einen einzelnen Befehl eines {@link ActionCommandBuffer} aus. Die Spieler-ID wurde bereits geprüft.<br>
+     * Unterklassen erweitern diese Methode um die Aktionen, die nur ihnen zur Verfügung stehen.
+     * 
+     * @param commands
+     *            Buffer mit den Befehlen
+     * @param index
+     *            Index des auszuführenden Befehls
+     * @return Ergebnis der Aktion als <code>STATUS_</code>-Konstante des {@link ActionCommandBuffer}
+     */
+    protected byte executeCommand(ActionCommandBuffer commands, int index) {
+        switch (commands.getActionType(index)) {
+        case ActionCommandBuffer.ACTION_CHANGE_PLAYER_DIRECTION:
+            return this.executeChangePlayerDirection(commands.getPlayerId(index), commands.getDirectionX(index),
+                    commands.getDirectionY(index), commands.getValue(index));
+        case ActionCommandBuffer.ACTION_KICK_BALL:
+            return this.executeKickBall(commands.getPlayerId(index), commands.getDirectionX(index),
+                    commands.getDirectionY(index), commands.getValue(index));
+        default:
+            return ActionCommandBuffer.STATUS_NOT_PERMITTED;
+        }
+    }
+
     /**
      * Bei Aufruf wird der ActionHandler "deaktiviert". <br>
      * Dies wird verwendet, um alte ActionHandler vergangener Ticks, welche nicht mehr benötigt werden, mitzuteilen,
@@ -2,6 +2,7 @@
 
 import java.util.List;
 
+import sep.football.ActionCommandBuffer;
 import sep.football.FreePlayActionHandler;
 import SoSi.Debugging.DebugManager;
 import SoSi.Model.GameObjects.BallGameObject;
@@ -104,49 +105,8 @@ public class SoSiFreePlayActionHandler extends SoSiActionHandler implements Free
             if (playerId >= this.players.size())
                 throw new ArrayIndexOutOfBoundsException(String.format("Spieler-ID %d existiert nicht!", playerId));
 
-            if (players.get(playerId).getBlockTimeReamining() <= 0) {
-                PlayerGameObject actualPossessingPlayer = this.ball.getBallPossession();
-                PlayerGameObject possessingPlayer = this.players.get(playerId);
-
-                double dist_SB = new Vector2D(possessingPlayer.getPosition(), ball.getPosition()).getLength()
-                        - (possessingPlayer.getDiameter() / 2) - (ball.getDiameter() / 2);
-
-                if (dist_SB < DIST_MAX) {
-                    if (actualPossessingPlayer == null) {
-                        // Der Ball ist frei im Feld
-                        double p = calcProbabilityNoPossession(possessingPlayer, ball, determination);
-                        double random = Math.random();
-
-                        if (random <= p) {
-                            ball.setBallPossession(possessingPlayer);
-                        } else {
-                            possessingPlayer.setBlockTimeRemaining((int) Math.round(T_MAX * determination));
-                            possessingPlayer.setTargetDirection(new Vector2D(0, 0));
-                        }
-
-                    } else if (!players.contains(actualPossessingPlayer)) {
-                        // Der Ball ist im Besitz eines Spieler, darf jedoch nicht von einem Mitspieler aus dem eigene
-                        // Team abgenommen werden
-                        double p = calcProbabilityPossession(possessingPlayer, actualPossessingPlayer, ball,
-                                determination);
-                        double random = Math.random();
-
-                        if (random < p) {
-                            actualPossessingPlayer.setBlockTimeRemaining(T_G);
-                            ball.setBallPossession(possessingPlayer);
-                        } else {
-                            double p_foul = calcProbabilityFoul(determination, K_FOUL);
-                            double random_foul = Math.random();
-                            if (random_foul <= p_foul) {
-                                hasFoulHappened = true;
-                            } else {
-                                possessingPlayer.setBlockTimeRemaining((int) Math.round(T_MAX * determination));
-                                possessingPlayer.setTargetDirection(new Vector2D(0, 0));
-                            }
-                        }
-                    }
-                }
-            } else {
+            byte status = this.executeAcquireBallControl(playerId, determination);
+            if (status == ActionCommandBuffer.STATUS_PLAYER_BLOCKED) {
                 this.debugManager.print(String.format(PLAYER_BLOCKED_ERROR_MSG, playerId, "acquireBallControl"));
             }
         } else {
@@ -154,6 +114,81 @@ public class SoSiFreePlayActionHandler extends SoSiActionHandler implements Free
         }
     }
 
+    /**
+     * Versucht die Kontrolle über den Ball zu erlangen, ohne Meldungen auszugeben.
+     * 
+     * @param playerId
+     *            Die Nummer des Spieler im Team der KI, muss gültig sein.
+     * @param determination
+     *            Die Entschlossenheit des Spielers, muss im Bereich ]0;1] liegen.
+     * @return Ergebnis der Aktion als <code>STATUS_</code>-Konstante des {@link ActionCommandBuffer}. Ein erfolgloser
+     *         Versuch gilt ebenfalls als ausgeführt.
+     * @see #acquireBallControl(int, double)
+     */
+    protected byte executeAcquireBallControl(int playerId, double determination) {
+        if (players.get(playerId).getBlockTimeReamining() > 0)
+            return ActionCommandBuffer.STATUS_PLAYER_BLOCKED;
+
+        PlayerGameObject actualPossessingPlayer = this.ball.getBallPossession();
+        PlayerGameObject possessingPlayer = this.players.get(playerId);
+
+        double dist_SB = new Vector2D(possessingPlayer.getPosition(), ball.getPosition()).getLength()
+                - (possessingPlayer.getDiameter() / 2) - (ball.getDiameter() / 2);
+
+        if (dist_SB < DIST_MAX) {
+            if (actualPossessingPlayer == null) {
+                // Der Ball ist frei im Feld
+                double p = calcProbabilityNoPossession(possessingPlayer, ball, determination);
+                double random = Math.random();
+
+                if (random <= p) {
+                    ball.setBallPossession(possessingPlayer);
+                } else {
+                    possessingPlayer.setBlockTimeRemaining((int) Math.round(T_MAX * determination));
+                    possessingPlayer.setTargetDirection(new Vector2D(0, 0));
+                }
+
+            } else if (!players.contains(actualPossessingPlayer)) {
+                // Der Ball ist im Besitz eines Spieler, darf jedoch nicht von einem Mitspieler aus dem eigene
+                // Team abgenommen werden
+                double p = calcProbabilityPossession(possessingPlayer, actualPossessingPlayer, ball,
+                        determination);
+                double random = Math.random();
+
+                if (random < p) {
+                    actualPossessingPlayer.setBlockTimeRemaining(T_G);
+                    ball.setBallPossession(possessingPlayer);
+                } else {
+                    double p_foul = calcProbabilityFoul(determination, K_FOUL);
+                    double random_foul = Math.random();
+                    if (random_foul <= p_foul) {
+                        hasFoulHappened = true;
+                    } else {
+                        possessingPlayer.setBlockTimeRemaining((int) Math.round(T_MAX * determination));
+                        possessingPlayer.setTargetDirection(new Vector2D(0, 0));
+                    }
+                }
+            }
+        }
+
+        return ActionCommandBuffer.STATUS_EXECUTED;
+    }
+
+    /**
+     * Erweitert die Befehle um {@link ActionCommandBuffer#ACTION_ACQUIRE_BALL_CONTROL}.
+     */
+    @Override
+    protected byte executeCommand(ActionCommandBuffer commands, int index) {
+        if (commands.getActionType(index) != ActionCommandBuffer.ACTION_ACQUIRE_BALL_CONTROL)
+            return super.executeCommand(commands, index);
+
+        double determination = commands.getValue(index);
+        if (!(determination > 0 && determination <= 1))
+            return ActionCommandBuffer.STATUS_INVALID_VALUE;
+
+        return this.executeAcquireBallControl(commands.getPlayerId(index), determination);
+    }
+
     /**
      * Gibt an, ob ein Foul eingetreten ist. <br>
      * Dies kann der Fall sein, wenn eine KI Versucht, einem anderen Spieler,
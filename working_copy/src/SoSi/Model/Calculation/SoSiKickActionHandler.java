@@ -7,6 +7,7 @@ import SoSi.Model.SoSiPosition;
 import SoSi.Model.GameObjects.BallGameObject;
 import SoSi.Model.GameObjects.PlayerGameObject;
 import SoSi.Model.GameRules.GameRulesHandler;
+import sep.football.ActionCommandBuffer;
 import sep.football.KickActionHandler;
 import sep.football.Position;
 
@@ -61,33 +62,62 @@ public class SoSiKickActionHandler extends SoSiActionHandler implements KickActi
             if (playerId >= this.players.size())
                 throw new ArrayIndexOutOfBoundsException();
 
-            PlayerGameObject playerToMove = this.players.get(playerId);
+            this.executePlacePlayer(playerId, pos);
+        } else {
+            this.debugManager.print(String.format(COMPLETED_ACTION_ERROR_MSG, "placePlayer"));
+        }
+    }
+
+    /**
+     * Setzt den Spieler auf eine vorgegebene Position, ohne Meldungen auszugeben.
+     * 
+     * @param playerId
+     *            Die Nummer des Spieler im Team der KI, muss gültig sein.
+     * @param pos
+     *            Die Position, auf die der Spieler gesetzt werden soll.
+     * @return Ergebnis der Aktion als <code>STATUS_</code>-Konstante des {@link ActionCommandBuffer}
+     * @see #placePlayer(int, Position)
+     */
+    protected byte executePlacePlayer(int playerId, Position pos) {
+        PlayerGameObject playerToMove = this.players.get(playerId);
 
-            // Nicht zulassen, falls Spieler in Ballbesitz
-            if (playerToMove != this.originalPlayerWithBall) {
-                // Falls Spieler auf Ballposition gesetzt werden soll, diese Position abändern
-                if (pos.getX() == ball.getPosition().getX() && pos.getY() == ball.getPosition().getY()) {
+        // Nicht zulassen, falls Spieler in Ballbesitz
+        if (playerToMove == this.originalPlayerWithBall)
+            return ActionCommandBuffer.STATUS_NOT_PERMITTED;
 
-                    // Aufgrund offenem Bug in CorrectPositions, wurde folgender Codeausschnitt auskommentiert.
-                    // Dadurch wird erreicht, dass die Spielerpositionierung wieder fest voraussagbar ist und nicht vom
-                    // Zufall abhängt, womit das Debugging erleichtert wird. (Des weiteren hat die Einstellung keinen
-                    // großen Einfluss auf die Simulation)
+        // Falls Spieler auf Ballposition gesetzt werden soll, diese Position abändern
+        if (pos.getX() == ball.getPosition().getX() && pos.getY() == ball.getPosition().getY()) {
 
-                    // double moveX = Math.random() - 0.5d;
-                    // double moveY = Math.random() - 0.5d;
-                    // if (moveX == 0 && moveY == 0)
-                    // moveX = 0.1;
+            // Aufgrund offenem Bug in CorrectPositions, wurde folgender Codeausschnitt auskommentiert.
+            // Dadurch wird erreicht, dass die Spielerpositionierung wieder fest voraussagbar ist und nicht vom
+            // Zufall abhängt, womit das Debugging erleichtert wird. (Des weiteren hat die Einstellung keinen
+            // großen Einfluss auf die Simulation)
 
-                    double moveX = 0.01d;
-                    double moveY = 0.01d;
+            // double moveX = Math.random() - 0.5d;
+            // double moveY = Math.random() - 0.5d;
+            // if (moveX == 0 && moveY == 0)
+            // moveX = 0.1;
 
-                    pos = new SoSiPosition(pos.getX() + moveX, pos.getY() + moveY);
-                }
+            double moveX = 0.01d;
+            double moveY = 0.01d;
 
-                playerToMove.setPosition(pos);
-            }
-        } else {
-            this.debugManager.print(String.format(COMPLETED_ACTION_ERROR_MSG, "placePlayer"));
+            pos = new SoSiPosition(pos.getX() + moveX, pos.getY() + moveY);
         }
+
+        playerToMove.setPosition(pos);
+
+        return ActionCommandBuffer.STATUS_EXECUTED;
+    }
+
+    /**
+     * Erweitert die Befehle um {@link ActionCommandBuffer#ACTION_PLACE_PLAYER}.
+     */
+    @Override
+    protected byte executeCommand(ActionCommandBuffer commands, int index) {
+        if (commands.getActionType(index) != ActionCommandBuffer.ACTION_PLACE_PLAYER)
+            return super.executeCommand(commands, index);
+
+        return this.executePlacePlayer(commands.getPlayerId(index), new SoSiPosition(commands.getDirectionX(index),
+                commands.getDirectionY(index)));
     }
 }
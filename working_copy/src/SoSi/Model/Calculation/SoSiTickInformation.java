@@ -4,14 +4,20 @@ import java.util.ArrayList;
 import java.util.List;
 
 import SoSi.Model.GameObjects.PlayerGameObject;
+import SoSi.Model.GamePhysics.BallTrajectoryPredictor;
+import SoSi.Model.GamePhysics.BallTrajectoryPredictor.BallTrajectory;
 
+import sep.football.BallTrajectoryInformation;
 import sep.football.Position;
-import sep.football.TickInformation;
+import sep.football.SpatialQueryInformation;
 
 /**
- * Teambezogene Klasse, die die jeweilige Team-KI mit Informationen über den aktuellen Tick der Simulation versorgt.
+ * Teambezogene Klasse, die die jeweilige Team-KI mit Informationen über den aktuellen Tick der Simulation versorgt.<br>
+ * Zusätzlich wird die vorausberechnete Flugbahn des Balles über {@link BallTrajectoryInformation} angeboten, sofern
+ * diese für den aktuellen Tick berechnet wurde. Räumliche Abfragen über {@link SpatialQueryInformation} werden an den
+ * {@link SpatialIndex} des aktuellen Ticks weitergeleitet.
  */
-public class SoSiTickInformation implements TickInformation {
+public class SoSiTickInformation implements BallTrajectoryInformation, SpatialQueryInformation {
 
     /**
      * Die aktuelle Position des Balles.
@@ -47,6 +53,16 @@ public class SoSiTickInformation implements TickInformation {
      */
     private final PlayerGameObject playerWithBall;
 
+    /**
+     * Vorausberechnete Flugbahn des Balles, <code>null</code> falls keine berechnet wurde.
+     */
+    private final BallTrajectory ballTrajectory;
+
+    /**
+     * Sicht des eigenen Teams auf den räumlichen Index, <code>null</code> falls kein Index aufgebaut wurde.
+     */
+    private final SpatialIndex.TeamView spatialIndexView;
+
     /**
      * Konstruktor eines TickInformation-Objekts. Nimmt alle für die KI benötigten Informationen entgegen und bietet
      * diese der KI mittels Getter-Methoden an.
@@ -66,12 +82,65 @@ public class SoSiTickInformation implements TickInformation {
      */
     public SoSiTickInformation(Position ballPosition, Team ownTeam, Team opponentTeam, boolean isPlayingLeft,
             int currentTickNumber, PlayerGameObject playerWithBall) {
+        this(ballPosition, ownTeam, opponentTeam, isPlayingLeft, currentTickNumber, playerWithBall, null);
+    }
+
+    /**
+     * Konstruktor eines TickInformation-Objekts inklusive der vorausberechneten Flugbahn des Balles.
+     * 
+     * @param ballPosition
+     *            Die Position des Balles.
+     * @param ownTeam
+     *            Referenz auf das eigene Team
+     * @param opponentTeam
+     *            Referenz auf das gegnerische Team
+     * @param isPlayingLeft
+     *            Flag, ob das eigene Team gerade auf der linken Spielfeldhälfte spielt
+     * @param currentTickNumber
+     *            Aktuelle Tick-Position
+     * @param playerWithBall
+     *            Referenz auf den Spieler, welcher in Ballbesitz ist
+     * @param ballTrajectory
+     *            Vorausberechnete Flugbahn des Balles, darf <code>null</code> sein.
+     */
+    public SoSiTickInformation(Position ballPosition, Team ownTeam, Team opponentTeam, boolean isPlayingLeft,
+            int currentTickNumber, PlayerGameObject playerWithBall, BallTrajectory ballTrajectory) {
+        this(ballPosition, ownTeam, opponentTeam, isPlayingLeft, currentTickNumber, playerWithBall, ballTrajectory,
+                null);
+    }
+
+    /**
+     * Konstruktor eines TickInformation-Objekts inklusive der vorausberechneten Flugbahn des Balles und des räumlichen
+     * Index des aktuellen Ticks.
+     * 
+     * @param ballPosition
+     *            Die Position des Balles.
+     * @param ownTeam
+     *            Referenz auf das eigene Team
+     * @param opponentTeam
+     *            Referenz auf das gegnerische Team
+     * @param isPlayingLeft
+     *            Flag, ob das eigene Team gerade auf der linken Spielfeldhälfte spielt
+     * @param currentTickNumber
+     *            Aktuelle Tick-Position
+     * @param playerWithBall
+     *            Referenz auf den Spieler, welcher in Ballbesitz ist
+     * @param ballTrajectory
+     *            Vorausberechnete Flugbahn des Balles, darf <code>null</code> sein.
+     * @param spatialIndexView
+     *            Sicht des eigenen Teams auf den räumlichen Index, darf <code>null</code> sein.
+     */
+    public SoSiTickInformation(Position ballPosition, Team ownTeam, Team opponentTeam, boolean isPlayingLeft,
+            int currentTickNumber, PlayerGameObject playerWithBall, BallTrajectory ballTrajectory,
+            SpatialIndex.TeamView spatialIndexView) {
         this.ballPosition = ballPosition;
         this.ownTeam = ownTeam;
         this.opponentTeam = opponentTeam;
         this.isPlayingLeft = isPlayingLeft;
         this.currentTickNumber = currentTickNumber;
         this.playerWithBall = playerWithBall;
+        this.ballTrajectory = ballTrajectory;
+        this.spatialIndexView = spatialIndexView;
     }
 
     /**
@@ -191,4 +260,76 @@ public class SoSiTickInformation implements TickInformation {
             return id;
         }
     }
+
+    /**
+     * Gibt die vorausberechnete Flugbahn des Balles zurück.
+     * 
+     * @return Vorausberechnete Flugbahn des Balles, <code>null</code> falls keine berechnet wurde
+     */
+    public BallTrajectory getBallTrajectory() {
+        return this.ballTrajectory;
+    }
+
+    /**
+     * Gibt zurück, ob Abfragen über {@link SpatialQueryInformation} von einem räumlichen Index beantwortet werden.
+     * 
+     * @return <code>true</code>, falls ein räumlicher Index aufgebaut wurde
+     */
+    public boolean hasSpatialIndex() {
+        return this.spatialIndexView != null;
+    }
+
+    @Override
+    public int getBallTrajectoryLength() {
+        return (this.ballTrajectory != null) ? this.ballTrajectory.getLength() : 0;
+    }
+
+    @Override
+    public Position getPredictedBallPosition(int ticksAhead) throws IndexOutOfBoundsException {
+        if (this.ballTrajectory == null) {
+            if (ticksAhead != 0)
+                throw new IndexOutOfBoundsException("Keine Flugbahn des Balles vorausberechnet");
+
+            return this.ballPosition;
+        }
+
+        return this.ballTrajectory.getPosition(ticksAhead);
+    }
+
+    @Override
+    public int getTicksUntilBallReaches(Position position) {
+        return (this.ballTrajectory != null) ? this.ballTrajectory.getTicksUntilReached(position) : -1;
+    }
+
+    @Override
+    public double getBallTrajectoryResolution() {
+        return BallTrajectoryPredictor.GRID_CELL_SIZE;
+    }
+
+    @Override
+    public int getNearestPlayer(Position position, boolean ownTeam) {
+        return (this.spatialIndexView != null) ? this.spatialIndexView.getNearestPlayer(position, ownTeam) : -1;
+    }
+
+    @Override
+    public int getNearestPlayerToBall(boolean ownTeam) {
+        return (this.spatialIndexView != null) ? this.spatialIndexView.getNearestPlayerToBall(ownTeam) : -1;
+    }
+
+    @Override
+    public int findNearestPlayers(Position position, boolean ownTeam, int[] playerIds) {
+        return (this.spatialIndexView != null) ? this.spatialIndexView.findNearestPlayers(position, ownTeam,
+                playerIds) : 0;
+    }
+
+    @Override
+    public int findPlayersWithinRadius(Position position, double radius, boolean ownTeam, int[] playerIds) {
+        return (this.spatialIndexView != null) ? this.spatialIndexView.findPlayersWithinRadius(position, radius,
+                ownTeam, playerIds) : 0;
+    }
+
+    @Override
+    public boolean isPassingLaneOpen(Position from, Position to, double clearance) {
+        return (this.spatialIndexView != null) ? this.spatialIndexView.isPassingLaneOpen(from, to, clearance) : true;
+    }
 }
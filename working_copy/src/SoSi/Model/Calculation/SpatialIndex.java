@@ -0,0 +1,485 @@
+﻿package SoSi.Model.Calculation;
+
+import java.util.List;
+
+import sep.football.GameInformation;
+import sep.football.Position;
+import SoSi.Model.GameObjects.PlayerGameObject;
+
+/**
+ * Räumlicher Index über die Spieler beider Teams und den Ball, welcher einmal je Tick aufgebaut und von beiden KIs
+ * lesend verwendet wird.<br>
+ * Das Spielfeld wird dazu in ein gleichmäßiges Raster aufgeteilt. Die Spieler werden per Counting-Sort den
+ * Rasterzellen zugeordnet, wobei sämtliche Arrays einmalig im Konstruktor angelegt werden. Weder der Aufbau noch die
+ * Abfragen erzeugen daher neue Objekte.<br>
+ * Der Index wird abwechselnd in zwei Puffer aufgebaut, welche anschließend über eine <code>volatile</code>-Referenz
+ * ausgetauscht werden. Eine KI des vorherigen Ticks, welche ihre Zeit überschritten hat und noch Abfragen durchführt,
+ * liest daher weiterhin einen vollständigen Index.<br>
+ * Spieler außerhalb des Spielfelds werden der nächstgelegenen Randzelle zugeordnet. Der Ball wird keiner Rasterzelle
+ * zugeordnet, da sämtliche Abfragen nur Spieler liefern; seine Position wird jedoch im selben Puffer abgelegt, so dass
+ * Abfragen relativ zum Ball denselben Stand wie die Spielerpositionen verwenden.
+ */
+public class SpatialIndex {
+
+    /**
+     * Kantenlänge (in Metern) einer Rasterzelle
+     */
+    private static final double CELL_SIZE = 5d;
+
+    /**
+     * Anzahl an Spielern je Team
+     */
+    private final int playersPerTeam;
+
+    /**
+     * Anzahl der Rasterzellen in x- und y-Richtung
+     */
+    private final int columns, rows;
+
+    /**
+     * Die beiden abwechselnd aufgebauten Puffer des Index
+     */
+    private final Grid[] grids;
+
+    /**
+     * Zuletzt vollständig aufgebauter Puffer, welcher von den Abfragen verwendet wird
+     */
+    private volatile Grid currentGrid;
+
+    /**
+     * Rasterzelle je Spieler, wird beim Aufbau zwischengespeichert
+     */
+    private final int[] entryCells;
+
+    /**
+     * Sicht auf den Index aus Perspektive des Teams A bzw. B
+     */
+    private final TeamView teamAView, teamBView;
+
+    /**
+     * Erstellt einen neuen, leeren {@link SpatialIndex}.
+     *
+     * @param gameInformation
+     *            Allgemeine Spielparameter, aus welchen die Spielfeldgröße entnommen wird.
+     * @param playersPerTeam
+     *            Anzahl an Spielern je Team
+     */
+    public SpatialIndex(GameInformation gameInformation, int playersPerTeam) {
+        this.playersPerTeam = playersPerTeam;
+        this.columns = Math.max(1, (int) Math.ceil(gameInformation.getFieldLength() / CELL_SIZE));
+        this.rows = Math.max(1, (int) Math.ceil(gameInformation.getFieldWidth() / CELL_SIZE));
+
+        this.grids = new Grid[] { new Grid(), new Grid() };
+        this.currentGrid = this.grids[0];
+        this.entryCells = new int[2 * playersPerTeam];
+
+        this.teamAView = new TeamView(true);
+        this.teamBView = new TeamView(false);
+    }
+
+    /**
+     * Baut den Index anhand der aktuellen Spieler- und Ballpositionen in den derzeit nicht verwendeten Puffer auf und
+     * tauscht diesen anschließend gegen den aktuellen Puffer aus. Darf nur von einem Thread gleichzeitig aufgerufen
+     * werden.
+     *
+     * @param teamA
+     *            Referenz auf das Team A
+     * @param teamB
+     *            Referenz auf das Team B
+     * @param ballPosition
+     *            Position des Balles
+     */
+    public void update(Team teamA, Team teamB, Position ballPosition) {
+        Grid grid = (this.currentGrid == this.grids[0]) ? this.grids[1] : this.grids[0];
+
+        this.copyPositions(grid, teamA.getPlayers(), 0);
+        this.copyPositions(grid, teamB.getPlayers(), this.playersPerTeam);
+        grid.ballX = ballPosition.getX();
+        grid.ballY = ballPosition.getY();
+
+        this.build(grid);
+    }
+
+    /**
+     * Baut den Index wie {@link #update(Team, Team, Position)} auf, übernimmt die Positionen jedoch aus Arrays, z.B.
+     * aus einer an einen separaten Prozess übertragenen Tick-Anfrage.
+     *
+     * @param teamACoordinates
+     *            Koordinaten der Spieler des Teams A, jeweils x- und y-Koordinate hintereinander
+     * @param teamBCoordinates
+     *            Koordinaten der Spieler des Teams B, jeweils x- und y-Koordinate hintereinander
+     * @param ballX
+     *            x-Koordinate des Balles
+     * @param ballY
+     *            y-Koordinate des Balles
+     */
+    public void update(double[] teamACoordinates, double[] teamBCoordinates, double ballX, double ballY) {
+        Grid grid = (this.currentGrid == this.grids[0]) ? this.grids[1] : this.grids[0];
+
+        for (int i = 0; i < this.playersPerTeam; i++) {
+            grid.xPositions[i] = teamACoordinates[2 * i];
+            grid.yPositions[i] = teamACoordinates[2 * i + 1];
+            grid.xPositions[this.playersPerTeam + i] = teamBCoordinates[2 * i];
+            grid.yPositions[this.playersPerTeam + i] = teamBCoordinates[2 * i + 1];
+        }
+        grid.ballX = ballX;
+        grid.ballY = ballY;
+
+        this.build(grid);
+    }
+
+    /**
+     * Sortiert die Spieler eines Puffers den Rasterzellen zu und tauscht diesen anschließend gegen den aktuellen Puffer
+     * aus.
+     *
+     * @param grid
+     *            Puffer, dessen Positionen bereits übernommen wurden
+     */
+    private void build(Grid grid) {
+        int cellCount = this.columns * this.rows;
+        for (int cell = 0; cell <= cellCount; cell++)
+            grid.cellStart[cell] = 0;
+
+        // Counting-Sort: Einträge je Zelle zählen, Präfixsumme bilden und Einträge einsortieren
+        for (int entry = 0; entry < grid.cellEntries.length; entry++) {
+            int cell = this.getRow(grid.yPositions[entry]) * this.columns + this.getColumn(grid.xPositions[entry]);
+            this.entryCells[entry] = cell;
+            grid.cellStart[cell + 1]++;
+        }
+
+        for (int cell = 0; cell < cellCount; cell++)
+            grid.cellStart[cell + 1] += grid.cellStart[cell];
+
+        for (int entry = 0; entry < grid.cellEntries.length; entry++)
+            grid.cellEntries[grid.cellStart[this.entryCells[entry]]++] = entry;
+
+        // Durch das Einsortieren zeigt jeder Startindex auf den Beginn der folgenden Zelle
+        for (int cell = cellCount; cell > 0; cell--)
+            grid.cellStart[cell] = grid.cellStart[cell - 1];
+        grid.cellStart[0] = 0;
+
+        this.currentGrid = grid;
+    }
+
+    /**
+     * Übernimmt die Positionen der Spieler eines Teams.
+     *
+     * @param grid
+     *            Puffer, in welchen die Positionen übernommen werden
+     * @param players
+     *            Spieler des Teams
+     * @param offset
+     *            Index des ersten Spielers des Teams
+     */
+    private void copyPositions(Grid grid, List<PlayerGameObject> players, int offset) {
+        for (int i = 0; i < this.playersPerTeam; i++) {
+            Position position = players.get(i).getPosition();
+            grid.xPositions[offset + i] = position.getX();
+            grid.yPositions[offset + i] = position.getY();
+        }
+    }
+
+    /**
+     * Ermittelt die Rasterspalte einer x-Koordinate.
+     *
+     * @param x
+     *            x-Koordinate
+     * @return Index der Rasterspalte, auf das Raster beschränkt
+     */
+    private int getColumn(double x) {
+        return Math.max(0, Math.min(this.columns - 1, (int) Math.floor(x / CELL_SIZE)));
+    }
+
+    /**
+     * Ermittelt die Rasterzeile einer y-Koordinate.
+     *
+     * @param y
+     *            y-Koordinate
+     * @return Index der Rasterzeile, auf das Raster beschränkt
+     */
+    private int getRow(double y) {
+        return Math.max(0, Math.min(this.rows - 1, (int) Math.floor(y / CELL_SIZE)));
+    }
+
+    /**
+     * Gibt die Sicht auf den Index aus der Perspektive eines Teams zurück.
+     *
+     * @param useTeamA
+     *            <code>true</code> für die Sicht des Teams A, <code>false</code> für die des Teams B
+     * @return Sicht auf den Index
+     */
+    public TeamView getTeamView(boolean useTeamA) {
+        return useTeamA ? this.teamAView : this.teamBView;
+    }
+
+    /**
+     * Sicht auf den {@link SpatialIndex} aus der Perspektive eines Teams, welche die Unterscheidung zwischen eigenem
+     * und gegnerischem Team übernimmt. Jede Sicht besitzt eigene Zwischenspeicher und wird ausschließlich vom Thread
+     * der KI des jeweiligen Teams verwendet.
+     */
+    public class TeamView {
+
+        /**
+         * Flag, ob die Sicht dem Team A gehört
+         */
+        private final boolean isTeamA;
+
+        /**
+         * Zwischenspeicher der Abstände für die Suche nach den nächsten Spielern
+         */
+        private final double[] nearestDistances;
+
+        /**
+         * Erstellt eine neue Sicht.
+         *
+         * @param isTeamA
+         *            Flag, ob die Sicht dem Team A gehört
+         */
+        private TeamView(boolean isTeamA) {
+            this.isTeamA = isTeamA;
+            this.nearestDistances = new double[playersPerTeam];
+        }
+
+        /**
+         * Gibt den Index des ersten Spielers eines Teams zurück.
+         *
+         * @param ownTeam
+         *            <code>true</code> für das eigene Team, <code>false</code> für das gegnerische
+         * @return Index des ersten Spielers
+         */
+        private int getTeamOffset(boolean ownTeam) {
+            return (ownTeam == this.isTeamA) ? 0 : playersPerTeam;
+        }
+
+        /**
+         * @see sep.football.SpatialQueryInformation#getNearestPlayer(Position, boolean)
+         */
+        public int getNearestPlayer(Position position, boolean ownTeam) {
+            return this.getNearestPlayer(currentGrid, position.getX(), position.getY(), ownTeam);
+        }
+
+        /**
+         * @see sep.football.SpatialQueryInformation#getNearestPlayerToBall(boolean)
+         */
+        public int getNearestPlayerToBall(boolean ownTeam) {
+            Grid grid = currentGrid;
+            return this.getNearestPlayer(grid, grid.ballX, grid.ballY, ownTeam);
+        }
+
+        /**
+         * Sucht den nächsten Spieler eines Teams zu einer Position.
+         *
+         * @return ID des nächsten Spielers, -1 falls das Team keine Spieler hat
+         */
+        private int getNearestPlayer(Grid grid, double x, double y, boolean ownTeam) {
+            int offset = this.getTeamOffset(ownTeam);
+            int nearest = -1;
+            double nearestDistance = Double.MAX_VALUE;
+
+            for (int entry = offset; entry < offset + playersPerTeam; entry++) {
+                double distance = grid.getSquaredDistance(entry, x, y);
+                if (distance < nearestDistance) {
+                    nearestDistance = distance;
+                    nearest = entry - offset;
+                }
+            }
+
+            return nearest;
+        }
+
+        /**
+         * Sucht die nächsten Spieler ringförmig um die Rasterzelle der Position herum. Die Suche endet, sobald
+         * ausreichend Spieler gefunden wurden und der nächste Ring keine näheren Spieler mehr enthalten kann.
+         *
+         * @see sep.football.SpatialQueryInformation#findNearestPlayers(Position, boolean, int[])
+         */
+        public int findNearestPlayers(Position position, boolean ownTeam, int[] playerIds) {
+            Grid grid = currentGrid;
+            int offset = this.getTeamOffset(ownTeam);
+            int k = Math.min(playerIds.length, playersPerTeam);
+            int found = 0;
+            if (k == 0)
+                return found;
+
+            double x = position.getX();
+            double y = position.getY();
+            int column = getColumn(x);
+            int row = getRow(y);
+            int maxRing = Math.max(columns, rows);
+
+            for (int ring = 0; ring <= maxRing; ring++) {
+                for (int r = row - ring; r <= row + ring; r++) {
+                    if (r < 0 || r >= rows)
+                        continue;
+
+                    boolean isBorderRow = (r == row - ring || r == row + ring);
+                    for (int c = column - ring; c <= column + ring; c += isBorderRow ? 1 : 2 * ring) {
+                        if (c >= 0 && c < columns)
+                            found = this.insertNearest(grid, r * columns + c, offset, x, y, playerIds, k, found);
+
+                        if (ring == 0)
+                            break;
+                    }
+                }
+
+                // Alle Zellen außerhalb des Rings sind mindestens ring * CELL_SIZE entfernt
+                double ringDistance = ring * CELL_SIZE;
+                if (found == k && this.nearestDistances[k - 1] <= ringDistance * ringDistance)
+                    break;
+            }
+
+            return found;
+        }
+
+        /**
+         * Fügt die Spieler einer Rasterzelle sortiert in die Ergebnisliste ein.
+         *
+         * @return Neue Anzahl an gefundenen Spielern
+         */
+        private int insertNearest(Grid grid, int cell, int offset, double x, double y, int[] playerIds, int k,
+                int found) {
+            for (int i = grid.cellStart[cell]; i < grid.cellStart[cell + 1]; i++) {
+                int entry = grid.cellEntries[i];
+                if (entry < offset || entry >= offset + playersPerTeam)
+                    continue;
+
+                double distance = grid.getSquaredDistance(entry, x, y);
+                if (found == k && distance >= this.nearestDistances[k - 1])
+                    continue;
+
+                int index = (found < k) ? found++ : k - 1;
+                while (index > 0 && this.nearestDistances[index - 1] > distance) {
+                    this.nearestDistances[index] = this.nearestDistances[index - 1];
+                    playerIds[index] = playerIds[index - 1];
+                    index--;
+                }
+                this.nearestDistances[index] = distance;
+                playerIds[index] = entry - offset;
+            }
+
+            return found;
+        }
+
+        /**
+         * @see sep.football.SpatialQueryInformation#findPlayersWithinRadius(Position, double, boolean, int[])
+         */
+        public int findPlayersWithinRadius(Position position, double radius, boolean ownTeam, int[] playerIds) {
+            Grid grid = currentGrid;
+            int offset = this.getTeamOffset(ownTeam);
+            double x = position.getX();
+            double y = position.getY();
+            double squaredRadius = radius * radius;
+            int found = 0;
+
+            for (int r = getRow(y - radius); r <= getRow(y + radius); r++) {
+                for (int c = getColumn(x - radius); c <= getColumn(x + radius); c++) {
+                    int cell = r * columns + c;
+                    for (int i = grid.cellStart[cell]; i < grid.cellStart[cell + 1]; i++) {
+                        int entry = grid.cellEntries[i];
+                        if (entry >= offset && entry < offset + playersPerTeam
+                                && grid.getSquaredDistance(entry, x, y) <= squaredRadius) {
+                            if (found < playerIds.length)
+                                playerIds[found] = entry - offset;
+                            found++;
+                        }
+                    }
+                }
+            }
+
+            return found;
+        }
+
+        /**
+         * @see sep.football.SpatialQueryInformation#isPassingLaneOpen(Position, Position, double)
+         */
+        public boolean isPassingLaneOpen(Position from, Position to, double clearance) {
+            Grid grid = currentGrid;
+            int offset = this.getTeamOffset(false);
+            double fromX = from.getX();
+            double fromY = from.getY();
+            double deltaX = to.getX() - fromX;
+            double deltaY = to.getY() - fromY;
+            double squaredLength = deltaX * deltaX + deltaY * deltaY;
+            double squaredClearance = clearance * clearance;
+
+            for (int r = getRow(Math.min(fromY, to.getY()) - clearance); r <= getRow(Math.max(fromY, to.getY())
+                    + clearance); r++) {
+                for (int c = getColumn(Math.min(fromX, to.getX()) - clearance); c <= getColumn(Math.max(fromX,
+                        to.getX()) + clearance); c++) {
+                    int cell = r * columns + c;
+                    for (int i = grid.cellStart[cell]; i < grid.cellStart[cell + 1]; i++) {
+                        int entry = grid.cellEntries[i];
+                        if (entry < offset || entry >= offset + playersPerTeam)
+                            continue;
+
+                        // Projektion des Spielers auf die Strecke, auf die Strecke beschränkt
+                        double t = (squaredLength > 0) ? ((grid.xPositions[entry] - fromX) * deltaX
+                                + (grid.yPositions[entry] - fromY) * deltaY) / squaredLength : 0;
+                        t = Math.max(0, Math.min(1, t));
+
+                        if (grid.getSquaredDistance(entry, fromX + t * deltaX, fromY + t * deltaY) < squaredClearance)
+                            return false;
+                    }
+                }
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Einer der beiden Puffer des {@link SpatialIndex}. Wird ausschließlich beim Aufbau beschrieben, solange er nicht
+     * über {@link SpatialIndex#currentGrid} veröffentlicht ist.
+     */
+    private class Grid {
+
+        /**
+         * x-Koordinaten sämtlicher Spieler. Die Spieler des Teams A belegen die Indizes [0; playersPerTeam), die des
+         * Teams B die Indizes [playersPerTeam; 2*playersPerTeam).
+         */
+        private final double[] xPositions = new double[2 * playersPerTeam];
+
+        /**
+         * y-Koordinaten sämtlicher Spieler, Indizes wie bei {@link #xPositions}
+         */
+        private final double[] yPositions = new double[2 * playersPerTeam];
+
+        /**
+         * Startindex je Rasterzelle in {@link #cellEntries}. Die Einträge der Zelle <code>c</code> liegen im Bereich
+         * [cellStart[c]; cellStart[c+1]).
+         */
+        private final int[] cellStart = new int[columns * rows + 1];
+
+        /**
+         * Nach Rasterzellen sortierte Spieler-Indizes
+         */
+        private final int[] cellEntries = new int[2 * playersPerTeam];
+
+        /**
+         * x-Koordinate des Balles
+         */
+        private double ballX;
+
+        /**
+         * y-Koordinate des Balles
+         */
+        private double ballY;
+
+        /**
+         * Berechnet den quadrierten Abstand eines Spielers zu einer Position.
+         *
+         * @param entry
+         *            Index des Spielers
+         * @param x
+         *            x-Koordinate der Position
+         * @param y
+         *            y-Koordinate der Position
+         * @return Quadrierter Abstand
+         */
+        private double getSquaredDistance(int entry, double x, double y) {
+            double deltaX = this.xPositions[entry] - x;
+            double deltaY = this.yPositions[entry] - y;
+            return deltaX * deltaX + deltaY * deltaY;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+﻿package SoSi.Model.Calculation;
+
+import java.util.EnumMap;
+import java.util.List;
+
+import sep.football.GameInformation;
+import sep.football.Position;
+import SoSi.Model.TickEvent;
+import SoSi.Model.GameObjects.PlayerGameObject;
+
+/**
+ * Wertet die Tick-Daten laufend statistisch aus, ohne diese zu speichern. Der Speicherbedarf ist daher unabhängig von
+ * der Dauer der Simulation.<br>
+ * Erfasst werden:
+ * <ul>
+ * <li>Ballbesitz: Anzahl der Ticks des freien Spiels, in welchen ein Spieler des jeweiligen Teams dem Ball am nächsten
+ * ist</li>
+ * <li>Torschüsse: Der Ball wird schneller, als ihn ein Spieler führen kann, und bewegt sich in Richtung des Tors des
+ * gegnerischen Teams. Der Schuss wird dem Team zugerechnet, dessen Spieler dem Ball im vorherigen Tick am nächsten
+ * war.</li>
+ * <li>Zurückgelegte Strecke der Spieler je Team. Ticks mit Spielunterbrechungen werden nicht berücksichtigt, da die
+ * Spieler dabei versetzt werden.</li>
+ * <li>Anzahl der TickEvents</li>
+ * </ul>
+ */
+public class StatisticsTickSink implements ITickSink {
+
+    /**
+     * Geschwindigkeit des Balles (in Metern je Tick), ab welcher von einem Schuss ausgegangen wird
+     */
+    private static final double SHOT_MINIMUM_BALL_SPEED = PlayerGameObject.MAX_SPEED_WITH_BALL
+            / Tick.TICKS_PER_SECOND;
+
+    /**
+     * Die Parameter der Simulation, <code>null</code> vor dem Start der Simulation
+     */
+    private GameInformation gameInformation;
+
+    /**
+     * Anzahl der empfangenen Ticks
+     */
+    private int tickCount;
+
+    /**
+     * Anzahl der Tore je Team im zuletzt empfangenen Tick
+     */
+    private int goalsTeamA, goalsTeamB;
+
+    /**
+     * Anzahl der Ticks mit Ballbesitz je Team
+     */
+    private int possessionTicksTeamA, possessionTicksTeamB;
+
+    /**
+     * Anzahl der Torschüsse je Team
+     */
+    private int shotsTeamA, shotsTeamB;
+
+    /**
+     * Zurückgelegte Strecke (in Metern) aller Spieler je Team
+     */
+    private double distanceTeamA, distanceTeamB;
+
+    /**
+     * Anzahl des Auftretens je TickEvent. Ein über mehrere Ticks andauerndes Event wird einmal gezählt.
+     */
+    private final EnumMap<TickEvent, Integer> eventCounts = new EnumMap<TickEvent, Integer>(TickEvent.class);
+
+    /**
+     * Flag, ob sich das erstgewählte Team auf der linken Spielfeldseite befindet. Wird bei jedem Anstoß neu ermittelt.
+     */
+    private boolean teamAOnLeftSide = true;
+
+    /**
+     * Ballposition des vorherigen Ticks, <code>null</code> vor dem ersten Tick
+     */
+    private Position previousBallPosition;
+
+    /**
+     * Geschwindigkeit des Balles (in Metern je Tick) im vorherigen Tick
+     */
+    private double previousBallSpeed;
+
+    /**
+     * Spielerpositionen des vorherigen Ticks
+     */
+    private List<Position> previousPlayerPositionsTeamA, previousPlayerPositionsTeamB;
+
+    /**
+     * TickEvent des vorherigen Ticks
+     */
+    private TickEvent previousTickEvent;
+
+    /**
+     * Flag, ob im vorherigen Tick ein Spieler des erstgewählten Teams dem Ball am nächsten war
+     */
+    private boolean previousTeamANearestToBall;
+
+    @Override
+    public void simulationStarted(GameInformation gameInformation, String teamAName, String teamBName) {
+        this.gameInformation = gameInformation;
+    }
+
+    @Override
+    public void addNewTickData(int goalsTeamA, int goalsTeamB, Position ballPosition,
+            List<Position> playerPositionsTeamA, List<Position> playerPositionsTeamB, TickEvent tickEvent,
+            String debugMessageTeamA, String debugMessageTeamB, long aiCpuTimeTeamA, long aiCpuTimeTeamB) {
+        this.tickCount++;
+        this.goalsTeamA = goalsTeamA;
+        this.goalsTeamB = goalsTeamB;
+
+        if (tickEvent != null && tickEvent != this.previousTickEvent) {
+            Integer count = this.eventCounts.get(tickEvent);
+            this.eventCounts.put(tickEvent, (count == null) ? 1 : count + 1);
+        }
+
+        if (tickEvent == TickEvent.KICK_OFF && this.gameInformation != null)
+            this.teamAOnLeftSide = getMeanX(playerPositionsTeamA) < this.gameInformation.getFieldLength() / 2;
+
+        boolean teamANearestToBall = getDistanceToBall(playerPositionsTeamA, ballPosition) <= getDistanceToBall(
+                playerPositionsTeamB, ballPosition);
+        double ballSpeed = 0;
+
+        if (this.previousBallPosition != null) {
+            ballSpeed = distance(this.previousBallPosition, ballPosition);
+
+            if (tickEvent == null) {
+                if (teamANearestToBall)
+                    this.possessionTicksTeamA++;
+                else
+                    this.possessionTicksTeamB++;
+
+                this.distanceTeamA += getDistance(this.previousPlayerPositionsTeamA, playerPositionsTeamA);
+                this.distanceTeamB += getDistance(this.previousPlayerPositionsTeamB, playerPositionsTeamB);
+
+                if (ballSpeed >= SHOT_MINIMUM_BALL_SPEED && this.previousBallSpeed < SHOT_MINIMUM_BALL_SPEED)
+                    this.countShot(ballPosition);
+            }
+        }
+
+        this.previousBallPosition = ballPosition;
+        this.previousBallSpeed = ballSpeed;
+        this.previousPlayerPositionsTeamA = playerPositionsTeamA;
+        this.previousPlayerPositionsTeamB = playerPositionsTeamB;
+        this.previousTickEvent = tickEvent;
+        this.previousTeamANearestToBall = teamANearestToBall;
+    }
+
+    @Override
+    public void addNewTickBatch(TickBatch tickBatch) {
+        tickBatch.forEachTick(this);
+    }
+
+    /**
+     * Zählt einen Schuss des Teams, dessen Spieler dem Ball im vorherigen Tick am nächsten war, sofern der Ball auf
+     * das gegnerische Tor zuläuft.
+     */
+    private void countShot(Position ballPosition) {
+        if (this.gameInformation == null)
+            return;
+
+        double directionX = ballPosition.getX() - this.previousBallPosition.getX();
+        double directionY = ballPosition.getY() - this.previousBallPosition.getY();
+
+        // Torlinie des gegnerischen Tors
+        boolean attacksRightGoal = (this.previousTeamANearestToBall == this.teamAOnLeftSide);
+        double goalLineX = attacksRightGoal ? this.gameInformation.getFieldLength() : 0;
+        if ((goalLineX - ballPosition.getX()) * directionX <= 0)
+            return;
+
+        // Schnittpunkt der Bewegungsrichtung mit der Torlinie
+        double goalLineY = ballPosition.getY() + directionY * (goalLineX - ballPosition.getX()) / directionX;
+        double goalCenterY = this.gameInformation.getFieldWidth() / 2;
+        if (Math.abs(goalLineY - goalCenterY) > this.gameInformation.getGoalSize() / 2)
+            return;
+
+        if (this.previousTeamANearestToBall)
+            this.shotsTeamA++;
+        else
+            this.shotsTeamB++;
+    }
+
+    /**
+     * Berechnet den Abstand zweier Positionen.
+     */
+    private static double distance(Position a, Position b) {
+        double dx = a.getX() - b.getX(), dy = a.getY() - b.getY();
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Berechnet den Abstand des dem Ball am nächsten stehenden Spielers zum Ball.
+     */
+    private static double getDistanceToBall(List<Position> playerPositions, Position ballPosition) {
+        double minimumDistance = Double.MAX_VALUE;
+        for (Position playerPosition : playerPositions)
+            minimumDistance = Math.min(minimumDistance, distance(playerPosition, ballPosition));
+
+        return minimumDistance;
+    }
+
+    /**
+     * Berechnet die Summe der Strecken, welche die Spieler zwischen zwei Ticks zurückgelegt haben. Die Spieler werden
+     * dabei anhand ihrer Reihenfolge in den Listen zugeordnet.
+     */
+    private static double getDistance(List<Position> previousPositions, List<Position> positions) {
+        double sum = 0;
+        for (int i = 0; i < Math.min(previousPositions.size(), positions.size()); i++)
+            sum += distance(previousPositions.get(i), positions.get(i));
+
+        return sum;
+    }
+
+    /**
+     * Berechnet die mittlere x-Koordinate der Spieler, 0 falls keine Spieler vorhanden sind.
+     */
+    private static double getMeanX(List<Position> positions) {
+        double sum = 0;
+        for (Position position : positions)
+            sum += position.getX();
+
+        return positions.isEmpty() ? 0 : sum / positions.size();
+    }
+
+    @Override
+    public void simulationFinished() {
+        // Vorherige Positionen nicht länger referenzieren
+        this.previousBallPosition = null;
+        this.previousPlayerPositionsTeamA = null;
+        this.previousPlayerPositionsTeamB = null;
+    }
+
+    /**
+     * @return Anzahl der empfangenen Ticks
+     */
+    public int getTickCount() {
+        return this.tickCount;
+    }
+
+    /**
+     * @return Anzahl der Tore des erstgewählten Teams
+     */
+    public int getGoalsTeamA() {
+        return this.goalsTeamA;
+    }
+
+    /**
+     * @return Anzahl der Tore des zweitgewählten Teams
+     */
+    public int getGoalsTeamB() {
+        return this.goalsTeamB;
+    }
+
+    /**
+     * @return Anteil des Ballbesitzes des erstgewählten Teams im Bereich [0; 1]
+     */
+    public double getPossessionTeamA() {
+        int possessionTicks = this.possessionTicksTeamA + this.possessionTicksTeamB;
+        return (possessionTicks == 0) ? 0 : (double) this.possessionTicksTeamA / possessionTicks;
+    }
+
+    /**
+     * @return Anteil des Ballbesitzes des zweitgewählten Teams im Bereich [0; 1]
+     */
+    public double getPossessionTeamB() {
+        int possessionTicks = this.possessionTicksTeamA + this.possessionTicksTeamB;
+        return (possessionTicks == 0) ? 0 : (double) this.possessionTicksTeamB / possessionTicks;
+    }
+
+    /**
+     * @return Anzahl der Torschüsse des erstgewählten Teams
+     */
+    public int getShotsTeamA() {
+        return this.shotsTeamA;
+    }
+
+    /**
+     * @return Anzahl der Torschüsse des zweitgewählten Teams
+     */
+    public int getShotsTeamB() {
+        return this.shotsTeamB;
+    }
+
+    /**
+     * @return Von allen Spielern des erstgewählten Teams zurückgelegte Strecke in Metern
+     */
+    public double getDistanceTeamA() {
+        return this.distanceTeamA;
+    }
+
+    /**
+     * @return Von allen Spielern des zweitgewählten Teams zurückgelegte Strecke in Metern
+     */
+    public double getDistanceTeamB() {
+        return this.distanceTeamB;
+    }
+
+    /**
+     * Gibt die Anzahl des Auftretens eines TickEvents zurück.
+     *
+     * @param tickEvent
+     *            Das TickEvent
+     * @return Anzahl des Auftretens
+     */
+    public int getEventCount(TickEvent tickEvent) {
+        Integer count = this.eventCounts.get(tickEvent);
+        return (count == null) ? 0 : count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d:%d nach %d Ticks, Ballbesitz %.0f%%:%.0f%%, Torschüsse %d:%d, "
+                + "Laufstrecke %.0f m:%.0f m, Events %s", this.goalsTeamA, this.goalsTeamB, this.tickCount,
+                this.getPossessionTeamA() * 100, this.getPossessionTeamB() * 100, this.shotsTeamA, this.shotsTeamB,
+                this.distanceTeamA, this.distanceTeamB, this.eventCounts);
+    }
+}
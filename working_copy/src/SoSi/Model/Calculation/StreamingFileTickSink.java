@@ -0,0 +1,226 @@
+﻿package SoSi.Model.Calculation;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipOutputStream;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+
+import sep.football.GameInformation;
+import sep.football.Position;
+import SoSi.Model.TickData;
+import SoSi.Model.TickEvent;
+import SoSi.Model.Monitoring.DataTransferMonitor;
+
+/**
+ * Schreibt die Tick-Daten während der Berechnung in eine Simulationsdatei, welche anschließend wie eine über
+ * {@link DataHandler#saveToFile(String)} gespeicherte Datei geladen werden kann. Es werden höchstens so viele Ticks im
+ * Speicher gehalten, wie in einem Eintrag der Simulationsdatei zusammengefasst werden.<br>
+ * Die Spielparameter werden erst in {@link #simulationFinished()} mit der Anzahl der tatsächlich geschriebenen Ticks
+ * als Spieldauer gespeichert. Somit lässt sich auch die Datei einer abgebrochenen Simulation laden.
+ */
+public class StreamingFileTickSink implements ITickSink {
+
+    /**
+     * Die zu schreibende Simulationsdatei
+     */
+    private final File file;
+
+    /**
+     * Noch nicht geschriebene Ticks des aktuellen Eintrags
+     */
+    private final List<TickData> pendingTicks = new ArrayList<TickData>(DataHandler.ZIP_ENTRY_TICKDATA_COUNT);
+
+    /**
+     * Die Parameter, die die Rahmenbedingungen für das Spiel bilden
+     */
+    private GameInformation gameInformation;
+
+    /**
+     * Name der KI des erstgewählten Teams
+     */
+    private String teamAName;
+
+    /**
+     * Name der KI des zweitgewählten Teams
+     */
+    private String teamBName;
+
+    /**
+     * Anzahl der bisher empfangenen Ticks
+     */
+    private int tickCount = 0;
+
+    /**
+     * Anzahl der bisher geschriebenen Einträge
+     */
+    private int partCount = 0;
+
+    /**
+     * DocumentBuilder für XML-Daten
+     */
+    private DocumentBuilder docBuilder;
+
+    /**
+     * Transformer zum Schreiben der XML-Daten
+     */
+    private Transformer transformer;
+
+    /**
+     * Geöffnete Simulationsdatei, <code>null</code> vor {@link #simulationStarted(GameInformation, String, String)}
+     * bzw. nach einem Fehler
+     */
+    private ZipOutputStream zipOutputStream;
+
+    /**
+     * Zeitpunkt des Öffnens der Datei (in Nanosekunden)
+     */
+    private long startNanos;
+
+    /**
+     * Erster beim Schreiben aufgetretener Fehler, welcher von {@link #simulationFinished()} weitergegeben wird
+     */
+    private IOException writeException;
+
+    /**
+     * Erstellt eine neue StreamingFileTickSink-Instanz.
+     *
+     * @param path
+     *            Der Dateipfad, in welchem die Simulation gespeichert werden soll.
+     */
+    public StreamingFileTickSink(String path) {
+        if (path == null)
+            throw new IllegalArgumentException("path must not be null");
+
+        this.file = new File(path);
+    }
+
+    @Override
+    public void simulationStarted(GameInformation gameInformation, String teamAName, String teamBName)
+            throws IOException {
+        try {
+            this.docBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+            this.transformer = TransformerFactory.newInstance().newTransformer();
+        } catch (ParserConfigurationException e) {
+            throw new IOException("Could not create XML-Writer", e);
+        } catch (TransformerException e) {
+            throw new IOException("Could not create XML-Writer", e);
+        }
+
+        this.gameInformation = gameInformation;
+        this.teamAName = teamAName;
+        this.teamBName = teamBName;
+
+        this.startNanos = System.nanoTime();
+        this.zipOutputStream = DataHandler.createSaveFileStream(this.file);
+    }
+
+    @Override
+    public void addNewTickData(int goalsTeamA, int goalsTeamB, Position ballPosition,
+            List<Position> playerPositionsTeamA, List<Position> playerPositionsTeamB, TickEvent tickEvent,
+            String debugMessageTeamA, String debugMessageTeamB, long aiCpuTimeTeamA, long aiCpuTimeTeamB) {
+        if (this.zipOutputStream == null)
+            return;
+
+        this.pendingTicks.add(new TickData(this.tickCount++, goalsTeamA, goalsTeamB, ballPosition,
+                playerPositionsTeamA, playerPositionsTeamB, tickEvent, debugMessageTeamA, debugMessageTeamB,
+                aiCpuTimeTeamA, aiCpuTimeTeamB));
+
+        if (this.pendingTicks.size() >= DataHandler.ZIP_ENTRY_TICKDATA_COUNT)
+            this.writePendingTicks();
+    }
+
+    @Override
+    public void addNewTickBatch(TickBatch tickBatch) {
+        tickBatch.forEachTick(this);
+    }
+
+    /**
+     * Schreibt die noch nicht geschriebenen Ticks als neuen Eintrag in die Simulationsdatei. Tritt dabei ein Fehler
+     * auf, wird die Datei geschlossen und keine weiteren Ticks geschrieben.
+     */
+    private void writePendingTicks() {
+        if (this.pendingTicks.isEmpty())
+            return;
+
+        try {
+            DataHandler.saveTickPart(this.docBuilder, this.transformer, this.zipOutputStream, this.pendingTicks,
+                    this.partCount++);
+        } catch (TransformerException e) {
+            this.handleWriteException(new IOException("Simulationfile could not be saved", e));
+        } catch (IOException e) {
+            this.handleWriteException(e);
+        }
+
+        this.pendingTicks.clear();
+    }
+
+    /**
+     * Schreibt die Spielparameter in die Simulationsdatei. Als Spieldauer wird die Anzahl der tatsächlich
+     * geschriebenen Ticks gespeichert, da die Datei sonst nach einem Abbruch der Berechnung beim Laden abgelehnt wird.
+     */
+    private void writeGameInformation() {
+        GameInformation writtenGameInformation = new SoSiGameInformation(this.gameInformation.getFieldWidth(),
+                this.gameInformation.getFieldLength(), this.gameInformation.getGoalSize(),
+                this.gameInformation.getPlayerDiameter(), this.gameInformation.getBallDiameter(), this.tickCount);
+
+        try {
+            DataHandler.saveGameInformations(this.docBuilder, this.transformer, this.zipOutputStream,
+                    writtenGameInformation, this.teamAName, this.teamBName);
+        } catch (TransformerException e) {
+            this.handleWriteException(new IOException("Simulationfile could not be saved", e));
+        } catch (IOException e) {
+            this.handleWriteException(e);
+        }
+    }
+
+    /**
+     * Merkt sich einen beim Schreiben aufgetretenen Fehler und schließt die Datei.
+     */
+    private void handleWriteException(IOException e) {
+        this.writeException = e;
+
+        try {
+            this.zipOutputStream.close();
+        } catch (IOException closeException) {
+            // Ursprünglichen Fehler weitergeben
+        }
+        this.zipOutputStream = null;
+    }
+
+    @Override
+    public void simulationFinished() throws IOException {
+        if (this.zipOutputStream != null) {
+            this.writePendingTicks();
+        }
+
+        if (this.zipOutputStream != null) {
+            this.writeGameInformation();
+        }
+
+        if (this.zipOutputStream != null) {
+            this.zipOutputStream.close();
+            this.zipOutputStream = null;
+
+            if (this.writeException == null)
+                DataTransferMonitor.getInstance().recordSave(this.file.length(), System.nanoTime() - this.startNanos);
+        }
+
+        if (this.writeException != null)
+            throw this.writeException;
+    }
+
+    /**
+     * @return Anzahl der bisher empfangenen Ticks
+     */
+    public int getTickCount() {
+        return this.tickCount;
+    }
+}
@@ -1,6 +1,8 @@
 ﻿package SoSi.Model.Calculation;
 
 import java.lang.Thread.UncaughtExceptionHandler;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
@@ -19,16 +21,25 @@ import sep.football.KickActionHandler;
 import sep.football.Position;
 import sep.football.TickInformation;
 import SoSi.Debugging.DebugManager;
+import SoSi.Debugging.Diagnostics;
 import SoSi.Debugging.DebuggingAI;
 import SoSi.Debugging.SoSiDebugManager;
 import SoSi.Model.SimulationOptions;
 import SoSi.Model.SoSiPosition;
 import SoSi.Model.TickEvent;
+import SoSi.Model.AIHosting.RemoteAI;
 import SoSi.Model.GameObjects.BallGameObject;
 import SoSi.Model.GameObjects.GoalGameObject;
 import SoSi.Model.GameObjects.PlayerGameObject;
 import SoSi.Model.GamePhysics.GamePhysicsHandler;
+import SoSi.Model.GamePhysics.BallTrajectoryPredictor.BallTrajectory;
 import SoSi.Model.GameRules.GameRulesHandler;
+import SoSi.Model.Profiling.AIProfile;
+import SoSi.Model.Profiling.AIProfile.CallType;
+import SoSi.Model.Profiling.ExceptionStatistics;
+import SoSi.Model.Profiling.TickProfiler;
+import SoSi.Model.Profiling.FlightRecorder.AIDecisionEvent;
+import SoSi.Model.Profiling.FlightRecorder.FlightRecorderSupport;
 
 /**
  * Beinhaltet alle verwendeten Spiel-Objekte und generiert chronologisch aufeinanderfolgende Simulations-Ticks. Der Tick
@@ -39,6 +50,12 @@ import SoSi.Model.GameRules.GameRulesHandler;
  * in die Liste aller bisher berechneten Tick-Daten im DataHandler speichert.
  */
 public class Tick {
+    /**
+     * Anzahl der Ticks, welche einer Sekunde Spielzeit entsprechen. Grundlage der Umrechnung von Geschwindigkeiten und
+     * Beschleunigungen in die Einheiten je Tick sowie der normalen Wiedergabegeschwindigkeit.
+     */
+    public static final int TICKS_PER_SECOND = 20;
+
     /**
      * Referenz zu einer {@link SoSiGameInformation}-Instanz, das die aktuellen Spielparameter, die die
      * Rahmenbedingungen der Simulation bilden, enthält.
@@ -106,6 +123,30 @@ public class Tick {
      */
     private final SoSiDebugManager debugManagerTeamB;
 
+    /**
+     * Berichte der Aufwärmphase beider KIs, welche im ersten Tick über die DebugManager ausgegeben werden.
+     * <code>null</code>, falls keine Aufwärmphase durchgeführt wurde oder die Berichte bereits ausgegeben wurden.
+     * 
+     * @see #warmUpAis(AbortableThread)
+     */
+    private String warmUpReportTeamA, warmUpReportTeamB;
+
+    /**
+     * Laufzeitprofile der KIs über die gesamte Simulation
+     * 
+     * @see #getAiProfileTeamA()
+     * @see #getAiProfileTeamB()
+     */
+    private final AIProfile aiProfileTeamA = new AIProfile(), aiProfileTeamB = new AIProfile();
+
+    /**
+     * Von den KIs im aktuellen Tick verbrauchte CPU-Zeit (in Nanosekunden).
+     * 
+     * @see #getAiCpuTimeNanosTeamA()
+     * @see #getAiCpuTimeNanosTeamB()
+     */
+    private long aiCpuTimeNanosTeamA, aiCpuTimeNanosTeamB;
+
     /**
      * {@link TickEvent} des aktuellen Tick-Zustands.
      */
@@ -160,6 +201,38 @@ public class Tick {
      */
     private static final int AI_DECISIONS_TIMEOUT_MILLISECONDS = 50;
 
+    /**
+     * Zeitlimit (in Millisekunden) auf Basis der Wanduhrzeit, welches im CPU-Zeit-Modus zusätzlich gilt. Verhindert,
+     * dass eine KI, welche blockiert (z.B. durch <code>Thread.sleep</code>) und daher keine CPU-Zeit verbraucht, die
+     * Simulation anhält.
+     * 
+     * @see #setCpuTimeBudgetEnabled(boolean)
+     */
+    private static final int AI_DECISIONS_SAFETY_TIMEOUT_MILLISECONDS = 1000;
+
+    /**
+     * Intervall (in Millisekunden), in welchem im CPU-Zeit-Modus die verbrauchte CPU-Zeit der KIs geprüft wird.
+     */
+    private static final int CPU_TIME_BUDGET_POLL_INTERVAL_MILLISECONDS = 2;
+
+    /**
+     * Flag, ob das Zeitlimit der KI-Entscheidungen anhand der verbrauchten CPU-Zeit anstatt der Wanduhrzeit geprüft
+     * wird.
+     * 
+     * @see #setCpuTimeBudgetEnabled(boolean)
+     */
+    private static volatile boolean cpuTimeBudgetEnabled = false;
+
+    /**
+     * Zugriff auf die CPU-Zeit der KI-Threads
+     */
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    /**
+     * Zugriff auf den allokierten Speicher der KI-Threads, <code>null</code> falls die JVM dies nicht unterstützt
+     */
+    private static final com.sun.management.ThreadMXBean ALLOCATION_MX_BEAN = getAllocationMXBean();
+
     /**
      * Anzahl der Ticks, wie lang eine Spielunterbrechung dauern soll.<br>
      * Dieser Wert muss >= 10 sein (= maximale Blockingtime). <br>
@@ -212,6 +285,28 @@ public class Tick {
      */
     private CountDownLatch threadsInitializedCountDownLatch;
 
+    /**
+     * Vorausberechnete Flugbahn des Balles des aktuellen Ticks. Wird je KI-Abfrage neu gesetzt, erst beim ersten Zugriff
+     * einer KI berechnet und beiden KIs über {@link SoSiTickInformation} zur Verfügung gestellt.
+     */
+    private BallTrajectory currentBallTrajectory;
+
+    /**
+     * Räumlicher Index über die Spieler beider Teams. Wird vor jeder KI-Abfrage neu aufgebaut und von beiden KIs über
+     * {@link SoSiTickInformation} lesend verwendet.
+     */
+    private final SpatialIndex spatialIndex;
+
+    /**
+     * Profiler der einzelnen Phasen der Tick-Berechnung, wird nur verwendet, falls {@link TickProfiler#ENABLED}
+     */
+    private final TickProfiler tickProfiler = new TickProfiler();
+
+    /**
+     * Kennung der Phase "KI-Abfrage" im {@link #tickProfiler}
+     */
+    private final int aiDecisionsProfilerPhase;
+
     /**
      * Konstruktor für die Tick-Klasse, die für die Berechnung eines Ticks verantwortlich ist. Der Konstruktor erhält
      * sämtliche für die Durchführung der Simulation notwendigen Daten und speichert diese als Attribute ab.<br>
@@ -253,6 +348,7 @@ public class Tick {
                 this.gameInformation.getFieldLength(), 0));
         this.allPlayers = getAllPlayers();
         this.kickOffTeam = this.teamA;
+        this.spatialIndex = new SpatialIndex(gameInformation, playersPerTeam);
 
         this.teamOnLeftSide = teamA;
 
@@ -265,6 +361,15 @@ public class Tick {
         this.gameRulesHandler = new GameRulesHandler(gameInformation, this.teamA, this.teamB, this.ball,
                 simulationOptions, this.leftGoal, this.rightGoal);
 
+        // Phasen der Tick-Berechnung beim Profiler registrieren
+        if (TickProfiler.ENABLED) {
+            this.gamePhysicsHandler.setTickProfiler(this.tickProfiler);
+            this.gameRulesHandler.setTickProfiler(this.tickProfiler);
+            this.aiDecisionsProfilerPhase = this.tickProfiler.registerPhase("KI-Abfrage");
+        } else {
+            this.aiDecisionsProfilerPhase = -1;
+        }
+
         // Debugging-Instanzen anlegen
         this.debugManagerTeamA = new SoSiDebugManager();
         this.debugManagerTeamB = new SoSiDebugManager();
@@ -297,6 +402,9 @@ public class Tick {
         TickEvent currentTickEvent = this.currentTickEvent;
 
         clearDebugMessages();
+        printWarmUpReports();
+        this.aiCpuTimeNanosTeamA = 0;
+        this.aiCpuTimeNanosTeamB = 0;
 
         boolean tacklingFoulHappened = false;
 
@@ -444,9 +552,14 @@ public class Tick {
         if (this.isAborted)
             return false;
 
+        long profilerStart = TickProfiler.ENABLED ? System.nanoTime() : 0;
+
         this.aiDecisionsCountDownLatch = new CountDownLatch(2);
         this.threadsInitializedCountDownLatch = new CountDownLatch(2);
 
+        this.currentBallTrajectory = this.gamePhysicsHandler.predictBallTrajectory();
+        this.spatialIndex.update(this.teamA, this.teamB, this.ball.getPosition());
+
         workerTeamA = new AIDecisionsWorker(this.teamA, tickEvent);
         workerTeamB = new AIDecisionsWorker(this.teamB, tickEvent);
 
@@ -467,8 +580,18 @@ public class Tick {
             aiExecutorService.submit(workerTeamB);
 
             // Warten, bis KI-Entscheidungen abgeschlossen oder Zeitlimit überschritten wurde
-            boolean timeOutOccurred = !aiDecisionsCountDownLatch.await(AI_DECISIONS_TIMEOUT_MILLISECONDS,
-                    TimeUnit.MILLISECONDS);
+            boolean timeOutOccurred;
+            if (cpuTimeBudgetEnabled)
+                timeOutOccurred = !this.awaitAiDecisionsWithinCpuTimeBudget();
+            else
+                timeOutOccurred = !aiDecisionsCountDownLatch.await(AI_DECISIONS_TIMEOUT_MILLISECONDS,
+                        TimeUnit.MILLISECONDS);
+
+            // Verbrauchte CPU-Zeit vor einem eventuellen Abbruch festhalten
+            this.aiCpuTimeNanosTeamA += workerTeamA.getCpuTimeNanos();
+            this.aiCpuTimeNanosTeamB += workerTeamB.getCpuTimeNanos();
+            workerTeamA.recordProfile(this.aiProfileTeamA, timeOutOccurred);
+            workerTeamB.recordProfile(this.aiProfileTeamB, timeOutOccurred);
 
             // Falls KI-Entscheidungen nicht abgeschlossen, ExecutorService bzw. ThreadPool stoppen und neuen anlegen.
             if (timeOutOccurred) {
@@ -484,15 +607,47 @@ public class Tick {
                 // Threads killen
                 this.killAiThread();
 
-                // In Konsole über Abbruch benachrichtigen
-                System.err.println(String.format("Warning: At least one AI-Calculation took too long. (Tick #%d)",
-                        this.currentTick));
+                // In Konsole über Abbruch benachrichtigen (asynchron, damit die Berechnung nicht blockiert wird)
+                Diagnostics.reportForTick(this.currentTick,
+                        "Warning: At least one AI-Calculation took too long. (Tick #%d)");
             }
         } catch (InterruptedException e) {
-            System.err.println("Waiting for AI Decisions was interrupted.");
+            Diagnostics.report("Waiting for AI Decisions was interrupted.");
         }
 
-        return workerTeamA.completeAndCheckForFoul() || workerTeamB.completeAndCheckForFoul();
+        boolean foulHappened = workerTeamA.completeAndCheckForFoul() || workerTeamB.completeAndCheckForFoul();
+
+        if (TickProfiler.ENABLED)
+            this.tickProfiler.record(this.aiDecisionsProfilerPhase, System.nanoTime() - profilerStart);
+
+        return foulHappened;
+    }
+
+    /**
+     * Wartet im CPU-Zeit-Modus auf die KI-Entscheidungen. Eine KI überschreitet das Zeitlimit, sobald ihr Thread mehr
+     * als {@link #AI_DECISIONS_TIMEOUT_MILLISECONDS} CPU-Zeit verbraucht hat. Die Wartezeit, in welcher der Thread
+     * z.B. wegen paralleler Simulationen nicht ausgeführt wird, zählt somit nicht zum Zeitlimit. Zusätzlich gilt
+     * {@link #AI_DECISIONS_SAFETY_TIMEOUT_MILLISECONDS} als Zeitlimit auf Basis der Wanduhrzeit.
+     * 
+     * @return <code>true</code>, falls beide KI-Entscheidungen rechtzeitig abgeschlossen wurden, <code>false</code>
+     *         andernfalls.
+     * @throws InterruptedException
+     *             Falls das Warten unterbrochen wurde
+     */
+    private boolean awaitAiDecisionsWithinCpuTimeBudget() throws InterruptedException {
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(AI_DECISIONS_TIMEOUT_MILLISECONDS);
+        long safetyDeadline = System.nanoTime()
+                + TimeUnit.MILLISECONDS.toNanos(AI_DECISIONS_SAFETY_TIMEOUT_MILLISECONDS);
+
+        while (!aiDecisionsCountDownLatch.await(CPU_TIME_BUDGET_POLL_INTERVAL_MILLISECONDS, TimeUnit.MILLISECONDS)) {
+            if (System.nanoTime() - safetyDeadline >= 0)
+                return false;
+
+            if (workerTeamA.getCpuTimeNanos() > budgetNanos || workerTeamB.getCpuTimeNanos() > budgetNanos)
+                return false;
+        }
+
+        return true;
     }
 
     /**
@@ -511,18 +666,23 @@ public class Tick {
                 }
             }
 
-            // Kill both threads forcefully
-            if (workerTeamA != null) {
+            // Kill unfinished threads forcefully. AIs hosted in a separate process are terminated by killing the
+            // process, the waiting thread returns on its own then. A team that finished in time is left untouched.
+            if (workerTeamA != null && !workerTeamA.isFinished()) {
                 Thread threadToKill = workerTeamA.getWorkerThread();
 
-                if (threadToKill != null && (threadToKill.isAlive()))
+                if (this.teamA.getAI() instanceof RemoteAI)
+                    ((RemoteAI) this.teamA.getAI()).abortDecision();
+                else if (threadToKill != null && (threadToKill.isAlive()))
                     threadToKill.stop();
             }
 
-            if (workerTeamB != null) {
+            if (workerTeamB != null && !workerTeamB.isFinished()) {
                 Thread threadToKill = workerTeamB.getWorkerThread();
 
-                if (threadToKill != null && (threadToKill.isAlive()))
+                if (this.teamB.getAI() instanceof RemoteAI)
+                    ((RemoteAI) this.teamB.getAI()).abortDecision();
+                else if (threadToKill != null && (threadToKill.isAlive()))
                     threadToKill.stop();
             }
 
@@ -539,6 +699,12 @@ public class Tick {
         if (!this.isAborted) {
             this.killAiThread();
             this.isAborted = true;
+
+            // Separate KI-Prozesse beenden
+            if (this.teamA.getAI() instanceof RemoteAI)
+                ((RemoteAI) this.teamA.getAI()).shutdown();
+            if (this.teamB.getAI() instanceof RemoteAI)
+                ((RemoteAI) this.teamB.getAI()).shutdown();
         }
     }
 
@@ -801,6 +967,139 @@ public class Tick {
         return allPlayers;
     }
 
+    /**
+     * Führt die Aufwärmphase beider KIs durch, sofern diese über {@link AIWarmUp#configure(int, long)} aktiviert ist.
+     * Muss vor dem ersten Aufruf von {@link #doNextTick()} aufgerufen werden. Die Entscheidungen der KIs werden
+     * verworfen, der Zustand der Simulation bleibt unverändert.<br>
+     * Die Berichte über die Dauer der Entscheidungen vor und nach der Aufwärmphase werden im ersten Tick über die
+     * DebugManager ausgegeben.
+     * 
+     * @param calculationThread
+     *            Thread der Berechnung, bei dessen Abbruch auch die Aufwärmphase abgebrochen wird
+     */
+    public void warmUpAis(AbortableThread calculationThread) {
+        if (this.currentTick >= 0)
+            throw new IllegalStateException("AIs can only be warmed up before the first tick");
+        if (!AIWarmUp.isEnabled())
+            return;
+
+        AIWarmUp warmUp = new AIWarmUp(this.teamA.getPlayers().size(), this.gameInformation,
+                AI_DECISIONS_TIMEOUT_MILLISECONDS);
+
+        this.warmUpReportTeamA = warmUp.warmUp(this.teamA.getAI(), calculationThread);
+        if (calculationThread.getIsAborted())
+            return;
+
+        this.warmUpReportTeamB = warmUp.warmUp(this.teamB.getAI(), calculationThread);
+    }
+
+    /**
+     * Gibt die Berichte der Aufwärmphase einmalig über die DebugManager aus.
+     */
+    private void printWarmUpReports() {
+        if (this.warmUpReportTeamA != null) {
+            this.debugManagerTeamA.print(this.warmUpReportTeamA);
+            this.warmUpReportTeamA = null;
+        }
+
+        if (this.warmUpReportTeamB != null) {
+            this.debugManagerTeamB.print(this.warmUpReportTeamB);
+            this.warmUpReportTeamB = null;
+        }
+    }
+
+    /**
+     * Legt fest, ob das Zeitlimit der KI-Entscheidungen für alle nachfolgend berechneten Ticks anhand der verbrauchten
+     * CPU-Zeit der KI-Threads anstatt der Wanduhrzeit geprüft wird. Dadurch ist das Ergebnis einer Simulation
+     * unabhängig von der Auslastung des Rechners, z.B. wenn mehrere Simulationen parallel berechnet werden.<br>
+     * Wird die Messung der CPU-Zeit von der JVM nicht unterstützt, bleibt die Wanduhrzeit maßgeblich. Bei KIs in einem
+     * separaten Prozess ({@link RemoteAI}) wird weiterhin die Wanduhrzeit gemessen, da deren Rechenzeit nicht im
+     * wartenden Thread anfällt.
+     * 
+     * @param enabled
+     *            <code>true</code>, um die CPU-Zeit zu verwenden
+     * @return <code>true</code>, falls der CPU-Zeit-Modus nun aktiv ist
+     */
+    public static boolean setCpuTimeBudgetEnabled(boolean enabled) {
+        if (enabled) {
+            if (!THREAD_MX_BEAN.isThreadCpuTimeSupported())
+                return false;
+
+            if (!THREAD_MX_BEAN.isThreadCpuTimeEnabled())
+                THREAD_MX_BEAN.setThreadCpuTimeEnabled(true);
+        }
+
+        cpuTimeBudgetEnabled = enabled;
+        return enabled;
+    }
+
+    /**
+     * Gibt die von der KI des Teams A im aktuellen Tick verbrauchte CPU-Zeit zurück. Bei KIs in einem separaten
+     * Prozess ({@link RemoteAI}) handelt es sich um die Wanduhrzeit.
+     * 
+     * @return Verbrauchte CPU-Zeit in Nanosekunden
+     */
+    public long getAiCpuTimeNanosTeamA() {
+        return this.aiCpuTimeNanosTeamA;
+    }
+
+    /**
+     * Gibt die von der KI des Teams B im aktuellen Tick verbrauchte CPU-Zeit zurück. Bei KIs in einem separaten
+     * Prozess ({@link RemoteAI}) handelt es sich um die Wanduhrzeit.
+     * 
+     * @return Verbrauchte CPU-Zeit in Nanosekunden
+     */
+    public long getAiCpuTimeNanosTeamB() {
+        return this.aiCpuTimeNanosTeamB;
+    }
+
+    /**
+     * Gibt den Profiler der einzelnen Phasen der Tick-Berechnung zurück. Dieser enthält nur Messwerte, falls
+     * {@link TickProfiler#ENABLED}.
+     * 
+     * @return Profiler der Tick-Berechnung
+     */
+    public TickProfiler getTickProfiler() {
+        return this.tickProfiler;
+    }
+
+    /**
+     * Gibt das Laufzeitprofil der KI des Teams A zurück. Dieses wird während der Simulation fortlaufend ergänzt.
+     * 
+     * @return Laufzeitprofil der KI des Teams A
+     */
+    public AIProfile getAiProfileTeamA() {
+        return this.aiProfileTeamA;
+    }
+
+    /**
+     * Gibt das Laufzeitprofil der KI des Teams B zurück. Dieses wird während der Simulation fortlaufend ergänzt.
+     * 
+     * @return Laufzeitprofil der KI des Teams B
+     */
+    public AIProfile getAiProfileTeamB() {
+        return this.aiProfileTeamB;
+    }
+
+    /**
+     * Ermittelt den Zugriff auf den allokierten Speicher der Threads und aktiviert dessen Messung.
+     * 
+     * @return Zugriff auf den allokierten Speicher, <code>null</code> falls die JVM dies nicht unterstützt
+     */
+    private static com.sun.management.ThreadMXBean getAllocationMXBean() {
+        if (!(THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean))
+            return null;
+
+        com.sun.management.ThreadMXBean allocationMXBean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+        if (!allocationMXBean.isThreadAllocatedMemorySupported())
+            return null;
+
+        if (!allocationMXBean.isThreadAllocatedMemoryEnabled())
+            allocationMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        return allocationMXBean;
+    }
+
     /**
      * Setzt die Debugnachrichten beider DebugManager der beiden Teams zurück.
      */
@@ -819,11 +1118,42 @@ public class Tick {
      *         zurückgegeben.
      */
     protected SoSiTickInformation getTeamTickInformation(boolean useTeamA) {
+        return getTeamTickInformation(useTeamA, null);
+    }
+
+    /**
+     * Methode, um teamspezifische tick Informationen inklusive der vorausberechneten Flugbahn des Balles zu erstellen
+     * und zurückzugeben.
+     * 
+     * @param useTeamA
+     *            Boolean-Wert, ob die Information für das erste oder das zweite Team erstellt werden soll.
+     * @param ballTrajectory
+     *            Vorausberechnete Flugbahn des Balles, darf <code>null</code> sein.
+     * @return Teamspezifische tick Informationen.
+     */
+    protected SoSiTickInformation getTeamTickInformation(boolean useTeamA, BallTrajectory ballTrajectory) {
+        return getTeamTickInformation(useTeamA, ballTrajectory, null);
+    }
+
+    /**
+     * Methode, um teamspezifische tick Informationen inklusive der vorausberechneten Flugbahn des Balles und des
+     * räumlichen Index zu erstellen und zurückzugeben.
+     * 
+     * @param useTeamA
+     *            Boolean-Wert, ob die Information für das erste oder das zweite Team erstellt werden soll.
+     * @param ballTrajectory
+     *            Vorausberechnete Flugbahn des Balles, darf <code>null</code> sein.
+     * @param spatialIndexView
+     *            Sicht des Teams auf den räumlichen Index, darf <code>null</code> sein.
+     * @return Teamspezifische tick Informationen.
+     */
+    protected SoSiTickInformation getTeamTickInformation(boolean useTeamA, BallTrajectory ballTrajectory,
+            SpatialIndex.TeamView spatialIndexView) {
         Team ownTeam = (useTeamA) ? this.teamA : this.teamB;
         Team oppTeam = (useTeamA) ? this.teamB : this.teamA;
 
         return new SoSiTickInformation(this.ball.getPosition(), ownTeam, oppTeam, ownTeam == teamOnLeftSide,
-                currentTick, ball.getBallPossession());
+                currentTick, ball.getBallPossession(), ballTrajectory, spatialIndexView);
     }
 
     /**
@@ -873,11 +1203,39 @@ public class Tick {
         private final TickEvent tickEvent;
         private final TickInformation tickInformation;
         private final SoSiActionHandler actionHandler;
-        private final DebugManager currentDebugManager;
+        private final SoSiDebugManager currentDebugManager;
         private final CountDownLatch currentAiDecisionsCountDownLatch;
         private final CountDownLatch currentThreadsInitializedCountDownLatch;
         private volatile Thread ownThread = null;
 
+        /**
+         * Flags, ob die CPU-Zeit bzw. der allokierte Speicher des Threads gemessen werden kann. Bei KIs in einem
+         * separaten Prozess fallen beide nicht im Worker-Thread an.
+         */
+        private final boolean measureCpuTime, measureAllocatedBytes;
+
+        /**
+         * Flags, ob die KI-Entscheidung begonnen bzw. abgeschlossen wurde
+         */
+        private volatile boolean isStarted = false, isFinished = false;
+
+        /**
+         * Wanduhrzeit, CPU-Zeit (jeweils in Nanosekunden) und allokierter Speicher (in Bytes) des Threads zu Beginn
+         * der KI-Entscheidung
+         */
+        private long startWallClockNanos, startCpuNanos, startAllocatedBytes;
+
+        /**
+         * Wanduhrzeit, CPU-Zeit (jeweils in Nanosekunden) und allokierter Speicher (in Bytes) der abgeschlossenen
+         * KI-Entscheidung
+         */
+        private long usedWallClockNanos, usedCpuNanos, usedAllocatedBytes;
+
+        /**
+         * Flight-Recorder-Event der KI-Entscheidung, <code>null</code> falls der Flight Recorder nicht verfügbar ist
+         */
+        private final AIDecisionEvent aiDecisionEvent;
+
         /**
          * Erstellt eine neue AIDecisionsWorker Instanz
          * 
@@ -889,17 +1247,27 @@ public class Tick {
         public AIDecisionsWorker(Team team, TickEvent tickEvent) {
             this.team = team;
             this.tickEvent = tickEvent;
-            tickInformation = getTeamTickInformation(team == teamA);
+            tickInformation = getTeamTickInformation(team == teamA, currentBallTrajectory,
+                    spatialIndex.getTeamView(team == teamA));
             this.currentAiDecisionsCountDownLatch = aiDecisionsCountDownLatch;
             this.currentThreadsInitializedCountDownLatch = threadsInitializedCountDownLatch;
 
             this.currentDebugManager = (team == teamA) ? debugManagerTeamA : debugManagerTeamB;
+            this.measureCpuTime = THREAD_MX_BEAN.isThreadCpuTimeEnabled() && !(team.getAI() instanceof RemoteAI);
+            this.measureAllocatedBytes = (ALLOCATION_MX_BEAN != null) && !(team.getAI() instanceof RemoteAI);
 
             if (tickEvent == null) {
                 this.actionHandler = new SoSiFreePlayActionHandler(team.getPlayers(), ball, this.currentDebugManager);
             } else {
                 this.actionHandler = new SoSiKickActionHandler(team.getPlayers(), ball, this.currentDebugManager);
             }
+
+            if (FlightRecorderSupport.AVAILABLE) {
+                this.aiDecisionEvent = new AIDecisionEvent();
+                this.aiDecisionEvent.begin();
+            } else {
+                this.aiDecisionEvent = null;
+            }
         }
 
         @Override
@@ -917,6 +1285,12 @@ public class Tick {
                 }
             });
 
+            this.startWallClockNanos = System.nanoTime();
+            this.startCpuNanos = this.measureCpuTime ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+            this.startAllocatedBytes = this.measureAllocatedBytes ? ALLOCATION_MX_BEAN
+                    .getThreadAllocatedBytes(this.ownThread.getId()) : 0;
+            this.isStarted = true;
+
             // Decrement threadsInitializedCountDownLatch, so Tick waits for hard termination (Thread.stop) of
             // Worker/Thread, until at least the initialization instructions have finished
             this.currentThreadsInitializedCountDownLatch.countDown();
@@ -964,10 +1338,96 @@ public class Tick {
                 }
             }
 
+            this.usedWallClockNanos = System.nanoTime() - this.startWallClockNanos;
+            this.usedCpuNanos = this.measureCpuTime ? THREAD_MX_BEAN.getCurrentThreadCpuTime() - this.startCpuNanos : 0;
+            this.usedAllocatedBytes = this.measureAllocatedBytes ? ALLOCATION_MX_BEAN
+                    .getThreadAllocatedBytes(this.ownThread.getId()) - this.startAllocatedBytes : 0;
+            this.isFinished = true;
+
             // Decrement countDownLatch, so Tick gets notified when both Workers have terminated
             this.currentAiDecisionsCountDownLatch.countDown();
         }
 
+        /**
+         * Gibt die bisher von der KI-Entscheidung verbrauchte Wanduhrzeit zurück. Kann auch während der laufenden
+         * Entscheidung aufgerufen werden.
+         * 
+         * @return Verbrauchte Zeit in Nanosekunden, 0 falls die Entscheidung noch nicht begonnen hat
+         */
+        public long getWallClockNanos() {
+            if (this.isFinished)
+                return this.usedWallClockNanos;
+            if (!this.isStarted)
+                return 0;
+
+            return System.nanoTime() - this.startWallClockNanos;
+        }
+
+        /**
+         * Gibt die bisher von der KI-Entscheidung verbrauchte CPU-Zeit (bzw. Wanduhrzeit, siehe
+         * {@link Tick#setCpuTimeBudgetEnabled(boolean)}) zurück. Kann auch während der laufenden Entscheidung
+         * aufgerufen werden.
+         * 
+         * @return Verbrauchte Zeit in Nanosekunden, 0 falls die Entscheidung noch nicht begonnen hat
+         */
+        public long getCpuTimeNanos() {
+            if (!this.measureCpuTime)
+                return this.getWallClockNanos();
+            if (this.isFinished)
+                return this.usedCpuNanos;
+            if (!this.isStarted)
+                return 0;
+
+            return Math.max(0, THREAD_MX_BEAN.getThreadCpuTime(this.ownThread.getId()) - this.startCpuNanos);
+        }
+
+        /**
+         * Gibt den bisher während der KI-Entscheidung im Thread allokierten Speicher zurück. Kann auch während der
+         * laufenden Entscheidung aufgerufen werden.
+         * 
+         * @return Allokierter Speicher in Bytes, 0 falls die Entscheidung noch nicht begonnen hat, -1 falls dieser
+         *         nicht gemessen werden kann
+         */
+        public long getAllocatedBytes() {
+            if (!this.measureAllocatedBytes)
+                return -1;
+            if (this.isFinished)
+                return this.usedAllocatedBytes;
+            if (!this.isStarted)
+                return 0;
+
+            return Math.max(0, ALLOCATION_MX_BEAN.getThreadAllocatedBytes(this.ownThread.getId())
+                    - this.startAllocatedBytes);
+        }
+
+        /**
+         * Erfasst die Messwerte der KI-Entscheidung im Laufzeitprofil der KI. Wurde die Entscheidung noch nicht
+         * begonnen, wird nichts erfasst.
+         * 
+         * @param profile
+         *            Laufzeitprofil der KI
+         * @param timeOutOccurred
+         *            <code>true</code>, falls das Zeitlimit überschritten wurde
+         */
+        public void recordProfile(AIProfile profile, boolean timeOutOccurred) {
+            if (!this.isStarted)
+                return;
+
+            boolean timedOut = timeOutOccurred && !this.isFinished;
+            profile.record(CallType.fromTickEvent(this.tickEvent), this.getWallClockNanos(),
+                    this.measureCpuTime ? this.getCpuTimeNanos() : -1, this.getAllocatedBytes(), timedOut);
+
+            if (this.aiDecisionEvent != null && this.aiDecisionEvent.shouldCommit()) {
+                this.aiDecisionEvent.team = (this.team == teamA) ? "A" : "B";
+                this.aiDecisionEvent.method = CallType.fromTickEvent(this.tickEvent).toString();
+                this.aiDecisionEvent.tickNumber = this.tickInformation.getCurrentTickNumber();
+                this.aiDecisionEvent.wallClockTime = this.getWallClockNanos();
+                this.aiDecisionEvent.cpuTime = this.getCpuTimeNanos();
+                this.aiDecisionEvent.timedOut = timedOut;
+                this.aiDecisionEvent.commit();
+            }
+        }
+
         /**
          * Gibt die Thread-Instanz des aktuellen Workers zurück
          * 
@@ -977,6 +1437,15 @@ public class Tick {
             return this.ownThread;
         }
 
+        /**
+         * Gibt zurück, ob die KI-Entscheidung abgeschlossen wurde.
+         * 
+         * @return <code>true</code>, falls die KI-Entscheidung abgeschlossen wurde, <code>false</code> andernfalls
+         */
+        public boolean isFinished() {
+            return this.isFinished;
+        }
+
         /**
          * ActionHandler beenden und auf eingetretenes Foul prüfen
          * 
@@ -998,6 +1467,10 @@ public class Tick {
         private void handleAiException(Throwable e) {
             // ignore ThreadDeaths
             if (!(e instanceof ThreadDeath)) {
+                int tickNumber = this.tickInformation.getCurrentTickNumber();
+                ExceptionStatistics.Fingerprint fingerprint = ((this.team == teamA) ? aiProfileTeamA
+                        : aiProfileTeamB).recordException(e, tickNumber);
+
                 String tickEventName = "unknown";
                 if (this.tickEvent == null)
                     tickEventName = "freePlay()";
@@ -1006,15 +1479,27 @@ public class Tick {
                 else if (this.tickEvent == TickEvent.KICK_OFF)
                     tickEventName = "kickOff()";
 
-                System.err.println(String.format("Exception in AI-Decision (Tick #%d, %s): %s",
-                        this.tickInformation.getCurrentTickNumber(), tickEventName, e.toString()));
-
-                this.currentDebugManager.print("Exception: " + e.getClass().getName());
-                this.currentDebugManager.print("Message: " + e.getMessage());
-                this.currentDebugManager.print("\nStacktrace:");
-
-                for (StackTraceElement line : e.getStackTrace()) {
-                    this.currentDebugManager.print("  " + line.toString());
+                // Gleichartige Exceptions anhand von Klasse und Aufrufstelle zusammenfassen, da die Nachricht z.B.
+                // wechselnde Indizes enthalten kann
+                String teamName = (this.team == teamA) ? "A" : "B";
+                StackTraceElement[] stackTrace = e.getStackTrace();
+                String groupKey = teamName + ' ' + tickEventName + ' ' + e.getClass().getName() + " at "
+                        + ((stackTrace.length > 0) ? stackTrace[0].toString() : "unknown");
+
+                Diagnostics.reportGroupedForTick(tickNumber, groupKey,
+                        "Exception in AI-Decision (Tick #%d, Team %s, %s): %s", teamName, tickEventName, e.toString());
+
+                // Vollständigen Stacktrace nur beim ersten Auftreten ausgeben, danach nur einen Verweis darauf
+                if (fingerprint == null) {
+                    this.currentDebugManager.print("Exception: " + e.getClass().getName());
+                } else if (fingerprint.getCount() == 1) {
+                    // Fingerabdruck zuerst, da der Stacktrace ggf. auf den verbleibenden Platz gekürzt wird
+                    this.currentDebugManager.print("Fingerabdruck: #" + fingerprint.getId());
+                    this.currentDebugManager.printTruncated(fingerprint.getFirstStackTrace());
+                } else {
+                    this.currentDebugManager.print(String.format(
+                            "Exception: %s [#%s], %d. Auftreten, Stacktrace siehe Tick %d", e.getClass().getName(),
+                            fingerprint.getId(), fingerprint.getCount(), fingerprint.getFirstTick()));
                 }
             }
         }
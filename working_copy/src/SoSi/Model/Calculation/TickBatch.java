@@ -0,0 +1,278 @@
+﻿package SoSi.Model.Calculation;
+
+import java.util.List;
+
+import sep.football.Position;
+import SoSi.Model.TickEvent;
+
+/**
+ * Fasst mehrere aufeinanderfolgende Ticks zusammen, welche gemeinsam an einen {@link INewTickDataHandler} übergeben
+ * werden. Die Daten werden spaltenweise in Arrays fester Größe gehalten, welche einmalig angelegt und nach
+ * {@link #clear()} wiederverwendet werden.<br>
+ * Empfänger dürfen daher keine Referenz auf die Instanz selbst behalten, sondern müssen die benötigten Werte während
+ * {@link INewTickDataHandler#addNewTickBatch(TickBatch)} übernehmen.
+ */
+public class TickBatch {
+
+    /**
+     * Standardmäßige Anzahl an Ticks je Batch
+     */
+    public static final int DEFAULT_CAPACITY = 32;
+
+    /**
+     * Anzahl der Tore des erstgewählten Teams je Tick
+     */
+    private final int[] goalsTeamA;
+
+    /**
+     * Anzahl der Tore des zweitgewählten Teams je Tick
+     */
+    private final int[] goalsTeamB;
+
+    /**
+     * Position des Balles je Tick
+     */
+    private final Position[] ballPositions;
+
+    /**
+     * Positionen der Spieler des erstgewählten Teams je Tick
+     */
+    private final List<Position>[] playerPositionsTeamA;
+
+    /**
+     * Positionen der Spieler des zweitgewählten Teams je Tick
+     */
+    private final List<Position>[] playerPositionsTeamB;
+
+    /**
+     * Eingetretenes Event je Tick
+     */
+    private final TickEvent[] tickEvents;
+
+    /**
+     * Debugging-Nachricht des erstgewählten Teams je Tick
+     */
+    private final String[] debugMessagesTeamA;
+
+    /**
+     * Debugging-Nachricht des zweitgewählten Teams je Tick
+     */
+    private final String[] debugMessagesTeamB;
+
+    /**
+     * CPU-Zeit (in Mikrosekunden) der KI des erstgewählten Teams je Tick
+     */
+    private final long[] aiCpuTimesTeamA;
+
+    /**
+     * CPU-Zeit (in Mikrosekunden) der KI des zweitgewählten Teams je Tick
+     */
+    private final long[] aiCpuTimesTeamB;
+
+    /**
+     * Anzahl der enthaltenen Ticks
+     */
+    private int size = 0;
+
+    /**
+     * Erstellt einen neuen, leeren Batch.
+     *
+     * @param capacity
+     *            Maximale Anzahl an Ticks
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public TickBatch(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("capacity must be positive");
+
+        this.goalsTeamA = new int[capacity];
+        this.goalsTeamB = new int[capacity];
+        this.ballPositions = new Position[capacity];
+        this.playerPositionsTeamA = new List[capacity];
+        this.playerPositionsTeamB = new List[capacity];
+        this.tickEvents = new TickEvent[capacity];
+        this.debugMessagesTeamA = new String[capacity];
+        this.debugMessagesTeamB = new String[capacity];
+        this.aiCpuTimesTeamA = new long[capacity];
+        this.aiCpuTimesTeamB = new long[capacity];
+    }
+
+    /**
+     * Fügt einen Tick hinzu. Die Parameter entsprechen
+     * {@link INewTickDataHandler#addNewTickData(int, int, Position, List, List, TickEvent, String, String, long, long)}
+     * .
+     *
+     * @throws IllegalStateException
+     *             Falls der Batch bereits voll ist
+     */
+    public void add(int goalsTeamA, int goalsTeamB, Position ballPosition, List<Position> playerPositionsTeamA,
+            List<Position> playerPositionsTeamB, TickEvent tickEvent, String debugMessageTeamA,
+            String debugMessageTeamB, long aiCpuTimeTeamA, long aiCpuTimeTeamB) {
+        if (this.isFull())
+            throw new IllegalStateException("TickBatch is full");
+
+        int index = this.size++;
+        this.goalsTeamA[index] = goalsTeamA;
+        this.goalsTeamB[index] = goalsTeamB;
+        this.ballPositions[index] = ballPosition;
+        this.playerPositionsTeamA[index] = playerPositionsTeamA;
+        this.playerPositionsTeamB[index] = playerPositionsTeamB;
+        this.tickEvents[index] = tickEvent;
+        this.debugMessagesTeamA[index] = debugMessageTeamA;
+        this.debugMessagesTeamB[index] = debugMessageTeamB;
+        this.aiCpuTimesTeamA[index] = aiCpuTimeTeamA;
+        this.aiCpuTimesTeamB[index] = aiCpuTimeTeamB;
+    }
+
+    /**
+     * Übergibt sämtliche Ticks einzeln an den angegebenen Empfänger. Dient Empfängern, welche Ticks nicht gemeinsam
+     * verarbeiten.
+     *
+     * @param newTickDataHandler
+     *            Der Empfänger der Ticks
+     */
+    public void forEachTick(INewTickDataHandler newTickDataHandler) {
+        for (int i = 0; i < this.size; i++) {
+            newTickDataHandler.addNewTickData(this.goalsTeamA[i], this.goalsTeamB[i], this.ballPositions[i],
+                    this.playerPositionsTeamA[i], this.playerPositionsTeamB[i], this.tickEvents[i],
+                    this.debugMessagesTeamA[i], this.debugMessagesTeamB[i], this.aiCpuTimesTeamA[i],
+                    this.aiCpuTimesTeamB[i]);
+        }
+    }
+
+    /**
+     * Entfernt sämtliche Ticks. Referenzen auf Positionen und Nachrichten werden freigegeben.
+     */
+    public void clear() {
+        for (int i = 0; i < this.size; i++) {
+            this.ballPositions[i] = null;
+            this.playerPositionsTeamA[i] = null;
+            this.playerPositionsTeamB[i] = null;
+            this.tickEvents[i] = null;
+            this.debugMessagesTeamA[i] = null;
+            this.debugMessagesTeamB[i] = null;
+        }
+        this.size = 0;
+    }
+
+    /**
+     * @return Anzahl der enthaltenen Ticks
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return <code>true</code>, falls keine Ticks enthalten sind
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @return <code>true</code>, falls keine weiteren Ticks hinzugefügt werden können
+     */
+    public boolean isFull() {
+        return this.size == this.goalsTeamA.length;
+    }
+
+    /**
+     * @param index
+     *            Index des Ticks innerhalb des Batches
+     * @return Anzahl der Tore des erstgewählten Teams
+     */
+    public int getGoalsTeamA(int index) {
+        return this.goalsTeamA[this.checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     *            Index des Ticks innerhalb des Batches
+     * @return Anzahl der Tore des zweitgewählten Teams
+     */
+    public int getGoalsTeamB(int index) {
+        return this.goalsTeamB[this.checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     *            Index des Ticks innerhalb des Batches
+     * @return Position des Balles
+     */
+    public Position getBallPosition(int index) {
+        return this.ballPositions[this.checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     *            Index des Ticks innerhalb des Batches
+     * @return Positionen der Spieler des erstgewählten Teams
+     */
+    public List<Position> getPlayerPositionsTeamA(int index) {
+        return this.playerPositionsTeamA[this.checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     *            Index des Ticks innerhalb des Batches
+     * @return Positionen der Spieler des zweitgewählten Teams
+     */
+    public List<Position> getPlayerPositionsTeamB(int index) {
+        return this.playerPositionsTeamB[this.checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     *            Index des Ticks innerhalb des Batches
+     * @return Eingetretenes Event, <code>null</code> im freien Spiel
+     */
+    public TickEvent getTickEvent(int index) {
+        return this.tickEvents[this.checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     *            Index des Ticks innerhalb des Batches
+     * @return Debugging-Nachricht des erstgewählten Teams
+     */
+    public String getDebugMessageTeamA(int index) {
+        return this.debugMessagesTeamA[this.checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     *            Index des Ticks innerhalb des Batches
+     * @return Debugging-Nachricht des zweitgewählten Teams
+     */
+    public String getDebugMessageTeamB(int index) {
+        return this.debugMessagesTeamB[this.checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     *            Index des Ticks innerhalb des Batches
+     * @return CPU-Zeit der KI des erstgewählten Teams in Mikrosekunden
+     */
+    public long getAiCpuTimeTeamA(int index) {
+        return this.aiCpuTimesTeamA[this.checkIndex(index)];
+    }
+
+    /**
+     * @param index
+     *            Index des Ticks innerhalb des Batches
+     * @return CPU-Zeit der KI des zweitgewählten Teams in Mikrosekunden
+     */
+    public long getAiCpuTimeTeamB(int index) {
+        return this.aiCpuTimesTeamB[this.checkIndex(index)];
+    }
+
+    /**
+     * Prüft, ob der angegebene Index einen enthaltenen Tick bezeichnet.
+     */
+    private int checkIndex(int index) {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+
+        return index;
+    }
+}
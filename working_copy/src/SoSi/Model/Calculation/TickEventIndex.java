@@ -0,0 +1,162 @@
+﻿package SoSi.Model.Calculation;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import SoSi.Model.TickEvent;
+
+/**
+ * Index der Tick-Positionen, an welchen ein {@link TickEvent} eingetreten ist. Je Event-Typ wird eine aufsteigend
+ * sortierte Liste der Tick-Positionen geführt, welche beim Hinzufügen neuer Ticks fortlaufend erweitert wird. Dadurch
+ * kann das nächste bzw. vorherige Event unabhängig von der Länge der Simulation per binärer Suche ermittelt werden,
+ * ohne die dazwischen liegenden Ticks zu betrachten.<br>
+ * Die Tick-Positionen müssen in aufsteigender Reihenfolge hinzugefügt werden. Der Index kann von beliebigen Threads
+ * gelesen werden, während er vom Thread der Berechnung bzw. des Ladevorgangs erweitert wird.
+ */
+public class TickEventIndex {
+
+    /**
+     * Anfängliche Kapazität der Liste je Event-Typ
+     */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Aufsteigend sortierte Tick-Positionen je Event-Typ (Index entspricht {@link TickEvent#ordinal()})
+     */
+    private final int[][] tickPositions;
+
+    /**
+     * Anzahl der belegten Einträge in {@link #tickPositions} je Event-Typ
+     */
+    private final int[] counts;
+
+    /**
+     * Erstellt einen neuen, leeren Index.
+     */
+    public TickEventIndex() {
+        int eventTypeCount = TickEvent.values().length;
+        this.tickPositions = new int[eventTypeCount][INITIAL_CAPACITY];
+        this.counts = new int[eventTypeCount];
+    }
+
+    /**
+     * Nimmt ein eingetretenes Event in den Index auf.
+     *
+     * @param tickPosition
+     *            Tick-Position, an welcher das Event eingetreten ist. Muss größer als sämtliche bisher für diesen
+     *            Event-Typ hinzugefügten Tick-Positionen sein.
+     * @param tickEvent
+     *            Das eingetretene Event, <code>null</code> wird ignoriert
+     */
+    public synchronized void add(int tickPosition, TickEvent tickEvent) {
+        if (tickEvent == null)
+            return;
+
+        int type = tickEvent.ordinal();
+        int count = this.counts[type];
+        int[] positions = this.tickPositions[type];
+
+        if (count > 0 && positions[count - 1] >= tickPosition)
+            throw new IllegalArgumentException("tickPosition must be ascending");
+
+        if (count == positions.length) {
+            positions = Arrays.copyOf(positions, positions.length * 2);
+            this.tickPositions[type] = positions;
+        }
+
+        positions[count] = tickPosition;
+        this.counts[type] = count + 1;
+    }
+
+    /**
+     * Ermittelt die erste Tick-Position nach der angegebenen, an welcher eines der angegebenen Events eingetreten ist.
+     *
+     * @param tickPosition
+     *            Tick-Position, nach welcher gesucht wird (exklusiv)
+     * @param tickEvents
+     *            Zu berücksichtigende Event-Typen
+     * @return Gefundene Tick-Position oder -1, falls danach keines der Events eingetreten ist
+     */
+    public synchronized int getNextEventTick(int tickPosition, Set<TickEvent> tickEvents) {
+        int result = -1;
+
+        for (TickEvent tickEvent : tickEvents) {
+            int type = tickEvent.ordinal();
+            int count = this.counts[type];
+            int index = Arrays.binarySearch(this.tickPositions[type], 0, count, tickPosition + 1);
+            if (index < 0)
+                index = -index - 1;
+
+            if (index < count && (result == -1 || this.tickPositions[type][index] < result))
+                result = this.tickPositions[type][index];
+        }
+
+        return result;
+    }
+
+    /**
+     * Ermittelt die letzte Tick-Position vor der angegebenen, an welcher eines der angegebenen Events eingetreten ist.
+     *
+     * @param tickPosition
+     *            Tick-Position, vor welcher gesucht wird (exklusiv)
+     * @param tickEvents
+     *            Zu berücksichtigende Event-Typen
+     * @return Gefundene Tick-Position oder -1, falls davor keines der Events eingetreten ist
+     */
+    public synchronized int getPreviousEventTick(int tickPosition, Set<TickEvent> tickEvents) {
+        int result = -1;
+
+        for (TickEvent tickEvent : tickEvents) {
+            int type = tickEvent.ordinal();
+            int index = Arrays.binarySearch(this.tickPositions[type], 0, this.counts[type], tickPosition - 1);
+            if (index < 0)
+                index = -index - 2;
+
+            if (index >= 0 && this.tickPositions[type][index] > result)
+                result = this.tickPositions[type][index];
+        }
+
+        return result;
+    }
+
+    /**
+     * Ermittelt das gewichtigste Event (siehe Reihenfolge in {@link TickEvent}), welches innerhalb des angegebenen
+     * Bereichs eingetreten ist. Der Aufwand ist unabhängig von der Größe des Bereichs sowie der Anzahl der darin
+     * eingetretenen Events.
+     *
+     * @param fromTickPosition
+     *            Erste Tick-Position des Bereichs (inklusiv)
+     * @param toTickPosition
+     *            Letzte Tick-Position des Bereichs (inklusiv)
+     * @param tickEvents
+     *            Zu berücksichtigende Event-Typen
+     * @return Das gewichtigste Event oder <code>null</code>, falls keines der Events im Bereich eingetreten ist
+     */
+    public synchronized TickEvent getHeaviestEvent(int fromTickPosition, int toTickPosition,
+            Set<TickEvent> tickEvents) {
+        TickEvent[] allTickEvents = TickEvent.values();
+
+        for (int type = allTickEvents.length - 1; type >= 0; type--) {
+            if (!tickEvents.contains(allTickEvents[type]))
+                continue;
+
+            int index = Arrays.binarySearch(this.tickPositions[type], 0, this.counts[type], fromTickPosition);
+            if (index < 0)
+                index = -index - 1;
+
+            if (index < this.counts[type] && this.tickPositions[type][index] <= toTickPosition)
+                return allTickEvents[type];
+        }
+
+        return null;
+    }
+
+    /**
+     * @param tickEvent
+     *            Der Event-Typ
+     * @return Anzahl der bisher aufgenommenen Events des angegebenen Typs
+     */
+    public synchronized int getEventCount(TickEvent tickEvent) {
+        return this.counts[tickEvent.ordinal()];
+    }
+}
@@ -0,0 +1,447 @@
+﻿package SoSi.Model.GamePhysics;
+
+import java.util.Arrays;
+
+import sep.football.Position;
+import SoSi.Model.SoSiPosition;
+import SoSi.Model.Calculation.Vector2D;
+import SoSi.Model.GameObjects.BallGameObject;
+
+/**
+ * Berechnet die voraussichtliche Flugbahn des Balles für die kommenden Ticks.<br>
+ * Dabei werden dieselben Berechnungen wie in {@link PhysicsApplyFriction}, {@link PhysicsApplyMovementDirections} und
+ * {@link PhysicsReboundOnBox} in dieser Reihenfolge angewandt und die Position anschließend, wie in
+ * {@link PhysicsCorrectPositions}, in die Box korrigiert. Spieler und Torpfosten werden jedoch ignoriert. Die Box, von
+ * der der Ball abprallt, muss daher der Box des {@link PhysicsReboundOnBox} entsprechen.<br>
+ * Die Berechnung erfolgt erst beim ersten Zugriff auf die Flugbahn und verwendet abwechselnd zwei vorab angelegte
+ * Puffer, sodass je Tick keine Objekte erzeugt werden müssen.
+ */
+public class BallTrajectoryPredictor {
+
+    /**
+     * Anzahl an Ticks, welche vorausberechnet werden. Ein Ball mit maximaler Schussgeschwindigkeit kommt nach
+     * {@link BallGameObject#MAX_SHOOTING_SPEED} / {@link BallGameObject#FRICTION} Sekunden (= 100 Ticks) zum
+     * Stillstand.
+     */
+    public static final int PREDICTION_TICK_COUNT = 100;
+
+    /**
+     * Kantenlänge (in Metern) der Rasterzellen, über welche die Ankunftszeiten des Balles nachgeschlagen werden.
+     */
+    public static final double GRID_CELL_SIZE = 0.5d;
+
+    /**
+     * Das Simulationsobjekt Ball vom Typ {@link BallGameObject}
+     */
+    private final BallGameObject ball;
+
+    /**
+     * Die Position der linken, oberen Ecke der Box, von der der Ball abprallen soll.
+     */
+    private final Position topLeftBoxPosition;
+
+    /**
+     * Die Position der rechten, unteren Ecke der Box, von der der Ball abprallen soll.
+     */
+    private final Position bottomRightBoxPosition;
+
+    /**
+     * Anzahl der Rasterzellen in x-Richtung
+     */
+    private final int gridColumns;
+
+    /**
+     * Anzahl der Rasterzellen in y-Richtung
+     */
+    private final int gridRows;
+
+    /**
+     * Die beiden abwechselnd verwendeten Puffer. Eine KI des vorherigen Ticks, welche ihre Zeit überschritten hat,
+     * liest weiterhin ungestört aus dem jeweils anderen Puffer.
+     */
+    private final BallTrajectory[] trajectories;
+
+    /**
+     * Index des zuletzt ausgegebenen Puffers in {@link #trajectories}
+     */
+    private int currentTrajectoryIndex = 0;
+
+    /**
+     * Erzeugt einen neuen {@link BallTrajectoryPredictor}.
+     *
+     * @param ball
+     *            Das Simulationsobjekt Ball vom Typ {@link BallGameObject}
+     * @param topLeftBoxPosition
+     *            Die Position der linken, oberen Ecke der Box, von der der Ball abprallen soll.
+     * @param bottomRightBoxPosition
+     *            Die Position der rechten, unteren Ecke der Box, von der der Ball abprallen soll.
+     */
+    public BallTrajectoryPredictor(BallGameObject ball, Position topLeftBoxPosition, Position bottomRightBoxPosition) {
+        this.ball = ball;
+        this.topLeftBoxPosition = topLeftBoxPosition;
+        this.bottomRightBoxPosition = bottomRightBoxPosition;
+
+        this.gridColumns = (int) Math.ceil((bottomRightBoxPosition.getX() - topLeftBoxPosition.getX())
+                / GRID_CELL_SIZE) + 1;
+        this.gridRows = (int) Math.ceil((bottomRightBoxPosition.getY() - topLeftBoxPosition.getY()) / GRID_CELL_SIZE)
+                + 1;
+
+        this.trajectories = new BallTrajectory[] { new BallTrajectory(), new BallTrajectory() };
+    }
+
+    /**
+     * Gibt die Flugbahn des Balles ausgehend von dessen aktueller Position und Bewegungsrichtung zurück. Es wird
+     * lediglich der Ausgangszustand des Balles übernommen; die eigentliche Berechnung erfolgt erst beim ersten Zugriff.
+     * <br>
+     * Die zurückgegebene Instanz ist nur bis zum übernächsten Aufruf dieser Methode gültig, da sie anschließend
+     * wiederverwendet wird.
+     *
+     * @return Die vorausberechnete Flugbahn des Balles.
+     */
+    public BallTrajectory predict() {
+        Position position = this.ball.getPosition();
+        Vector2D movementDirection = this.ball.getMovementDirection();
+
+        return this.predict(position.getX(), position.getY(), movementDirection.getX(), movementDirection.getY());
+    }
+
+    /**
+     * Gibt die Flugbahn des Balles ausgehend von einem vorgegebenen Ausgangszustand zurück, z.B. um die Flugbahn einer
+     * anderen Instanz in einem separaten Prozess nachzubilden. Ansonsten wie {@link #predict()}.
+     *
+     * @param x
+     *            x-Koordinate der Position des Balles
+     * @param y
+     *            y-Koordinate der Position des Balles
+     * @param movementX
+     *            x-Komponente der Bewegungsrichtung des Balles
+     * @param movementY
+     *            y-Komponente der Bewegungsrichtung des Balles
+     * @return Die vorausberechnete Flugbahn des Balles.
+     */
+    public BallTrajectory predict(double x, double y, double movementX, double movementY) {
+        this.currentTrajectoryIndex = 1 - this.currentTrajectoryIndex;
+        BallTrajectory trajectory = this.trajectories[this.currentTrajectoryIndex];
+        trajectory.reset(x, y, movementX, movementY);
+
+        return trajectory;
+    }
+
+    /**
+     * Gibt die Länge eines Vektors zurück, wie sie von {@link Vector2D#getLength()} berechnet wird.
+     *
+     * @param x
+     *            x-Komponente des Vektors
+     * @param y
+     *            y-Komponente des Vektors
+     * @return Die Länge des Vektors.
+     */
+    private static double getLength(double x, double y) {
+        return Math.sqrt(Math.pow(x, 2) + Math.pow(y, 2));
+    }
+
+    /**
+     * Vorausberechnete Flugbahn des Balles. Die Flugbahn wird beim ersten Zugriff aus dem mittels
+     * {@link BallTrajectoryPredictor#predict()} übernommenen Ausgangszustand berechnet; danach ist sie bis zur
+     * Wiederverwendung durch den {@link BallTrajectoryPredictor} unveränderlich.
+     */
+    public class BallTrajectory {
+
+        /**
+         * x-Koordinaten der vorausberechneten Ballpositionen, Index entspricht der Anzahl an Ticks ab dem aktuellen
+         */
+        private final double[] xPositions = new double[PREDICTION_TICK_COUNT + 1];
+
+        /**
+         * y-Koordinaten der vorausberechneten Ballpositionen, Index entspricht der Anzahl an Ticks ab dem aktuellen
+         */
+        private final double[] yPositions = new double[PREDICTION_TICK_COUNT + 1];
+
+        /**
+         * Ankunftstick + 1 je Rasterzelle, 0 falls die Zelle nicht erreicht wird
+         */
+        private final int[] arrivalGrid = new int[gridColumns * gridRows];
+
+        /**
+         * x-Koordinate der Position des Balles zu Beginn der Flugbahn
+         */
+        private double startX;
+
+        /**
+         * y-Koordinate der Position des Balles zu Beginn der Flugbahn
+         */
+        private double startY;
+
+        /**
+         * x-Komponente der Bewegungsrichtung des Balles zu Beginn der Flugbahn
+         */
+        private double startMovementX;
+
+        /**
+         * y-Komponente der Bewegungsrichtung des Balles zu Beginn der Flugbahn
+         */
+        private double startMovementY;
+
+        /**
+         * Flag, ob die Flugbahn für den aktuellen Ausgangszustand bereits berechnet wurde
+         */
+        private volatile boolean calculated = false;
+
+        /**
+         * Erzeugt eine neue, leere {@link BallTrajectory}-Instanz.
+         */
+        BallTrajectory() {
+        }
+
+        /**
+         * Übernimmt einen neuen Ausgangszustand des Balles. Die Flugbahn wird beim nächsten Zugriff neu berechnet.
+         *
+         * @param x
+         *            x-Koordinate der Position des Balles
+         * @param y
+         *            y-Koordinate der Position des Balles
+         * @param movementX
+         *            x-Komponente der Bewegungsrichtung des Balles
+         * @param movementY
+         *            y-Komponente der Bewegungsrichtung des Balles
+         */
+        synchronized void reset(double x, double y, double movementX, double movementY) {
+            this.startX = x;
+            this.startY = y;
+            this.startMovementX = movementX;
+            this.startMovementY = movementY;
+            this.calculated = false;
+        }
+
+        /**
+         * Gibt die Position des Balles zu Beginn der Flugbahn zurück.
+         *
+         * @return Position des Balles zu Beginn der Flugbahn
+         */
+        public Position getStartPosition() {
+            return new SoSiPosition(this.startX, this.startY);
+        }
+
+        /**
+         * Gibt die Bewegungsrichtung des Balles zu Beginn der Flugbahn zurück.
+         *
+         * @return Bewegungsrichtung des Balles zu Beginn der Flugbahn
+         */
+        public Vector2D getStartMovementDirection() {
+            return new Vector2D(this.startMovementX, this.startMovementY);
+        }
+
+        /**
+         * Gibt die Position der linken, oberen Ecke der Box zurück, von der der Ball abprallt.
+         *
+         * @return Die Position der linken, oberen Ecke der Box
+         */
+        public Position getTopLeftBoxPosition() {
+            return topLeftBoxPosition;
+        }
+
+        /**
+         * Gibt die Position der rechten, unteren Ecke der Box zurück, von der der Ball abprallt.
+         *
+         * @return Die Position der rechten, unteren Ecke der Box
+         */
+        public Position getBottomRightBoxPosition() {
+            return bottomRightBoxPosition;
+        }
+
+        /**
+         * Gibt die Anzahl an vorausberechneten Ticks zurück.
+         *
+         * @return Anzahl an vorausberechneten Ticks
+         */
+        public int getLength() {
+            return PREDICTION_TICK_COUNT;
+        }
+
+        /**
+         * Gibt die vorausberechnete Position des Balles zurück.
+         *
+         * @param ticksAhead
+         *            Anzahl an Ticks ab dem aktuellen Tick, im Bereich [0; {@link #getLength()}]
+         * @return Vorausberechnete Position des Balles
+         */
+        public Position getPosition(int ticksAhead) {
+            if (ticksAhead < 0 || ticksAhead > this.getLength())
+                throw new IndexOutOfBoundsException(String.format("Tick %d ist nicht vorausberechnet!", ticksAhead));
+
+            this.ensureCalculated();
+
+            return new SoSiPosition(this.xPositions[ticksAhead], this.yPositions[ticksAhead]);
+        }
+
+        /**
+         * Gibt die Anzahl an Ticks zurück, bis der Ball erstmals die Rasterzelle der übergebenen Position erreicht.
+         *
+         * @param position
+         *            Zu prüfende Position
+         * @return Anzahl an Ticks ab dem aktuellen Tick, -1 falls die Position nicht erreicht wird.
+         */
+        public int getTicksUntilReached(Position position) {
+            int column = (int) Math.floor((position.getX() - topLeftBoxPosition.getX()) / GRID_CELL_SIZE);
+            int row = (int) Math.floor((position.getY() - topLeftBoxPosition.getY()) / GRID_CELL_SIZE);
+
+            if (column < 0 || column >= gridColumns || row < 0 || row >= gridRows)
+                return -1;
+
+            this.ensureCalculated();
+
+            return this.arrivalGrid[row * gridColumns + column] - 1;
+        }
+
+        /**
+         * Berechnet die Flugbahn, sofern dies für den aktuellen Ausgangszustand noch nicht geschehen ist.
+         */
+        private void ensureCalculated() {
+            if (this.calculated)
+                return;
+
+            synchronized (this) {
+                if (!this.calculated) {
+                    this.calculate();
+                    this.calculated = true;
+                }
+            }
+        }
+
+        /**
+         * Berechnet die Flugbahn des Balles ausgehend vom übernommenen Ausgangszustand in die vorhandenen Arrays.
+         */
+        private void calculate() {
+            Arrays.fill(this.arrivalGrid, 0);
+
+            double radius = 0.5d * ball.getDiameter();
+            double left = topLeftBoxPosition.getX();
+            double top = topLeftBoxPosition.getY();
+            double right = bottomRightBoxPosition.getX();
+            double bottom = bottomRightBoxPosition.getY();
+            double friction = GamePhysic.convertAccelerationOrDeceleration(BallGameObject.FRICTION);
+
+            double x = this.startX;
+            double y = this.startY;
+            double movementX = this.startMovementX;
+            double movementY = this.startMovementY;
+
+            this.xPositions[0] = x;
+            this.yPositions[0] = y;
+            this.markCell(x, y, 0);
+
+            for (int tick = 1; tick <= PREDICTION_TICK_COUNT; tick++) {
+                double speed = BallTrajectoryPredictor.getLength(movementX, movementY);
+                if (speed > 0) {
+                    // PhysicsApplyFriction
+                    double newSpeed = speed - friction;
+                    if (newSpeed <= 0) {
+                        movementX = 0;
+                        movementY = 0;
+                    } else {
+                        movementX = movementX / speed * newSpeed;
+                        movementY = movementY / speed * newSpeed;
+                    }
+
+                    // PhysicsApplyMovementDirections
+                    double lastX = x;
+                    double lastY = y;
+                    x += movementX;
+                    y += movementY;
+
+                    // PhysicsReboundOnBox, wie in GamePhysic#getCircleBoxCollisionState()
+                    boolean leftSide = x < left + radius - GamePhysic.SAFETY_ADDITIONAL_DISTANCE;
+                    boolean rightSide = x > right - radius + GamePhysic.SAFETY_ADDITIONAL_DISTANCE;
+                    boolean topSide = y < top + radius - GamePhysic.SAFETY_ADDITIONAL_DISTANCE;
+                    boolean bottomSide = y > bottom - radius + GamePhysic.SAFETY_ADDITIONAL_DISTANCE;
+                    boolean boundCollision = false;
+
+                    if ((leftSide && movementX < 0) || (rightSide && movementX > 0)) {
+                        boundCollision = true;
+                        movementX = -movementX;
+                    }
+
+                    if ((topSide && movementY < 0) || (bottomSide && movementY > 0)) {
+                        boundCollision = true;
+                        movementY = -movementY;
+                    }
+
+                    if (boundCollision) {
+                        double reboundSpeed = BallTrajectoryPredictor.getLength(movementX, movementY);
+                        double newReboundSpeed = reboundSpeed - reboundSpeed
+                                * (PhysicsReboundOnBox.BALL_REBOUND_DECELERATION_PERCENT / 100d);
+                        if (newReboundSpeed <= 0) {
+                            movementX = 0;
+                            movementY = 0;
+                        } else {
+                            movementX = movementX / reboundSpeed * newReboundSpeed;
+                            movementY = movementY / reboundSpeed * newReboundSpeed;
+                        }
+                    }
+
+                    // PhysicsCorrectPositions
+                    if (leftSide)
+                        x = left + radius;
+                    if (rightSide)
+                        x = right - radius;
+                    if (topSide)
+                        y = top + radius;
+                    if (bottomSide)
+                        y = bottom - radius;
+
+                    this.markSegment(lastX, lastY, x, y, tick);
+                }
+
+                this.xPositions[tick] = x;
+                this.yPositions[tick] = y;
+            }
+        }
+
+        /**
+         * Trägt die Ankunftszeit für sämtliche Rasterzellen ein, welche die Strecke zwischen zwei Positionen
+         * überdeckt. Die Strecke wird dazu in Schritten der halben Zellengröße abgetastet.
+         *
+         * @param fromX
+         *            x-Koordinate der Position zu Beginn des Ticks
+         * @param fromY
+         *            y-Koordinate der Position zu Beginn des Ticks
+         * @param toX
+         *            x-Koordinate der Position am Ende des Ticks
+         * @param toY
+         *            y-Koordinate der Position am Ende des Ticks
+         * @param tick
+         *            Tick, in welchem die Strecke zurückgelegt wird
+         */
+        private void markSegment(double fromX, double fromY, double toX, double toY, int tick) {
+            double deltaX = toX - fromX;
+            double deltaY = toY - fromY;
+            int steps = (int) Math.ceil(Math.sqrt(deltaX * deltaX + deltaY * deltaY) / (GRID_CELL_SIZE / 2d));
+
+            for (int step = 1; step <= steps; step++) {
+                double fraction = (double) step / steps;
+                this.markCell(fromX + deltaX * fraction, fromY + deltaY * fraction, tick);
+            }
+        }
+
+        /**
+         * Trägt die Ankunftszeit für eine Rasterzelle ein, falls diese noch nicht zuvor erreicht wurde.
+         *
+         * @param x
+         *            x-Koordinate der Position
+         * @param y
+         *            y-Koordinate der Position
+         * @param tick
+         *            Tick, in welchem die Position erreicht wird
+         */
+        private void markCell(double x, double y, int tick) {
+            int column = (int) Math.floor((x - topLeftBoxPosition.getX()) / GRID_CELL_SIZE);
+            int row = (int) Math.floor((y - topLeftBoxPosition.getY()) / GRID_CELL_SIZE);
+
+            if (column >= 0 && column < gridColumns && row >= 0 && row < gridRows) {
+                int index = row * gridColumns + column;
+                if (this.arrivalGrid[index] == 0)
+                    this.arrivalGrid[index] = tick + 1;
+            }
+        }
+    }
+}
@@ -1,9 +1,9 @@
 ﻿package SoSi.Model.GamePhysics;
 
 import sep.football.Position;
-import SoSi.Model.PlaybackHandler;
 import SoSi.Model.TickEvent;
 import SoSi.Model.Calculation.SoSiTickInformation;
+import SoSi.Model.Calculation.Tick;
 import SoSi.Model.Calculation.Vector2D;
 import SoSi.Model.GameObjects.MoveableRadialGameObject;
 import SoSi.Model.GameObjects.RadialGameObject;
@@ -84,7 +84,7 @@ public abstract class GamePhysic {
      * Wird vervendet, um zu verhindern, dass direkt nach einer Kollisions-korrektur durch Rundungsfehler erneut eine
      * Kollision festgestellt wird.
      */
-    private static final double SAFETY_ADDITIONAL_DISTANCE = 0.1;
+    protected static final double SAFETY_ADDITIONAL_DISTANCE = 0.1;
 
     /**
      * Erzeugt eine neue Instanz der jeweiligen Spielphysik der erbenden Klasse.
@@ -326,7 +326,7 @@ public abstract class GamePhysic {
      * @return Die Geschwindigkeit in Metern/Tick.
      */
     public static double convertVelocity(double velocity) {
-        return (velocity / PlaybackHandler.TICKS_PER_SECOND);
+        return (velocity / Tick.TICKS_PER_SECOND);
     }
 
     /**
@@ -338,7 +338,7 @@ public abstract class GamePhysic {
      * @return ie Beschleunigung/Abbremsung in Metern/Tick^2.
      */
     public static double convertAccelerationOrDeceleration(double accelerationOrDeceleration) {
-        return (accelerationOrDeceleration / Math.pow(PlaybackHandler.TICKS_PER_SECOND, 2));
+        return (accelerationOrDeceleration / Math.pow(Tick.TICKS_PER_SECOND, 2));
     }
 
     /**
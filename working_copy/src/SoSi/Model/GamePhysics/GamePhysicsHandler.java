@@ -13,6 +13,7 @@ import SoSi.Model.SoSiPosition;
 import SoSi.Model.TickEvent;
 import SoSi.Model.Calculation.SoSiTickInformation;
 import SoSi.Model.Calculation.Team;
+import SoSi.Model.Profiling.TickProfiler;
 
 /**
  * Die Klasse verwaltet sämtliche physikalischen Berechnungen.<br>
@@ -38,6 +39,22 @@ public class GamePhysicsHandler {
 	 */
 	private List<GamePhysic> activeGamePhysics;
 
+	/**
+	 * Berechnet die voraussichtliche Flugbahn des Balles, welche den KIs zur Verfügung gestellt wird. Verwendet
+	 * dieselbe Box wie {@link PhysicsReboundOnBox}.
+	 */
+	private final BallTrajectoryPredictor ballTrajectoryPredictor;
+
+	/**
+	 * Profiler, in welchem die Dauer jeder Physik-Berechnung erfasst wird. <code>null</code>, falls nicht gemessen wird.
+	 */
+	private TickProfiler tickProfiler = null;
+
+	/**
+	 * Kennungen der Physik-Berechnungen im {@link #tickProfiler}, in der Reihenfolge von {@link #activeGamePhysics}
+	 */
+	private int[] profilerPhases;
+
 	/**
 	 * Erzeugt einen neuen {@link GamePhysicsHandler}.<br>
 	 * Dieser bekommt alle relevanten Informationen, wie Referenzen auf die Spiel-Objekte und Spiel-Information, die von
@@ -83,12 +100,16 @@ public class GamePhysicsHandler {
 		if (!simulationOptions.contains(SimulationOptions.OFF_RULE)) {
 			// verwendet die outer-Box als Spielbegrenzungs-Box
 			this.activeGamePhysics.add(new PhysicsReboundOnBox(ball, fieldTopLeftPosition, fieldBottomRightPosition));
+			this.ballTrajectoryPredictor = new BallTrajectoryPredictor(ball, fieldTopLeftPosition,
+					fieldBottomRightPosition);
 			this.activeGamePhysics.add(new PhysicsCorrectPositions(teamA, teamB, ball, goal1, goal2,
 					fieldTopLeftPosition, fieldBottomRightPosition, fieldTopLeftPosition, fieldBottomRightPosition));
 		} else {
 			// verwende das Spielfeld als Spielbegrenzungs-Box
 			this.activeGamePhysics.add(new PhysicsReboundOnBox(ball, outerBoxTopLeftPosition,
 					outerBoxBottomRightPosition));
+			this.ballTrajectoryPredictor = new BallTrajectoryPredictor(ball, outerBoxTopLeftPosition,
+					outerBoxBottomRightPosition);
 			this.activeGamePhysics.add(new PhysicsCorrectPositions(teamA, teamB, ball, goal1, goal2,
 					fieldTopLeftPosition, fieldBottomRightPosition, outerBoxTopLeftPosition,
 					outerBoxBottomRightPosition));
@@ -106,8 +127,47 @@ public class GamePhysicsHandler {
 	 */
 	public void calculatePhysics(SoSiTickInformation tickInformationOfTeamA, TickEvent simulationState) {
 
+		if (TickProfiler.ENABLED && this.tickProfiler != null) {
+			int i = 0;
+			for (GamePhysic gamePhysic : this.activeGamePhysics) {
+				long start = System.nanoTime();
+				gamePhysic.calculate(tickInformationOfTeamA, simulationState);
+				this.tickProfiler.record(this.profilerPhases[i++], System.nanoTime() - start);
+			}
+			return;
+		}
+
 		for (GamePhysic gamePhysic : this.activeGamePhysics) {
 			gamePhysic.calculate(tickInformationOfTeamA, simulationState);
 		}
 	}
+
+	/**
+	 * Registriert jede aktive Physik-Berechnung als eigene Phase im Profiler. Anschließend wird die Dauer jeder
+	 * Physik-Berechnung erfasst, sofern {@link TickProfiler#ENABLED}.
+	 * 
+	 * @param tickProfiler
+	 *            Profiler der Tick-Berechnung
+	 */
+	public void setTickProfiler(TickProfiler tickProfiler) {
+		this.profilerPhases = new int[this.activeGamePhysics.size()];
+
+		int i = 0;
+		for (GamePhysic gamePhysic : this.activeGamePhysics) {
+			this.profilerPhases[i++] = tickProfiler.registerPhase(gamePhysic.getClass().getSimpleName());
+		}
+
+		this.tickProfiler = tickProfiler;
+	}
+
+	/**
+	 * Gibt die voraussichtliche Flugbahn des Balles ausgehend vom aktuellen Zustand der Spielobjekte zurück. Die
+	 * Berechnung erfolgt erst beim ersten Zugriff auf die Flugbahn.
+	 * 
+	 * @return Die vorausberechnete Flugbahn des Balles.
+	 * @see BallTrajectoryPredictor
+	 */
+	public BallTrajectoryPredictor.BallTrajectory predictBallTrajectory() {
+		return this.ballTrajectoryPredictor.predict();
+	}
 }
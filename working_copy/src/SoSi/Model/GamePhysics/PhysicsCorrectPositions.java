@@ -13,6 +13,8 @@ import SoSi.Model.GameObjects.GoalGameObject;
 import SoSi.Model.GameObjects.MoveableRadialGameObject;
 import SoSi.Model.GameObjects.PlayerGameObject;
 import SoSi.Model.GameObjects.RadialGameObject;
+import SoSi.Model.Profiling.FlightRecorder.FlightRecorderSupport;
+import SoSi.Model.Profiling.FlightRecorder.PhysicsCorrectionEvent;
 
 /**
  * Diese Klasse ist zuständig für das Korrigieren der Positionen der Spielobjekte.<br>
@@ -1090,6 +1092,11 @@ public class PhysicsCorrectPositions extends GamePhysic {
      */
     @Override
     public void calculate(SoSiTickInformation tickInformationOfTeamA, TickEvent simulationState) {
+        PhysicsCorrectionEvent correctionEvent = null;
+        if (FlightRecorderSupport.AVAILABLE) {
+            correctionEvent = new PhysicsCorrectionEvent();
+            correctionEvent.begin();
+        }
 
         for (ExtendedRadialGameObject extGameObject : this.extGameObjects)
             extGameObject.reset();
@@ -1155,6 +1162,12 @@ public class PhysicsCorrectPositions extends GamePhysic {
             }
         }
 
+        if (correctionEvent != null && correctionEvent.shouldCommit()) {
+            correctionEvent.tickNumber = tickInformationOfTeamA.getCurrentTickNumber();
+            correctionEvent.passes = loopCounter;
+            correctionEvent.commit();
+        }
+
         // if (loopCounter > maxReachedLoopCount) {
         // maxReachedLoopCount = loopCounter;
         // System.out.println("New max-reached-loop-counter: " + maxReachedLoopCount);
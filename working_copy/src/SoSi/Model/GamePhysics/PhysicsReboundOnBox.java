@@ -19,7 +19,7 @@ public class PhysicsReboundOnBox extends GamePhysic {
 	 * Prozent-Wert der aktuellen Geschwindigkeit, um den die Geschwindigkeit des Balles beim Aprallen von der Bande
 	 * abnimmt.
 	 */
-	private static final double BALL_REBOUND_DECELERATION_PERCENT = 5d;
+	static final double BALL_REBOUND_DECELERATION_PERCENT = 5d;
 
 	/**
 	 * Das Simulationsobjekt Ball vom Typ {@link BallGameObject}
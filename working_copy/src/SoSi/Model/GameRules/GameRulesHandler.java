@@ -11,6 +11,7 @@ import SoSi.Model.Calculation.SoSiTickInformation;
 import SoSi.Model.Calculation.Team;
 import SoSi.Model.GameObjects.BallGameObject;
 import SoSi.Model.GameObjects.GoalGameObject;
+import SoSi.Model.Profiling.TickProfiler;
 
 /**
  * Die Klasse verwaltet sämtliche regeltechnischen Auswertungen des Spiels.<br>
@@ -30,6 +31,16 @@ public class GameRulesHandler {
      */
     List<GameRule> activeGameRules;
 
+    /**
+     * Profiler, in welchem die Dauer jeder Regelauswertung erfasst wird. <code>null</code>, falls nicht gemessen wird.
+     */
+    private TickProfiler tickProfiler = null;
+
+    /**
+     * Kennungen der Regeln im {@link #tickProfiler}, in der Reihenfolge von {@link #activeGameRules}
+     */
+    private int[] profilerPhases;
+
     /**
      * Erzeugt einen neuen {@link GameRulesHandler}.<br>
      * Dieser bekommt alle relevanten Informationen, wie Referenzen auf die Spiel-Objekte und Spiel-Information, die von
@@ -84,7 +95,10 @@ public class GameRulesHandler {
 
         // Alle Regeln durchgehen und überprüfen
         for (int i = 0; i < this.activeGameRules.size(); ++i) {
+            long start = TickProfiler.ENABLED ? System.nanoTime() : 0;
             TickEvent event = this.activeGameRules.get(i).checkRule(tickInformation);
+            if (TickProfiler.ENABLED && this.tickProfiler != null)
+                this.tickProfiler.record(this.profilerPhases[i], System.nanoTime() - start);
 
             // Das schwerwiegendste Event ermitteln
             if (resultEvent == null || (event != null && resultEvent.compareTo(event) < 0))
@@ -93,4 +107,22 @@ public class GameRulesHandler {
 
         return resultEvent;
     }
+
+    /**
+     * Registriert jede aktive Regel als eigene Phase im Profiler. Anschließend wird die Dauer jeder Regelauswertung
+     * erfasst, sofern {@link TickProfiler#ENABLED}.
+     * 
+     * @param tickProfiler
+     *            Profiler der Tick-Berechnung
+     */
+    public void setTickProfiler(TickProfiler tickProfiler) {
+        this.profilerPhases = new int[this.activeGameRules.size()];
+
+        for (int i = 0; i < this.activeGameRules.size(); ++i) {
+            this.profilerPhases[i] = tickProfiler.registerPhase(this.activeGameRules.get(i).getClass()
+                    .getSimpleName());
+        }
+
+        this.tickProfiler = tickProfiler;
+    }
 }
@@ -0,0 +1,18 @@
+﻿package SoSi.Model;
+
+/**
+ * Interface für Empfänger der Ereignisse eines {@link PlaybackHandler} (siehe
+ * {@link PlaybackHandler#addSoccerUpdateListener(ISoccerUpdateListener, SoccerUpdateEventBus.Delivery)}).
+ */
+public interface ISoccerUpdateListener {
+
+    /**
+     * Wird für jedes Ereignis aufgerufen, über welches der Empfänger benachrichtigt wird. Der Aufruf erfolgt nicht
+     * durch den auslösenden Thread, sondern entsprechend der bei der Anmeldung gewählten
+     * {@link SoccerUpdateEventBus.Delivery}.
+     * 
+     * @param event
+     *            Das eingetretene Ereignis
+     */
+    public void soccerUpdate(SoccerUpdateEvent event);
+}
@@ -0,0 +1,267 @@
+﻿package SoSi.Model;
+
+/**
+ * Wiederverwendbarer Puffer für die (ggf. interpolierten) Positionen eines darzustellenden Bildes.<br>
+ * Im Gegensatz zu {@link TickData} werden die Positionen nicht als {@link sep.football.Position}-Objekte, sondern in
+ * Arrays primitiver Werte gehalten, welche über beliebig viele Bilder hinweg wiederverwendet werden. Das Befüllen
+ * (siehe {@link InterpolationHelper#interpolate(TickData, TickData, double, InterpolatedFrame)}) erzeugt daher, nach
+ * dem ersten Bild, keine Objekte mehr.<br>
+ * Instanzen sind nicht threadsicher. Der Besitzer des Puffers muss sicherstellen, dass Befüllen und Auslesen nicht
+ * gleichzeitig erfolgen.
+ */
+public class InterpolatedFrame {
+
+    /**
+     * Flag, ob der Puffer keine Daten enthält
+     */
+    private boolean empty = true;
+
+    /**
+     * Tick-Nummer der zugrunde liegenden Tick-Daten
+     */
+    private int tickPosition;
+
+    /**
+     * Anzahl der Tore von Team A
+     */
+    private int goalsTeamA;
+
+    /**
+     * Anzahl der Tore von Team B
+     */
+    private int goalsTeamB;
+
+    /**
+     * X-Koordinate des Balls
+     */
+    private double ballX;
+
+    /**
+     * Y-Koordinate des Balls
+     */
+    private double ballY;
+
+    /**
+     * Anzahl der Spieler von Team A
+     */
+    private int playerCountTeamA;
+
+    /**
+     * Anzahl der Spieler von Team B
+     */
+    private int playerCountTeamB;
+
+    /**
+     * Koordinaten der Spieler von Team A, abwechselnd X- und Y-Koordinate
+     */
+    private double[] playerPositionsTeamA = new double[0];
+
+    /**
+     * Koordinaten der Spieler von Team B, abwechselnd X- und Y-Koordinate
+     */
+    private double[] playerPositionsTeamB = new double[0];
+
+    /**
+     * Übernimmt die Positionen der angegebenen Tick-Daten ohne Interpolation.
+     *
+     * @param tickData
+     *            Die zu übernehmenden Tick-Daten. Ist dieser Wert <b>null</b>, wird der Puffer geleert.
+     */
+    public void set(TickData tickData) {
+        InterpolationHelper.interpolate(tickData, null, 0, this);
+    }
+
+    /**
+     * Übernimmt sämtliche Werte des angegebenen Puffers. Die Arrays werden dabei kopiert und nur vergrößert, falls
+     * notwendig.
+     *
+     * @param frame
+     *            Der zu kopierende Puffer
+     */
+    public void set(InterpolatedFrame frame) {
+        if (frame.empty) {
+            this.clear();
+            return;
+        }
+
+        this.empty = false;
+        this.tickPosition = frame.tickPosition;
+        this.goalsTeamA = frame.goalsTeamA;
+        this.goalsTeamB = frame.goalsTeamB;
+        this.ballX = frame.ballX;
+        this.ballY = frame.ballY;
+
+        this.playerCountTeamA = frame.playerCountTeamA;
+        this.playerCountTeamB = frame.playerCountTeamB;
+        this.playerPositionsTeamA = copy(frame.playerPositionsTeamA, frame.playerCountTeamA * 2,
+                this.playerPositionsTeamA);
+        this.playerPositionsTeamB = copy(frame.playerPositionsTeamB, frame.playerCountTeamB * 2,
+                this.playerPositionsTeamB);
+    }
+
+    /**
+     * Leert den Puffer.
+     */
+    public void clear() {
+        this.empty = true;
+        this.playerCountTeamA = 0;
+        this.playerCountTeamB = 0;
+    }
+
+    /**
+     * @return <code>true</code>, falls der Puffer keine Daten enthält
+     */
+    public boolean isEmpty() {
+        return this.empty;
+    }
+
+    /**
+     * Übernimmt die nicht zu interpolierenden Werte der angegebenen Tick-Daten und stellt sicher, dass die Arrays der
+     * Spielerpositionen ausreichend groß sind.
+     *
+     * @param tickData
+     *            Die Tick-Daten
+     * @param playerCountTeamA
+     *            Anzahl der Spieler von Team A
+     * @param playerCountTeamB
+     *            Anzahl der Spieler von Team B
+     */
+    void setTickData(TickData tickData, int playerCountTeamA, int playerCountTeamB) {
+        this.empty = false;
+        this.tickPosition = tickData.getTickPosition();
+        this.goalsTeamA = tickData.getGoalsTeamA();
+        this.goalsTeamB = tickData.getGoalsTeamB();
+
+        this.playerCountTeamA = playerCountTeamA;
+        this.playerCountTeamB = playerCountTeamB;
+        if (this.playerPositionsTeamA.length < playerCountTeamA * 2)
+            this.playerPositionsTeamA = new double[playerCountTeamA * 2];
+        if (this.playerPositionsTeamB.length < playerCountTeamB * 2)
+            this.playerPositionsTeamB = new double[playerCountTeamB * 2];
+    }
+
+    /**
+     * Setzt die Position des Balls.
+     *
+     * @param x
+     *            X-Koordinate
+     * @param y
+     *            Y-Koordinate
+     */
+    void setBallPosition(double x, double y) {
+        this.ballX = x;
+        this.ballY = y;
+    }
+
+    /**
+     * @return Die Koordinaten der Spieler von Team A (abwechselnd X- und Y-Koordinate) zum Befüllen
+     */
+    double[] getPlayerPositionsTeamA() {
+        return this.playerPositionsTeamA;
+    }
+
+    /**
+     * @return Die Koordinaten der Spieler von Team B (abwechselnd X- und Y-Koordinate) zum Befüllen
+     */
+    double[] getPlayerPositionsTeamB() {
+        return this.playerPositionsTeamB;
+    }
+
+    /**
+     * Kopiert die ersten Werte eines Arrays in ein Zielarray, welches nur bei Bedarf neu erstellt wird.
+     *
+     * @return Das Zielarray
+     */
+    private static double[] copy(double[] source, int length, double[] target) {
+        if (target.length < length)
+            target = new double[length];
+
+        System.arraycopy(source, 0, target, 0, length);
+        return target;
+    }
+
+    /**
+     * @return Tick-Nummer der zugrunde liegenden Tick-Daten
+     */
+    public int getTickPosition() {
+        return this.tickPosition;
+    }
+
+    /**
+     * @return Anzahl der Tore von Team A
+     */
+    public int getGoalsTeamA() {
+        return this.goalsTeamA;
+    }
+
+    /**
+     * @return Anzahl der Tore von Team B
+     */
+    public int getGoalsTeamB() {
+        return this.goalsTeamB;
+    }
+
+    /**
+     * @return X-Koordinate des Balls
+     */
+    public double getBallX() {
+        return this.ballX;
+    }
+
+    /**
+     * @return Y-Koordinate des Balls
+     */
+    public double getBallY() {
+        return this.ballY;
+    }
+
+    /**
+     * @return Anzahl der Spieler von Team A
+     */
+    public int getPlayerCountTeamA() {
+        return this.playerCountTeamA;
+    }
+
+    /**
+     * @return Anzahl der Spieler von Team B
+     */
+    public int getPlayerCountTeamB() {
+        return this.playerCountTeamB;
+    }
+
+    /**
+     * @param index
+     *            Index des Spielers (0 bis {@link #getPlayerCountTeamA()} - 1)
+     * @return X-Koordinate des Spielers von Team A
+     */
+    public double getPlayerXTeamA(int index) {
+        return this.playerPositionsTeamA[index * 2];
+    }
+
+    /**
+     * @param index
+     *            Index des Spielers (0 bis {@link #getPlayerCountTeamA()} - 1)
+     * @return Y-Koordinate des Spielers von Team A
+     */
+    public double getPlayerYTeamA(int index) {
+        return this.playerPositionsTeamA[index * 2 + 1];
+    }
+
+    /**
+     * @param index
+     *            Index des Spielers (0 bis {@link #getPlayerCountTeamB()} - 1)
+     * @return X-Koordinate des Spielers von Team B
+     */
+    public double getPlayerXTeamB(int index) {
+        return this.playerPositionsTeamB[index * 2];
+    }
+
+    /**
+     * @param index
+     *            Index des Spielers (0 bis {@link #getPlayerCountTeamB()} - 1)
+     * @return Y-Koordinate des Spielers von Team B
+     */
+    public double getPlayerYTeamB(int index) {
+        return this.playerPositionsTeamB[index * 2 + 1];
+    }
+}
@@ -1,6 +1,7 @@
 package SoSi.Model;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import sep.football.Position;
@@ -37,10 +38,100 @@ public class InterpolationHelper {
         List<Position> interpolatedPlayerPositionsTeamB = getInterpolatedPosition(
                 currentTickData.getPlayerPositionsTeamB(), nextTickData.getPlayerPositionsTeamB(), percent);
 
-        return new TickData(currentTickData.getTickPosition(), currentTickData.getGoalsTeamA(),
-                currentTickData.getGoalsTeamB(), interpolatedBallPosition, interpolatedPlayerPositionsTeamA,
-                interpolatedPlayerPositionsTeamB, currentTickData.getTickEvent(),
-                currentTickData.getDebugMessageTeamA(), currentTickData.getDebugMessageTeamB());
+        return currentTickData.withPositions(interpolatedBallPosition, interpolatedPlayerPositionsTeamA,
+                interpolatedPlayerPositionsTeamB);
+    }
+
+    /**
+     * Interpoliert zwei TickData-Instanzen in den angegebenen Puffer. Im Gegensatz zu
+     * {@link #getInterpolatedTickData(TickData, TickData, double)} werden dabei keine Objekte erzeugt, so dass die
+     * Methode fr jedes dargestellte Bild aufgerufen werden kann.
+     * 
+     * @param currentTickData
+     *            Die aktuell angezeigte {@link TickData}-Instanz. Ist dieser Wert <b>null</b>, wird der Puffer geleert.
+     * @param nextTickData
+     *            Die nchste anzuzeigende {@link TickData}-Instanz. Ist dieser Wert <b>null</b>, werden die Positionen
+     *            von currentTickData unverndert bernommen.
+     * @param percent
+     *            Der Fortschritt in Prozent (0.0 bis 1.0), wie weit die Wiedergabe fortgeschritten ist und daher
+     *            interpoliert werden soll.
+     * @param frame
+     *            Der zu befllende Puffer
+     * @return <code>true</code>, falls der Puffer befllt wurde, <code>false</code> falls er geleert wurde
+     */
+    public static boolean interpolate(TickData currentTickData, TickData nextTickData, double percent,
+            InterpolatedFrame frame) {
+        if (percent < 0)
+            throw new IllegalArgumentException("percent may not be lower than 0");
+        else if (percent > 1)
+            throw new IllegalArgumentException("percent may not be taller than 1");
+
+        if (currentTickData == null) {
+            frame.clear();
+            return false;
+        } else if (nextTickData == null || isGameInterrupted(currentTickData) != isGameInterrupted(nextTickData)) {
+            // Keine Interpolation bei Sprngen
+            nextTickData = currentTickData;
+            percent = 0;
+        }
+
+        List<Position> playerPositionsTeamA = currentTickData.getPlayerPositionsTeamA();
+        List<Position> playerPositionsTeamB = currentTickData.getPlayerPositionsTeamB();
+        frame.setTickData(currentTickData, playerPositionsTeamA.size(), playerPositionsTeamB.size());
+
+        Position currentBallPosition = currentTickData.getBallPosition();
+        Position nextBallPosition = nextTickData.getBallPosition();
+        frame.setBallPosition(interpolate(currentBallPosition.getX(), nextBallPosition.getX(), percent),
+                interpolate(currentBallPosition.getY(), nextBallPosition.getY(), percent));
+
+        interpolate(playerPositionsTeamA, nextTickData.getPlayerPositionsTeamA(), percent,
+                frame.getPlayerPositionsTeamA());
+        interpolate(playerPositionsTeamB, nextTickData.getPlayerPositionsTeamB(), percent,
+                frame.getPlayerPositionsTeamB());
+
+        return true;
+    }
+
+    /**
+     * Interpoliert zwei Listen mit Positionsangaben in das angegebene Array. Die Listen werden dabei iteriert, da
+     * der wahlfreie Zugriff je nach Listenimplementierung (z.B. {@link java.util.LinkedList}) nicht in konstanter Zeit
+     * erfolgt.
+     * 
+     * @param currentPositions
+     *            Die aktuell angezeigten {@link Position}-Instanzen.
+     * @param nextPositions
+     *            Die nchsten anzuzeigenden {@link Position}-Instanzen.
+     * @param percent
+     *            Der Fortschritt in Prozent (0.0 bis 1.0)
+     * @param target
+     *            Array, in welches abwechselnd die interpolierte X- und Y-Koordinate geschrieben wird
+     */
+    private static void interpolate(List<Position> currentPositions, List<Position> nextPositions, double percent,
+            double[] target) {
+        if (currentPositions.size() != nextPositions.size())
+            throw new IllegalArgumentException("Positionlists must have same item count");
+
+        Iterator<Position> nextIterator = nextPositions.iterator();
+        int index = 0;
+        for (Position currentPosition : currentPositions) {
+            Position nextPosition = nextIterator.next();
+            target[index++] = interpolate(currentPosition.getX(), nextPosition.getX(), percent);
+            target[index++] = interpolate(currentPosition.getY(), nextPosition.getY(), percent);
+        }
+    }
+
+    /**
+     * @return <code>true</code>, falls das Spiel in den angegebenen Tick-Daten unterbrochen ist
+     */
+    private static boolean isGameInterrupted(TickData tickData) {
+        return tickData.getTickEvent() == TickEvent.GAME_INTERRUPTED;
+    }
+
+    /**
+     * Interpoliert zwei Werte linear.
+     */
+    private static double interpolate(double currentValue, double nextValue, double percent) {
+        return currentValue + (nextValue - currentValue) * percent;
     }
 
     /**
@@ -84,10 +175,11 @@ public class InterpolationHelper {
         if (currentPositions.size() != nextPositions.size())
             throw new IllegalArgumentException("Positionlists must have same item count");
 
-        LinkedList<Position> interpolatedPosition = new LinkedList<Position>();
+        List<Position> interpolatedPosition = new ArrayList<Position>(currentPositions.size());
 
-        for (int i = 0; i < currentPositions.size(); i++) {
-            interpolatedPosition.add(getInterpolatedPosition(currentPositions.get(i), nextPositions.get(i), percent));
+        Iterator<Position> nextIterator = nextPositions.iterator();
+        for (Position currentPosition : currentPositions) {
+            interpolatedPosition.add(getInterpolatedPosition(currentPosition, nextIterator.next(), percent));
         }
 
         return interpolatedPosition;
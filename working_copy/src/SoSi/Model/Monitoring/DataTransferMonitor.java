@@ -0,0 +1,164 @@
+﻿package SoSi.Model.Monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Erfasst Umfang und Dauer sämtlicher Speicher- und Ladevorgänge von Simulationsdateien. Die einzige Instanz wird beim
+ * ersten Zugriff erstellt und als MBean {@value #OBJECT_NAME} registriert.
+ */
+public class DataTransferMonitor implements DataTransferMonitorMBean {
+
+    /**
+     * Name, unter welchem die MBean registriert wird
+     */
+    public static final String OBJECT_NAME = "SoSi:type=DataTransfer";
+
+    /**
+     * Die einzige Instanz
+     */
+    private static final DataTransferMonitor INSTANCE = new DataTransferMonitor();
+
+    static {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Could not register DataTransfer MBean: " + e.toString());
+        }
+    }
+
+    /**
+     * Anzahl der gespeicherten Dateien
+     */
+    private long savedFiles;
+
+    /**
+     * Gesamtgröße der gespeicherten Dateien in Bytes
+     */
+    private long savedBytes;
+
+    /**
+     * Gesamtdauer der Speichervorgänge in Nanosekunden
+     */
+    private long saveNanos;
+
+    /**
+     * Durchsatz des letzten Speichervorgangs in Bytes pro Sekunde
+     */
+    private double lastSaveBytesPerSecond;
+
+    /**
+     * Anzahl der geladenen Dateien
+     */
+    private long loadedFiles;
+
+    /**
+     * Gesamtgröße der geladenen Dateien in Bytes
+     */
+    private long loadedBytes;
+
+    /**
+     * Gesamtdauer der Ladevorgänge in Nanosekunden
+     */
+    private long loadNanos;
+
+    /**
+     * Durchsatz des letzten Ladevorgangs in Bytes pro Sekunde
+     */
+    private double lastLoadBytesPerSecond;
+
+    /**
+     * Privater Konstruktor, die Instanz wird über {@link #getInstance()} bezogen.
+     */
+    private DataTransferMonitor() {
+    }
+
+    /**
+     * Gibt die einzige Instanz zurück.
+     *
+     * @return Die Instanz
+     */
+    public static DataTransferMonitor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Erfasst einen abgeschlossenen Speichervorgang.
+     *
+     * @param bytes
+     *            Größe der gespeicherten Datei in Bytes
+     * @param nanos
+     *            Dauer des Speicherns in Nanosekunden
+     */
+    public synchronized void recordSave(long bytes, long nanos) {
+        this.savedFiles++;
+        this.savedBytes += bytes;
+        this.saveNanos += nanos;
+        this.lastSaveBytesPerSecond = getBytesPerSecond(bytes, nanos);
+    }
+
+    /**
+     * Erfasst einen abgeschlossenen Ladevorgang.
+     *
+     * @param bytes
+     *            Größe der geladenen Datei in Bytes
+     * @param nanos
+     *            Dauer des Ladens in Nanosekunden
+     */
+    public synchronized void recordLoad(long bytes, long nanos) {
+        this.loadedFiles++;
+        this.loadedBytes += bytes;
+        this.loadNanos += nanos;
+        this.lastLoadBytesPerSecond = getBytesPerSecond(bytes, nanos);
+    }
+
+    /**
+     * Berechnet den Durchsatz in Bytes pro Sekunde.
+     */
+    private static double getBytesPerSecond(long bytes, long nanos) {
+        return (nanos <= 0) ? 0 : bytes / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public synchronized long getSavedFiles() {
+        return this.savedFiles;
+    }
+
+    @Override
+    public synchronized long getSavedBytes() {
+        return this.savedBytes;
+    }
+
+    @Override
+    public synchronized double getLastSaveBytesPerSecond() {
+        return this.lastSaveBytesPerSecond;
+    }
+
+    @Override
+    public synchronized double getAverageSaveBytesPerSecond() {
+        return getBytesPerSecond(this.savedBytes, this.saveNanos);
+    }
+
+    @Override
+    public synchronized long getLoadedFiles() {
+        return this.loadedFiles;
+    }
+
+    @Override
+    public synchronized long getLoadedBytes() {
+        return this.loadedBytes;
+    }
+
+    @Override
+    public synchronized double getLastLoadBytesPerSecond() {
+        return this.lastLoadBytesPerSecond;
+    }
+
+    @Override
+    public synchronized double getAverageLoadBytesPerSecond() {
+        return getBytesPerSecond(this.loadedBytes, this.loadNanos);
+    }
+}
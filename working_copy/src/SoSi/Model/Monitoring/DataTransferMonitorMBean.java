@@ -0,0 +1,49 @@
+﻿package SoSi.Model.Monitoring;
+
+/**
+ * JMX-Schnittstelle zur Überwachung des Speicherns und Ladens von Simulationsdateien.
+ *
+ * @see DataTransferMonitor
+ */
+public interface DataTransferMonitorMBean {
+
+    /**
+     * @return Anzahl der gespeicherten Dateien
+     */
+    long getSavedFiles();
+
+    /**
+     * @return Größe aller gespeicherten Dateien in Bytes
+     */
+    long getSavedBytes();
+
+    /**
+     * @return Durchsatz des letzten Speichervorgangs in Bytes pro Sekunde
+     */
+    double getLastSaveBytesPerSecond();
+
+    /**
+     * @return Durchsatz aller Speichervorgänge in Bytes pro Sekunde
+     */
+    double getAverageSaveBytesPerSecond();
+
+    /**
+     * @return Anzahl der geladenen Dateien
+     */
+    long getLoadedFiles();
+
+    /**
+     * @return Größe aller geladenen Dateien in Bytes
+     */
+    long getLoadedBytes();
+
+    /**
+     * @return Durchsatz des letzten Ladevorgangs in Bytes pro Sekunde
+     */
+    double getLastLoadBytesPerSecond();
+
+    /**
+     * @return Durchsatz aller Ladevorgänge in Bytes pro Sekunde
+     */
+    double getAverageLoadBytesPerSecond();
+}
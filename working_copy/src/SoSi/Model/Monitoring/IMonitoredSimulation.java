@@ -0,0 +1,64 @@
+﻿package SoSi.Model.Monitoring;
+
+import sep.football.GameInformation;
+import SoSi.Model.Calculation.DataHandler;
+import SoSi.Model.Calculation.HeadlessSimulation;
+import SoSi.Model.Profiling.AIProfile;
+import SoSi.Model.Profiling.TickProfiler;
+
+/**
+ * Simulation, welche über einen {@link SimulationMonitor} überwacht werden kann. Wird vom {@link DataHandler} für
+ * Simulationen mit Oberfläche und von {@link HeadlessSimulation} für Simulationen ohne Oberfläche implementiert.
+ */
+public interface IMonitoredSimulation {
+
+    /**
+     * @return Name der KI des Teams A
+     */
+    String getTeamAName();
+
+    /**
+     * @return Name der KI des Teams B
+     */
+    String getTeamBName();
+
+    /**
+     * @return Allgemeine Spielparameter der Simulation
+     */
+    GameInformation getGameInformation();
+
+    /**
+     * @return Anzahl der bereits berechneten bzw. geladenen Ticks
+     */
+    int getSimulationTickCount();
+
+    /**
+     * @return <code>true</code>, falls die Berechnung bzw. das Laden abgeschlossen ist
+     */
+    boolean isSimulationCalculationFinished();
+
+    /**
+     * @return Geschätzter Speicherbedarf der gehaltenen Tick-Daten in Bytes
+     */
+    long getEstimatedTickDataBytes();
+
+    /**
+     * @return Größe der außerhalb des Heaps gespeicherten Debug-Nachrichten in Bytes
+     */
+    long getDebugMessageBytes();
+
+    /**
+     * @return Laufzeitprofil der KI des Teams A, <code>null</code> falls die Simulation nicht berechnet wird
+     */
+    AIProfile getAiProfileTeamA();
+
+    /**
+     * @return Laufzeitprofil der KI des Teams B, <code>null</code> falls die Simulation nicht berechnet wird
+     */
+    AIProfile getAiProfileTeamB();
+
+    /**
+     * @return Profiler der Tick-Berechnung, <code>null</code> falls die Simulation nicht berechnet wird
+     */
+    TickProfiler getTickProfiler();
+}
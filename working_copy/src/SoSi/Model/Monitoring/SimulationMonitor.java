@@ -0,0 +1,237 @@
+﻿package SoSi.Model.Monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import SoSi.Model.PlaybackHandler;
+import SoSi.Model.Calculation.HeadlessSimulation;
+import SoSi.Model.Profiling.AIProfile;
+import SoSi.Model.Profiling.TickProfiler;
+
+/**
+ * MBean zur Überwachung einer Simulation. Wird vom {@link PlaybackHandler} beim Start einer Berechnung bzw. beim Laden
+ * einer Datei registriert und beim Abbruch wieder entfernt. Eine {@link HeadlessSimulation} registriert die MBean für
+ * die Dauer ihrer Berechnung, die Angaben zur Wiedergabe entfallen dabei.<br>
+ * Die Anzahl der Ticks pro Sekunde wird beim Auslesen über ein Intervall von {@link #SAMPLE_INTERVAL_MILLISECONDS}
+ * ermittelt, so dass keine zusätzlichen Messungen während der Berechnung erforderlich sind.
+ */
+public class SimulationMonitor implements SimulationMonitorMBean {
+
+    /**
+     * Mindestdauer (in Millisekunden) zwischen zwei Stichproben der Tick-Anzahl
+     */
+    private static final long SAMPLE_INTERVAL_MILLISECONDS = 1000;
+
+    /**
+     * Fortlaufende Nummer der Simulationen, dient der Unterscheidung der MBeans
+     */
+    private static final AtomicInteger SIMULATION_COUNTER = new AtomicInteger();
+
+    /**
+     * Der PlaybackHandler, dessen Wiedergabe überwacht wird, <code>null</code> bei Simulationen ohne Oberfläche
+     */
+    private final PlaybackHandler playbackHandler;
+
+    /**
+     * Die überwachte Simulation
+     */
+    private final IMonitoredSimulation simulation;
+
+    /**
+     * Name, unter welchem die MBean registriert wird
+     */
+    private final ObjectName objectName;
+
+    /**
+     * Zeitpunkt (in Nanosekunden) der letzten Stichprobe
+     */
+    private long sampleNanos;
+
+    /**
+     * Tick-Anzahl der letzten Stichprobe
+     */
+    private long sampleTicks;
+
+    /**
+     * Flag, ob bereits ein vollständiges Intervall gemessen wurde
+     */
+    private boolean hasSample = false;
+
+    /**
+     * Zuletzt ermittelte Anzahl an Ticks pro Sekunde
+     */
+    private double ticksPerSecond = 0;
+
+    /**
+     * Erstellt eine neue MBean für die angegebene Simulation. Die MBean wird erst durch {@link #register()}
+     * registriert.
+     *
+     * @param playbackHandler
+     *            Der PlaybackHandler, dessen Wiedergabe überwacht wird, <code>null</code> bei Simulationen ohne
+     *            Oberfläche
+     * @param simulation
+     *            Die überwachte Simulation
+     */
+    public SimulationMonitor(PlaybackHandler playbackHandler, IMonitoredSimulation simulation) {
+        this.playbackHandler = playbackHandler;
+        this.simulation = simulation;
+        this.objectName = createObjectName(SIMULATION_COUNTER.incrementAndGet());
+        this.sampleNanos = System.nanoTime();
+        this.sampleTicks = simulation.getSimulationTickCount();
+    }
+
+    /**
+     * Erstellt den Namen der MBean.
+     */
+    private static ObjectName createObjectName(int id) {
+        try {
+            return new ObjectName("SoSi:type=Simulation,id=" + id);
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Registriert die MBean beim MBeanServer der Plattform. Schlägt die Registrierung fehl, wird die Simulation
+     * ungeachtet dessen fortgesetzt.
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, this.objectName);
+        } catch (JMException e) {
+            System.err.println("Could not register Simulation MBean: " + e.toString());
+        }
+    }
+
+    /**
+     * Entfernt die MBean vom MBeanServer der Plattform, sofern diese registriert ist.
+     */
+    public void unregister() {
+        try {
+            if (ManagementFactory.getPlatformMBeanServer().isRegistered(this.objectName))
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.objectName);
+        } catch (JMException e) {
+            System.err.println("Could not unregister Simulation MBean: " + e.toString());
+        }
+    }
+
+    @Override
+    public String getTeamAName() {
+        return this.simulation.getTeamAName();
+    }
+
+    @Override
+    public String getTeamBName() {
+        return this.simulation.getTeamBName();
+    }
+
+    @Override
+    public int getCalculatedTicks() {
+        return this.simulation.getSimulationTickCount();
+    }
+
+    @Override
+    public int getMaximumTicks() {
+        return this.simulation.getGameInformation().getMaximumTickNumber();
+    }
+
+    @Override
+    public boolean isCalculationFinished() {
+        return this.simulation.isSimulationCalculationFinished();
+    }
+
+    @Override
+    public synchronized double getTicksPerSecond() {
+        long now = System.nanoTime();
+        long ticks = this.simulation.getSimulationTickCount();
+        long elapsed = now - this.sampleNanos;
+        boolean intervalElapsed = elapsed >= TimeUnit.MILLISECONDS.toNanos(SAMPLE_INTERVAL_MILLISECONDS);
+
+        // Bis zum Ablauf des ersten Intervalls wird der Durchschnitt seit Beginn angegeben
+        if (intervalElapsed || (!this.hasSample && elapsed > 0)) {
+            this.ticksPerSecond = (ticks - this.sampleTicks) / (elapsed / (double) TimeUnit.SECONDS.toNanos(1));
+
+            if (intervalElapsed) {
+                this.sampleNanos = now;
+                this.sampleTicks = ticks;
+                this.hasSample = true;
+            }
+        }
+
+        return this.ticksPerSecond;
+    }
+
+    @Override
+    public double getEstimatedSecondsRemaining() {
+        if (this.isCalculationFinished())
+            return 0;
+
+        double rate = this.getTicksPerSecond();
+        if (rate <= 0)
+            return -1;
+
+        return (this.getMaximumTicks() - this.getCalculatedTicks()) / rate;
+    }
+
+    @Override
+    public int getTickStoreSize() {
+        return this.simulation.getSimulationTickCount();
+    }
+
+    @Override
+    public long getTickStoreEstimatedBytes() {
+        return this.simulation.getEstimatedTickDataBytes();
+    }
+
+    @Override
+    public long getDebugMessageBytes() {
+        return this.simulation.getDebugMessageBytes();
+    }
+
+    @Override
+    public long getAiTimeoutsTeamA() {
+        AIProfile profile = this.simulation.getAiProfileTeamA();
+        return (profile == null) ? 0 : profile.getTimeoutCount();
+    }
+
+    @Override
+    public long getAiTimeoutsTeamB() {
+        AIProfile profile = this.simulation.getAiProfileTeamB();
+        return (profile == null) ? 0 : profile.getTimeoutCount();
+    }
+
+    @Override
+    public long getAiExceptionsTeamA() {
+        AIProfile profile = this.simulation.getAiProfileTeamA();
+        return (profile == null) ? 0 : profile.getExceptionCount();
+    }
+
+    @Override
+    public long getAiExceptionsTeamB() {
+        AIProfile profile = this.simulation.getAiProfileTeamB();
+        return (profile == null) ? 0 : profile.getExceptionCount();
+    }
+
+    @Override
+    public String getTickProfilerReport() {
+        TickProfiler tickProfiler = this.simulation.getTickProfiler();
+        return (tickProfiler == null || !TickProfiler.ENABLED) ? "" : tickProfiler.createReport();
+    }
+
+    @Override
+    public int getPlaybackPosition() {
+        return (this.playbackHandler == null) ? -1 : this.playbackHandler.getPlaybackPosition();
+    }
+
+    @Override
+    public int getPlaybackLagTicks() {
+        if (this.playbackHandler == null)
+            return 0;
+
+        return Math.max(0, this.getCalculatedTicks() - 1 - this.getPlaybackPosition());
+    }
+}
@@ -0,0 +1,95 @@
+﻿package SoSi.Model.Monitoring;
+
+/**
+ * JMX-Schnittstelle zur Überwachung einer laufenden Simulation (Berechnung bzw. Laden und Wiedergabe).
+ *
+ * @see SimulationMonitor
+ */
+public interface SimulationMonitorMBean {
+
+    /**
+     * @return Name der KI des Teams A
+     */
+    String getTeamAName();
+
+    /**
+     * @return Name der KI des Teams B
+     */
+    String getTeamBName();
+
+    /**
+     * @return Anzahl der bereits berechneten bzw. geladenen Ticks
+     */
+    int getCalculatedTicks();
+
+    /**
+     * @return Anzahl der insgesamt zu berechnenden Ticks
+     */
+    int getMaximumTicks();
+
+    /**
+     * @return <code>true</code>, falls die Berechnung bzw. das Laden abgeschlossen ist
+     */
+    boolean isCalculationFinished();
+
+    /**
+     * @return Aktuelle Anzahl an berechneten bzw. geladenen Ticks pro Sekunde
+     */
+    double getTicksPerSecond();
+
+    /**
+     * @return Geschätzte Restdauer der Berechnung in Sekunden, 0 falls abgeschlossen, -1 falls unbekannt
+     */
+    double getEstimatedSecondsRemaining();
+
+    /**
+     * @return Anzahl der im Speicher gehaltenen Ticks
+     */
+    int getTickStoreSize();
+
+    /**
+     * @return Geschätzter Speicherbedarf der im Speicher gehaltenen Ticks in Bytes
+     */
+    long getTickStoreEstimatedBytes();
+
+    /**
+     * @return Größe der in eine temporäre Datei ausgelagerten Debug-Nachrichten in Bytes
+     */
+    long getDebugMessageBytes();
+
+    /**
+     * @return Anzahl der wegen Zeitüberschreitung abgebrochenen Entscheidungen der KI des Teams A
+     */
+    long getAiTimeoutsTeamA();
+
+    /**
+     * @return Anzahl der wegen Zeitüberschreitung abgebrochenen Entscheidungen der KI des Teams B
+     */
+    long getAiTimeoutsTeamB();
+
+    /**
+     * @return Anzahl der von der KI des Teams A geworfenen Exceptions
+     */
+    long getAiExceptionsTeamA();
+
+    /**
+     * @return Anzahl der von der KI des Teams B geworfenen Exceptions
+     */
+    long getAiExceptionsTeamB();
+
+    /**
+     * @return Bericht über die Dauer der einzelnen Phasen der Tick-Berechnung, leer falls der Profiler deaktiviert
+     *         ist oder die Simulation aus einer Datei geladen wurde
+     */
+    String getTickProfilerReport();
+
+    /**
+     * @return Aktuell wiedergegebener Tick, -1 bei Simulationen ohne Oberfläche
+     */
+    int getPlaybackPosition();
+
+    /**
+     * @return Anzahl der berechneten, aber noch nicht wiedergegebenen Ticks, 0 bei Simulationen ohne Oberfläche
+     */
+    int getPlaybackLagTicks();
+}
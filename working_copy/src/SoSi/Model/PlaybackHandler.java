@@ -1,7 +1,9 @@
 ﻿package SoSi.Model;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
-import java.util.Observable;
+import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 
@@ -10,7 +12,11 @@ import sep.football.GameInformation;
 import SoSi.Model.Calculation.DataHandler;
 import SoSi.Model.Calculation.DataHandler.SimulationSaveFileException;
 import SoSi.Model.Calculation.SoSiGameInformation;
+import SoSi.Model.Calculation.Tick;
+import SoSi.Model.Calculation.TickEventIndex;
 import SoSi.Model.Calculation.AILoader.AiLoadingException;
+import SoSi.Model.Monitoring.SimulationMonitor;
+import SoSi.Model.Profiling.AIProfile;
 
 /**
  * Die Klasse ist primär für die einheitliche Wiedergabe aller möglichen Views zuständig. Sie versorgt die GUI, mit den
@@ -18,16 +24,18 @@ import SoSi.Model.Calculation.AILoader.AiLoadingException;
  * für die einzelnen {@link TickData}s verwendet wird. Der {@link PlaybackHandler} verwendet einen Timer, um sich vom
  * DataHandler periodisch neue Daten zu besorgen. Falls die Wiedergabe pausiert, vorgelaufen oder zurückgelaufen wird,
  * wird entweder das Timerintervall anpasst (verkürzt oder verlängert), der Timer gestoppt oder der Durchlauf durch die
- * Liste mit allen {@link TickData}s mit größeren oder kleineren Schritten durchgeführt.
+ * Liste mit allen {@link TickData}s mit größeren oder kleineren Schritten durchgeführt.<br>
+ * Über Ereignisse der Wiedergabe werden die angemeldeten {@link ISoccerUpdateListener} mittels eines
+ * {@link SoccerUpdateEventBus} benachrichtigt, ohne dass der Timer der Wiedergabe auf die Empfänger wartet.
  */
-public class PlaybackHandler extends Observable {
+public class PlaybackHandler {
 
     /**
      * Der Wert der Normalwiedergabegeschwindigkeit, der angibt, wieviele Ticks einer Sekunde entsprechen. Dient zur
      * Festlegung, wieviele Ticks innerhalb einer Sekunde bei einfacher Wiedergabegeschwindigkeit abgespielt werden
      * sollen.
      */
-    public static final int TICKS_PER_SECOND = 20;
+    public static final int TICKS_PER_SECOND = Tick.TICKS_PER_SECOND;
 
     /**
      * Standardwert für Anzahl der Playback-Aktualisierungen pro Sekunde während einer aktiven Wiedergabe.
@@ -40,11 +48,24 @@ public class PlaybackHandler extends Observable {
      */
     public static final double MAX_PLAYBACK_SPEED_RATE = 10;
 
+    /**
+     * Die maximale Geschwindigkeit im Scrub-Modus, welcher für Geschwindigkeiten oberhalb von
+     * {@link #MAX_PLAYBACK_SPEED_RATE} verwendet wird (siehe {@link #isScrubbing()}).
+     */
+    public static final double MAX_SCRUB_SPEED_RATE = 1000;
+
     /**
      * Die Anzahl an Sekunden, die die Simulation bei einem Replay zurückspringt.
      */
     private static final double REPLAY_SECONDS_COUNT = 5;
 
+    /**
+     * Events, über welche die Listener benachrichtigt werden und zwischen welchen über {@link #jumpToNextEvent()} bzw.
+     * {@link #jumpToPreviousEvent()} gesprungen werden kann.
+     */
+    private static final Set<TickEvent> NOTIFIED_TICK_EVENTS = Collections.unmodifiableSet(EnumSet
+            .complementOf(EnumSet.of(TickEvent.GAME_INTERRUPTED)));
+
     /**
      * Gibt die maximale, zu erwartende Anzahl an Ticks an. Entspricht dabei GameInformation.getMaximumTickNumber()
      */
@@ -68,6 +89,11 @@ public class PlaybackHandler extends Observable {
      */
     private Timer updatePlaybackTimer;
 
+    /**
+     * Verteilt die Ereignisse der Wiedergabe an die angemeldeten Empfänger
+     */
+    private final SoccerUpdateEventBus eventBus = new SoccerUpdateEventBus();
+
     /**
      * Die aktuellen Tick-Daten, die zyklisch aktualisiert werden.
      */
@@ -113,6 +139,25 @@ public class PlaybackHandler extends Observable {
      */
     private double playbackPosition = 0;
 
+    /**
+     * Zeitpunkt (in Nanosekunden) der letzten Aktualisierung der Wiedergabeposition durch den
+     * {@link #updatePlaybackTimer}. Dient im Scrub-Modus zur Bestimmung der Schrittweite.
+     */
+    private long lastPlaybackUpdateNanos;
+
+    /**
+     * Zuletzt veröffentlichter Zustand der Wiedergabe. Dient der Fortschreibung der Wiedergabeposition in
+     * {@link #getInterpolatedFrame(long, InterpolatedFrame)} durch einen Thread mit eigenem Takt, welcher dadurch
+     * Position, Geschwindigkeit und Zeitpunkt stets zueinander passend liest. <code>null</code>, solange die Wiedergabe
+     * noch nicht gestartet wurde.
+     */
+    private volatile PlaybackSnapshot playbackSnapshot = null;
+
+    /**
+     * MBean zur Überwachung der aktuellen Simulation, <code>null</code> falls keine Simulation aktiv ist
+     */
+    private SimulationMonitor simulationMonitor;
+
     /**
      * Gibt an, ob die aktuelle Wiedergabe und Berechnung der Simulation abgebrochen wurde. Wird beim Aufruf von
      * .abort() gesetzt. Ein Aufruf von play/pause verändert den gesetzten Wert nicht.
@@ -157,8 +202,6 @@ public class PlaybackHandler extends Observable {
         this.goalSize = goalSize;
         this.playerDiameter = playerDiameter;
         this.ballDiameter = ballDiameter;
-
-        this.setChanged();
     }
 
     /**
@@ -169,27 +212,54 @@ public class PlaybackHandler extends Observable {
         if (this.updatePlaybackTimer != null)
             this.updatePlaybackTimer.cancel();
 
+        this.lastPlaybackUpdateNanos = System.nanoTime();
+        this.publishPlaybackSnapshot();
         this.updatePlaybackTimer = new Timer();
         this.updatePlaybackTimer.scheduleAtFixedRate(new TimerTask() {
             public void run() {
                 int oldPlaybackPosition = (int) playbackPosition;
-                playbackPosition += ((double) TICKS_PER_SECOND / PLAYBACK_REFRESH_RATE) * playbackSpeedRate;
+                long now = System.nanoTime();
+                boolean scrubbing = isScrubbing();
+
+                if (scrubbing) {
+                    // Schrittweite aus der tatsächlich vergangenen Zeit bestimmen, so dass die Wiedergabeposition auch
+                    // bei verspäteten Timer-Aufrufen nicht hinter der gewählten Geschwindigkeit zurückbleibt
+                    playbackPosition += (now - lastPlaybackUpdateNanos) / 1e9 * TICKS_PER_SECOND * playbackSpeedRate;
+                } else {
+                    playbackPosition += ((double) TICKS_PER_SECOND / PLAYBACK_REFRESH_RATE) * playbackSpeedRate;
+                }
 
                 // Wiedergabeposition aktualisieren
+                lastPlaybackUpdateNanos = now;
                 restrictAndUpdatePlaybackPosition();
 
                 // Updates nur durchführen, wenn sich die Wiedergabeposition tatsächlich geändert hat
                 if (oldPlaybackPosition != (int) playbackPosition || playbackPosition == 0
                         || playbackPosition == maximumTickNumber - 1) {
 
-                    // Events aus überprungenen TickDatas lesen und per notify weiterreichen (kann eintreten, falls
-                    // Wiedergabe mit erhöhter Geschwindigkeit abläuft)
-                    if (oldPlaybackPosition < playbackPosition) {
+                    // Events aus überprungenen TickDatas per notify weiterreichen (kann eintreten, falls Wiedergabe
+                    // mit erhöhter Geschwindigkeit abläuft). Über den Index werden nur Ticks mit Event betrachtet.
+                    TickEventIndex tickEventIndex = dataHandler.getTickEventIndex();
+                    if (scrubbing) {
+                        // Im Scrub-Modus je Aktualisierung nur das gewichtigste übersprungene Event weiterreichen
+                        if (oldPlaybackPosition < (int) playbackPosition) {
+                            int start = oldPlaybackPosition == 0 ? 0 : oldPlaybackPosition + 1;
+                            notifyTickEvent(tickEventIndex.getHeaviestEvent(start, (int) playbackPosition,
+                                    NOTIFIED_TICK_EVENTS));
+                        } else if (oldPlaybackPosition > (int) playbackPosition) {
+                            notifyTickEvent(tickEventIndex.getHeaviestEvent((int) playbackPosition,
+                                    oldPlaybackPosition - 1, NOTIFIED_TICK_EVENTS));
+                        }
+                    } else if (oldPlaybackPosition < playbackPosition) {
                         int start = oldPlaybackPosition == 0 ? 0 : oldPlaybackPosition + 1;
-                        for (int i = start; i <= (int) playbackPosition; i++)
+                        int i = tickEventIndex.getNextEventTick(start - 1, NOTIFIED_TICK_EVENTS);
+                        for (; i != -1 && i <= (int) playbackPosition; i = tickEventIndex.getNextEventTick(i,
+                                NOTIFIED_TICK_EVENTS))
                             checkForNewTickEvent(i);
                     } else if (oldPlaybackPosition > playbackPosition) {
-                        for (int i = oldPlaybackPosition - 1; i >= (int) playbackPosition; i--)
+                        int i = tickEventIndex.getPreviousEventTick(oldPlaybackPosition, NOTIFIED_TICK_EVENTS);
+                        for (; i != -1 && i >= (int) playbackPosition; i = tickEventIndex.getPreviousEventTick(i,
+                                NOTIFIED_TICK_EVENTS))
                             checkForNewTickEvent(i);
                     }
 
@@ -211,7 +281,7 @@ public class PlaybackHandler extends Observable {
     }
 
     /**
-     * Prüft, ob ein neues TickEvent vorliegt und benachrichtigt ggf. die Observer über das neue Event<br>
+     * Prüft, ob ein neues TickEvent vorliegt und benachrichtigt ggf. die Listener über das neue Event<br>
      * (Dient zum Beispiel zur Anzeige von eingetretenen Events)
      * 
      * @param tick
@@ -225,6 +295,16 @@ public class PlaybackHandler extends Observable {
         if (dataHandler.getSimulationTickCount() > 0)
             event = dataHandler.getTickPositionData(tick).getTickEvent();
 
+        notifyTickEvent(event);
+    }
+
+    /**
+     * Benachrichtigt die Listener über das angegebene Event.
+     * 
+     * @param event
+     *            Das eingetretene Event, bei <code>null</code> erfolgt keine Benachrichtigung
+     */
+    private void notifyTickEvent(TickEvent event) {
         if (event != null) {
             switch (event) {
             case FOUL_OFF:
@@ -257,7 +337,7 @@ public class PlaybackHandler extends Observable {
 
     /**
      * Schränkt die Tickposition auf den gültigen Wertebereich ein und aktualisiert entsprechend
-     * {@link #currentTickData}
+     * {@link #currentTickData} sowie den {@link #playbackSnapshot}
      */
     private void restrictAndUpdatePlaybackPosition() {
         if (playbackPosition >= dataHandler.getSimulationTickCount())
@@ -269,6 +349,17 @@ public class PlaybackHandler extends Observable {
         // TickData-Referenz aktualisiert (dies muss als letztes in der Methode erfolgen)
         if (dataHandler.getSimulationTickCount() > 0)
             currentTickData = dataHandler.getTickPositionData((int) playbackPosition); // do not round!
+
+        publishPlaybackSnapshot();
+    }
+
+    /**
+     * Veröffentlicht Wiedergabeposition, Geschwindigkeit, Zeitpunkt der letzten Timer-Aktualisierung und die aktuellen
+     * Tick-Daten gemeinsam als neuen {@link #playbackSnapshot}.
+     */
+    private void publishPlaybackSnapshot() {
+        this.playbackSnapshot = new PlaybackSnapshot(this.playbackPosition, this.playbackSpeedRate,
+                this.lastPlaybackUpdateNanos, this.currentTickData);
     }
 
     /**
@@ -324,6 +415,7 @@ public class PlaybackHandler extends Observable {
                 playerDiameter, ballDiameter, simulationDuration);
 
         this.dataHandler = new DataHandler(playersPerTeam, gameInformation, teamAAiPath, teamBAiPath, simulationOptions);
+        this.registerSimulationMonitor();
 
         this.play();
     }
@@ -348,35 +440,100 @@ public class PlaybackHandler extends Observable {
      * befindet, der Übergang von Tick 200 auf Tick 201 interpoliert wird. Dabei werden die Werte entsprechend
      * berechnet, so dass der Wiedergabefortschritt zu 75 % bei Tick 201 angekommen ist.
      * 
-     * Ist die Wiedergabe pausiert, so entspricht der Rückgabewert dem selben der Funktion {@link #getCurrentTickData()}
+     * Ist die Wiedergabe pausiert oder befindet sie sich im Scrub-Modus (siehe {@link #isScrubbing()}), so werden die
+     * Positionen der Funktion {@link #getCurrentTickData()} unverändert übernommen.<br>
+     * Die Positionen werden in den angegebenen, vom Aufrufer wiederverwendeten Puffer geschrieben, so dass je Bild
+     * keine Objekte erzeugt werden.
      * 
-     * @return Die interpolierten, momentan im PlaybackHandler gespeicherten Tick-Daten im Objekt
-     *         {@link currentTickData} zum nachfolgenden Tick. Falls keine Daten im Objekt {@link #currentTickData} zu
-     *         finden sind, wird <b>null</b> zurückgegeben.
+     * @param frame
+     *            Der zu befüllende Puffer
+     * @return <code>true</code>, falls der Puffer befüllt wurde. Falls keine Daten im Objekt {@link #currentTickData}
+     *         zu finden sind, wird der Puffer geleert und <code>false</code> zurückgegeben.
      */
-    public TickData getInterpolatedCurrentTickData() {
-        if (this.isAborted)
-            return null;
-        else {
-            if (!isRunning()) {
-                return getCurrentTickData();
-            } else {
-                int nextTickNumber = (playbackSpeedRate > 0) ? (int) (playbackPosition + 1)
-                        : (int) (playbackPosition - 1);
+    public boolean getInterpolatedCurrentFrame(InterpolatedFrame frame) {
+        if (this.isAborted) {
+            frame.clear();
+            return false;
+        } else if (!isRunning() || isScrubbing()) {
+            return InterpolationHelper.interpolate(getCurrentTickData(), null, 0, frame);
+        } else {
+            return interpolateFrame(this.playbackPosition, this.playbackSpeedRate, this.getCurrentTickData(), frame);
+        }
+    }
 
-                double percentage = this.playbackPosition;
-                percentage -= Math.floor(percentage);
-                if (playbackSpeedRate < 0)
-                    percentage = 1 - percentage;
+    /**
+     * Entspricht {@link #getInterpolatedCurrentFrame(InterpolatedFrame)}, jedoch wird die Wiedergabeposition für den
+     * angegebenen Zeitpunkt ermittelt. Dazu wird die Wiedergabeposition ausgehend von der letzten Aktualisierung durch
+     * den Timer fortgeschrieben, höchstens jedoch um eine Timer-Aktualisierung. Dient einer Darstellung mit eigenem
+     * Takt (siehe {@link SoSi.View.ActiveRenderingThread}), deren Bilder dadurch gleichmäßig fortschreiten, statt mit
+     * dem Timer zu interferieren.<br>
+     * Sämtliche Werte werden dem zuletzt vom Timer veröffentlichten {@link #playbackSnapshot} entnommen, so dass
+     * Position und Zeitpunkt der letzten Aktualisierung stets zusammenpassen.
+     * 
+     * @param nanoTime
+     *            Zeitpunkt der Darstellung entsprechend {@link System#nanoTime()}
+     * @param frame
+     *            Der zu befüllende Puffer
+     * @return <code>true</code>, falls der Puffer befüllt wurde, <code>false</code> falls keine Daten vorliegen.
+     */
+    public boolean getInterpolatedFrame(long nanoTime, InterpolatedFrame frame) {
+        if (this.isAborted) {
+            frame.clear();
+            return false;
+        } else if (!isRunning() || isScrubbing()) {
+            return InterpolationHelper.interpolate(getCurrentTickData(), null, 0, frame);
+        }
 
-                nextTickNumber = Math.max(0, nextTickNumber);
-                nextTickNumber = Math.min(dataHandler.getSimulationTickCount() - 1, nextTickNumber);
+        PlaybackSnapshot snapshot = this.playbackSnapshot;
+        if (snapshot == null)
+            return InterpolationHelper.interpolate(getCurrentTickData(), null, 0, frame);
 
-                TickData nextTickData = dataHandler.getTickPositionData(nextTickNumber);
+        double position = snapshot.position;
+        TickData baseTickData = snapshot.tickData;
+        double speedRate = snapshot.speedRate;
 
-                return InterpolationHelper.getInterpolatedTickData(this.getCurrentTickData(), nextTickData, percentage);
-            }
-        }
+        double timerStep = Math.abs(((double) TICKS_PER_SECOND / PLAYBACK_REFRESH_RATE) * speedRate);
+        double elapsedStep = (nanoTime - snapshot.updateNanos) / 1e9 * TICKS_PER_SECOND * Math.abs(speedRate);
+        elapsedStep = Math.max(0, Math.min(timerStep, elapsedStep));
+
+        double sampledPosition = position + Math.signum(speedRate) * elapsedStep;
+        sampledPosition = Math.max(0, Math.min(dataHandler.getSimulationTickCount() - 1, sampledPosition));
+
+        if ((int) sampledPosition != (int) position || baseTickData == null)
+            baseTickData = dataHandler.getTickPositionData((int) sampledPosition);
+
+        return interpolateFrame(sampledPosition, speedRate, baseTickData, frame);
+    }
+
+    /**
+     * Interpoliert zwischen den Tick-Daten der angegebenen Wiedergabeposition und dem in Wiedergaberichtung folgenden
+     * Tick.
+     * 
+     * @param position
+     *            Die Wiedergabeposition
+     * @param speedRate
+     *            Die Wiedergabegeschwindigkeit, deren Vorzeichen die Wiedergaberichtung bestimmt
+     * @param baseTickData
+     *            Die Tick-Daten an der (abgerundeten) Wiedergabeposition
+     * @param frame
+     *            Der zu befüllende Puffer
+     * @return <code>true</code>, falls der Puffer befüllt wurde
+     */
+    private boolean interpolateFrame(double position, double speedRate, TickData baseTickData,
+            InterpolatedFrame frame) {
+        int nextTickNumber = (speedRate > 0) ? (int) (position + 1) : (int) (position - 1);
+
+        double percentage = position;
+        percentage -= Math.floor(percentage);
+        if (speedRate < 0)
+            percentage = 1 - percentage;
+
+        nextTickNumber = Math.max(0, nextTickNumber);
+        nextTickNumber = Math.min(dataHandler.getSimulationTickCount() - 1, nextTickNumber);
+
+        TickData nextTickData = dataHandler.getTickPositionData(nextTickNumber);
+
+        return InterpolationHelper.interpolate(baseTickData, nextTickData, percentage, frame);
     }
 
     /**
@@ -407,6 +564,35 @@ public class PlaybackHandler extends Observable {
         return this.dataHandler.getTeamBName();
     }
 
+    /**
+     * Gibt das Laufzeitprofil der ersten KI zurück. Dieses wird von {@link DebuggingFrame} angezeigt.
+     * 
+     * @return Laufzeitprofil der erstgewählten KI, <code>null</code> falls keine Simulation berechnet wird bzw. diese
+     *         aus einer Datei geladen wurde.
+     */
+    public AIProfile getAiProfileTeamA() {
+        return (this.isAborted || this.dataHandler == null) ? null : this.dataHandler.getAiProfileTeamA();
+    }
+
+    /**
+     * Gibt das Laufzeitprofil der zweiten KI zurück. Dieses wird von {@link DebuggingFrame} angezeigt.
+     * 
+     * @return Laufzeitprofil der zweitgewählten KI, <code>null</code> falls keine Simulation berechnet wird bzw.
+     *         diese aus einer Datei geladen wurde.
+     */
+    public AIProfile getAiProfileTeamB() {
+        return (this.isAborted || this.dataHandler == null) ? null : this.dataHandler.getAiProfileTeamB();
+    }
+
+    /**
+     * Gibt die Position der Wiedergabe zurück.
+     * 
+     * @return Der aktuell wiedergegebene Tick
+     */
+    public int getPlaybackPosition() {
+        return (int) this.playbackPosition;
+    }
+
     /**
      * Wird verwendet, um den aktuellen Stand der Simulationsberechnungen zu erfragen, die im Hintergrund läuft. Der
      * Rückgabe-Wert dieser Methode wird von {@link SoccerTimeLine} verwendet, um anzuzeigen, wie weit die Berechnung
@@ -450,9 +636,18 @@ public class PlaybackHandler extends Observable {
         DataHandler newDataHandler = new DataHandler(path);
         this.dataHandler = newDataHandler;
         this.maximumTickNumber = this.dataHandler.getGameInformation().getMaximumTickNumber();
+        this.registerSimulationMonitor();
         this.play();
     }
 
+    /**
+     * Registriert die MBean zur Überwachung der soeben gestarteten Simulation.
+     */
+    private void registerSimulationMonitor() {
+        this.simulationMonitor = new SimulationMonitor(this, this.dataHandler);
+        this.simulationMonitor.register();
+    }
+
     /**
      * Wird verwendet, um eine bereits berechnete Simulation zu speichern. Hierzu wird ein Dateipfad angegeben, unter
      * dem die berechneten Daten gespeichert werden sollen. Die Datei muss in gültiger Form vorliegen, so dass die
@@ -479,7 +674,7 @@ public class PlaybackHandler extends Observable {
     // soll, zu steuern.
 
     /**
-     * Der im PlaybackHandler enthaltene Timer wird (wieder) gestartet. Darüber werden die Observer der
+     * Der im PlaybackHandler enthaltene Timer wird (wieder) gestartet. Darüber werden die Listener der
      * PlaybackHandlerinstanz in Kenntnis gesetzt.
      */
     public void play() {
@@ -502,7 +697,7 @@ public class PlaybackHandler extends Observable {
     }
 
     /**
-     * Der im PlaybackHandler enthaltene Timer wird gestoppt. Darüber werden die Observer der PlaybackHandlerinstanz in
+     * Der im PlaybackHandler enthaltene Timer wird gestoppt. Darüber werden die Listener der PlaybackHandlerinstanz in
      * Kenntnis gesetzt.
      */
     public void pause() {
@@ -534,11 +729,15 @@ public class PlaybackHandler extends Observable {
      * 
      * @param playbackSpeedRate
      *            Der Faktor, der zusammen mit der Normalwiedergabegeschwindigkeit die Wiedergabegeschwindigkeit angibt.
-     *            Dieser kann maximal im Betrag nur "10" sein.
+     *            Beträge oberhalb von {@value #MAX_PLAYBACK_SPEED_RATE} aktivieren den Scrub-Modus, Beträge oberhalb
+     *            von {@value #MAX_SCRUB_SPEED_RATE} werden auf diesen Wert beschränkt.
      */
     public void setPlaybackSpeedRate(double playbackSpeedRate) {
+        playbackSpeedRate = Math.max(-MAX_SCRUB_SPEED_RATE, Math.min(MAX_SCRUB_SPEED_RATE, playbackSpeedRate));
+
         if (playbackSpeedRate != this.playbackSpeedRate) {
             this.playbackSpeedRate = playbackSpeedRate;
+            this.publishPlaybackSnapshot();
             this.doNotify(SoccerUpdateEvent.PLAYBACK_SPEED_CHANGED);
         }
     }
@@ -555,7 +754,20 @@ public class PlaybackHandler extends Observable {
     }
 
     /**
-     * Bricht die aktuelle Berechnung ab und stoppt die Wiedergabe. Die Observer werden über den Abbruch informiert.
+     * Gibt zurück, ob sich die Wiedergabe im Scrub-Modus befindet. Dieser dient zum Überfliegen langer Simulationen
+     * und ist bei Geschwindigkeiten oberhalb von {@value #MAX_PLAYBACK_SPEED_RATE} aktiv. Dabei wird je
+     * Aktualisierung lediglich der Tick an der Wiedergabeposition ohne Interpolation dargestellt, die Schrittweite
+     * richtet sich nach der tatsächlich vergangenen Zeit und von den übersprungenen Events wird nur das gewichtigste
+     * weitergereicht.
+     * 
+     * @return <code>true</code>, falls der Scrub-Modus aktiv ist
+     */
+    public boolean isScrubbing() {
+        return Math.abs(this.playbackSpeedRate) > MAX_PLAYBACK_SPEED_RATE;
+    }
+
+    /**
+     * Bricht die aktuelle Berechnung ab und stoppt die Wiedergabe. Die Listener werden über den Abbruch informiert.
      */
     public void abort() {
         // Timer stoppen
@@ -566,6 +778,12 @@ public class PlaybackHandler extends Observable {
         if (this.dataHandler != null)
             this.dataHandler.abort();
 
+        // Überwachung beenden
+        if (this.simulationMonitor != null) {
+            this.simulationMonitor.unregister();
+            this.simulationMonitor = null;
+        }
+
         this.isAborted = true;
 
         this.doNotify(SoccerUpdateEvent.PLAYBACK_ABORTED);
@@ -736,6 +954,57 @@ public class PlaybackHandler extends Observable {
         this.doNotify(SoccerUpdateEvent.PLAYBACK_STEP);
     }
 
+    /**
+     * Springt zum nächsten Tick nach der aktuellen Wiedergabeposition, an welchem ein Event eingetreten ist. Die
+     * Suche erfolgt über den {@link TickEventIndex} und ist damit unabhängig von der Länge der Simulation. Eine aktive
+     * Wiedergabe wird ab dem Event fortgesetzt. Liegt (bisher) kein weiteres Event vor, bleibt die Wiedergabeposition
+     * unverändert.
+     */
+    public void jumpToNextEvent() {
+        if (dataHandler == null)
+            throw new IllegalStateException("Aufruf ungültig, es wurde noch keine Simulation gestartet!");
+
+        int eventTick = dataHandler.getTickEventIndex().getNextEventTick((int) this.playbackPosition,
+                NOTIFIED_TICK_EVENTS);
+
+        // Events noch nicht freigegebener Ticks ignorieren
+        if (eventTick != -1 && eventTick < dataHandler.getSimulationTickCount())
+            this.jumpToEvent(eventTick);
+    }
+
+    /**
+     * Springt zum letzten Tick vor der aktuellen Wiedergabeposition, an welchem ein Event eingetreten ist. Die Suche
+     * erfolgt über den {@link TickEventIndex} und ist damit unabhängig von der Länge der Simulation. Eine aktive
+     * Wiedergabe wird ab dem Event fortgesetzt. Liegt kein vorheriges Event vor, bleibt die Wiedergabeposition
+     * unverändert.
+     */
+    public void jumpToPreviousEvent() {
+        if (dataHandler == null)
+            throw new IllegalStateException("Aufruf ungültig, es wurde noch keine Simulation gestartet!");
+
+        int eventTick = dataHandler.getTickEventIndex().getPreviousEventTick((int) Math.ceil(this.playbackPosition),
+                NOTIFIED_TICK_EVENTS);
+
+        if (eventTick != -1)
+            this.jumpToEvent(eventTick);
+    }
+
+    /**
+     * Setzt die Wiedergabeposition auf den angegebenen Tick und benachrichtigt die Listener über das dort eingetretene
+     * Event.
+     * 
+     * @param eventTick
+     *            Tick-Position des Events
+     */
+    private void jumpToEvent(int eventTick) {
+        this.playbackPosition = eventTick;
+        restrictAndUpdatePlaybackPosition();
+
+        checkForNewTickEvent(eventTick);
+
+        this.doNotify(SoccerUpdateEvent.PLAYBACK_STEP);
+    }
+
     /**
      * Das currentTickData Objekt wird mit den Werten aktualisiert, die sich in der TickData Liste im DataHandler an der
      * Position tickPosition befinden.
@@ -779,22 +1048,45 @@ public class PlaybackHandler extends Observable {
     }
 
     /**
-     * Ruft setChanged auf und benachrichtigt die Observer über das neue Event
+     * Meldet einen Empfänger für die Ereignisse der Wiedergabe an.
      * 
-     * @param arg
-     *            Das neue Event, über welches die Observer benachrichtigt werden sollen.
+     * @param listener
+     *            Der Empfänger
+     * @param delivery
+     *            Thread, in welchem die Ereignisse zugestellt werden. Empfänger, welche Swing-Komponenten verändern,
+     *            verwenden {@link SoccerUpdateEventBus.Delivery#EVENT_DISPATCH_THREAD}.
      */
-    private void doNotify(Object arg) {
-        this.setChanged();
-        this.notifyObservers(arg);
+    public void addSoccerUpdateListener(ISoccerUpdateListener listener, SoccerUpdateEventBus.Delivery delivery) {
+        this.eventBus.addListener(listener, delivery);
+    }
+
+    /**
+     * Meldet einen Empfänger ab.
+     * 
+     * @param listener
+     *            Der Empfänger
+     */
+    public void removeSoccerUpdateListener(ISoccerUpdateListener listener) {
+        this.eventBus.removeListener(listener);
+    }
 
-        if (arg == SoccerUpdateEvent.SIMULATION_FINISHED) {
+    /**
+     * Benachrichtigt die Listener über das neue Event. Die Benachrichtigung erfolgt asynchron, die Methode wartet nicht
+     * auf die Empfänger.
+     * 
+     * @param event
+     *            Das neue Event, über welches die Listener benachrichtigt werden sollen.
+     */
+    private void doNotify(SoccerUpdateEvent event) {
+        this.eventBus.post(event);
+
+        if (event == SoccerUpdateEvent.SIMULATION_FINISHED) {
             this.simulationFinishedNotifySent = true;
         }
     }
 
     /**
-     * Benachrichtigt alle Observer über den aktuellen Stand der Wiedergabe.
+     * Benachrichtigt alle Listener über den aktuellen Stand der Wiedergabe.
      */
     public void notifyCurrentState() {
         if (this.isAborted)
@@ -817,4 +1109,41 @@ public class PlaybackHandler extends Observable {
         else
             return null;
     }
+
+    /**
+     * Unveränderlicher Zustand der Wiedergabe zu einem Zeitpunkt, welcher über ein einzelnes volatile-Feld
+     * veröffentlicht wird.
+     */
+    private static final class PlaybackSnapshot {
+
+        /**
+         * Die Wiedergabeposition
+         */
+        private final double position;
+
+        /**
+         * Die Wiedergabegeschwindigkeit
+         */
+        private final double speedRate;
+
+        /**
+         * Zeitpunkt (in Nanosekunden) der letzten Timer-Aktualisierung
+         */
+        private final long updateNanos;
+
+        /**
+         * Die Tick-Daten an der (abgerundeten) Wiedergabeposition, ggf. <code>null</code>
+         */
+        private final TickData tickData;
+
+        /**
+         * Erstellt einen neuen Zustand der Wiedergabe.
+         */
+        private PlaybackSnapshot(double position, double speedRate, long updateNanos, TickData tickData) {
+            this.position = position;
+            this.speedRate = speedRate;
+            this.updateNanos = updateNanos;
+            this.tickData = tickData;
+        }
+    }
 }
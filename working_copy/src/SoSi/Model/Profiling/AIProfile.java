@@ -0,0 +1,288 @@
+﻿package SoSi.Model.Profiling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import SoSi.Model.TickEvent;
+
+/**
+ * Laufzeitprofil einer KI über eine Simulation.<br>
+ * Für jeden Aufruf der KI werden die Wanduhrzeit, die CPU-Zeit sowie der im KI-Thread allokierte Speicher erfasst,
+ * getrennt nach aufgerufener Methode ({@link CallType}). Die Messwerte werden in {@link LogLinearHistogram}s
+ * gesammelt und können jederzeit während der Simulation ausgelesen werden.
+ */
+public class AIProfile {
+
+    /**
+     * Von der Simulation aufgerufene Methode der KI
+     */
+    public static enum CallType {
+        FREE_PLAY("freePlay"), KICK_OFF("kickOff"), FREE_KICK("freeKick");
+
+        /**
+         * Name der Methode in {@link sep.football.AI}
+         */
+        private final String methodName;
+
+        private CallType(String methodName) {
+            this.methodName = methodName;
+        }
+
+        /**
+         * Gibt die aufgerufene Methode zum TickEvent zurück, mit welchem die KI-Entscheidungen abgefragt werden.
+         *
+         * @param tickEvent
+         *            <code>null</code> für freies Spiel, {@link TickEvent#KICK_OFF} oder {@link TickEvent#FREE_KICK}
+         * @return Die aufgerufene Methode
+         */
+        public static CallType fromTickEvent(TickEvent tickEvent) {
+            if (tickEvent == null)
+                return FREE_PLAY;
+            else if (tickEvent == TickEvent.KICK_OFF)
+                return KICK_OFF;
+            else if (tickEvent == TickEvent.FREE_KICK)
+                return FREE_KICK;
+            else
+                throw new IllegalArgumentException("AiDecisions not valid for " + tickEvent.toString());
+        }
+
+        @Override
+        public String toString() {
+            return this.methodName;
+        }
+    }
+
+    /**
+     * Histogramme der Wanduhrzeit (in Nanosekunden) je Methode
+     */
+    private final LogLinearHistogram[] wallClockTimes;
+
+    /**
+     * Histogramme der CPU-Zeit (in Nanosekunden) je Methode
+     */
+    private final LogLinearHistogram[] cpuTimes;
+
+    /**
+     * Histogramme des allokierten Speichers (in Bytes) je Methode
+     */
+    private final LogLinearHistogram[] allocatedBytes;
+
+    /**
+     * Anzahl der wegen Zeitüberschreitung abgebrochenen Aufrufe je Methode
+     */
+    private final AtomicLong[] timeouts;
+
+    /**
+     * Anzahl der von der KI geworfenen Exceptions
+     */
+    private final AtomicLong exceptions = new AtomicLong();
+
+    /**
+     * Nach Fingerabdruck zusammengefasste Exceptions der KI
+     */
+    private final ExceptionStatistics exceptionStatistics = new ExceptionStatistics();
+
+    /**
+     * Erstellt ein neues, leeres Laufzeitprofil.
+     */
+    public AIProfile() {
+        int callTypes = CallType.values().length;
+        this.wallClockTimes = new LogLinearHistogram[callTypes];
+        this.cpuTimes = new LogLinearHistogram[callTypes];
+        this.allocatedBytes = new LogLinearHistogram[callTypes];
+        this.timeouts = new AtomicLong[callTypes];
+
+        for (int i = 0; i < callTypes; i++) {
+            this.wallClockTimes[i] = new LogLinearHistogram();
+            this.cpuTimes[i] = new LogLinearHistogram();
+            this.allocatedBytes[i] = new LogLinearHistogram();
+            this.timeouts[i] = new AtomicLong();
+        }
+    }
+
+    /**
+     * Erfasst die Messwerte eines Aufrufs der KI. Nicht verfügbare Messwerte werden mit einem negativen Wert
+     * angegeben und nicht erfasst.
+     *
+     * @param callType
+     *            Die aufgerufene Methode
+     * @param wallClockNanos
+     *            Wanduhrzeit des Aufrufs in Nanosekunden
+     * @param cpuNanos
+     *            CPU-Zeit des Aufrufs in Nanosekunden
+     * @param allocatedBytes
+     *            Im KI-Thread allokierter Speicher in Bytes
+     * @param timedOut
+     *            <code>true</code>, falls der Aufruf wegen Zeitüberschreitung abgebrochen wurde
+     */
+    public void record(CallType callType, long wallClockNanos, long cpuNanos, long allocatedBytes, boolean timedOut) {
+        int index = callType.ordinal();
+
+        this.wallClockTimes[index].record(wallClockNanos);
+        this.cpuTimes[index].record(cpuNanos);
+        this.allocatedBytes[index].record(allocatedBytes);
+
+        if (timedOut)
+            this.timeouts[index].incrementAndGet();
+    }
+
+    /**
+     * Erfasst eine von der KI geworfene Exception.
+     *
+     * @param e
+     *            Die geworfene Exception
+     * @param tickNumber
+     *            Der aktuelle Tick
+     * @return Fingerabdruck der Exception, siehe {@link ExceptionStatistics#record(Throwable, int)}
+     */
+    public ExceptionStatistics.Fingerprint recordException(Throwable e, int tickNumber) {
+        this.exceptions.incrementAndGet();
+        return this.exceptionStatistics.record(e, tickNumber);
+    }
+
+    /**
+     * Gibt das Histogramm der Wanduhrzeit (in Nanosekunden) der angegebenen Methode zurück.
+     *
+     * @param callType
+     *            Die aufgerufene Methode
+     * @return Histogramm der Wanduhrzeit
+     */
+    public LogLinearHistogram getWallClockTimes(CallType callType) {
+        return this.wallClockTimes[callType.ordinal()];
+    }
+
+    /**
+     * Gibt das Histogramm der CPU-Zeit (in Nanosekunden) der angegebenen Methode zurück. Bei KIs in einem separaten
+     * Prozess ist dieses leer.
+     *
+     * @param callType
+     *            Die aufgerufene Methode
+     * @return Histogramm der CPU-Zeit
+     */
+    public LogLinearHistogram getCpuTimes(CallType callType) {
+        return this.cpuTimes[callType.ordinal()];
+    }
+
+    /**
+     * Gibt das Histogramm des allokierten Speichers (in Bytes) der angegebenen Methode zurück. Ist leer, falls die JVM
+     * die Messung nicht unterstützt oder die KI in einem separaten Prozess läuft.
+     *
+     * @param callType
+     *            Die aufgerufene Methode
+     * @return Histogramm des allokierten Speichers
+     */
+    public LogLinearHistogram getAllocatedBytes(CallType callType) {
+        return this.allocatedBytes[callType.ordinal()];
+    }
+
+    /**
+     * Gibt die Anzahl der wegen Zeitüberschreitung abgebrochenen Aufrufe der angegebenen Methode zurück.
+     *
+     * @param callType
+     *            Die aufgerufene Methode
+     * @return Anzahl der abgebrochenen Aufrufe
+     */
+    public long getTimeoutCount(CallType callType) {
+        return this.timeouts[callType.ordinal()].get();
+    }
+
+    /**
+     * Gibt die Anzahl der wegen Zeitüberschreitung abgebrochenen Aufrufe über alle Methoden zurück.
+     *
+     * @return Anzahl der abgebrochenen Aufrufe
+     */
+    public long getTimeoutCount() {
+        long count = 0;
+        for (AtomicLong timeout : this.timeouts)
+            count += timeout.get();
+
+        return count;
+    }
+
+    /**
+     * Gibt die Anzahl der von der KI geworfenen Exceptions zurück.
+     *
+     * @return Anzahl der Exceptions
+     */
+    public long getExceptionCount() {
+        return this.exceptions.get();
+    }
+
+    /**
+     * Gibt die nach Fingerabdruck zusammengefassten Exceptions der KI zurück.
+     *
+     * @return Statistik der Exceptions
+     */
+    public ExceptionStatistics getExceptionStatistics() {
+        return this.exceptionStatistics;
+    }
+
+    /**
+     * Erstellt ein unveränderliches Ergebnis aus dem aktuellen Stand des Laufzeitprofils.
+     *
+     * @return Ergebnis des Laufzeitprofils
+     */
+    public AIProfileResult createResult() {
+        return new AIProfileResult(this);
+    }
+
+    /**
+     * Erstellt eine Übersicht über das Laufzeitprofil mit Median, 99. Perzentil und Maximum je Methode und Messgröße.
+     * Methoden, welche bisher nicht aufgerufen wurden, werden ausgelassen. Anschließend folgt die Anzahl der
+     * Exceptions je Fingerabdruck.
+     *
+     * @return Mehrzeilige Übersicht
+     */
+    public String createReport() {
+        StringBuilder report = new StringBuilder();
+
+        for (CallType callType : CallType.values()) {
+            LogLinearHistogram wallClock = this.getWallClockTimes(callType);
+            if (wallClock.getCount() == 0)
+                continue;
+
+            report.append(String.format("%s: %d Aufrufe, %d abgebrochen%n", callType, wallClock.getCount(),
+                    this.getTimeoutCount(callType)));
+            appendTimes(report, "Zeit", wallClock);
+            appendTimes(report, "CPU", this.getCpuTimes(callType));
+
+            LogLinearHistogram allocated = this.getAllocatedBytes(callType);
+            if (allocated.getCount() > 0) {
+                report.append(String.format("  Speicher p50 %.1f  p99 %.1f  max %.1f KB%n",
+                        allocated.getValueAtPercentile(50) / 1024d, allocated.getValueAtPercentile(99) / 1024d,
+                        allocated.getMax() / 1024d));
+            }
+        }
+
+        for (ExceptionStatistics.Fingerprint fingerprint : this.exceptionStatistics.getFingerprints()) {
+            report.append(String.format("Exception %s [#%s]: %d-mal, erstmals in Tick %d%n",
+                    fingerprint.getExceptionClassName(), fingerprint.getId(), fingerprint.getCount(),
+                    fingerprint.getFirstTick()));
+        }
+        long unclassifiedCount = this.exceptionStatistics.getUnclassifiedCount();
+        if (unclassifiedCount > 0) {
+            report.append(String.format("Weitere Exceptions: %d-mal%n", unclassifiedCount));
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Fügt die Perzentile eines Zeit-Histogramms in Millisekunden zur Übersicht hinzu, sofern Messwerte vorliegen.
+     */
+    private static void appendTimes(StringBuilder report, String label, LogLinearHistogram histogram) {
+        if (histogram.getCount() == 0)
+            return;
+
+        report.append(String.format("  %-8s p50 %.3f  p99 %.3f  max %.3f ms%n", label,
+                toMilliseconds(histogram.getValueAtPercentile(50)), toMilliseconds(histogram.getValueAtPercentile(99)),
+                toMilliseconds(histogram.getMax())));
+    }
+
+    /**
+     * Rechnet Nanosekunden in Millisekunden um.
+     */
+    private static double toMilliseconds(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,321 @@
+﻿package SoSi.Model.Profiling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import SoSi.Model.Profiling.AIProfile.CallType;
+
+/**
+ * Unveränderliches Ergebnis eines {@link AIProfile} nach Ende einer Simulation, z.B. für die Ergebnisse einer
+ * Simulation ohne Oberfläche.<br>
+ * Enthält je Methode Median und 99. Perzentil der Messgrößen sowie die Anzahl der Exceptions je Fingerabdruck mit
+ * dem Stacktrace des ersten Auftretens. {@link #toString()} fasst das Ergebnis in einer Zeile zusammen.
+ */
+public class AIProfileResult {
+
+    /**
+     * Ergebnis der Aufrufe einer Methode der KI
+     */
+    public static class CallResult {
+
+        /**
+         * Anzahl der Aufrufe
+         */
+        private final long callCount;
+
+        /**
+         * Anzahl der wegen Zeitüberschreitung abgebrochenen Aufrufe
+         */
+        private final long timeoutCount;
+
+        /**
+         * Median der Wanduhrzeit in Nanosekunden
+         */
+        private final long wallClockP50;
+
+        /**
+         * 99. Perzentil der Wanduhrzeit in Nanosekunden
+         */
+        private final long wallClockP99;
+
+        /**
+         * Median der CPU-Zeit in Nanosekunden, 0 falls nicht gemessen
+         */
+        private final long cpuP50;
+
+        /**
+         * 99. Perzentil der CPU-Zeit in Nanosekunden, 0 falls nicht gemessen
+         */
+        private final long cpuP99;
+
+        /**
+         * Median des allokierten Speichers in Bytes, 0 falls nicht gemessen
+         */
+        private final long allocatedBytesP50;
+
+        /**
+         * 99. Perzentil des allokierten Speichers in Bytes, 0 falls nicht gemessen
+         */
+        private final long allocatedBytesP99;
+
+        private CallResult(AIProfile profile, CallType callType) {
+            LogLinearHistogram wallClock = profile.getWallClockTimes(callType);
+            LogLinearHistogram cpu = profile.getCpuTimes(callType);
+            LogLinearHistogram allocated = profile.getAllocatedBytes(callType);
+
+            this.callCount = wallClock.getCount();
+            this.timeoutCount = profile.getTimeoutCount(callType);
+            this.wallClockP50 = wallClock.getValueAtPercentile(50);
+            this.wallClockP99 = wallClock.getValueAtPercentile(99);
+            this.cpuP50 = cpu.getValueAtPercentile(50);
+            this.cpuP99 = cpu.getValueAtPercentile(99);
+            this.allocatedBytesP50 = allocated.getValueAtPercentile(50);
+            this.allocatedBytesP99 = allocated.getValueAtPercentile(99);
+        }
+
+        /**
+         * @return Anzahl der Aufrufe
+         */
+        public long getCallCount() {
+            return this.callCount;
+        }
+
+        /**
+         * @return Anzahl der wegen Zeitüberschreitung abgebrochenen Aufrufe
+         */
+        public long getTimeoutCount() {
+            return this.timeoutCount;
+        }
+
+        /**
+         * @return Median der Wanduhrzeit in Nanosekunden
+         */
+        public long getWallClockP50() {
+            return this.wallClockP50;
+        }
+
+        /**
+         * @return 99. Perzentil der Wanduhrzeit in Nanosekunden
+         */
+        public long getWallClockP99() {
+            return this.wallClockP99;
+        }
+
+        /**
+         * @return Median der CPU-Zeit in Nanosekunden, 0 falls nicht gemessen
+         */
+        public long getCpuP50() {
+            return this.cpuP50;
+        }
+
+        /**
+         * @return 99. Perzentil der CPU-Zeit in Nanosekunden, 0 falls nicht gemessen
+         */
+        public long getCpuP99() {
+            return this.cpuP99;
+        }
+
+        /**
+         * @return Median des allokierten Speichers in Bytes, 0 falls nicht gemessen
+         */
+        public long getAllocatedBytesP50() {
+            return this.allocatedBytesP50;
+        }
+
+        /**
+         * @return 99. Perzentil des allokierten Speichers in Bytes, 0 falls nicht gemessen
+         */
+        public long getAllocatedBytesP99() {
+            return this.allocatedBytesP99;
+        }
+    }
+
+    /**
+     * Anzahl der Exceptions mit gleichem Fingerabdruck
+     */
+    public static class FingerprintResult {
+
+        /**
+         * Kennung des Fingerabdrucks, siehe {@link ExceptionStatistics.Fingerprint#getId()}
+         */
+        private final String id;
+
+        /**
+         * Name der Exception-Klasse
+         */
+        private final String exceptionClassName;
+
+        /**
+         * Vollständiger Stacktrace des ersten Auftretens
+         */
+        private final String firstStackTrace;
+
+        /**
+         * Tick des ersten Auftretens
+         */
+        private final int firstTick;
+
+        /**
+         * Anzahl des Auftretens
+         */
+        private final long count;
+
+        private FingerprintResult(ExceptionStatistics.Fingerprint fingerprint) {
+            this.id = fingerprint.getId();
+            this.exceptionClassName = fingerprint.getExceptionClassName();
+            this.firstStackTrace = fingerprint.getFirstStackTrace();
+            this.firstTick = fingerprint.getFirstTick();
+            this.count = fingerprint.getCount();
+        }
+
+        /**
+         * @return Kennung des Fingerabdrucks
+         */
+        public String getId() {
+            return this.id;
+        }
+
+        /**
+         * @return Name der Exception-Klasse
+         */
+        public String getExceptionClassName() {
+            return this.exceptionClassName;
+        }
+
+        /**
+         * @return Vollständiger Stacktrace des ersten Auftretens
+         */
+        public String getFirstStackTrace() {
+            return this.firstStackTrace;
+        }
+
+        /**
+         * @return Tick des ersten Auftretens
+         */
+        public int getFirstTick() {
+            return this.firstTick;
+        }
+
+        /**
+         * @return Anzahl des Auftretens
+         */
+        public long getCount() {
+            return this.count;
+        }
+    }
+
+    /**
+     * Ergebnisse je Methode, Index entspricht {@link CallType#ordinal()}
+     */
+    private final CallResult[] callResults;
+
+    /**
+     * Anzahl der von der KI geworfenen Exceptions
+     */
+    private final long exceptionCount;
+
+    /**
+     * Exceptions je Fingerabdruck, absteigend sortiert nach Anzahl
+     */
+    private final List<FingerprintResult> fingerprints;
+
+    /**
+     * Anzahl der Exceptions, welche keinem Fingerabdruck zugeordnet wurden
+     */
+    private final long unclassifiedExceptionCount;
+
+    /**
+     * Erstellt das Ergebnis aus dem aktuellen Stand eines Laufzeitprofils.
+     *
+     * @param profile
+     *            Das auszuwertende Laufzeitprofil
+     */
+    AIProfileResult(AIProfile profile) {
+        CallType[] callTypes = CallType.values();
+        this.callResults = new CallResult[callTypes.length];
+        for (CallType callType : callTypes)
+            this.callResults[callType.ordinal()] = new CallResult(profile, callType);
+
+        this.exceptionCount = profile.getExceptionCount();
+
+        ExceptionStatistics exceptionStatistics = profile.getExceptionStatistics();
+        List<FingerprintResult> fingerprintResults = new ArrayList<FingerprintResult>();
+        for (ExceptionStatistics.Fingerprint fingerprint : exceptionStatistics.getFingerprints())
+            fingerprintResults.add(new FingerprintResult(fingerprint));
+
+        this.fingerprints = Collections.unmodifiableList(fingerprintResults);
+        this.unclassifiedExceptionCount = exceptionStatistics.getUnclassifiedCount();
+    }
+
+    /**
+     * Gibt das Ergebnis der Aufrufe der angegebenen Methode zurück.
+     *
+     * @param callType
+     *            Die aufgerufene Methode
+     * @return Ergebnis der Aufrufe
+     */
+    public CallResult getCallResult(CallType callType) {
+        return this.callResults[callType.ordinal()];
+    }
+
+    /**
+     * @return Anzahl der von der KI geworfenen Exceptions
+     */
+    public long getExceptionCount() {
+        return this.exceptionCount;
+    }
+
+    /**
+     * @return Exceptions je Fingerabdruck, absteigend sortiert nach Anzahl
+     */
+    public List<FingerprintResult> getFingerprints() {
+        return this.fingerprints;
+    }
+
+    /**
+     * @return Anzahl der Exceptions, welche keinem Fingerabdruck zugeordnet wurden
+     */
+    public long getUnclassifiedExceptionCount() {
+        return this.unclassifiedExceptionCount;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+
+        for (CallType callType : CallType.values()) {
+            CallResult callResult = this.getCallResult(callType);
+            if (callResult.getCallCount() == 0)
+                continue;
+
+            if (result.length() > 0)
+                result.append(", ");
+            result.append(String.format("%s p50 %.3f ms p99 %.3f ms (%d Aufrufe, %d abgebrochen)", callType,
+                    toMilliseconds(callResult.getWallClockP50()), toMilliseconds(callResult.getWallClockP99()),
+                    callResult.getCallCount(), callResult.getTimeoutCount()));
+        }
+
+        result.append(String.format(", Exceptions %d", this.exceptionCount));
+        for (FingerprintResult fingerprint : this.fingerprints) {
+            result.append(String.format(", %s [#%s] %d-mal", fingerprint.getExceptionClassName(), fingerprint.getId(),
+                    fingerprint.getCount()));
+        }
+        if (this.unclassifiedExceptionCount > 0)
+            result.append(String.format(", weitere %d-mal", this.unclassifiedExceptionCount));
+
+        return result.toString();
+    }
+
+    /**
+     * Rechnet Nanosekunden in Millisekunden um.
+     *
+     * @param nanos
+     *            Dauer in Nanosekunden
+     * @return Dauer in Millisekunden
+     */
+    private static double toMilliseconds(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,207 @@
+﻿package SoSi.Model.Profiling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statistik der von einer KI geworfenen Exceptions.<br>
+ * Gleichartige Exceptions werden anhand eines Fingerabdrucks aus der Exception-Klasse und den obersten
+ * {@link #FINGERPRINT_FRAMES} Einträgen des Stacktraces zusammengefasst. Der vollständige Stacktrace wird nur beim
+ * ersten Auftreten gespeichert, danach wird lediglich die Anzahl erhöht. Wirft eine KI in jedem Tick dieselbe
+ * Exception, bleibt der Speicherbedarf daher konstant.
+ */
+public class ExceptionStatistics {
+
+    /**
+     * Anzahl der obersten Einträge des Stacktraces, welche in den Fingerabdruck einfließen
+     */
+    public static final int FINGERPRINT_FRAMES = 5;
+
+    /**
+     * Maximale Anzahl unterschiedlicher Fingerabdrücke. Weitere Exceptions werden nur in
+     * {@link #getUnclassifiedCount()} gezählt.
+     */
+    private static final int MAX_FINGERPRINTS = 64;
+
+    /**
+     * Zusammengefasste Exceptions mit gleichem Fingerabdruck
+     */
+    public static class Fingerprint {
+
+        /**
+         * Der Fingerabdruck
+         */
+        private final long id;
+
+        /**
+         * Name der Exception-Klasse
+         */
+        private final String exceptionClassName;
+
+        /**
+         * Vollständiger Stacktrace des ersten Auftretens
+         */
+        private final String firstStackTrace;
+
+        /**
+         * Tick des ersten Auftretens
+         */
+        private final int firstTick;
+
+        /**
+         * Anzahl des Auftretens
+         */
+        private final AtomicLong count = new AtomicLong();
+
+        private Fingerprint(long id, Throwable e, int firstTick) {
+            this.id = id;
+            this.exceptionClassName = e.getClass().getName();
+            this.firstStackTrace = createStackTrace(e);
+            this.firstTick = firstTick;
+        }
+
+        /**
+         * Gibt den Fingerabdruck als hexadezimale Zeichenkette zurück.
+         *
+         * @return Kennung des Fingerabdrucks
+         */
+        public String getId() {
+            return String.format("%016x", this.id);
+        }
+
+        /**
+         * @return Name der Exception-Klasse
+         */
+        public String getExceptionClassName() {
+            return this.exceptionClassName;
+        }
+
+        /**
+         * @return Vollständiger Stacktrace des ersten Auftretens
+         */
+        public String getFirstStackTrace() {
+            return this.firstStackTrace;
+        }
+
+        /**
+         * @return Tick des ersten Auftretens
+         */
+        public int getFirstTick() {
+            return this.firstTick;
+        }
+
+        /**
+         * @return Anzahl des Auftretens
+         */
+        public long getCount() {
+            return this.count.get();
+        }
+    }
+
+    /**
+     * Bisher aufgetretene Fingerabdrücke
+     */
+    private final ConcurrentHashMap<Long, Fingerprint> fingerprints = new ConcurrentHashMap<Long, Fingerprint>();
+
+    /**
+     * Anzahl der Exceptions, welche wegen {@link #MAX_FINGERPRINTS} keinem Fingerabdruck zugeordnet wurden
+     */
+    private final AtomicLong unclassifiedCount = new AtomicLong();
+
+    /**
+     * Erfasst eine Exception.
+     *
+     * @param e
+     *            Die aufgetretene Exception
+     * @param tickNumber
+     *            Der aktuelle Tick
+     * @return Der Fingerabdruck der Exception, dessen Anzahl bereits erhöht ist. <code>null</code>, falls bereits
+     *         {@link #MAX_FINGERPRINTS} unterschiedliche Fingerabdrücke erfasst wurden.
+     */
+    public Fingerprint record(Throwable e, int tickNumber) {
+        long id = computeFingerprint(e);
+        Fingerprint fingerprint = this.fingerprints.get(id);
+
+        if (fingerprint == null) {
+            if (this.fingerprints.size() >= MAX_FINGERPRINTS) {
+                this.unclassifiedCount.incrementAndGet();
+                return null;
+            }
+
+            Fingerprint newFingerprint = new Fingerprint(id, e, tickNumber);
+            fingerprint = this.fingerprints.putIfAbsent(id, newFingerprint);
+            if (fingerprint == null)
+                fingerprint = newFingerprint;
+        }
+
+        fingerprint.count.incrementAndGet();
+        return fingerprint;
+    }
+
+    /**
+     * Berechnet den Fingerabdruck einer Exception aus deren Klasse und den obersten Einträgen des Stacktraces.
+     */
+    private static long computeFingerprint(Throwable e) {
+        long hash = e.getClass().getName().hashCode();
+
+        StackTraceElement[] stackTrace = e.getStackTrace();
+        for (int i = 0; i < Math.min(stackTrace.length, FINGERPRINT_FRAMES); i++) {
+            hash = 31 * hash + stackTrace[i].getClassName().hashCode();
+            hash = 31 * hash + stackTrace[i].getMethodName().hashCode();
+            hash = 31 * hash + stackTrace[i].getLineNumber();
+        }
+
+        // Bits durchmischen (Finalizer von MurmurHash3), damit ähnliche Stacktraces unterschiedliche Kennungen erhalten
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    /**
+     * Erstellt den vollständigen Stacktrace einer Exception.
+     */
+    private static String createStackTrace(Throwable e) {
+        StringBuilder text = new StringBuilder();
+        text.append("Exception: ").append(e.getClass().getName()).append('\n');
+        text.append("Message: ").append(e.getMessage()).append('\n');
+        text.append("\nStacktrace:");
+
+        for (StackTraceElement line : e.getStackTrace()) {
+            text.append("\n  ").append(line.toString());
+        }
+
+        return text.toString();
+    }
+
+    /**
+     * Gibt die bisher erfassten Fingerabdrücke absteigend sortiert nach Anzahl zurück.
+     *
+     * @return Liste der Fingerabdrücke
+     */
+    public List<Fingerprint> getFingerprints() {
+        List<Fingerprint> result = new ArrayList<Fingerprint>(this.fingerprints.values());
+        Collections.sort(result, new Comparator<Fingerprint>() {
+            @Override
+            public int compare(Fingerprint a, Fingerprint b) {
+                long countA = a.getCount(), countB = b.getCount();
+                return (countA < countB) ? 1 : ((countA == countB) ? 0 : -1);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * Gibt die Anzahl der Exceptions zurück, welche keinem Fingerabdruck zugeordnet wurden.
+     *
+     * @return Anzahl der Exceptions
+     */
+    public long getUnclassifiedCount() {
+        return this.unclassifiedCount.get();
+    }
+}
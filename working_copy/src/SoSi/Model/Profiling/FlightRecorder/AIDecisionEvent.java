@@ -0,0 +1,41 @@
+﻿package SoSi.Model.Profiling.FlightRecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight-Recorder-Event für die Entscheidung einer KI. Die Dauer des Events entspricht der Wartezeit der Simulation auf
+ * die Entscheidungen beider KIs, die Dauer der einzelnen KI ist in {@link #wallClockTime} enthalten.
+ */
+@Name("SoSi.AIDecision")
+@Label("AI Decision")
+@Category({ "SoSi", "Simulation" })
+@Description("Decision of one AI within a tick")
+public class AIDecisionEvent extends Event {
+
+    @Label("Team")
+    public String team;
+
+    @Label("Method")
+    @Description("Called AI method (freePlay, kickOff or freeKick)")
+    public String method;
+
+    @Label("Tick Number")
+    public int tickNumber;
+
+    @Label("Wall Clock Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long wallClockTime;
+
+    @Label("CPU Time")
+    @Description("CPU time of the AI thread, wall clock time for AIs running in a separate process")
+    @Timespan(Timespan.NANOSECONDS)
+    public long cpuTime;
+
+    @Label("Timed Out")
+    public boolean timedOut;
+}
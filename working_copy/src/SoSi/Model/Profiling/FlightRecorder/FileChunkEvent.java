@@ -0,0 +1,38 @@
+﻿package SoSi.Model.Profiling.FlightRecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight-Recorder-Event für das Speichern bzw. Laden eines Eintrags einer Simulationsdatei.
+ */
+@Name("SoSi.FileChunk")
+@Label("Simulation File Chunk")
+@Category({ "SoSi", "I/O" })
+@Description("Saving or loading a single entry of a simulation file")
+public class FileChunkEvent extends Event {
+
+    /**
+     * Wert von {@link #operation} beim Speichern
+     */
+    public static final String SAVE = "save";
+
+    /**
+     * Wert von {@link #operation} beim Laden
+     */
+    public static final String LOAD = "load";
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Entry")
+    public String entry;
+
+    @Label("Compressed Size")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,32 @@
+﻿package SoSi.Model.Profiling.FlightRecorder;
+
+/**
+ * Prüft, ob die Laufzeitumgebung das Event-API des Java Flight Recorders (<code>jdk.jfr</code>) bereitstellt.<br>
+ * Die Event-Klassen dieses Pakets werden ausschließlich erzeugt, falls {@link #AVAILABLE}. Ist keine Aufzeichnung
+ * aktiv, verwirft der Flight Recorder die Events bereits beim Erzeugen, so dass die Messungen keine nennenswerten
+ * Kosten verursachen.
+ */
+public final class FlightRecorderSupport {
+
+    /**
+     * Flag, ob <code>jdk.jfr</code> verfügbar ist (ab Java 11 bzw. OpenJDK 8u272)
+     */
+    public static final boolean AVAILABLE = isFlightRecorderAvailable();
+
+    private FlightRecorderSupport() {
+    }
+
+    /**
+     * Prüft, ob die Basisklasse der Events geladen werden kann.
+     */
+    private static boolean isFlightRecorderAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+}
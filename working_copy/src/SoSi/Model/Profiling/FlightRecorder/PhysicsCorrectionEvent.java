@@ -0,0 +1,24 @@
+﻿package SoSi.Model.Profiling.FlightRecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight-Recorder-Event für die Korrektur der Positionen sämtlicher Spielobjekte innerhalb eines Ticks.
+ */
+@Name("SoSi.PhysicsCorrection")
+@Label("Physics Correction")
+@Category({ "SoSi", "Simulation" })
+@Description("Correction of overlapping game objects within a tick")
+public class PhysicsCorrectionEvent extends Event {
+
+    @Label("Tick Number")
+    public int tickNumber;
+
+    @Label("Passes")
+    @Description("Number of passes over all pairs of game objects until no object had to be moved")
+    public int passes;
+}
@@ -0,0 +1,21 @@
+﻿package SoSi.Model.Profiling.FlightRecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight-Recorder-Event für das Zeichnen eines Frames des Spielfelds.
+ */
+@Name("SoSi.PlaybackFrame")
+@Label("Playback Frame")
+@Category({ "SoSi", "View" })
+@Description("Painting of the soccer field")
+public class PlaybackFrameEvent extends Event {
+
+    @Label("Tick Number")
+    @Description("Painted tick, -1 if no tick data was available")
+    public int tickNumber;
+}
@@ -0,0 +1,25 @@
+﻿package SoSi.Model.Profiling.FlightRecorder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight-Recorder-Event für die Berechnung eines Ticks inkl. Speichern der Tick-Daten. Die Dauer des Events entspricht
+ * der Dauer der Berechnung.
+ */
+@Name("SoSi.TickComputed")
+@Label("Tick Computed")
+@Category({ "SoSi", "Simulation" })
+@Description("Calculation of a single simulation tick including storing its tick data")
+public class TickComputedEvent extends Event {
+
+    @Label("Tick Number")
+    public int tickNumber;
+
+    @Label("Tick Event")
+    @Description("Event of the tick, empty during free play")
+    public String tickEvent;
+}
@@ -0,0 +1,160 @@
+﻿package SoSi.Model.Profiling;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogramm für nicht-negative Messwerte (z.B. Dauer in Nanosekunden oder Speicher in Bytes) mit logarithmisch
+ * gestaffelten Klassen, angelehnt an HdrHistogram.<br>
+ * Jede Zweierpotenz wird in {@link #SUB_BUCKET_COUNT}/2 gleich breite Klassen unterteilt, so dass der relative Fehler
+ * eines ausgelesenen Perzentils unabhängig von der Größenordnung höchstens 1,6% beträgt. Sämtliche Klassen werden
+ * einmalig im Konstruktor angelegt; das Erfassen eines Messwerts erzeugt keine Objekte.<br>
+ * Die Klasse ist für genau einen schreibenden Thread ausgelegt, kann aber jederzeit von anderen Threads ausgelesen
+ * werden. Ein während des Auslesens erfasster Messwert ist dabei ggf. nur teilweise berücksichtigt.
+ */
+public class LogLinearHistogram {
+
+    /**
+     * Anzahl der Bits, welche innerhalb einer Zweierpotenz zur Unterteilung verwendet werden
+     */
+    private static final int SUB_BUCKET_BITS = 7;
+
+    /**
+     * Anzahl der Klassen, in welchen Messwerte exakt erfasst werden. Oberhalb werden je Zweierpotenz halb so viele
+     * Klassen verwendet.
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Größte Zweierpotenz, bis zu welcher Messwerte unterschieden werden. Größere Messwerte werden der obersten Klasse
+     * zugeordnet, das Maximum wird dennoch exakt erfasst.
+     */
+    private static final int MAX_EXPONENT = 40;
+
+    /**
+     * Anzahl der Messwerte je Klasse
+     */
+    private final AtomicLongArray counts;
+
+    /**
+     * Anzahl aller erfassten Messwerte
+     */
+    private final AtomicLong totalCount = new AtomicLong();
+
+    /**
+     * Summe aller erfassten Messwerte
+     */
+    private final AtomicLong totalSum = new AtomicLong();
+
+    /**
+     * Größter erfasster Messwert
+     */
+    private volatile long maxValue = 0;
+
+    /**
+     * Erstellt ein neues, leeres Histogramm.
+     */
+    public LogLinearHistogram() {
+        this.counts = new AtomicLongArray(getBucketIndex((1L << (MAX_EXPONENT + 1)) - 1) + 1);
+    }
+
+    /**
+     * Berechnet die Klasse eines Messwerts.
+     */
+    private static int getBucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT)
+            return (int) value;
+
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT);
+        int shift = exponent - SUB_BUCKET_BITS + 1;
+        int subBucket = (int) Math.min(value >>> shift, SUB_BUCKET_COUNT - 1);
+
+        return SUB_BUCKET_COUNT + (shift - 1) * (SUB_BUCKET_COUNT / 2) + (subBucket - SUB_BUCKET_COUNT / 2);
+    }
+
+    /**
+     * Berechnet den größten Messwert, welcher der angegebenen Klasse zugeordnet wird.
+     */
+    private static long getBucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT)
+            return index;
+
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / (SUB_BUCKET_COUNT / 2) + 1;
+        long subBucket = offset % (SUB_BUCKET_COUNT / 2) + SUB_BUCKET_COUNT / 2;
+
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Erfasst einen Messwert.
+     *
+     * @param value
+     *            Der Messwert, negative Werte werden ignoriert
+     */
+    public void record(long value) {
+        if (value < 0)
+            return;
+
+        this.counts.incrementAndGet(getBucketIndex(value));
+        this.totalSum.addAndGet(value);
+        if (value > this.maxValue)
+            this.maxValue = value;
+        this.totalCount.incrementAndGet();
+    }
+
+    /**
+     * Gibt die Anzahl der erfassten Messwerte zurück.
+     *
+     * @return Anzahl der Messwerte
+     */
+    public long getCount() {
+        return this.totalCount.get();
+    }
+
+    /**
+     * Gibt den größten erfassten Messwert zurück.
+     *
+     * @return Maximum, 0 falls noch kein Messwert erfasst wurde
+     */
+    public long getMax() {
+        return this.maxValue;
+    }
+
+    /**
+     * Gibt den Mittelwert der erfassten Messwerte zurück.
+     *
+     * @return Mittelwert, 0 falls noch kein Messwert erfasst wurde
+     */
+    public double getMean() {
+        long count = this.totalCount.get();
+        return (count == 0) ? 0 : (double) this.totalSum.get() / count;
+    }
+
+    /**
+     * Gibt den Messwert zurück, welcher von dem angegebenen Anteil der Messwerte nicht überschritten wird. Es wird die
+     * obere Grenze der entsprechenden Klasse zurückgegeben, höchstens jedoch das Maximum.
+     *
+     * @param percentile
+     *            Perzentil im Bereich [0; 100]
+     * @return Wert des Perzentils, 0 falls noch kein Messwert erfasst wurde
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("percentile must be within [0; 100]");
+
+        long count = this.totalCount.get();
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < this.counts.length(); i++) {
+            seen += this.counts.get(i);
+            if (seen >= rank)
+                return Math.min(getBucketUpperBound(i), this.maxValue);
+        }
+
+        return this.maxValue;
+    }
+}
@@ -0,0 +1,169 @@
+﻿package SoSi.Model.Profiling;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Profiler für die einzelnen Phasen der Berechnung eines Ticks (Physik-Berechnungen, Regelauswertungen, Abfrage der
+ * KI-Entscheidungen und Speichern der Tick-Daten) über eine Simulation.<br>
+ * Die Phasen werden einmalig beim Erstellen der Simulation registriert. Die Dauer jeder Phase wird anschließend in
+ * lock-freien Zählern aufsummiert, welche jederzeit ausgelesen werden können.<br>
+ * Der Profiler wird über die System-Property {@value #ENABLED_PROPERTY} beim Programmstart aktiviert. Da
+ * {@link #ENABLED} eine Konstante ist, entfernt der JIT-Compiler sämtliche Messungen, sofern der Profiler deaktiviert
+ * ist. Aufrufer prüfen daher vor jeder Messung {@link #ENABLED}.
+ */
+public class TickProfiler {
+
+    /**
+     * Name der System-Property, über welche der Profiler aktiviert wird
+     */
+    public static final String ENABLED_PROPERTY = "sosi.tickProfiler";
+
+    /**
+     * Flag, ob die Phasen der Tick-Berechnung gemessen werden
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /**
+     * Maximale Anzahl an Phasen je Simulation
+     */
+    private static final int MAX_PHASES = 32;
+
+    /**
+     * Namen der registrierten Phasen
+     */
+    private final String[] phaseNames = new String[MAX_PHASES];
+
+    /**
+     * Anzahl der registrierten Phasen
+     */
+    private volatile int phaseCount = 0;
+
+    /**
+     * Aufsummierte Dauer (in Nanosekunden) je Phase
+     */
+    private final AtomicLongArray phaseNanos = new AtomicLongArray(MAX_PHASES);
+
+    /**
+     * Anzahl der Messungen je Phase
+     */
+    private final AtomicLongArray phaseCalls = new AtomicLongArray(MAX_PHASES);
+
+    /**
+     * Aufsummierte Gesamtdauer (in Nanosekunden) der Ticks inkl. Speichern
+     */
+    private final AtomicLong tickNanos = new AtomicLong();
+
+    /**
+     * Anzahl der gemessenen Ticks
+     */
+    private final AtomicLong tickCount = new AtomicLong();
+
+    /**
+     * Registriert eine neue Phase.
+     *
+     * @param name
+     *            Anzuzeigender Name der Phase
+     * @return Kennung der Phase für {@link #record(int, long)}
+     * @throws IllegalStateException
+     *             Falls bereits {@link #MAX_PHASES} Phasen registriert wurden
+     */
+    public synchronized int registerPhase(String name) {
+        if (this.phaseCount >= MAX_PHASES)
+            throw new IllegalStateException("Too many profiler phases");
+
+        this.phaseNames[this.phaseCount] = name;
+        return this.phaseCount++;
+    }
+
+    /**
+     * Erfasst die Dauer einer Phase.
+     *
+     * @param phase
+     *            Kennung der Phase
+     * @param nanos
+     *            Dauer in Nanosekunden
+     */
+    public void record(int phase, long nanos) {
+        this.phaseNanos.addAndGet(phase, nanos);
+        this.phaseCalls.incrementAndGet(phase);
+    }
+
+    /**
+     * Erfasst die Gesamtdauer eines Ticks, welche sämtliche Phasen umfasst.
+     *
+     * @param nanos
+     *            Dauer in Nanosekunden
+     */
+    public void recordTick(long nanos) {
+        this.tickNanos.addAndGet(nanos);
+        this.tickCount.incrementAndGet();
+    }
+
+    /**
+     * Gibt die bisher aufsummierte Dauer einer Phase zurück.
+     *
+     * @param phase
+     *            Kennung der Phase
+     * @return Dauer in Nanosekunden
+     */
+    public long getPhaseNanos(int phase) {
+        return this.phaseNanos.get(phase);
+    }
+
+    /**
+     * Erstellt eine Aufschlüsselung der bisherigen Berechnungsdauer nach Phasen, absteigend sortiert nach Dauer. Die
+     * nicht einer Phase zugeordnete Dauer wird als "Sonstiges" ausgewiesen.
+     *
+     * @return Mehrzeilige Aufschlüsselung
+     */
+    public String createReport() {
+        int count = this.phaseCount;
+        long ticks = this.tickCount.get();
+        long total = this.tickNanos.get();
+
+        // Phasen absteigend nach Dauer sortieren (Anzahl der Phasen ist gering)
+        Integer[] order = new Integer[count];
+        long accounted = 0;
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            accounted += this.phaseNanos.get(i);
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                long nanosA = phaseNanos.get(a), nanosB = phaseNanos.get(b);
+                return (nanosA < nanosB) ? 1 : ((nanosA == nanosB) ? 0 : -1);
+            }
+        });
+
+        total = Math.max(total, accounted);
+        StringBuilder report = new StringBuilder(String.format("%d Ticks, %.1f ms gesamt, %.1f µs je Tick%n", ticks,
+                toMilliseconds(total), (ticks == 0) ? 0 : total / 1000d / ticks));
+
+        for (int i : order) {
+            appendPhase(report, this.phaseNames[i], this.phaseNanos.get(i), this.phaseCalls.get(i), total);
+        }
+        appendPhase(report, "Sonstiges", total - accounted, ticks, total);
+
+        return report.toString();
+    }
+
+    /**
+     * Fügt eine Zeile der Aufschlüsselung hinzu.
+     */
+    private static void appendPhase(StringBuilder report, String name, long nanos, long calls, long total) {
+        report.append(String.format("  %-32s %10.1f ms %5.1f%% %9.1f µs/Aufruf%n", name, toMilliseconds(nanos),
+                (total == 0) ? 0 : 100d * nanos / total, (calls == 0) ? 0 : nanos / 1000d / calls));
+    }
+
+    /**
+     * Rechnet Nanosekunden in Millisekunden um.
+     */
+    private static double toMilliseconds(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -1,8 +1,8 @@
 ﻿package SoSi.Model;
 
 /**
- * Repräsentiert Ereignisse, die während der Wiedergabe der Simulation per Observer-Pattern an die Observer von
- * PlaybackHandler übergeben werden.
+ * Repräsentiert Ereignisse, die während der Wiedergabe der Simulation per Event-Bus an die Listener des
+ * PlaybackHandlers übergeben werden.
  * 
  * @see TickEvent
  */
@@ -0,0 +1,292 @@
+﻿package SoSi.Model;
+
+import java.awt.EventQueue;
+import java.util.EnumSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Verteilt die Ereignisse des {@link PlaybackHandler} an die angemeldeten {@link ISoccerUpdateListener}.<br>
+ * Im Gegensatz zu {@link java.util.Observable} werden die Empfänger nicht im auslösenden Thread (z.B. dem Timer der
+ * Wiedergabe) aufgerufen. Stattdessen besitzt jeder Empfänger eine eigene, sperrfreie Warteschlange, welche in dem bei
+ * der Anmeldung gewählten Thread abgearbeitet wird (siehe {@link Delivery}). Ein langsamer Empfänger verzögert somit
+ * weder die Wiedergabe noch die übrigen Empfänger.<br>
+ * Ereignisse, welche lediglich eine Zustandsänderung anzeigen (siehe {@link #COALESCED_EVENTS}), werden
+ * zusammengefasst: Ist dasselbe Ereignis als letztes eingereiht und noch nicht zugestellt, wird es nicht erneut
+ * eingereiht. Der Empfänger liest den aktuellen Zustand ohnehin erst bei der Zustellung.
+ */
+public class SoccerUpdateEventBus {
+
+    /**
+     * Thread, in welchem die Ereignisse eines Empfängers zugestellt werden
+     */
+    public enum Delivery {
+        /**
+         * Zustellung im Event-Dispatch-Thread, für Empfänger, welche Swing-Komponenten verändern
+         */
+        EVENT_DISPATCH_THREAD,
+
+        /**
+         * Zustellung in einem eigenen Thread des Empfängers, z.B. für die Soundausgabe
+         */
+        OWN_THREAD
+    }
+
+    /**
+     * Ereignisse, welche zusammengefasst werden, falls sie mehrfach aufeinander folgen
+     */
+    private static final Set<SoccerUpdateEvent> COALESCED_EVENTS = EnumSet.of(SoccerUpdateEvent.PLAYBACK_STEP,
+            SoccerUpdateEvent.PLAYBACK_SPEED_CHANGED);
+
+    /**
+     * Die angemeldeten Empfänger
+     */
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<Subscription>();
+
+    /**
+     * Meldet einen Empfänger an. Ein bereits angemeldeter Empfänger wird nicht erneut angemeldet.
+     *
+     * @param listener
+     *            Der Empfänger
+     * @param delivery
+     *            Thread, in welchem die Ereignisse zugestellt werden
+     */
+    public void addListener(ISoccerUpdateListener listener, Delivery delivery) {
+        Subscription subscription = (delivery == Delivery.OWN_THREAD) ? new ThreadSubscription(listener)
+                : new EventDispatchThreadSubscription(listener);
+
+        synchronized (this.subscriptions) {
+            if (this.getSubscription(listener) != null)
+                return;
+
+            this.subscriptions.add(subscription);
+        }
+
+        subscription.start();
+    }
+
+    /**
+     * Meldet einen Empfänger ab. Noch nicht zugestellte Ereignisse werden verworfen.
+     *
+     * @param listener
+     *            Der Empfänger
+     */
+    public void removeListener(ISoccerUpdateListener listener) {
+        Subscription subscription;
+        synchronized (this.subscriptions) {
+            subscription = this.getSubscription(listener);
+            if (subscription == null)
+                return;
+
+            this.subscriptions.remove(subscription);
+        }
+
+        subscription.cancel();
+    }
+
+    /**
+     * Reiht ein Ereignis in die Warteschlangen sämtlicher Empfänger ein. Die Methode blockiert nicht und wartet nicht
+     * auf die Zustellung.
+     *
+     * @param event
+     *            Das Ereignis
+     */
+    public void post(SoccerUpdateEvent event) {
+        for (Subscription subscription : this.subscriptions)
+            subscription.post(event);
+    }
+
+    /**
+     * @return Die Anmeldung des angegebenen Empfängers, <code>null</code> falls dieser nicht angemeldet ist
+     */
+    private Subscription getSubscription(ISoccerUpdateListener listener) {
+        for (Subscription subscription : this.subscriptions) {
+            if (subscription.listener == listener)
+                return subscription;
+        }
+
+        return null;
+    }
+
+    /**
+     * Anmeldung eines Empfängers samt dessen Warteschlange. Es können beliebig viele Threads Ereignisse einreihen,
+     * abgearbeitet wird die Warteschlange stets von einem einzelnen Thread.
+     */
+    private static abstract class Subscription {
+        /**
+         * Der Empfänger
+         */
+        protected final ISoccerUpdateListener listener;
+
+        /**
+         * Noch nicht zugestellte Ereignisse
+         */
+        private final Queue<SoccerUpdateEvent> queue = new ConcurrentLinkedQueue<SoccerUpdateEvent>();
+
+        /**
+         * Je Ereignis (Index entspricht {@link SoccerUpdateEvent#ordinal()}), ob dieses eingereiht und noch nicht
+         * zugestellt ist. Wird nur für zusammengefasste Ereignisse verwendet.
+         */
+        private final AtomicIntegerArray pendingEvents = new AtomicIntegerArray(SoccerUpdateEvent.values().length);
+
+        /**
+         * Das zuletzt eingereihte Ereignis
+         */
+        private volatile SoccerUpdateEvent lastPostedEvent;
+
+        /**
+         * Flag, ob der Empfänger abgemeldet wurde
+         */
+        protected volatile boolean cancelled = false;
+
+        Subscription(ISoccerUpdateListener listener) {
+            this.listener = listener;
+        }
+
+        /**
+         * Reiht ein Ereignis ein, sofern es nicht mit dem zuletzt eingereihten zusammengefasst werden kann, und stößt
+         * ggf. die Zustellung an.
+         */
+        void post(SoccerUpdateEvent event) {
+            if (COALESCED_EVENTS.contains(event)) {
+                if (this.lastPostedEvent == event && this.pendingEvents.get(event.ordinal()) != 0)
+                    return;
+
+                this.pendingEvents.set(event.ordinal(), 1);
+            }
+
+            this.lastPostedEvent = event;
+            this.queue.offer(event);
+            this.wakeUp();
+        }
+
+        /**
+         * Stellt sämtliche eingereihten Ereignisse zu. Wird ausschließlich vom Thread des Empfängers aufgerufen.
+         */
+        protected void deliverPendingEvents() {
+            SoccerUpdateEvent event;
+            while (!this.cancelled && (event = this.queue.poll()) != null) {
+                // Vor der Zustellung zurücksetzen, damit ein währenddessen eingereihtes Ereignis nicht verloren geht
+                if (COALESCED_EVENTS.contains(event))
+                    this.pendingEvents.set(event.ordinal(), 0);
+
+                try {
+                    this.listener.soccerUpdate(event);
+                } catch (RuntimeException e) {
+                    System.err.println("Error while delivering " + event + " to " + this.listener + ":");
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        /**
+         * @return <code>true</code>, falls Ereignisse auf die Zustellung warten
+         */
+        protected boolean hasPendingEvents() {
+            return !this.queue.isEmpty();
+        }
+
+        /**
+         * Startet die Zustellung, falls diese einen eigenen Thread benötigt.
+         */
+        abstract void start();
+
+        /**
+         * Stößt die Zustellung der eingereihten Ereignisse an. Darf nicht blockieren.
+         */
+        abstract void wakeUp();
+
+        /**
+         * Beendet die Zustellung.
+         */
+        void cancel() {
+            this.cancelled = true;
+            this.queue.clear();
+        }
+    }
+
+    /**
+     * Zustellung im Event-Dispatch-Thread. Je Empfänger ist höchstens eine Zustellung in der Event-Queue eingereiht,
+     * welche sämtliche bis dahin eingereihten Ereignisse zustellt.
+     */
+    private static class EventDispatchThreadSubscription extends Subscription implements Runnable {
+        /**
+         * Flag, ob eine Zustellung in der Event-Queue eingereiht ist
+         */
+        private final AtomicBoolean deliveryScheduled = new AtomicBoolean(false);
+
+        EventDispatchThreadSubscription(ISoccerUpdateListener listener) {
+            super(listener);
+        }
+
+        @Override
+        void start() {
+            // Keine Initialisierung notwendig
+        }
+
+        @Override
+        void wakeUp() {
+            if (this.deliveryScheduled.compareAndSet(false, true))
+                EventQueue.invokeLater(this);
+        }
+
+        @Override
+        public void run() {
+            this.deliverPendingEvents();
+            this.deliveryScheduled.set(false);
+
+            // Ereignisse, welche nach dem Abarbeiten, aber vor dem Zurücksetzen eingereiht wurden
+            if (this.hasPendingEvents())
+                this.wakeUp();
+        }
+    }
+
+    /**
+     * Zustellung in einem eigenen Daemon-Thread des Empfängers, welcher bei leerer Warteschlange pausiert.
+     */
+    private static class ThreadSubscription extends Subscription implements Runnable {
+        /**
+         * Thread des Empfängers
+         */
+        private final Thread deliveryThread;
+
+        ThreadSubscription(ISoccerUpdateListener listener) {
+            super(listener);
+
+            this.deliveryThread = new Thread(this, "SoSi-Events-" + listener.getClass().getSimpleName());
+            this.deliveryThread.setDaemon(true);
+        }
+
+        @Override
+        void start() {
+            this.deliveryThread.start();
+        }
+
+        @Override
+        void wakeUp() {
+            LockSupport.unpark(this.deliveryThread);
+        }
+
+        @Override
+        void cancel() {
+            super.cancel();
+            LockSupport.unpark(this.deliveryThread);
+        }
+
+        @Override
+        public void run() {
+            while (!this.cancelled) {
+                this.deliverPendingEvents();
+
+                // Ein zwischenzeitliches unpark() lässt park() sofort zurückkehren, kein Ereignis geht verloren
+                if (!this.cancelled && !this.hasPendingEvents())
+                    LockSupport.park(this);
+            }
+        }
+    }
+}
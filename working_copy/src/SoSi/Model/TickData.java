@@ -2,7 +2,8 @@
 
 import java.util.List;
 
-import javax.activation.DataHandler;
+import SoSi.Model.Calculation.DataHandler;
+import SoSi.Model.Calculation.DebugMessageStore;
 
 import SoSi.Model.Calculation.Tick;
 
@@ -52,15 +53,33 @@ public class TickData{
     private int tickPosition;
 
     /**
-     * Die erstellte Debugging-Nachricht des Teams A.
+     * Die erstellte Debugging-Nachricht des Teams A, <code>null</code> falls diese im {@link #debugMessageStore}
+     * gespeichert ist.
      */
     private String debugMessageTeamA;
 
     /**
-     * Die erstellte Debugging-Nachricht des Teams B.
+     * Die erstellte Debugging-Nachricht des Teams B, <code>null</code> falls diese im {@link #debugMessageStore}
+     * gespeichert ist.
      */
     private String debugMessageTeamB;
 
+    /**
+     * Speicher, aus welchem die Debugging-Nachrichten erst bei Bedarf gelesen werden, <code>null</code> falls diese
+     * direkt in der Instanz gespeichert sind.
+     */
+    private DebugMessageStore debugMessageStore;
+
+    /**
+     * Die von der KI des Teams A zur Entscheidungsfindung verbrauchte CPU-Zeit (in Mikrosekunden).
+     */
+    private long aiCpuTimeTeamA;
+
+    /**
+     * Die von der KI des Teams B zur Entscheidungsfindung verbrauchte CPU-Zeit (in Mikrosekunden).
+     */
+    private long aiCpuTimeTeamB;
+
     /**
      * Konstruktor der Klasse TickData. Hier werden alle Daten zusammengefasst, die für die Darstellung eines Ticks
      * notwendig sind. Diese werden in der Klasse {@link Tick} erstellt.
@@ -91,7 +110,41 @@ public class TickData{
     public TickData(int tickPosition, int goalsTeamA, int goalsTeamB, Position ballPosition,
             List<Position> playerPositionsTeamA, List<Position> playerPositionsTeamB, TickEvent tickEvent,
             String debugMessageTeamA, String debugMessageTeamB) {
-        if (tickPosition < 0 || goalsTeamA < 0 || goalsTeamB < 0) {
+        this(tickPosition, goalsTeamA, goalsTeamB, ballPosition, playerPositionsTeamA, playerPositionsTeamB,
+                tickEvent, debugMessageTeamA, debugMessageTeamB, 0, 0);
+    }
+
+    /**
+     * Konstruktor der Klasse TickData, welcher zusätzlich die von den KIs verbrauchte CPU-Zeit festhält.
+     * 
+     * @param tickPosition
+     *            Die Position innerhalb der Liste aller berechneten Tick-Daten.
+     * @param goalsTeamA
+     *            Die Anzahl der Tore des erstgewählten Teams.
+     * @param goalsTeamB
+     *            Die Anzahl der Tore des zweitgewählten Teams.
+     * @param ballPosition
+     *            Die Position des Balles.
+     * @param playerPositionsTeamA
+     *            Die Positionen der Spieler des erstgewählten Teams.
+     * @param playerPositionsTeamB
+     *            Die Positionen der Spieler des zweitgewählten Teams.
+     * @param tickEvent
+     *            Ein eventuell eingetretenes Event(FOUL, FREE_KICK etc.).
+     * @param debugMessageTeamA
+     *            Die debugging Nachricht des zuerst gewählten Teams.
+     * @param debugMessageTeamB
+     *            Die debugging Nachricht des zweitgewählten Teams.
+     * @param aiCpuTimeTeamA
+     *            Die von der KI des zuerst gewählten Teams verbrauchte CPU-Zeit (in Mikrosekunden).
+     * @param aiCpuTimeTeamB
+     *            Die von der KI des zweitgewählten Teams verbrauchte CPU-Zeit (in Mikrosekunden).
+     * @see #TickData(int, int, int, Position, List, List, TickEvent, String, String)
+     */
+    public TickData(int tickPosition, int goalsTeamA, int goalsTeamB, Position ballPosition,
+            List<Position> playerPositionsTeamA, List<Position> playerPositionsTeamB, TickEvent tickEvent,
+            String debugMessageTeamA, String debugMessageTeamB, long aiCpuTimeTeamA, long aiCpuTimeTeamB) {
+        if (tickPosition < 0 || goalsTeamA < 0 || goalsTeamB < 0 || aiCpuTimeTeamA < 0 || aiCpuTimeTeamB < 0) {
             throw new IllegalArgumentException("Int-Values must be positive");
         }
         
@@ -112,6 +165,73 @@ public class TickData{
         this.tickEvent = tickEvent;
         this.debugMessageTeamA = debugMessageTeamA;
         this.debugMessageTeamB = debugMessageTeamB;
+        this.aiCpuTimeTeamA = aiCpuTimeTeamA;
+        this.aiCpuTimeTeamB = aiCpuTimeTeamB;
+    }
+
+    /**
+     * Konstruktor der Klasse TickData, deren Debugging-Nachrichten nicht in der Instanz, sondern in einem
+     * {@link DebugMessageStore} gespeichert sind und erst bei Bedarf gelesen werden.
+     * 
+     * @param tickPosition
+     *            Die Position innerhalb der Liste aller berechneten Tick-Daten. Entspricht der Position im
+     *            {@link DebugMessageStore}.
+     * @param goalsTeamA
+     *            Die Anzahl der Tore des erstgewählten Teams.
+     * @param goalsTeamB
+     *            Die Anzahl der Tore des zweitgewählten Teams.
+     * @param ballPosition
+     *            Die Position des Balles.
+     * @param playerPositionsTeamA
+     *            Die Positionen der Spieler des erstgewählten Teams.
+     * @param playerPositionsTeamB
+     *            Die Positionen der Spieler des zweitgewählten Teams.
+     * @param tickEvent
+     *            Ein eventuell eingetretenes Event(FOUL, FREE_KICK etc.).
+     * @param debugMessageStore
+     *            Der Speicher, welcher die debugging Nachrichten beider Teams enthält.
+     * @param aiCpuTimeTeamA
+     *            Die von der KI des zuerst gewählten Teams verbrauchte CPU-Zeit (in Mikrosekunden).
+     * @param aiCpuTimeTeamB
+     *            Die von der KI des zweitgewählten Teams verbrauchte CPU-Zeit (in Mikrosekunden).
+     */
+    public TickData(int tickPosition, int goalsTeamA, int goalsTeamB, Position ballPosition,
+            List<Position> playerPositionsTeamA, List<Position> playerPositionsTeamB, TickEvent tickEvent,
+            DebugMessageStore debugMessageStore, long aiCpuTimeTeamA, long aiCpuTimeTeamB) {
+        this(tickPosition, goalsTeamA, goalsTeamB, ballPosition, playerPositionsTeamA, playerPositionsTeamB,
+                tickEvent, "", "", aiCpuTimeTeamA, aiCpuTimeTeamB);
+
+        if (debugMessageStore == null) {
+            throw new IllegalArgumentException("DebugMessageStore must not be null");
+        }
+
+        this.debugMessageTeamA = null;
+        this.debugMessageTeamB = null;
+        this.debugMessageStore = debugMessageStore;
+    }
+
+    /**
+     * Erstellt eine Kopie dieser Tick-Daten mit geänderten Positionen. Die Debugging-Nachrichten werden dabei nicht
+     * gelesen, sondern ggf. weiterhin erst bei Bedarf aus dem {@link DebugMessageStore} geholt.
+     * 
+     * @param ballPosition
+     *            Die Position des Balles.
+     * @param playerPositionsTeamA
+     *            Die Positionen der Spieler des erstgewählten Teams.
+     * @param playerPositionsTeamB
+     *            Die Positionen der Spieler des zweitgewählten Teams.
+     * @return Kopie mit den angegebenen Positionen
+     */
+    public TickData withPositions(Position ballPosition, List<Position> playerPositionsTeamA,
+            List<Position> playerPositionsTeamB) {
+        if (this.debugMessageStore != null)
+            return new TickData(this.tickPosition, this.goalsTeamA, this.goalsTeamB, ballPosition,
+                    playerPositionsTeamA, playerPositionsTeamB, this.tickEvent, this.debugMessageStore,
+                    this.aiCpuTimeTeamA, this.aiCpuTimeTeamB);
+        else
+            return new TickData(this.tickPosition, this.goalsTeamA, this.goalsTeamB, ballPosition,
+                    playerPositionsTeamA, playerPositionsTeamB, this.tickEvent, this.debugMessageTeamA,
+                    this.debugMessageTeamB, this.aiCpuTimeTeamA, this.aiCpuTimeTeamB);
     }
 
     /**
@@ -183,6 +303,9 @@ public class TickData{
      * @return debugging Nachricht des ersten Teams.
      */
     public String getDebugMessageTeamA() {
+        if (this.debugMessageStore != null)
+            return this.debugMessageStore.get(this.tickPosition, true);
+
         return debugMessageTeamA;
     }
 
@@ -192,7 +315,28 @@ public class TickData{
      * @return debugging Nachricht des zweiten Teams.
      */
     public String getDebugMessageTeamB() {
+        if (this.debugMessageStore != null)
+            return this.debugMessageStore.get(this.tickPosition, false);
+
         return debugMessageTeamB;
     }
 
+    /**
+     * Getter-Methode für die CPU-Zeit, welche die KI des zuerst gewählten Teams in diesem Tick verbraucht hat.
+     * 
+     * @return CPU-Zeit in Mikrosekunden, 0 falls diese nicht erfasst wurde.
+     */
+    public long getAiCpuTimeTeamA() {
+        return aiCpuTimeTeamA;
+    }
+
+    /**
+     * Getter-Methode für die CPU-Zeit, welche die KI des zweitgewählten Teams in diesem Tick verbraucht hat.
+     * 
+     * @return CPU-Zeit in Mikrosekunden, 0 falls diese nicht erfasst wurde.
+     */
+    public long getAiCpuTimeTeamB() {
+        return aiCpuTimeTeamB;
+    }
+
 }
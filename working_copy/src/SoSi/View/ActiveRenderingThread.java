@@ -0,0 +1,197 @@
+﻿package SoSi.View;
+
+import java.awt.Canvas;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import SoSi.Model.InterpolatedFrame;
+import SoSi.Model.PlaybackHandler;
+
+/**
+ * Thread, welcher ein {@link SoccerPanel} aktiv über die {@link BufferStrategy} eines {@link Canvas} zeichnet, statt
+ * das Zeichnen über den Event-Dispatch-Thread anzustoßen (siehe {@link RuntimeArguments#isActiveRenderingActivated()}
+ * ).<br>
+ * Je Bild wird das Bild des Darstellungstakts vom gemeinsamen {@link FrameBroadcaster} übernommen (siehe
+ * {@link FrameBroadcaster#copyFrame(long, InterpolatedFrame)}), so dass mehrere aktiv gezeichnete Fenster dasselbe,
+ * nur einmal interpolierte Bild zeichnen. Die Bilder werden im Abstand von 1 / GUI_REFRESH_RATE Sekunden gezeichnet.
+ * Die Zeitpunkte sind dabei auf ganze Vielfache dieses Abstands ausgerichtet, damit sämtliche Threads denselben Takt
+ * verwenden. Mit {@link RuntimeArguments#isFpsUnlimited()} wird während einer aktiven Wiedergabe ohne Wartezeit
+ * gezeichnet, jedes Bild bildet dann einen eigenen Takt.
+ */
+public class ActiveRenderingThread extends Thread {
+
+    /**
+     * Abstand zweier Bilder in Nanosekunden
+     */
+    private static final long FRAME_NANOS = TimeUnit.SECONDS.toNanos(1) / SoccerGUI.GUI_REFRESH_RATE;
+
+    /**
+     * Pause zwischen zwei Bildern mit {@link RuntimeArguments#isFpsUnlimited()}, damit der Thread neben dem Zeichnen
+     * nicht zusätzlich einen Prozessorkern mit Warten belegt
+     */
+    private static final long UNLIMITED_FRAME_PAUSE_NANOS = TimeUnit.MICROSECONDS.toNanos(250);
+
+    /**
+     * Wartezeit in Millisekunden, solange das Canvas nicht dargestellt wird
+     */
+    private static final long NOT_DISPLAYABLE_WAIT_MILLIS = 50;
+
+    /**
+     * Das zu zeichnende Panel
+     */
+    private final SoccerPanel soccerPanel;
+
+    /**
+     * Canvas, über dessen {@link BufferStrategy} gezeichnet wird
+     */
+    private final Canvas canvas;
+
+    /**
+     * Gemeinsamer Takt, von welchem die Bilder übernommen werden
+     */
+    private final FrameBroadcaster frameBroadcaster;
+
+    /**
+     * Quelle der Wiedergabeposition
+     */
+    private final PlaybackHandler playbackHandler;
+
+    /**
+     * Flag, ob der Thread weiterhin zeichnen soll
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Erstellt einen neuen Thread, welcher erst durch {@link #start()} gestartet wird.
+     *
+     * @param soccerPanel
+     *            Das zu zeichnende Panel
+     * @param canvas
+     *            Canvas, über dessen {@link BufferStrategy} gezeichnet wird. Muss im Panel enthalten sein.
+     * @param frameBroadcaster
+     *            Gemeinsamer Takt, von welchem die Bilder übernommen werden
+     */
+    public ActiveRenderingThread(SoccerPanel soccerPanel, Canvas canvas, FrameBroadcaster frameBroadcaster) {
+        super("SoSi-ActiveRendering");
+
+        this.soccerPanel = soccerPanel;
+        this.canvas = canvas;
+        this.frameBroadcaster = frameBroadcaster;
+        this.playbackHandler = frameBroadcaster.getPlaybackHandler();
+
+        this.setDaemon(true);
+    }
+
+    @Override
+    public void run() {
+        long nextFrameNanos = alignToFrame(System.nanoTime());
+
+        while (this.running) {
+            if (!this.canvas.isDisplayable() || this.canvas.getWidth() == 0 || this.canvas.getHeight() == 0) {
+                try {
+                    Thread.sleep(NOT_DISPLAYABLE_WAIT_MILLIS);
+                } catch (InterruptedException e) {
+                    // running prüfen
+                }
+                nextFrameNanos = alignToFrame(System.nanoTime());
+                continue;
+            }
+
+            try {
+                this.renderFrame(nextFrameNanos);
+            } catch (IllegalStateException e) {
+                // Canvas wurde während des Zeichnens entfernt
+                continue;
+            }
+
+            // Bildabstand einhalten. Verpasste Bilder werden nicht nachgeholt, sondern mit dem aktuellen Takt
+            // fortgesetzt.
+            if (RuntimeArguments.getRuntimeArguments().isFpsUnlimited() && this.playbackHandler.isRunning()) {
+                LockSupport.parkNanos(UNLIMITED_FRAME_PAUSE_NANOS);
+                nextFrameNanos = System.nanoTime();
+            } else {
+                nextFrameNanos = alignToFrame(nextFrameNanos) + FRAME_NANOS;
+                long remainingNanos = nextFrameNanos - System.nanoTime();
+                if (remainingNanos <= 0)
+                    nextFrameNanos = alignToFrame(System.nanoTime());
+                else
+                    waitUntil(nextFrameNanos);
+            }
+        }
+    }
+
+    /**
+     * Zeichnet ein Bild mit der Wiedergabeposition zum angegebenen Zeitpunkt.
+     *
+     * @param frameNanos
+     *            Zeitpunkt des Bildes entsprechend {@link System#nanoTime()}
+     */
+    private void renderFrame(long frameNanos) {
+        this.soccerPanel.refresh(this.frameBroadcaster, frameNanos);
+
+        BufferStrategy bufferStrategy = this.canvas.getBufferStrategy();
+        if (bufferStrategy == null) {
+            this.canvas.createBufferStrategy(2);
+            bufferStrategy = this.canvas.getBufferStrategy();
+        }
+
+        do {
+            do {
+                Graphics g = bufferStrategy.getDrawGraphics();
+                try {
+                    this.soccerPanel.renderFrame(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (bufferStrategy.contentsRestored());
+
+            bufferStrategy.show();
+        } while (bufferStrategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * Gibt den Beginn des Takts zurück, in welchen der angegebene Zeitpunkt fällt. Da die Takte unabhängig vom
+     * Startzeitpunkt eines Threads berechnet werden, zeichnen sämtliche Threads zu denselben Zeitpunkten.
+     *
+     * @param nanoTime
+     *            Zeitpunkt entsprechend {@link System#nanoTime()}
+     * @return Beginn des Takts entsprechend {@link System#nanoTime()}
+     */
+    private static long alignToFrame(long nanoTime) {
+        return nanoTime - Math.floorMod(nanoTime, FRAME_NANOS);
+    }
+
+    /**
+     * Wartet bis zum angegebenen Zeitpunkt. Kehrt {@link LockSupport#parkNanos(long)} vorzeitig zurück, wird für die
+     * verbleibende Zeit erneut gewartet.
+     *
+     * @param deadlineNanos
+     *            Zeitpunkt entsprechend {@link System#nanoTime()}
+     */
+    private static void waitUntil(long deadlineNanos) {
+        long remainingNanos;
+        while ((remainingNanos = deadlineNanos - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted())
+            LockSupport.parkNanos(remainingNanos);
+    }
+
+    /**
+     * Beendet das Zeichnen. Kehrt zurück, sobald das aktuelle Bild gezeichnet wurde.
+     */
+    public void shutdown() {
+        this.running = false;
+        this.interrupt();
+
+        if (Thread.currentThread() != this) {
+            try {
+                this.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+﻿package SoSi.View;
+
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Skaliert die (ggf. animierten) Hintergrundbilder eines {@link SoccerPanel} im Hintergrund auf die jeweilige
+ * Zeichengröße.<br>
+ * Sämtliche Frames einer Zielgröße werden parallel in einem gemeinsamen Thread-Pool skaliert und erst nach Abschluss
+ * aller Frames gemeinsam übernommen. Bis dahin liefert {@link #getFrames(int, int)} die Originalbilder, das Zeichnen
+ * wartet somit nie auf die Skalierung.<br>
+ * Die skalierten Frames werden für die zuletzt verwendeten Zielgrößen zwischengespeichert, so dass z.B. beim Wechsel
+ * zwischen Fenster- und Vollbilddarstellung nicht erneut skaliert werden muss.
+ */
+public class BackgroundScaler {
+
+    /**
+     * Maximale Anzahl an zwischengespeicherten Zielgrößen
+     */
+    private static final int MAXIMUM_CACHED_SIZES = 3;
+
+    /**
+     * Maximale Anzahl an Pixeln sämtlicher zwischengespeicherter Frames. Die zuletzt verwendete Zielgröße wird
+     * unabhängig davon stets behalten.
+     */
+    private static final long MAXIMUM_CACHED_PIXELS = Runtime.getRuntime().maxMemory() / 4 / 4;
+
+    /**
+     * Von allen Instanzen gemeinsam verwendeter Thread-Pool zur Skalierung
+     */
+    private static ExecutorService scalingExecutor;
+
+    /**
+     * Die unskalierten Frames
+     */
+    private final Image[] originalFrames;
+
+    /**
+     * Breite der unskalierten Frames in Pixel
+     */
+    private final int imageWidth;
+
+    /**
+     * Höhe der unskalierten Frames in Pixel
+     */
+    private final int imageHeight;
+
+    /**
+     * Wird aufgerufen, sobald die Frames einer Zielgröße skaliert wurden. Der Aufruf erfolgt durch einen Thread des
+     * Thread-Pools.
+     */
+    private final Runnable scalingFinishedCallback;
+
+    /**
+     * Skalierte Frames je Zielgröße in Reihenfolge der letzten Verwendung
+     */
+    private final LinkedHashMap<Dimension, Image[]> scaledFrames = new LinkedHashMap<Dimension, Image[]>(
+            MAXIMUM_CACHED_SIZES + 1, 0.75f, true);
+
+    /**
+     * Aktuell laufender Skalierungsauftrag, <code>null</code> falls keiner läuft
+     */
+    private ScalingJob currentJob;
+
+    /**
+     * Flag, ob die Instanz freigegeben wurde (siehe {@link #flush()})
+     */
+    private boolean flushed = false;
+
+    /**
+     * Erstellt eine neue Instanz für die angegebenen Frames.
+     *
+     * @param originalFrames
+     *            Die unskalierten Frames. Diese müssen vollständig geladen sein und dieselben Abmessungen haben.
+     * @param imageWidth
+     *            Breite der unskalierten Frames in Pixel
+     * @param imageHeight
+     *            Höhe der unskalierten Frames in Pixel
+     * @param scalingFinishedCallback
+     *            Wird aufgerufen, sobald die Frames einer Zielgröße skaliert wurden (z.B. zum Neuzeichnen).
+     *            <code>null</code>, falls nicht benötigt.
+     */
+    public BackgroundScaler(List<Image> originalFrames, int imageWidth, int imageHeight,
+            Runnable scalingFinishedCallback) {
+        this.originalFrames = originalFrames.toArray(new Image[originalFrames.size()]);
+        this.imageWidth = imageWidth;
+        this.imageHeight = imageHeight;
+        this.scalingFinishedCallback = scalingFinishedCallback;
+    }
+
+    /**
+     * Gibt die Frames in der angegebenen Zielgröße zurück. Liegen diese (noch) nicht skaliert vor, werden die
+     * Originalbilder zurückgegeben, welche beim Zeichnen entsprechend zu skalieren sind, und die Skalierung im
+     * Hintergrund angestoßen (siehe {@link #requestSize(int, int)}).<br>
+     * Die Methode blockiert nicht.
+     *
+     * @param width
+     *            Breite in Pixel
+     * @param height
+     *            Höhe in Pixel
+     * @return Die Frames in der Zielgröße bzw. die unskalierten Frames. Das Array darf nicht verändert werden.
+     */
+    public synchronized Image[] getFrames(int width, int height) {
+        Image[] frames = this.scaledFrames.get(new Dimension(width, height));
+        if (frames != null)
+            return frames;
+
+        this.requestSize(width, height);
+        return this.originalFrames;
+    }
+
+    /**
+     * Stößt die Skalierung der Frames auf die angegebene Zielgröße an, falls diese weder zwischengespeichert ist noch
+     * bereits skaliert wird. Ein laufender Auftrag für eine andere Zielgröße wird abgebrochen.
+     *
+     * @param width
+     *            Breite in Pixel
+     * @param height
+     *            Höhe in Pixel
+     */
+    public synchronized void requestSize(int width, int height) {
+        if (this.flushed || width <= 0 || height <= 0)
+            return;
+
+        Dimension size = new Dimension(width, height);
+        if (this.scaledFrames.containsKey(size) || (this.currentJob != null && this.currentJob.size.equals(size)))
+            return;
+
+        if (this.currentJob != null)
+            this.currentJob.cancelled = true;
+
+        this.currentJob = new ScalingJob(size, this.originalFrames.length);
+        for (int i = 0; i < this.originalFrames.length; i++)
+            getScalingExecutor().execute(new ScalingTask(this.currentJob, i));
+    }
+
+    /**
+     * Bricht einen laufenden Auftrag ab und gibt sämtliche skalierten Frames frei. Anschließend liefert
+     * {@link #getFrames(int, int)} ausschließlich die unskalierten Frames.
+     */
+    public synchronized void flush() {
+        this.flushed = true;
+
+        if (this.currentJob != null) {
+            this.currentJob.cancelled = true;
+            this.currentJob = null;
+        }
+
+        for (Image[] frames : this.scaledFrames.values())
+            flushFrames(frames);
+        this.scaledFrames.clear();
+    }
+
+    /**
+     * Übernimmt die Frames eines vollständig abgeschlossenen Auftrags in den Zwischenspeicher und verwirft ggf. die am
+     * längsten nicht verwendeten Zielgrößen. Abgebrochene bzw. unvollständige Aufträge werden verworfen.
+     *
+     * @return <code>true</code>, falls die Frames übernommen wurden
+     */
+    private synchronized boolean publish(ScalingJob job) {
+        if (this.currentJob == job)
+            this.currentJob = null;
+
+        boolean complete = !job.cancelled && !this.flushed;
+        for (Image frame : job.frames)
+            complete &= (frame != null);
+
+        if (!complete) {
+            flushFrames(job.frames);
+            return false;
+        }
+
+        this.scaledFrames.put(job.size, job.frames);
+
+        long cachedPixels = 0;
+        for (Dimension size : this.scaledFrames.keySet())
+            cachedPixels += (long) size.width * size.height * this.originalFrames.length;
+
+        Iterator<Map.Entry<Dimension, Image[]>> iterator = this.scaledFrames.entrySet().iterator();
+        while (this.scaledFrames.size() > 1
+                && (this.scaledFrames.size() > MAXIMUM_CACHED_SIZES || cachedPixels > MAXIMUM_CACHED_PIXELS)) {
+            Map.Entry<Dimension, Image[]> eldest = iterator.next();
+            cachedPixels -= (long) eldest.getKey().width * eldest.getKey().height * this.originalFrames.length;
+            flushFrames(eldest.getValue());
+            iterator.remove();
+        }
+
+        return true;
+    }
+
+    /**
+     * Skaliert einen Frame bilinear auf die angegebene Größe.
+     */
+    private Image scaleFrame(Image original, Dimension size) {
+        BufferedImage scaledImage = new BufferedImage(size.width, size.height, BufferedImage.TRANSLUCENT);
+        Graphics2D g2d = scaledImage.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        AffineTransform aft = new AffineTransform();
+        aft.scale((double) size.width / this.imageWidth, (double) size.height / this.imageHeight);
+        g2d.drawImage(original, aft, null);
+        g2d.dispose();
+
+        return scaledImage;
+    }
+
+    /**
+     * Gibt sämtliche (bereits erstellten) Frames frei.
+     */
+    private static void flushFrames(Image[] frames) {
+        for (Image frame : frames) {
+            if (frame != null)
+                frame.flush();
+        }
+    }
+
+    /**
+     * @return Den gemeinsamen Thread-Pool, welcher bei Bedarf erstellt wird
+     */
+    private static synchronized ExecutorService getScalingExecutor() {
+        if (scalingExecutor == null) {
+            int threadCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+            scalingExecutor = Executors.newFixedThreadPool(threadCount, new ScalingThreadFactory());
+        }
+
+        return scalingExecutor;
+    }
+
+    /**
+     * Auftrag zur Skalierung sämtlicher Frames auf eine Zielgröße
+     */
+    private static class ScalingJob {
+        /**
+         * Die Zielgröße
+         */
+        private final Dimension size;
+
+        /**
+         * Die bereits skalierten Frames
+         */
+        private final Image[] frames;
+
+        /**
+         * Anzahl der noch nicht skalierten Frames
+         */
+        private final AtomicInteger remainingFrames;
+
+        /**
+         * Flag, ob der Auftrag abgebrochen wurde
+         */
+        private volatile boolean cancelled = false;
+
+        ScalingJob(Dimension size, int frameCount) {
+            this.size = size;
+            this.frames = new Image[frameCount];
+            this.remainingFrames = new AtomicInteger(frameCount);
+        }
+    }
+
+    /**
+     * Skaliert einen einzelnen Frame eines Auftrags. Der zuletzt fertiggestellte Frame übernimmt den Auftrag.
+     */
+    private class ScalingTask implements Runnable {
+        private final ScalingJob job;
+        private final int frameIndex;
+
+        ScalingTask(ScalingJob job, int frameIndex) {
+            this.job = job;
+            this.frameIndex = frameIndex;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!this.job.cancelled)
+                    this.job.frames[this.frameIndex] = scaleFrame(originalFrames[this.frameIndex], this.job.size);
+            } finally {
+                // Die atomare Verringerung stellt die Sichtbarkeit sämtlicher Frames für den letzten Task sicher
+                if (this.job.remainingFrames.decrementAndGet() == 0 && publish(this.job)
+                        && scalingFinishedCallback != null)
+                    scalingFinishedCallback.run();
+            }
+        }
+    }
+
+    /**
+     * Erstellt Daemon-Threads mit niedriger Priorität, damit die Skalierung weder das Beenden der Anwendung verhindert
+     * noch mit der Darstellung konkurriert.
+     */
+    private static class ScalingThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "SoSi-BackgroundScaler-" + this.threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            t.setPriority(Thread.NORM_PRIORITY - 1);
+            return t;
+        }
+    }
+}
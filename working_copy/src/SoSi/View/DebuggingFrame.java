@@ -5,11 +5,11 @@ import java.awt.Color;
 import java.awt.Cursor;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
+import java.awt.Font;
+import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.Observable;
-import java.util.Observer;
 
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
@@ -18,20 +18,27 @@ import javax.swing.JFrame;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
+import javax.swing.JTabbedPane;
 import javax.swing.JTextArea;
+import javax.swing.Timer;
 
 import SoSi.ControllerPkg.Controller;
+import SoSi.Model.ISoccerUpdateListener;
 import SoSi.Model.PlaybackHandler;
 import SoSi.Model.SoccerUpdateEvent;
+import SoSi.Model.SoccerUpdateEventBus;
 import SoSi.Model.TickData;
+import SoSi.Model.Profiling.AIProfile;
 
 /**
  * Enthält die Entwicklerkonsole.<br>
  * Die Klasse zeigt Informationen über den Simulationszustand, wie u.a. auch Debugging-Nachrichten, welche ggf. von KIs
  * erstellt werden können, oder informiert über aufgetretene Fehler (Exceptions) von KIs.<br>
  * Das Fenster enthält des Weiteren Steuerungselemente, um die Wiedergabe um Einzelschritte vor- oder zurückzuschalten.
+ * In einem weiteren Reiter wird das Laufzeitprofil (Dauer, CPU-Zeit und allokierter Speicher je Aufruf) der KIs
+ * angezeigt.
  */
-public class DebuggingFrame extends JFrame implements IRefreshable, Observer {
+public class DebuggingFrame extends JFrame implements IRefreshable, ISoccerUpdateListener {
 
     /**
      * Random generated
@@ -45,6 +52,20 @@ public class DebuggingFrame extends JFrame implements IRefreshable, Observer {
 
     private JTextArea consoleSecondAi;
 
+    /**
+     * Textbereiche zur Ausgabe der Laufzeitprofile der KIs
+     */
+    private JTextArea profileFirstAi, profileSecondAi;
+
+    private JPanel profilePanelBothAi;
+
+    private JTabbedPane tabbedPane;
+
+    /**
+     * Intervall (in Millisekunden), in welchem die Laufzeitprofile aktualisiert werden, solange diese angezeigt werden
+     */
+    private static final int PROFILE_REFRESH_INTERVAL_MILLISECONDS = 500;
+
     private JPanel consolePanel;
 
     private JPanel tickEventPanel;
@@ -112,9 +133,33 @@ public class DebuggingFrame extends JFrame implements IRefreshable, Observer {
         consolePanelBothAi.add(new JScrollPane(firstAi));
         consolePanelBothAi.add(new JScrollPane(secondAi));
 
+        // Laufzeitprofile beider KIs
+        profileFirstAi = buildConsoleTextfield();
+        profileFirstAi.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        profileSecondAi = buildConsoleTextfield();
+        profileSecondAi.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 11));
+        profilePanelBothAi = new JPanel();
+        profilePanelBothAi.setLayout(new BoxLayout(profilePanelBothAi, BoxLayout.X_AXIS));
+        profilePanelBothAi.add(new JScrollPane(profileFirstAi));
+        profilePanelBothAi.add(new JScrollPane(profileSecondAi));
+
+        tabbedPane = new JTabbedPane();
+        tabbedPane.addTab("Debugnachrichten", consolePanelBothAi);
+        tabbedPane.addTab("Laufzeitprofil", profilePanelBothAi);
+
         consolePanel.add(tickEventPanel, BorderLayout.NORTH);
         consolePanel.add(bottomPanel, BorderLayout.SOUTH);
-        consolePanel.add(consolePanelBothAi, BorderLayout.CENTER);
+        consolePanel.add(tabbedPane, BorderLayout.CENTER);
+
+        // Laufzeitprofile werden unabhängig von der Wiedergabe aktualisiert, da sie die Berechnung betreffen
+        Timer profileRefreshTimer = new Timer(PROFILE_REFRESH_INTERVAL_MILLISECONDS, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                if (isVisible() && tabbedPane.getSelectedComponent() == profilePanelBothAi)
+                    updateProfiles();
+            }
+        });
+        profileRefreshTimer.start();
 
         this.getContentPane().add(consolePanel);
         this.setDefaultCloseOperation(JFrame.HIDE_ON_CLOSE);
@@ -264,17 +309,33 @@ public class DebuggingFrame extends JFrame implements IRefreshable, Observer {
      */
     private String shortenedLastDebugMessageOfTeamB = "";
 
+    /**
+     * Position des Ticks, dessen Debugnachrichten zuletzt angezeigt wurden, -1 falls keine angezeigt werden
+     */
+    private int lastDebugMessageTickPosition = -1;
+
+    /**
+     * Zeigt die Debugnachrichten des angegebenen Ticks an. Da diese ggf. erst aus einer temporären Datei gelesen
+     * werden, geschieht dies nur, sofern das Fenster sichtbar ist und sich der Tick geändert hat.
+     */
     private void updateDebugMessages(TickData tickData) {
         final String NO_DEBUG_MESSAGE_TEXT = "Keine Infos für aktuellen Tick.";
         final String LAST_DEBUG_MESSAGE_TEXT = "Zuletzt angezeigte Debugnachricht:";
 
+        if (!this.isVisible() || tickData.getTickPosition() == this.lastDebugMessageTickPosition)
+            return;
+
+        this.lastDebugMessageTickPosition = tickData.getTickPosition();
+        String debugMessageTeamA = tickData.getDebugMessageTeamA();
+        String debugMessageTeamB = tickData.getDebugMessageTeamB();
+
         StringBuilder teamAText = new StringBuilder(firstTeam);
         StringBuilder teamBText = new StringBuilder(secondTeam);
 
         teamAText.append("\n\n");
         teamBText.append("\n\n");
 
-        if (tickData.getDebugMessageTeamA().isEmpty()) {
+        if (debugMessageTeamA.isEmpty()) {
             teamAText.append(NO_DEBUG_MESSAGE_TEXT);
             if (!shortenedLastDebugMessageOfTeamA.isEmpty()) {
                 teamAText.append("\n\n");
@@ -283,12 +344,11 @@ public class DebuggingFrame extends JFrame implements IRefreshable, Observer {
                 teamAText.append(shortenedLastDebugMessageOfTeamA);
             }
         } else {
-            teamAText.append(tickData.getDebugMessageTeamA());
-            shortenedLastDebugMessageOfTeamA = getShortenedDebugInfo(tickData.getTickPosition(),
-                    tickData.getDebugMessageTeamA());
+            teamAText.append(debugMessageTeamA);
+            shortenedLastDebugMessageOfTeamA = getShortenedDebugInfo(tickData.getTickPosition(), debugMessageTeamA);
         }
 
-        if (tickData.getDebugMessageTeamB().isEmpty()) {
+        if (debugMessageTeamB.isEmpty()) {
             teamBText.append(NO_DEBUG_MESSAGE_TEXT);
             if (!shortenedLastDebugMessageOfTeamB.isEmpty()) {
                 teamBText.append("\n\n");
@@ -297,15 +357,33 @@ public class DebuggingFrame extends JFrame implements IRefreshable, Observer {
                 teamBText.append(shortenedLastDebugMessageOfTeamB);
             }
         } else {
-            teamBText.append(tickData.getDebugMessageTeamB());
-            shortenedLastDebugMessageOfTeamB = getShortenedDebugInfo(tickData.getTickPosition(),
-                    tickData.getDebugMessageTeamB());
+            teamBText.append(debugMessageTeamB);
+            shortenedLastDebugMessageOfTeamB = getShortenedDebugInfo(tickData.getTickPosition(), debugMessageTeamB);
         }
 
         consoleFirstAi.setText(teamAText.toString());
         consoleSecondAi.setText(teamBText.toString());
     }
 
+    private void updateProfiles() {
+        profileFirstAi.setText(getProfileText(firstTeam, playbackHandler.getAiProfileTeamA()));
+        profileSecondAi.setText(getProfileText(secondTeam, playbackHandler.getAiProfileTeamB()));
+    }
+
+    private String getProfileText(String teamName, AIProfile profile) {
+        StringBuilder text = new StringBuilder((teamName == null) ? "" : teamName);
+        text.append("\n\n");
+
+        if (profile == null) {
+            text.append("Kein Laufzeitprofil verfügbar.");
+        } else {
+            String report = profile.createReport();
+            text.append(report.isEmpty() ? "Bisher keine Aufrufe." : report);
+        }
+
+        return text.toString();
+    }
+
     private String getShortenedDebugInfo(int tickPosition, String debugMessage) {
         final int MAX_SHORTENED_LENGTH = 250;
         if (debugMessage.length() > MAX_SHORTENED_LENGTH)
@@ -314,28 +392,27 @@ public class DebuggingFrame extends JFrame implements IRefreshable, Observer {
     }
 
     @Override
-    public void update(Observable arg0, Object data) {
-        if (data instanceof SoccerUpdateEvent) {
-            switch ((SoccerUpdateEvent) data) {
-
-            case PLAYBACK_ABORTED:
-                stepBackwardButton.setEnabled(false);
-                stepForwardButton.setEnabled(false);
-                tickPanel.setEnabled(false);
-
-                shortenedLastDebugMessageOfTeamA = "";
-                shortenedLastDebugMessageOfTeamB = "";
-                consoleFirstAi.setText("");
-                consoleSecondAi.setText("");
-                break;
-            case PLAYBACK_STARTED:
-                tickPanel.setEnabled(true);
-            default:
-                break;
-            }
-
+    public void soccerUpdate(SoccerUpdateEvent event) {
+        switch (event) {
+
+        case PLAYBACK_ABORTED:
+            stepBackwardButton.setEnabled(false);
+            stepForwardButton.setEnabled(false);
+            tickPanel.setEnabled(false);
+
+            shortenedLastDebugMessageOfTeamA = "";
+            shortenedLastDebugMessageOfTeamB = "";
+            lastDebugMessageTickPosition = -1;
+            consoleFirstAi.setText("");
+            consoleSecondAi.setText("");
+            profileFirstAi.setText("");
+            profileSecondAi.setText("");
+            break;
+        case PLAYBACK_STARTED:
+            tickPanel.setEnabled(true);
+        default:
+            break;
         }
-
     }
 
 }
@@ -26,6 +26,22 @@ public class FpsHelper {
      * Zeitpunkt des letzten Aufrufs von NextFrame()
      */
     double lastCallTime;
+
+    /**
+     * Zeitpunkt des letzten Aufrufs von nextFrame() in Nanosekunden, 0 vor dem ersten Aufruf
+     */
+    long lastFrameNanos = 0;
+
+    /**
+     * Summe bzw. Quadratsumme der Frame-Zeiten (in Millisekunden) im aktiven Messzeitraum
+     */
+    double frameTimeSum = 0;
+    double frameTimeSquareSum = 0;
+
+    /**
+     * Standardabweichung der Frame-Zeiten (in Millisekunden) im letzten Messzeitraum
+     */
+    double frameTimeDeviation = 0;
     
     long fpsSum = 0;
     int fpsCount = 0;
@@ -58,6 +74,14 @@ public class FpsHelper {
      */
     public void nextFrame() {
         frameCounter++;
+
+        long frameNanos = System.nanoTime();
+        if (lastFrameNanos != 0) {
+            double frameTime = (frameNanos - lastFrameNanos) / 1e6;
+            frameTimeSum += frameTime;
+            frameTimeSquareSum += frameTime * frameTime;
+        }
+        lastFrameNanos = frameNanos;
         
         elapsedTime += System.currentTimeMillis() / 1000d - this.lastCallTime;
         this.lastCallTime = System.currentTimeMillis() / 1000d;
@@ -65,6 +89,12 @@ public class FpsHelper {
         if (elapsedTime > calculationThreshold) {
             elapsedTime -= calculationThreshold;
             frameRate = (int) (frameCounter / calculationThreshold);
+
+            double meanFrameTime = frameTimeSum / frameCounter;
+            frameTimeDeviation = Math.sqrt(Math.max(0, frameTimeSquareSum / frameCounter - meanFrameTime
+                    * meanFrameTime));
+            frameTimeSum = 0;
+            frameTimeSquareSum = 0;
             frameCounter = 0;
             
             fpsCount++;
@@ -81,4 +111,11 @@ public class FpsHelper {
         return fpsAverage;
     }
 
+    /**
+     * @return Standardabweichung der Frame-Zeiten (in Millisekunden) im letzten Messzeitraum
+     */
+    public double getFrameTimeDeviation() {
+        return frameTimeDeviation;
+    }
+
 }
@@ -0,0 +1,341 @@
+﻿package SoSi.View;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.Timer;
+
+import SoSi.Model.ISoccerUpdateListener;
+import SoSi.Model.InterpolatedFrame;
+import SoSi.Model.PlaybackHandler;
+import SoSi.Model.SoccerUpdateEvent;
+import SoSi.Model.SoccerUpdateEventBus;
+import SoSi.Model.TickData;
+
+/**
+ * Gemeinsamer Takt sämtlicher Darstellungsfenster eines {@link PlaybackHandler}.<br>
+ * Statt dass jedes Fenster (siehe {@link SoSi.ControllerPkg.NewViewFrame}) mit einem eigenen Timer die
+ * Wiedergabeposition abfragt und interpoliert, wird je Aktualisierung genau ein interpoliertes Bild berechnet und
+ * veröffentlicht. Anschließend werden alle angemeldeten {@link IRefreshable}-Instanzen aktualisiert, welche das Bild
+ * über {@link #copyLatestFrame(InterpolatedFrame)} in ihren eigenen Puffer übernehmen und nur noch die Umrechnung in
+ * Pixelkoordinaten selbst durchführen. Der Aufwand der Interpolation ist somit unabhängig von der Anzahl der
+ * Fenster.<br>
+ * Bei aktivem Zeichnen (siehe {@link RuntimeArguments#isActiveRenderingActivated()}) veröffentlicht der Timer kein
+ * Bild. Stattdessen fordern die {@link ActiveRenderingThread}s über {@link #copyFrame(long, InterpolatedFrame)} das
+ * Bild ihres Darstellungstakts an. Dieses wird vom ersten anfragenden Thread interpoliert und veröffentlicht, alle
+ * weiteren Threads desselben Takts übernehmen es lediglich.<br>
+ * Das Übernehmen des veröffentlichten Bildes erfolgt ohne Sperre, so dass auch Threads außerhalb des
+ * Event-Dispatch-Threads (z.B. {@link ActiveRenderingThread}) das Veröffentlichen nicht blockieren.
+ */
+public class FrameBroadcaster implements ISoccerUpdateListener {
+
+    /**
+     * Instanzen je PlaybackHandler
+     */
+    private static final Map<PlaybackHandler, FrameBroadcaster> INSTANCES = new IdentityHashMap<PlaybackHandler,
+            FrameBroadcaster>();
+
+    /**
+     * Darstellungstakt eines durch den Timer veröffentlichten Bildes, welches die aktuelle Wiedergabeposition enthält
+     */
+    private static final long CURRENT_DISPLAY_TICK = Long.MIN_VALUE;
+
+    /**
+     * Quelle der Wiedergabeposition
+     */
+    private final PlaybackHandler playbackHandler;
+
+    /**
+     * Angemeldete Empfänger der Aktualisierung
+     */
+    private final List<IRefreshable> views = new CopyOnWriteArrayList<IRefreshable>();
+
+    /**
+     * Timer, welcher in einem festen, vorgegeben Intervall die Aktualisierung anstößt
+     */
+    private final Timer updateTimer;
+
+    /**
+     * Sämtliche Puffer, welche zur Veröffentlichung wiederverwendet werden. Wird ausschließlich in
+     * {@link #publishFrame(long)} verwendet.
+     */
+    private final List<FrameSlot> frameSlots = new ArrayList<FrameSlot>();
+
+    /**
+     * Der zuletzt veröffentlichte Puffer, <code>null</code> falls noch keiner veröffentlicht wurde
+     */
+    private final AtomicReference<FrameSlot> publishedFrameSlot = new AtomicReference<FrameSlot>();
+
+    /**
+     * Gibt die Instanz des angegebenen PlaybackHandlers zurück, welche bei Bedarf erstellt wird.
+     *
+     * @param playbackHandler
+     *            Quelle der Wiedergabeposition
+     * @return Die gemeinsame Instanz sämtlicher Fenster des PlaybackHandlers
+     */
+    public static FrameBroadcaster getFrameBroadcaster(PlaybackHandler playbackHandler) {
+        synchronized (INSTANCES) {
+            FrameBroadcaster frameBroadcaster = INSTANCES.get(playbackHandler);
+            if (frameBroadcaster == null) {
+                frameBroadcaster = new FrameBroadcaster(playbackHandler);
+                INSTANCES.put(playbackHandler, frameBroadcaster);
+            }
+
+            return frameBroadcaster;
+        }
+    }
+
+    /**
+     * Erstellt eine neue Instanz. Der Timer startet erst mit dem Anmelden einer Ansicht (siehe
+     * {@link #addView(IRefreshable)}) bzw. dem Start der Wiedergabe.
+     *
+     * @param playbackHandler
+     *            Quelle der Wiedergabeposition
+     */
+    private FrameBroadcaster(PlaybackHandler playbackHandler) {
+        this.playbackHandler = playbackHandler;
+
+        RuntimeArguments runtimeArguments = RuntimeArguments.getRuntimeArguments();
+        int delay = (runtimeArguments.isFpsUnlimited() && !runtimeArguments.isActiveRenderingActivated()) ? 0
+                : 1000 / SoccerGUI.GUI_REFRESH_RATE;
+
+        this.updateTimer = new Timer(delay, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                // Der Timer wird bereits im Event-Dispatch-Thread ausgeführt
+                broadcast();
+
+                // Timer stoppen, falls Wiedergabe pausiert und Simulationsberechnung (inzwischen) abgschlossen
+                if (!FrameBroadcaster.this.playbackHandler.isRunning()
+                        && FrameBroadcaster.this.playbackHandler.isSimulationCalculationFinished())
+                    updateTimer.stop();
+            }
+        });
+    }
+
+    /**
+     * Meldet eine Ansicht an, welche fortan bei jeder Aktualisierung benachrichtigt wird. Mit der ersten Ansicht wird
+     * der PlaybackHandler beobachtet und der Timer gestartet, falls die Wiedergabe bereits aktiv ist.
+     *
+     * @param view
+     *            Die anzumeldende Ansicht
+     */
+    public void addView(IRefreshable view) {
+        synchronized (INSTANCES) {
+            if (this.views.isEmpty())
+                this.playbackHandler.addSoccerUpdateListener(this, SoccerUpdateEventBus.Delivery.EVENT_DISPATCH_THREAD);
+            this.views.add(view);
+        }
+
+        if (this.playbackHandler.isRunning())
+            this.updateTimer.start();
+    }
+
+    /**
+     * Meldet eine Ansicht ab. Mit der letzten Ansicht wird der Timer gestoppt und die Instanz verworfen.
+     *
+     * @param view
+     *            Die abzumeldende Ansicht
+     */
+    public void removeView(IRefreshable view) {
+        synchronized (INSTANCES) {
+            if (!this.views.remove(view) || !this.views.isEmpty())
+                return;
+
+            this.playbackHandler.removeSoccerUpdateListener(this);
+            INSTANCES.remove(this.playbackHandler);
+        }
+
+        this.updateTimer.stop();
+    }
+
+    /**
+     * @return Quelle der Wiedergabeposition
+     */
+    public PlaybackHandler getPlaybackHandler() {
+        return this.playbackHandler;
+    }
+
+    /**
+     * Berechnet ein interpoliertes Bild der aktuellen Wiedergabeposition, veröffentlicht dieses und aktualisiert
+     * anschließend sämtliche angemeldeten Ansichten. Liegen keine Tick-Daten vor, erfolgt keine Aktualisierung. Bei
+     * aktivem Zeichnen werden die Bilder stattdessen über {@link #copyFrame(long, InterpolatedFrame)} veröffentlicht.
+     */
+    public void broadcast() {
+        TickData tickData = this.playbackHandler.getCurrentTickData();
+        if (tickData == null)
+            return;
+
+        if (!RuntimeArguments.getRuntimeArguments().isActiveRenderingActivated())
+            this.publishFrame(CURRENT_DISPLAY_TICK);
+
+        double playbackSpeed = this.playbackHandler.getPlaybackSpeedRate();
+        int simulationTickPosition = this.playbackHandler.getSimulationTickPosition();
+        for (IRefreshable view : this.views)
+            view.refresh(tickData, playbackSpeed, simulationTickPosition);
+    }
+
+    /**
+     * Übernimmt das Bild des angegebenen Darstellungstakts in den angegebenen Puffer. Wurde für diesen Takt noch kein
+     * Bild veröffentlicht, wird die Wiedergabeposition zum Zeitpunkt des Takts interpoliert (siehe
+     * {@link PlaybackHandler#getInterpolatedFrame(long, InterpolatedFrame)}) und veröffentlicht. Sämtliche Threads,
+     * welche denselben Takt zeichnen, erhalten somit dasselbe Bild, welches nur einmal interpoliert wird. Ist bereits
+     * das Bild eines späteren Takts veröffentlicht, wird dieses übernommen.
+     *
+     * @param displayTickNanos
+     *            Zeitpunkt des Darstellungstakts entsprechend {@link System#nanoTime()}
+     * @param frame
+     *            Der zu befüllende Puffer des Aufrufers
+     * @return <code>true</code>, falls ein Bild übernommen wurde, <code>false</code> falls keine Tick-Daten vorliegen
+     */
+    public boolean copyFrame(long displayTickNanos, InterpolatedFrame frame) {
+        if (this.playbackHandler.getCurrentTickData() == null)
+            return false;
+
+        if (!isPublished(this.publishedFrameSlot.get(), displayTickNanos))
+            this.publishFrame(displayTickNanos);
+
+        return this.copyLatestFrame(frame);
+    }
+
+    /**
+     * Übernimmt das zuletzt veröffentlichte Bild in den angegebenen Puffer. Die Methode blockiert nicht.
+     *
+     * @param frame
+     *            Der zu befüllende Puffer des Aufrufers
+     * @return <code>true</code>, falls ein Bild übernommen wurde, <code>false</code> falls noch keines veröffentlicht
+     *         wurde
+     */
+    public boolean copyLatestFrame(InterpolatedFrame frame) {
+        while (true) {
+            FrameSlot frameSlot = this.publishedFrameSlot.get();
+            if (frameSlot == null)
+                return false;
+
+            // Der Puffer wird erst gelesen, nachdem er als gelesen markiert wurde und weiterhin veröffentlicht ist.
+            // Andernfalls könnte er bereits wieder befüllt werden (siehe publishFrame()).
+            frameSlot.readers.incrementAndGet();
+            try {
+                if (this.publishedFrameSlot.get() == frameSlot) {
+                    frame.set(frameSlot.frame);
+                    return true;
+                }
+            } finally {
+                frameSlot.readers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Prüft, ob der angegebene Puffer bereits das Bild des angegebenen Darstellungstakts oder eines späteren Takts
+     * enthält.
+     *
+     * @param frameSlot
+     *            Der veröffentlichte Puffer oder <code>null</code>
+     * @param displayTickNanos
+     *            Zeitpunkt des Darstellungstakts entsprechend {@link System#nanoTime()}
+     * @return <code>true</code>, falls das Bild nicht erneut interpoliert werden muss
+     */
+    private static boolean isPublished(FrameSlot frameSlot, long displayTickNanos) {
+        return frameSlot != null && frameSlot.displayTickNanos != CURRENT_DISPLAY_TICK
+                && displayTickNanos - frameSlot.displayTickNanos <= 0;
+    }
+
+    /**
+     * Interpoliert die Wiedergabeposition in einen Puffer, welcher weder veröffentlicht ist noch gelesen wird, und
+     * veröffentlicht diesen. Die Anzahl der Puffer ist somit durch die Anzahl gleichzeitig lesender Threads begrenzt.
+     *
+     * @param displayTickNanos
+     *            Zeitpunkt des Darstellungstakts entsprechend {@link System#nanoTime()} oder
+     *            {@link #CURRENT_DISPLAY_TICK} für die aktuelle Wiedergabeposition
+     */
+    synchronized void publishFrame(long displayTickNanos) {
+        FrameSlot publishedSlot = this.publishedFrameSlot.get();
+
+        // Ein anderer Thread hat das Bild dieses Takts bereits veröffentlicht, während auf die Sperre gewartet wurde
+        if (displayTickNanos != CURRENT_DISPLAY_TICK && isPublished(publishedSlot, displayTickNanos))
+            return;
+
+        FrameSlot targetSlot = null;
+        for (FrameSlot frameSlot : this.frameSlots) {
+            if (frameSlot != publishedSlot && frameSlot.readers.get() == 0) {
+                targetSlot = frameSlot;
+                break;
+            }
+        }
+
+        if (targetSlot == null) {
+            targetSlot = new FrameSlot();
+            this.frameSlots.add(targetSlot);
+        }
+
+        if (RuntimeArguments.getRuntimeArguments().isInterpolationDeactivated())
+            targetSlot.frame.set(this.playbackHandler.getCurrentTickData());
+        else if (displayTickNanos == CURRENT_DISPLAY_TICK)
+            this.playbackHandler.getInterpolatedCurrentFrame(targetSlot.frame);
+        else
+            this.playbackHandler.getInterpolatedFrame(displayTickNanos, targetSlot.frame);
+
+        targetSlot.displayTickNanos = displayTickNanos;
+        this.publishedFrameSlot.set(targetSlot);
+    }
+
+    @Override
+    public void soccerUpdate(SoccerUpdateEvent event) {
+        switch (event) {
+        case PLAYBACK_STARTED:
+            this.updateTimer.start();
+            break;
+
+        case PLAYBACK_PAUSED:
+            if (this.playbackHandler.isSimulationCalculationFinished())
+                this.updateTimer.stop();
+            this.broadcast();
+            break;
+
+        case PLAYBACK_ABORTED:
+            this.updateTimer.stop();
+            break;
+
+        case PLAYBACK_STEP:
+        case PLAYBACK_SPEED_CHANGED:
+            this.broadcast();
+            break;
+
+        case SIMULATION_FINISHED:
+            if (!this.playbackHandler.isRunning())
+                this.updateTimer.stop();
+            break;
+
+        default:
+            break;
+        }
+    }
+
+    /**
+     * @return Anzahl der bisher angelegten Puffer, welche durch die Anzahl gleichzeitig lesender Threads begrenzt ist
+     */
+    synchronized int getFrameSlotCount() {
+        return this.frameSlots.size();
+    }
+
+    /**
+     * Wiederverwendbarer Puffer samt Anzahl der Threads, welche diesen gerade lesen
+     */
+    private static class FrameSlot {
+        private final InterpolatedFrame frame = new InterpolatedFrame();
+        private final AtomicInteger readers = new AtomicInteger();
+
+        /**
+         * Darstellungstakt des enthaltenen Bildes, wird vor dem Veröffentlichen gesetzt
+         */
+        private volatile long displayTickNanos = CURRENT_DISPLAY_TICK;
+    }
+}
@@ -0,0 +1,302 @@
+﻿package SoSi.View;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import sep.football.Position;
+import SoSi.Model.InterpolatedFrame;
+import SoSi.Model.PlaybackHandler;
+import SoSi.Model.SoSiPosition;
+import SoSi.Model.TickData;
+
+/**
+ * Belastungstest des {@link FrameBroadcaster} ohne Oberfläche.<br>
+ * Der Test läuft in zwei Phasen: Zunächst veröffentlicht ein Thread wie der Timer fortlaufend Bilder (siehe
+ * {@link FrameBroadcaster#broadcast()}), während die übrigen Threads diese übernehmen (siehe
+ * {@link FrameBroadcaster#copyLatestFrame(InterpolatedFrame)}). Anschließend fordern sämtliche Threads wie
+ * {@link ActiveRenderingThread}s das Bild ihres Darstellungstakts an (siehe
+ * {@link FrameBroadcaster#copyFrame(long, InterpolatedFrame)}).<br>
+ * Die Bilder stammen von einem PlaybackHandler, dessen Bilder in sämtlichen Koordinaten denselben Wert enthalten.
+ * Geprüft wird, dass kein übernommenes Bild Werte verschiedener Bilder enthält, dass jeder Darstellungstakt höchstens
+ * einmal interpoliert wird und dass die Anzahl der Puffer durch die Anzahl der Threads begrenzt bleibt.<br>
+ * Aufruf: <code>java -cp &lt;Classpath der Simulation&gt; SoSi.View.FrameBroadcasterStressTest [Threads]
+ * [Sekunden je Phase]</code>
+ */
+public final class FrameBroadcasterStressTest {
+
+    /**
+     * Standardwert der Anzahl an lesenden Threads
+     */
+    private static final int DEFAULT_READERS = 3;
+
+    /**
+     * Standardwert der Dauer einer Phase in Sekunden
+     */
+    private static final int DEFAULT_SECONDS = 5;
+
+    /**
+     * Länge eines Darstellungstakts in der zweiten Phase. Deutlich kürzer als in der Oberfläche, damit möglichst viele
+     * Threads gleichzeitig ein neues Bild anfordern.
+     */
+    private static final long DISPLAY_TICK_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    /**
+     * Anzahl der unterschiedlichen Bilder, welche der PlaybackHandler zyklisch liefert
+     */
+    private static final int FRAME_COUNT = 64;
+
+    /**
+     * Anzahl der Spieler je Team der gelieferten Bilder
+     */
+    private static final int PLAYERS_PER_TEAM = 11;
+
+    /**
+     * Private-Konstruktor der Klasse, da diese nur static Elemente enthält und eine Instanzierung der Klasse daher
+     * nicht gewünscht ist.
+     */
+    private FrameBroadcasterStressTest() {
+    }
+
+    /**
+     * Startmethode des Tests. Beendet die JVM mit dem Rückgabewert 1, falls eine der Prüfungen fehlschlägt.
+     *
+     * @param args
+     *            Optional die Anzahl an lesenden Threads, gefolgt von der Dauer einer Phase in Sekunden
+     * @throws InterruptedException
+     *             Falls der Thread während des Wartens auf die lesenden Threads unterbrochen wird
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 2) {
+            System.err.println("Usage: FrameBroadcasterStressTest [reader threads] [seconds per phase]");
+            System.exit(1);
+        }
+
+        int readers = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_READERS;
+        long phaseNanos = TimeUnit.SECONDS.toNanos(args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SECONDS);
+
+        boolean passed = runTimerPhase(readers, phaseNanos);
+        passed &= runDisplayTickPhase(readers + 1, phaseNanos);
+
+        System.out.println(passed ? "OK" : "FEHLGESCHLAGEN");
+        System.exit(passed ? 0 : 1);
+    }
+
+    /**
+     * Erste Phase: Ein Thread veröffentlicht fortlaufend Bilder, die übrigen übernehmen diese.
+     *
+     * @param readers
+     *            Anzahl der lesenden Threads
+     * @param phaseNanos
+     *            Dauer der Phase in Nanosekunden
+     * @return <code>true</code>, falls sämtliche Prüfungen erfolgreich waren
+     * @throws InterruptedException
+     *             Falls der Thread während des Wartens unterbrochen wird
+     */
+    private static boolean runTimerPhase(int readers, long phaseNanos) throws InterruptedException {
+        final CyclingPlaybackHandler playbackHandler = new CyclingPlaybackHandler();
+        final FrameBroadcaster frameBroadcaster = FrameBroadcaster.getFrameBroadcaster(playbackHandler);
+        final long deadline = System.nanoTime() + phaseNanos;
+        final AtomicLong copies = new AtomicLong();
+        final AtomicLong tornFrames = new AtomicLong();
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < readers; i++) {
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    InterpolatedFrame frame = new InterpolatedFrame();
+                    long count = 0;
+                    while (System.nanoTime() < deadline) {
+                        if (frameBroadcaster.copyLatestFrame(frame)) {
+                            count++;
+                            if (isTorn(frame))
+                                tornFrames.incrementAndGet();
+                        }
+                    }
+                    copies.addAndGet(count);
+                }
+            });
+        }
+
+        for (Thread thread : threads)
+            thread.start();
+
+        long published = 0;
+        while (System.nanoTime() < deadline) {
+            frameBroadcaster.broadcast();
+            published++;
+        }
+
+        for (Thread thread : threads)
+            thread.join();
+
+        int frameSlots = frameBroadcaster.getFrameSlotCount();
+        System.out.printf("Timer: %d Threads, %d Bilder erzeugt, %d kopiert, %d fehlerhaft, %d Puffer%n",
+                readers, published, copies.get(), tornFrames.get(), frameSlots);
+
+        return tornFrames.get() == 0 && frameSlots <= readers + 1;
+    }
+
+    /**
+     * Zweite Phase: Sämtliche Threads fordern das Bild ihres Darstellungstakts an.
+     *
+     * @param threadCount
+     *            Anzahl der Threads
+     * @param phaseNanos
+     *            Dauer der Phase in Nanosekunden
+     * @return <code>true</code>, falls sämtliche Prüfungen erfolgreich waren
+     * @throws InterruptedException
+     *             Falls der Thread während des Wartens unterbrochen wird
+     */
+    private static boolean runDisplayTickPhase(int threadCount, long phaseNanos) throws InterruptedException {
+        final CyclingPlaybackHandler playbackHandler = new CyclingPlaybackHandler();
+        final FrameBroadcaster frameBroadcaster = FrameBroadcaster.getFrameBroadcaster(playbackHandler);
+        final long deadline = System.nanoTime() + phaseNanos;
+        final AtomicLong copies = new AtomicLong();
+        final AtomicLong tornFrames = new AtomicLong();
+
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < threadCount; i++) {
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    InterpolatedFrame frame = new InterpolatedFrame();
+                    long count = 0;
+                    long now;
+                    while ((now = System.nanoTime()) < deadline) {
+                        long displayTickNanos = now - Math.floorMod(now, DISPLAY_TICK_NANOS);
+                        if (frameBroadcaster.copyFrame(displayTickNanos, frame)) {
+                            count++;
+                            if (isTorn(frame))
+                                tornFrames.incrementAndGet();
+                        }
+                    }
+                    copies.addAndGet(count);
+                }
+            });
+        }
+
+        for (Thread thread : threads)
+            thread.start();
+        for (Thread thread : threads)
+            thread.join();
+
+        int frameSlots = frameBroadcaster.getFrameSlotCount();
+        System.out.printf("Takt: %d Threads, %d Takte interpoliert, davon %d mehrfach, %d kopiert, "
+                + "%d fehlerhaft, %d Puffer%n", threadCount, playbackHandler.getInterpolatedTicks(),
+                playbackHandler.getRepeatedTicks(), copies.get(), tornFrames.get(), frameSlots);
+
+        return tornFrames.get() == 0 && playbackHandler.getRepeatedTicks() == 0 && frameSlots <= threadCount + 1;
+    }
+
+    /**
+     * Prüft, ob das Bild Werte unterschiedlicher Bilder enthält. Sämtliche Koordinaten eines gelieferten Bildes
+     * entsprechen dessen Tick-Position.
+     *
+     * @param frame
+     *            Das zu prüfende Bild
+     * @return <code>true</code>, falls das Bild fehlerhaft ist
+     */
+    private static boolean isTorn(InterpolatedFrame frame) {
+        double value = frame.getTickPosition();
+        if (frame.getBallX() != value || frame.getBallY() != value || frame.getPlayerCountTeamA() != PLAYERS_PER_TEAM
+                || frame.getPlayerCountTeamB() != PLAYERS_PER_TEAM)
+            return true;
+
+        for (int i = 0; i < PLAYERS_PER_TEAM; i++) {
+            if (frame.getPlayerXTeamA(i) != value || frame.getPlayerYTeamA(i) != value
+                    || frame.getPlayerXTeamB(i) != value || frame.getPlayerYTeamB(i) != value)
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * PlaybackHandler ohne Simulation, welcher zyklisch {@link FrameBroadcasterStressTest#FRAME_COUNT}
+     * unterschiedliche Bilder liefert. Sämtliche Koordinaten eines Bildes entsprechen dessen Tick-Position.
+     */
+    private static class CyclingPlaybackHandler extends PlaybackHandler {
+
+        /**
+         * Die zyklisch gelieferten Bilder
+         */
+        private final TickData[] frames = new TickData[FRAME_COUNT];
+
+        /**
+         * Anzahl der über {@link #getInterpolatedCurrentFrame(InterpolatedFrame)} gelieferten Bilder
+         */
+        private long currentFrameCount = 0;
+
+        /**
+         * Zuletzt über {@link #getInterpolatedFrame(long, InterpolatedFrame)} angeforderter Darstellungstakt, nur
+         * gültig, falls {@link #interpolatedTicks} größer 0 ist
+         */
+        private long lastDisplayTickNanos = 0;
+
+        /**
+         * Anzahl der über {@link #getInterpolatedFrame(long, InterpolatedFrame)} gelieferten Bilder
+         */
+        private long interpolatedTicks = 0;
+
+        /**
+         * Anzahl der Darstellungstakte, welche nicht nach dem zuletzt angeforderten Takt lagen
+         */
+        private long repeatedTicks = 0;
+
+        /**
+         * Erstellt die Bilder.
+         */
+        public CyclingPlaybackHandler() {
+            super(35, 60, 5, 1.4, 1.0);
+
+            for (int i = 0; i < FRAME_COUNT; i++) {
+                List<Position> players = new ArrayList<Position>();
+                for (int j = 0; j < PLAYERS_PER_TEAM; j++)
+                    players.add(new SoSiPosition(i, i));
+
+                this.frames[i] = new TickData(i, 0, 0, new SoSiPosition(i, i), players, players, null, "", "");
+            }
+        }
+
+        @Override
+        public TickData getCurrentTickData() {
+            return this.frames[0];
+        }
+
+        @Override
+        public boolean getInterpolatedCurrentFrame(InterpolatedFrame frame) {
+            // Wird wie im FrameBroadcaster nur von einem Thread gleichzeitig aufgerufen
+            frame.set(this.frames[(int) (this.currentFrameCount++ % FRAME_COUNT)]);
+            return true;
+        }
+
+        @Override
+        public boolean getInterpolatedFrame(long nanoTime, InterpolatedFrame frame) {
+            // Wird wie im FrameBroadcaster nur von einem Thread gleichzeitig aufgerufen
+            if (this.interpolatedTicks > 0 && nanoTime - this.lastDisplayTickNanos <= 0)
+                this.repeatedTicks++;
+
+            this.lastDisplayTickNanos = nanoTime;
+            this.interpolatedTicks++;
+            frame.set(this.frames[(int) Math.floorMod(nanoTime / DISPLAY_TICK_NANOS, (long) FRAME_COUNT)]);
+            return true;
+        }
+
+        /**
+         * @return Anzahl der über {@link #getInterpolatedFrame(long, InterpolatedFrame)} gelieferten Bilder
+         */
+        public synchronized long getInterpolatedTicks() {
+            return this.interpolatedTicks;
+        }
+
+        /**
+         * @return Anzahl der Darstellungstakte, welche nicht nach dem zuletzt angeforderten Takt lagen
+         */
+        public synchronized long getRepeatedTicks() {
+            return this.repeatedTicks;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+﻿package SoSi.View;
+
+import java.awt.Image;
+import java.util.List;
+
+/**
+ * Interface für Empfänger von Bildern, welche über {@link ResourceLoader#loadImages(List, IImagesLoadedHandler)} im
+ * Hintergrund geladen wurden.
+ */
+public interface IImagesLoadedHandler {
+
+    /**
+     * Wird aufgerufen, sobald sämtliche angeforderten Bilder geladen wurden. Der Aufruf erfolgt durch einen Thread des
+     * {@link ResourceLoader}, nicht durch den Event-Dispatch-Thread.
+     *
+     * @param images
+     *            Die geladenen Bilder in der angeforderten Reihenfolge. Bilder, welche nicht geladen werden konnten,
+     *            sind <code>null</code>.
+     */
+    public void imagesLoaded(List<Image> images);
+}
@@ -7,7 +7,7 @@ import SoSi.Model.TickData;
  * erfolgt mittels den Informationen aus TickData.<br>
  * (Die Klasse dient primär zur Aktualisierung von Werten, welche bei der Wiedergabe geändert werden, wie
  * Positionsangaben, Tore etc. Das Eintreten von Ereignissen oder das Ändern von Wiedergabezuständen (wie Play/Pause)
- * erfolgt mittels Observable-notifies.)
+ * erfolgt mittels {@link SoSi.Model.ISoccerUpdateListener}.)
  */
 public interface IRefreshable {
     /**
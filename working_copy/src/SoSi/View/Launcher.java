@@ -1,11 +1,19 @@
 ﻿package SoSi.View;
 
+import java.io.IOException;
 import java.net.URL;
 
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 
+import SoSi.Debugging.Diagnostics;
+import SoSi.Debugging.JsonLinesDiagnosticsSink;
+import SoSi.Debugging.TextFileDiagnosticsSink;
 import SoSi.Model.PlaybackHandler;
+import SoSi.Model.Calculation.AILoader;
+import SoSi.Model.Calculation.AIWarmUp;
+import SoSi.Model.Calculation.Tick;
+import SoSi.Model.Profiling.TickProfiler;
 
 /**
  * Klasse, welche die Programmstartmethode enthält und die Anzeige des Hauptfensters startet,
@@ -39,6 +47,38 @@ public class Launcher {
                 RuntimeArguments.getRuntimeArguments().setInterpolationDeactivated(true);
             } else if (string.equals("-noAnimation")) {
                 RuntimeArguments.getRuntimeArguments().setAnimationsDeactivated(true);
+            } else if (string.equals("-activeRendering")) {
+                RuntimeArguments.getRuntimeArguments().setActiveRenderingActivated(true);
+            } else if (string.equals("-aiHost")) {
+                AILoader.setRemoteHostingEnabled(true);
+            } else if (string.equals("-aiCpuBudget")) {
+                if (!Tick.setCpuTimeBudgetEnabled(true))
+                    System.err.println("Thread CPU time is not supported by this JVM, using wall-clock time limit");
+            } else if (string.equals("-profileTicks")) {
+                // Muss vor der ersten Simulation gesetzt werden, da der Profiler die Property nur einmalig ausliest
+                System.setProperty(TickProfiler.ENABLED_PROPERTY, "true");
+            } else if (string.equals("-aiWarmUp")) {
+                AIWarmUp.configure(AIWarmUp.DEFAULT_ITERATIONS, AIWarmUp.DEFAULT_DURATION_MILLISECONDS);
+            } else if (string.startsWith("-aiWarmUp=")) {
+                // Format: -aiWarmUp=<Anzahl Aufrufe>,<Dauer in Millisekunden>
+                try {
+                    String[] values = string.substring("-aiWarmUp=".length()).split(",");
+                    AIWarmUp.configure(Integer.parseInt(values[0]), Long.parseLong(values[1]));
+                } catch (RuntimeException e) {
+                    System.err.println("Invalid argument " + string + ", expected -aiWarmUp=<iterations>,<millis>");
+                }
+            } else if (string.startsWith("-diagnostics=file:")) {
+                try {
+                    Diagnostics.setSink(new TextFileDiagnosticsSink(string.substring("-diagnostics=file:".length())));
+                } catch (IOException e) {
+                    System.err.println("Could not open diagnostics file, using console instead: " + e.toString());
+                }
+            } else if (string.startsWith("-diagnostics=json:")) {
+                try {
+                    Diagnostics.setSink(new JsonLinesDiagnosticsSink(string.substring("-diagnostics=json:".length())));
+                } catch (IOException e) {
+                    System.err.println("Could not open diagnostics file, using console instead: " + e.toString());
+                }
             }
         }
 
@@ -66,6 +106,9 @@ public class Launcher {
                 System.setSecurityManager(securityManager);
             }
 
+            // Separate KI-Prozesse unter derselben Richtlinie starten
+            AILoader.setRemoteHostingSecurityPolicy(policeResource.toString());
+
             SwingUtilities.invokeLater(new Runnable() {
                 @Override
                 public void run() {
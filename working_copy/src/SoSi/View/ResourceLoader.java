@@ -0,0 +1,259 @@
+﻿package SoSi.View;
+
+import java.awt.Dimension;
+import java.awt.Image;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.imageio.ImageIO;
+
+/**
+ * Lädt Bilder und Sounds parallel im Hintergrund, damit die Oberfläche unmittelbar angezeigt werden kann und der
+ * Event-Dispatch-Thread nicht durch das Dekodieren blockiert wird.<br>
+ * Welche Ressourcen vorhanden sind (z.B. Anzahl der Animations-Frames eines Hintergrunds und deren Abmessungen), wird
+ * dem Manifest {@value #MANIFEST_PATH} entnommen, statt durch Ladeversuche ermittelt zu werden.
+ */
+public final class ResourceLoader {
+
+    /**
+     * Pfad der Bilddateien
+     */
+    public static final String IMAGE_PATH = "/resources/images/";
+
+    /**
+     * Pfad der Sounddateien
+     */
+    public static final String SOUND_PATH = "/resources/sounds/";
+
+    /**
+     * Pfad des Manifests
+     */
+    private static final String MANIFEST_PATH = "/resources/manifest.properties";
+
+    /**
+     * Maximale Anzahl an Frames eines Hintergrunds
+     */
+    private static final int MAXIMUM_FRAME_COUNT = 31;
+
+    /**
+     * Thread-Pool zum Laden der Ressourcen
+     */
+    private static final ExecutorService LOADING_EXECUTOR = Executors.newFixedThreadPool(Math.max(2, Runtime
+            .getRuntime().availableProcessors()), new LoadingThreadFactory());
+
+    /**
+     * Das Manifest, <code>null</code> solange nicht eingelesen
+     */
+    private static Properties manifest;
+
+    /**
+     * Keine Instanzen
+     */
+    private ResourceLoader() {
+    }
+
+    /**
+     * Ermittelt die Dateinamen sämtlicher Frames eines Hintergrunds entsprechend des Manifests. Lautet der angegebene
+     * Dateiname beispielsweise "background.jpg", so lauten die weiteren Frames "background-02.jpg",
+     * "background-03.jpg" etc. Ist der Hintergrund nicht im Manifest enthalten, wird ausschließlich das Hauptbild
+     * zurückgegeben.
+     *
+     * @param backgroundFileName
+     *            Dateiname des Haupt-Hintergrundbilds
+     * @return Dateinamen der Frames, beginnend mit dem Hauptbild
+     */
+    public static List<String> getFrameFileNames(String backgroundFileName) {
+        int frameCount = 1;
+        String value = getManifest().getProperty("background." + backgroundFileName + ".frames");
+        if (value != null) {
+            try {
+                frameCount = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid frame count for " + backgroundFileName + " in manifest: " + value);
+            }
+        }
+
+        if (frameCount > MAXIMUM_FRAME_COUNT) {
+            System.err.println("The maximum count of sprite frames was exceeded!");
+            frameCount = MAXIMUM_FRAME_COUNT;
+        }
+
+        int extensionIndex = backgroundFileName.lastIndexOf('.');
+        String filenamePrefix = backgroundFileName.substring(0, extensionIndex);
+        String filenameSuffix = backgroundFileName.substring(extensionIndex);
+
+        List<String> frameFileNames = new ArrayList<String>(frameCount);
+        frameFileNames.add(backgroundFileName);
+        for (int frame = 2; frame <= frameCount; frame++)
+            frameFileNames.add(String.format("%s-%02d%s", filenamePrefix, frame, filenameSuffix));
+
+        return frameFileNames;
+    }
+
+    /**
+     * Ermittelt die Abmessungen der Frames eines Hintergrunds entsprechend des Manifests.
+     *
+     * @param backgroundFileName
+     *            Dateiname des Haupt-Hintergrundbilds
+     * @return Abmessungen in Pixel oder <code>null</code>, falls diese nicht im Manifest angegeben sind
+     */
+    public static Dimension getImageSize(String backgroundFileName) {
+        String value = getManifest().getProperty("background." + backgroundFileName + ".size");
+        if (value == null)
+            return null;
+
+        try {
+            String[] values = value.trim().split("x");
+            return new Dimension(Integer.parseInt(values[0]), Integer.parseInt(values[1]));
+        } catch (RuntimeException e) {
+            System.err.println("Invalid size for " + backgroundFileName + " in manifest: " + value);
+            return null;
+        }
+    }
+
+    /**
+     * Lädt die angegebenen Bilder parallel im Hintergrund. Die Methode kehrt sofort zurück.
+     *
+     * @param fileNames
+     *            Dateinamen der Bilder (relativ zu {@link #IMAGE_PATH})
+     * @param imagesLoadedHandler
+     *            Wird aufgerufen, sobald sämtliche Bilder geladen wurden
+     */
+    public static void loadImages(List<String> fileNames, final IImagesLoadedHandler imagesLoadedHandler) {
+        final Image[] images = new Image[fileNames.size()];
+        final AtomicInteger remainingImages = new AtomicInteger(images.length);
+
+        if (images.length == 0) {
+            imagesLoadedHandler.imagesLoaded(Collections.<Image> emptyList());
+            return;
+        }
+
+        for (int i = 0; i < images.length; i++) {
+            final int imageIndex = i;
+            final String fileName = fileNames.get(i);
+
+            LOADING_EXECUTOR.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        images[imageIndex] = readImage(fileName);
+                    } finally {
+                        // Die atomare Verringerung stellt die Sichtbarkeit sämtlicher Bilder für den letzten Task
+                        // sicher
+                        if (remainingImages.decrementAndGet() == 0)
+                            imagesLoadedHandler.imagesLoaded(Arrays.asList(images));
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Lädt ein Bild im aufrufenden Thread.
+     *
+     * @param fileName
+     *            Dateiname des Bildes (relativ zu {@link #IMAGE_PATH})
+     * @return Das Bild oder <code>null</code>, falls dieses nicht geladen werden konnte
+     */
+    public static Image readImage(String fileName) {
+        URL resource = ResourceLoader.class.getResource(IMAGE_PATH + fileName);
+        if (resource == null) {
+            System.err.println("Image not found: " + fileName);
+            return null;
+        }
+
+        try {
+            return ImageIO.read(resource);
+        } catch (IOException e) {
+            System.err.println("Error while loading image " + fileName + ": " + e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Führt die angegebene Ladeaufgabe im Hintergrund aus.
+     *
+     * @param loadingTask
+     *            Die Ladeaufgabe
+     * @return Future des Ergebnisses
+     */
+    public static <T> Future<T> submit(Callable<T> loadingTask) {
+        return LOADING_EXECUTOR.submit(loadingTask);
+    }
+
+    /**
+     * Gibt das Ergebnis einer Ladeaufgabe zurück, ohne auf dieses zu warten.
+     *
+     * @param future
+     *            Future der Ladeaufgabe (siehe {@link #submit(Callable)}), <code>null</code> ist zulässig
+     * @return Das Ergebnis oder <code>null</code>, falls die Aufgabe noch nicht abgeschlossen bzw. fehlgeschlagen ist
+     */
+    public static <T> T getIfDone(Future<T> future) {
+        if (future == null || !future.isDone())
+            return null;
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return Das Manifest, welches beim ersten Aufruf eingelesen wird. Fehlt dieses, ist es leer.
+     */
+    private static synchronized Properties getManifest() {
+        if (manifest == null) {
+            manifest = new Properties();
+
+            InputStream manifestStream = ResourceLoader.class.getResourceAsStream(MANIFEST_PATH);
+            if (manifestStream == null) {
+                System.err.println("Resource manifest not found: " + MANIFEST_PATH);
+            } else {
+                try {
+                    manifest.load(manifestStream);
+                } catch (IOException e) {
+                    System.err.println("Error while loading resource manifest: " + e.toString());
+                } finally {
+                    try {
+                        manifestStream.close();
+                    } catch (IOException e) {
+                        // ignore
+                    }
+                }
+            }
+        }
+
+        return manifest;
+    }
+
+    /**
+     * Erstellt Daemon-Threads, damit das Laden das Beenden der Anwendung nicht verhindert.
+     */
+    private static class LoadingThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "SoSi-ResourceLoader-" + this.threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -33,6 +33,31 @@ public final class RuntimeArguments {
      */
     private boolean animationsDeactivated = false;
 
+    /**
+     * Gibt an, ob das Spielfeld von einem eigenen Thread aktiv gezeichnet werden soll (siehe
+     * {@link ActiveRenderingThread}).
+     */
+    private boolean activeRenderingActivated = false;
+
+    /**
+     * Gibt an, ob das Spielfeld von einem eigenen Thread aktiv gezeichnet werden soll.
+     * 
+     * @return <code>true</code>, falls aktiv gezeichnet werden soll, <code>false</code> andernfalls
+     */
+    public boolean isActiveRenderingActivated() {
+        return activeRenderingActivated;
+    }
+
+    /**
+     * Setzt den Wert, ob das Spielfeld von einem eigenen Thread aktiv gezeichnet werden soll.
+     * 
+     * @param activeRenderingActivated
+     *            <code>true</code>, falls aktiv gezeichnet werden soll, <code>false</code> andernfalls
+     */
+    public void setActiveRenderingActivated(boolean activeRenderingActivated) {
+        this.activeRenderingActivated = activeRenderingActivated;
+    }
+
     /**
      * Gibt an, ob die Wiedergabe von animierten Hintergrnden deaktiviert werden soll.
      * 
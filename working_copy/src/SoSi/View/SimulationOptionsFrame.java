@@ -34,6 +34,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.jar.JarFile;
 
 import SoSi.Model.PlaybackHandler;
@@ -93,8 +94,6 @@ public class SimulationOptionsFrame extends JFrame implements ActionListener {
     private static final Color[] COLORS_VALUES = { Color.BLUE, Color.RED, Color.GREEN, Color.YELLOW, Color.ORANGE,
             Color.GRAY, Color.BLACK };
 
-    private ArrayList<AIData> aiDataList;
-
     private JPanel simulationOptions;
     private JPanel displayOptions;
 
@@ -120,9 +119,6 @@ public class SimulationOptionsFrame extends JFrame implements ActionListener {
     public SimulationOptionsFrame() {
         super();
 
-        // Load existing AI's
-        this.aiDataList = getAIDataList();
-
         this.BACKGROUND_TYPES = createBackgroundTypes();
 
         this.setLayout(new GridBagLayout());
@@ -158,10 +154,40 @@ public class SimulationOptionsFrame extends JFrame implements ActionListener {
         this.setDefaultCloseOperation(WindowConstants.HIDE_ON_CLOSE);
         this.setResizable(false);
         this.pack();
+
+        // Load existing AI's
+        this.loadAIDataList();
+    }
+
+    /**
+     * Ermittelt die ladbaren AIs im Hintergrund (siehe {@link #getAIDataList()}) und fügt diese anschließend im
+     * Event-Dispatch-Thread den Auswahlfeldern hinzu. Bis dahin sind die Auswahlfelder leer.
+     */
+    private void loadAIDataList() {
+        ResourceLoader.submit(new Callable<Void>() {
+            @Override
+            public Void call() {
+                final ArrayList<AIData> aiDataList = getAIDataList();
+
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (AIData aiData : aiDataList) {
+                            teamAAiName.addItem(aiData);
+                            teamBAiName.addItem(aiData);
+                        }
+                        pack();
+                    }
+                });
+
+                return null;
+            }
+        });
     }
 
     /**
-     * Ermittelt eine Liste vom AIs, welche geladen werden können und gibt diese zurück.
+     * Ermittelt eine Liste vom AIs, welche geladen werden können und gibt diese zurück. Da hierzu sämtliche Dateien
+     * des AI-Verzeichnisses geöffnet werden, sollte der Aufruf nicht im Event-Dispatch-Thread erfolgen.
      * 
      * @return Gefundene und ladbare AIs
      */
@@ -240,11 +266,11 @@ public class SimulationOptionsFrame extends JFrame implements ActionListener {
 
         constraints.gridy = 2;
         constraints.gridx = 1;
-        teamAAiName = new JComboBox<AIData>(this.aiDataList.toArray(new AIData[aiDataList.size()]));
+        teamAAiName = new JComboBox<AIData>();
         panel.add(teamAAiName, constraints);
         constraints.gridy = 3;
         constraints.gridx = 1;
-        teamBAiName = new JComboBox<AIData>(this.aiDataList.toArray(new AIData[aiDataList.size()]));
+        teamBAiName = new JComboBox<AIData>();
         panel.add(teamBAiName, constraints);
 
         // Bande
@@ -315,30 +341,52 @@ public class SimulationOptionsFrame extends JFrame implements ActionListener {
         final JLabel imagePreview = new JLabel();
         panel.add(imagePreview, constraints);
 
-        // Vorschau der Grafik
+        // Vorschau der Grafik. Diese wird im Hintergrund geladen und skaliert, bis dahin bleibt die Fläche leer.
         backgroundSelector.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent arg0) {
                 final int preferedWidth = 250;
+                final BackgroundType selectedType = (BackgroundType) ((JComboBox<?>) arg0.getSource())
+                        .getSelectedItem();
 
-                ImageIcon newIcon;
-                int height;
-                try {
-                    Image img = ((BackgroundType) ((JComboBox<?>) arg0.getSource()).getSelectedItem()).getImageIcon()
-                            .getImage();
-                    height = (int) (Math.round((double) preferedWidth / img.getWidth(null) * img.getHeight(null)));
-
-                    Image newImg = img.getScaledInstance(preferedWidth, height, java.awt.Image.SCALE_SMOOTH);
-                    newIcon = new ImageIcon(newImg);
-                } catch (NullPointerException e) {
-                    newIcon = null;
-                    height = 0;
-                }
+                Dimension imageSize = ResourceLoader.getImageSize(selectedType.backgroundFileName);
+                int height = 0;
+                if (imageSize != null)
+                    height = (int) (Math.round((double) preferedWidth / imageSize.width * imageSize.height));
 
-                imagePreview.setIcon(newIcon);
+                imagePreview.setIcon(null);
                 imagePreview.setPreferredSize(new Dimension(preferedWidth, height));
-
                 pack();
+
+                ResourceLoader.loadImages(Collections.singletonList(selectedType.backgroundFileName),
+                        new IImagesLoadedHandler() {
+                            @Override
+                            public void imagesLoaded(List<Image> images) {
+                                Image img = images.get(0);
+                                if (img == null)
+                                    return;
+
+                                final int scaledHeight = (int) (Math.round((double) preferedWidth
+                                        / img.getWidth(null) * img.getHeight(null)));
+
+                                // ImageIcon wartet auf die Skalierung, welche somit ebenfalls im Hintergrund erfolgt
+                                final ImageIcon newIcon = new ImageIcon(img.getScaledInstance(preferedWidth,
+                                        scaledHeight, java.awt.Image.SCALE_SMOOTH));
+
+                                SwingUtilities.invokeLater(new Runnable() {
+                                    @Override
+                                    public void run() {
+                                        // Zwischenzeitlich wurde ein anderer Hintergrund gewählt
+                                        if (backgroundSelector.getSelectedItem() != selectedType)
+                                            return;
+
+                                        imagePreview.setIcon(newIcon);
+                                        imagePreview.setPreferredSize(new Dimension(preferedWidth, scaledHeight));
+                                        pack();
+                                    }
+                                });
+                            }
+                        });
             }
         });
 
@@ -629,10 +677,6 @@ public class SimulationOptionsFrame extends JFrame implements ActionListener {
         public String toString() {
             return this.name;
         }
-
-        public ImageIcon getImageIcon() {
-            return new ImageIcon(getClass().getResource("/resources/images/" + backgroundFileName));
-        }
     }
 
     /**
@@ -9,8 +9,6 @@ import java.awt.Insets;
 import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
 import java.util.Hashtable;
-import java.util.Observable;
-import java.util.Observer;
 
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
@@ -20,14 +18,16 @@ import javax.swing.JSlider;
 import javax.swing.ToolTipManager;
 
 import SoSi.ControllerPkg.Controller;
+import SoSi.Model.ISoccerUpdateListener;
 import SoSi.Model.PlaybackHandler;
 import SoSi.Model.SoccerUpdateEvent;
+import SoSi.Model.SoccerUpdateEventBus;
 import SoSi.Model.TickData;
 
 /**
  * Dient sowohl zur Erstellung als auch zur Darstellung der Buttons in der Steuerelemente-Leiste.
  */
-public class SoccerControlPanel extends JPanel implements IRefreshable, Observer {
+public class SoccerControlPanel extends JPanel implements IRefreshable, ISoccerUpdateListener {
 
     /**
      * Random generated.
@@ -47,6 +47,8 @@ public class SoccerControlPanel extends JPanel implements IRefreshable, Observer
     private final JButton forwardButton;
     private final JButton stepForwardButton;
     private final JButton stepBackwardButton;
+    private final JButton nextEventButton;
+    private final JButton previousEventButton;
     private final JButton stopButton;
     private final JButton replayButton;
     private final JSlider speedSlider;
@@ -63,7 +65,7 @@ public class SoccerControlPanel extends JPanel implements IRefreshable, Observer
      * Erstellt eine neue Instanz von SoccerControlPanel, die sämtliche darin enthaltenen Komponenten erstellt und
      * entsprechend hinzugefügt.<br>
      * Zur Aktualisierung der aktivierten und deaktivierten Menüpunkte, registriert sich die Klasse beim PlaybackHandler
-     * als Observer.<br>
+     * als {@link SoSi.Model.ISoccerUpdateListener}.<br>
      * Die zur Interaktion mit dem Benutzer notwendigen ActionListener werden mittels der Referenz auf den Controller
      * abgefragt.
      * 
@@ -73,7 +75,7 @@ public class SoccerControlPanel extends JPanel implements IRefreshable, Observer
      *            Referenz auf {@link Controller}.
      */
     public SoccerControlPanel(PlaybackHandler playbackHandler, Controller controller) {
-        playbackHandler.addObserver(this);
+        playbackHandler.addSoccerUpdateListener(this, SoccerUpdateEventBus.Delivery.EVENT_DISPATCH_THREAD);
 
         ToolTipManager.sharedInstance().setDismissDelay(10000);
         ToolTipManager.sharedInstance().setInitialDelay(750);
@@ -103,6 +105,14 @@ public class SoccerControlPanel extends JPanel implements IRefreshable, Observer
                 "<html><b><u>Schritt Zurück</u> (Alt+Linke Pfeiltaste)</b><br />Einzelne Simulationsschritte "
                         + "zurückspringen.</html>", "stepBackward.png", "stepBackward_hover.png",
                 "stepBackward_pressed.png");
+        this.nextEventButton = this.createDesignedButton(controller.getJumpToNextEvent(),
+                "<html><b><u>Nächstes Ereignis</u> (Alt+Bild ab)</b><br />Zum nächsten Spiel-Ereignis (z.B. "
+                        + "Tor oder Foul) springen.</html>", "nextEvent.png", "nextEvent_hover.png",
+                "nextEvent_pressed.png");
+        this.previousEventButton = this.createDesignedButton(controller.getJumpToPreviousEvent(),
+                "<html><b><u>Vorheriges Ereignis</u> (Alt+Bild auf)</b><br />Zum vorherigen Spiel-Ereignis "
+                        + "(z.B. Tor oder Foul) springen.</html>", "previousEvent.png", "previousEvent_hover.png",
+                "previousEvent_pressed.png");
         this.stopButton = this.createDesignedButton(controller.getStop(),
                 "<html><b><u>Stop</u> (Alt+.)</b><br />Pausiert und springt an den Anfang. Eine nicht "
                         + "abge-<br>schlossene Simulation kann abgebrochen werden.</html>", "stop.png",
@@ -119,6 +129,8 @@ public class SoccerControlPanel extends JPanel implements IRefreshable, Observer
         this.forwardButton.setMnemonic(KeyEvent.VK_F);
         this.stepForwardButton.setMnemonic(KeyEvent.VK_RIGHT);
         this.stepBackwardButton.setMnemonic(KeyEvent.VK_LEFT);
+        this.nextEventButton.setMnemonic(KeyEvent.VK_PAGE_DOWN);
+        this.previousEventButton.setMnemonic(KeyEvent.VK_PAGE_UP);
         this.stopButton.setMnemonic(KeyEvent.VK_PERIOD);
         this.replayButton.setMnemonic(KeyEvent.VK_R);
 
@@ -146,35 +158,41 @@ public class SoccerControlPanel extends JPanel implements IRefreshable, Observer
 
         // Komponenten zu buttonPanel hinzufügen
         buttonConstraints.gridx = 0;
-        buttonPanel.add(stepBackwardButton, buttonConstraints);
+        buttonPanel.add(previousEventButton, buttonConstraints);
 
         buttonConstraints.gridx = 1;
-        buttonPanel.add(stepForwardButton, buttonConstraints);
+        buttonPanel.add(stepBackwardButton, buttonConstraints);
 
         buttonConstraints.gridx = 2;
-        buttonPanel.add(rewindButton, buttonConstraints);
+        buttonPanel.add(stepForwardButton, buttonConstraints);
 
         buttonConstraints.gridx = 3;
-        buttonPanel.add(stopButton, buttonConstraints);
+        buttonPanel.add(nextEventButton, buttonConstraints);
 
         buttonConstraints.gridx = 4;
+        buttonPanel.add(rewindButton, buttonConstraints);
+
+        buttonConstraints.gridx = 5;
+        buttonPanel.add(stopButton, buttonConstraints);
+
+        buttonConstraints.gridx = 6;
         this.buttonPanel.add(this.playButton, buttonConstraints);
         this.buttonPanel.add(this.pauseButton, buttonConstraints);
         this.exchangePlayPauseButton(true);
 
-        buttonConstraints.gridx = 5;
+        buttonConstraints.gridx = 7;
         buttonPanel.add(forwardButton, buttonConstraints);
 
-        buttonConstraints.gridx = 6;
+        buttonConstraints.gridx = 8;
         buttonPanel.add(replayButton, buttonConstraints);
 
-        buttonConstraints.gridx = 7;
+        buttonConstraints.gridx = 9;
         buttonPanel.add(speedSlider, buttonConstraints);
 
         // SpeedLabel einfügen
         GridBagConstraints speedLabelConstraints = (GridBagConstraints) buttonConstraints.clone();
         speedLabelConstraints.gridheight = 1;
-        speedLabelConstraints.gridx = 8;
+        speedLabelConstraints.gridx = 10;
         speedLabelConstraints.gridy = 0;
         speedLabelConstraints.insets = new Insets(25, 5, 0, 5);
         buttonPanel.add(this.speedLabelCaption, speedLabelConstraints);
@@ -249,11 +267,13 @@ public class SoccerControlPanel extends JPanel implements IRefreshable, Observer
         // if ((tickPosition == 0 && rewindEnabled) || (tickPosition > 0 && !rewindEnabled)) {
         if (tickPosition == 0 ^ !stepBackEnabled) {
             this.stepBackwardButton.setEnabled(tickPosition > 0);
+            this.previousEventButton.setEnabled(tickPosition > 0);
             this.rewindButton.setEnabled(tickPosition > 0);
         }
 
         if (tickPosition >= simulationTickPosition ^ !stepForwardEnabled) {
             this.stepForwardButton.setEnabled(tickPosition < simulationTickPosition);
+            this.nextEventButton.setEnabled(tickPosition < simulationTickPosition);
             this.forwardButton.setEnabled(tickPosition < simulationTickPosition);
         }
 
@@ -268,34 +288,30 @@ public class SoccerControlPanel extends JPanel implements IRefreshable, Observer
     }
 
     @Override
-    public void update(Observable observable, Object data) {
-
-        if (data instanceof SoccerUpdateEvent) {
-            switch ((SoccerUpdateEvent) data) {
-            case PLAYBACK_STARTED:
-                this.exchangePlayPauseButton(false);
-                this.setEnabledAll(true);
-                break;
-
-            case PLAYBACK_ABORTED:
-                this.setEnabledAll(false);
-                this.exchangePlayPauseButton(true);
-                this.currentSpeedRate = 1.0;
-                this.updateGuiSpeedValues();
-                break;
-
-            case PLAYBACK_SPEED_CHANGED:
-                updateGuiSpeedValues();
-                break;
-
-            case PLAYBACK_PAUSED:
-                this.exchangePlayPauseButton(true);
-                break;
-
-            default:
-                break;
-            }
-
+    public void soccerUpdate(SoccerUpdateEvent event) {
+        switch (event) {
+        case PLAYBACK_STARTED:
+            this.exchangePlayPauseButton(false);
+            this.setEnabledAll(true);
+            break;
+
+        case PLAYBACK_ABORTED:
+            this.setEnabledAll(false);
+            this.exchangePlayPauseButton(true);
+            this.currentSpeedRate = 1.0;
+            this.updateGuiSpeedValues();
+            break;
+
+        case PLAYBACK_SPEED_CHANGED:
+            updateGuiSpeedValues();
+            break;
+
+        case PLAYBACK_PAUSED:
+            this.exchangePlayPauseButton(true);
+            break;
+
+        default:
+            break;
         }
     }
 
@@ -312,6 +328,8 @@ public class SoccerControlPanel extends JPanel implements IRefreshable, Observer
         forwardButton.setEnabled(enabled);
         stepForwardButton.setEnabled(enabled);
         stepBackwardButton.setEnabled(enabled);
+        nextEventButton.setEnabled(enabled);
+        previousEventButton.setEnabled(enabled);
         stopButton.setEnabled(enabled);
         replayButton.setEnabled(enabled && this.currentSpeedRate > 0);
         speedSlider.setEnabled(enabled);
@@ -355,8 +373,10 @@ public class SoccerControlPanel extends JPanel implements IRefreshable, Observer
 
     private void updateGuiSpeedValues() {
         // Only update SpeedSlider if speed has changed (more than a threshold)
+        // Geschwindigkeiten des Scrub-Modus werden am oberen Ende des Sliders dargestellt
+        double sliderSpeedRate = Math.min(Math.abs(currentSpeedRate), PlaybackHandler.MAX_PLAYBACK_SPEED_RATE);
         if (Math.abs(convertSpeedSliderValueToSpeedRate(this.speedSlider.getValue()) - this.currentSpeedRate) > 0.005)
-            this.speedSlider.setValue(convertSpeedRateToSpeedSliderValue(Math.abs(currentSpeedRate)));
+            this.speedSlider.setValue(convertSpeedRateToSpeedSliderValue(sliderSpeedRate));
 
         speedLabel.setText(String.format("%.2f x", this.currentSpeedRate));
     }
@@ -3,26 +3,21 @@
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.util.Observable;
-import java.util.Observer;
 import javax.swing.JFrame;
-import javax.swing.SwingUtilities;
-import javax.swing.Timer;
 
 import SoSi.ControllerPkg.Controller;
 import SoSi.Model.PlaybackHandler;
 import SoSi.Model.SoccerUpdateEvent;
+import SoSi.Model.SoccerUpdateEventBus;
 import SoSi.Model.TickData;
 
 /**
  * Die SoccerGui ist das Hauptfenster, das die Darstellung, das Menü und die Steuerelemente enthält. Die Klasse
- * beinhaltet außerdem einen Timer, welcher in einem festen Intervall den aktuellen Wiedergabezustand aus dem
- * PlaybackHandler abfragt und alle in der GUI enthaltenen Komponenten, welche die Simulation repräsentieren, neu
- * zeichnen lässt.
+ * meldet sich außerdem beim gemeinsamen {@link FrameBroadcaster} an, welcher in einem festen Intervall den aktuellen
+ * Wiedergabezustand aus dem PlaybackHandler abfragt und alle in der GUI enthaltenen Komponenten, welche die Simulation
+ * repräsentieren, neu zeichnen lässt.
  */
-public class SoccerGUI extends JFrame implements Observer, IRefreshable {
+public class SoccerGUI extends JFrame implements IRefreshable {
 
     /**
      * Random generated.
@@ -159,10 +154,10 @@ public class SoccerGUI extends JFrame implements Observer, IRefreshable {
     private Controller controller;
 
     /**
-     * Timer, welcher in einem festen, vorgegeben Intervall die Aktualisierung der GUI anstößt. Dabei wird aus
-     * PlaybackHandler die Daten der aktuellen Wiedergabeposition abgefragt und das Neuzeichnen angestoßen.
+     * Gemeinsamer Takt sämtlicher Fenster, welcher in einem festen, vorgegeben Intervall die Aktualisierung der GUI
+     * anstößt und das interpolierte Bild der aktuellen Wiedergabeposition bereitstellt.
      */
-    private Timer updateGuiTimer;
+    private final FrameBroadcaster frameBroadcaster;
 
     /**
      * Erstellt ein neues Hauptfenster. Der Aufruf wird an den überladenen Konstruktor weitergegeben, indem der
@@ -203,13 +198,15 @@ public class SoccerGUI extends JFrame implements Observer, IRefreshable {
         super(GUI_DEFAULT_TITLE);
 
         this.playbackHandler = playbackHandler;
+        this.frameBroadcaster = FrameBroadcaster.getFrameBroadcaster(playbackHandler);
 
         // create Controller and ActionListeners
         this.controller = new Controller(playbackHandler, new DisplayOptionsChangedHandler());
 
         // DebuggingFrame intialisieren
         this.debuggingFrame = new DebuggingFrame(playbackHandler, controller);
-        this.playbackHandler.addObserver(this.debuggingFrame);
+        this.playbackHandler.addSoccerUpdateListener(this.debuggingFrame,
+                SoccerUpdateEventBus.Delivery.EVENT_DISPATCH_THREAD);
         controller.createOpenDebugingFrame(debuggingFrame);
 
         // Set layout of JFrame
@@ -236,7 +233,7 @@ public class SoccerGUI extends JFrame implements Observer, IRefreshable {
 
         // Add remaining controls to JFrame
         this.addSoccerPanel(soccerPanel);
-        this.playbackHandler.addObserver(soccerPanel);
+        this.playbackHandler.addSoccerUpdateListener(soccerPanel, SoccerUpdateEventBus.Delivery.EVENT_DISPATCH_THREAD);
 
         // Exit application, if main-windows was closed. Else, just close the JFrame
         if (isMainGui) {
@@ -247,9 +244,9 @@ public class SoccerGUI extends JFrame implements Observer, IRefreshable {
             this.setMinimumSize(MINIMUM_SIZE_ADDITIONAL_GUI);
         }
 
-        initGuiUpdateTimer();
-
-        this.playbackHandler.addObserver(this);
+        // Beim gemeinsamen Takt anmelden. Dieser startet, falls die Wiedergabe bereits aktiv ist (wird benötigt, wenn
+        // ein zusätzliches Darstellungsfenster während einer aktiven Wiedergabe gestartet wird).
+        this.frameBroadcaster.addView(this);
         this.playbackHandler.notifyCurrentState();
 
         this.setSize(this.getMinimumSize());
@@ -261,37 +258,6 @@ public class SoccerGUI extends JFrame implements Observer, IRefreshable {
         Thread.currentThread().setPriority(8);
     }
 
-    /**
-     * Initialisiert den Update-Timer der Gui. Dabei wird die bei einem Timer-Tick auszuführende Logik festgelegt und
-     * das Intervall des Timers (mittels GUI_REFRESH_RATE) festgelegt. Der Timer startet, falls die Wiedergabe im
-     * PlaybackHandler bereits gestartet wurde.
-     */
-    private void initGuiUpdateTimer() {
-        int delay = RuntimeArguments.getRuntimeArguments().isFpsUnlimited() ? 0 : 1000 / GUI_REFRESH_RATE;
-
-        this.updateGuiTimer = new Timer(delay, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-
-                SwingUtilities.invokeLater(new Runnable() {
-                    @Override
-                    public void run() {
-                        refresh();
-                    }
-                });
-
-                // Timer stoppen, falls Wiedergabe pausiert und Simulationsberechnung (inzwischen) abgschlossen)
-                if (!playbackHandler.isRunning() && playbackHandler.isSimulationCalculationFinished())
-                    updateGuiTimer.stop();
-            }
-        });
-
-        // Timer sofort starten, falls Wiedergabe bereits aktiv .
-        // (wird benötigt, wenn ein zusätzliches Darstellungs während einer aktiver Wiedergabe gestartet wird)
-        if (playbackHandler.isRunning())
-            this.updateGuiTimer.start();
-    }
-
     /**
      * Fügt eine SoccerPanel Instanz dem Fenster hinzu. Ist bereits eine (alte) Instanz im Fenster vorhanden, wird diese
      * zuvor entfernt und mit der neuen ausgetauscht.
@@ -301,26 +267,33 @@ public class SoccerGUI extends JFrame implements Observer, IRefreshable {
      */
     private void addSoccerPanel(SoccerPanel soccerPanel) {
         if (this.soccerPanel != null) {
-            this.playbackHandler.deleteObserver(this.soccerPanel);
+            this.soccerPanel.stopActiveRendering();
+            this.playbackHandler.removeSoccerUpdateListener(this.soccerPanel);
             this.soccerPanel.flushImageCache();
             this.remove(this.soccerPanel);
         }
 
-        this.playbackHandler.addObserver(soccerPanel);
+        this.playbackHandler.addSoccerUpdateListener(soccerPanel, SoccerUpdateEventBus.Delivery.EVENT_DISPATCH_THREAD);
         this.soccerPanel = soccerPanel;
         this.getContentPane().add(soccerPanel, BorderLayout.CENTER);
+
+        if (RuntimeArguments.getRuntimeArguments().isActiveRenderingActivated())
+            soccerPanel.startActiveRendering(this.frameBroadcaster);
     }
 
     /**
-     * Methode von {@link IRefreshable}, welche durch einen Timer-Tick aufgerufen wird, um die Anzeige zu aktualisieren
-     * und die aktuellen Daten der Wiedergabe anzuzeigen. <br>
+     * Methode von {@link IRefreshable}, welche durch den {@link FrameBroadcaster} aufgerufen wird, um die Anzeige zu
+     * aktualisieren und die aktuellen Daten der Wiedergabe anzuzeigen. <br>
      * Die Methode ruft wiederum die {@link IRefreshable}-Methoden der Komponenten auf, welche im Fenster enthalten
      * sind, damit diese ebenfalls aktualisiert werden.
      * 
      * {@inheritDoc}
      */
     public void refresh(TickData tickData, double playbackSpeed, int simulationTickPosition) {
-        this.soccerPanel.refresh(tickData, playbackSpeed, simulationTickPosition);
+        // Bei aktivem Zeichnen fordert das Spielfeld das Bild seines Takts selbst beim FrameBroadcaster an, ansonsten
+        // übernimmt es das gemeinsam interpolierte Bild in seinen Puffer
+        if (!this.soccerPanel.isActiveRendering())
+            this.soccerPanel.refresh(this.frameBroadcaster);
 
         if (this.soccerGameInformationPanel != null) {
             this.soccerGameInformationPanel.refresh(tickData, playbackSpeed, simulationTickPosition);
@@ -341,50 +314,11 @@ public class SoccerGUI extends JFrame implements Observer, IRefreshable {
     }
 
     /**
-     * Veranlasst eine Aktualisierung aller für die Anzeige relevanter GUI-Komponenten
+     * Veranlasst eine Aktualisierung aller für die Anzeige relevanter GUI-Komponenten. Die Aktualisierung erfolgt über
+     * den {@link FrameBroadcaster} und betrifft somit sämtliche Fenster.
      */
     private void refresh() {
-        TickData tickData;
-
-        if (RuntimeArguments.getRuntimeArguments().isInterpolationDeactivated())
-            tickData = playbackHandler.getCurrentTickData();
-        else
-            tickData = playbackHandler.getInterpolatedCurrentTickData();
-
-        if (tickData != null)
-            refresh(tickData, playbackHandler.getPlaybackSpeedRate(), playbackHandler.getSimulationTickPosition());
-    }
-
-    @Override
-    public void update(Observable o, Object arg) {
-        switch ((SoccerUpdateEvent) arg) {
-        case PLAYBACK_STARTED:
-            this.updateGuiTimer.start();
-            break;
-
-        case PLAYBACK_PAUSED:
-            if (this.playbackHandler.isSimulationCalculationFinished())
-                this.updateGuiTimer.stop();
-            this.refresh();
-            break;
-
-        case PLAYBACK_ABORTED:
-            this.updateGuiTimer.stop();
-            break;
-
-        case PLAYBACK_STEP:
-        case PLAYBACK_SPEED_CHANGED:
-            this.refresh();
-            break;
-
-        case SIMULATION_FINISHED:
-            if (!this.playbackHandler.isRunning())
-                this.updateGuiTimer.stop();
-            break;
-
-        default:
-            break;
-        }
+        this.frameBroadcaster.broadcast();
     }
 
     /**
@@ -415,9 +349,9 @@ public class SoccerGUI extends JFrame implements Observer, IRefreshable {
 
     @Override
     public void dispose() {
-        // Remove itself as observer & stop timers
-        this.playbackHandler.deleteObserver(this);
-        this.updateGuiTimer.stop();
+        // Remove itself from the shared refresh timer
+        this.frameBroadcaster.removeView(this);
+        this.soccerPanel.stopActiveRendering();
 
         // If this is Main-GUI, close and quit everything (but do it only once)
         if (this.isMainGui && !this.isDisposing) {
@@ -431,7 +365,7 @@ public class SoccerGUI extends JFrame implements Observer, IRefreshable {
         // Flush old image cache & observer from addiditional view frame (= not Main-GUI)
         if (!this.isMainGui) {
             this.soccerPanel.flushImageCache();
-            this.playbackHandler.deleteObserver(this.soccerPanel);
+            this.playbackHandler.removeSoccerUpdateListener(this.soccerPanel);
         }
 
         super.dispose();
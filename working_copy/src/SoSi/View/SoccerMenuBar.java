@@ -1,8 +1,6 @@
 ﻿package SoSi.View;
 
 import java.awt.event.KeyEvent;
-import java.util.Observable;
-import java.util.Observer;
 
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
@@ -10,8 +8,10 @@ import javax.swing.JMenuItem;
 import javax.swing.JSeparator;
 
 import SoSi.ControllerPkg.Controller;
+import SoSi.Model.ISoccerUpdateListener;
 import SoSi.Model.PlaybackHandler;
 import SoSi.Model.SoccerUpdateEvent;
+import SoSi.Model.SoccerUpdateEventBus;
 import SoSi.Model.TickData;
 
 /**
@@ -20,7 +20,7 @@ import SoSi.Model.TickData;
  * Konfigurationsoptionen und zum laden bzw. speichern von Simulationen. Des weiteren wird das Anzeigen des Handbuchs
  * angeboten.
  */
-public class SoccerMenuBar extends JMenuBar implements Observer, IRefreshable {
+public class SoccerMenuBar extends JMenuBar implements ISoccerUpdateListener, IRefreshable {
 
     /**
      * Random generated.
@@ -77,6 +77,16 @@ public class SoccerMenuBar extends JMenuBar implements Observer, IRefreshable {
      */
     private JMenuItem stepBackItem;
 
+    /**
+     * Repräsentiert den Menüpunkt "Steuerung -> Vorheriges Ereignis".
+     */
+    private JMenuItem previousEventItem;
+
+    /**
+     * Repräsentiert den Menüpunkt "Steuerung -> Nächstes Ereignis".
+     */
+    private JMenuItem nextEventItem;
+
     /**
      * Repräsentiert den Menüpunkt "Steuerung -> Replay".
      */
@@ -92,11 +102,17 @@ public class SoccerMenuBar extends JMenuBar implements Observer, IRefreshable {
      */
     private static double[] SPEED_SELECTIONS = { 0.25, 0.5, 0.75, 1, 1.5, 2, 5, 10 };
 
+    /**
+     * Geschwindigkeiten des Scrub-Modus in den Untermenüs "Steuerung -> Vorlauf/Rücklauf" (siehe
+     * {@link PlaybackHandler#isScrubbing()}).
+     */
+    private static double[] SCRUB_SPEED_SELECTIONS = { 50, 200, 1000 };
+
     /**
      * Erstellt eine neue SoccerMenuBar. Dabei werden sämtliche darin enthaltenen Menüpunkte erzeugt und dem Menü
      * hinzugefügt. <br>
      * Zur Aktualisierung der aktivierten und deaktivierten Menüpunkte registriert sich die Klasse beim PlaybackHandler
-     * als Observer.<br>
+     * als {@link SoSi.Model.ISoccerUpdateListener}.<br>
      * Die zur Interaktion mit dem Benutzer notwendigen ActionListener werden mittels der Referenz auf Controller
      * abgefragt.
      * 
@@ -106,7 +122,7 @@ public class SoccerMenuBar extends JMenuBar implements Observer, IRefreshable {
      *            Referenz auf {@link Controller}.
      */
     public SoccerMenuBar(PlaybackHandler playbackHandler, Controller controller) {
-        playbackHandler.addObserver(this);
+        playbackHandler.addSoccerUpdateListener(this, SoccerUpdateEventBus.Delivery.EVENT_DISPATCH_THREAD);
 
         JMenu simulation = new JMenu("Simulation");
         simulation.setMnemonic(KeyEvent.VK_S);
@@ -281,6 +297,18 @@ public class SoccerMenuBar extends JMenuBar implements Observer, IRefreshable {
         this.stepForwardItem = item;
         menu.add(item);
 
+        item = new JMenuItem("Vorheriges Ereignis");
+        item.addActionListener(controller.getJumpToPreviousEvent());
+        item.setMnemonic(KeyEvent.VK_H);
+        this.previousEventItem = item;
+        menu.add(item);
+
+        item = new JMenuItem("Nächstes Ereignis");
+        item.addActionListener(controller.getJumpToNextEvent());
+        item.setMnemonic(KeyEvent.VK_N);
+        this.nextEventItem = item;
+        menu.add(item);
+
         menu.add(new JSeparator());
 
         item = new JMenuItem("Replay");
@@ -318,36 +346,43 @@ public class SoccerMenuBar extends JMenuBar implements Observer, IRefreshable {
             item.addActionListener(controller.getSetSpeed());
             menu.add(item);
         }
+
+        menu.add(new JSeparator());
+
+        for (double value : SCRUB_SPEED_SELECTIONS) {
+            JMenuItem item = new JMenuItem(String.format("%.0f x (Scrubbing)", value));
+            item.setActionCommand(Double.toString(value * multiplicator));
+            item.addActionListener(controller.getSetSpeed());
+            menu.add(item);
+        }
     }
 
     @Override
-    public void update(Observable o, Object data) {
-        if (data instanceof SoccerUpdateEvent) {
-            switch ((SoccerUpdateEvent) data) {
-            case SIMULATION_FINISHED:
-                this.saveSimulationItem.setEnabled(true);
-                break;
-
-            case PLAYBACK_ABORTED:
-                this.saveSimulationItem.setEnabled(false);
-                setPlaybackEnabled(false);
-                break;
-
-            case PLAYBACK_STARTED:
-                setPlaybackEnabled(true);
-                this.restartSimulationItem.setEnabled(true);
-                this.playItem.setEnabled(false);
-                this.pauseItem.setEnabled(true);
-                break;
-                
-            case PLAYBACK_PAUSED:
-                this.playItem.setEnabled(true);
-                this.pauseItem.setEnabled(false);
-                break;
-
-            default:
-                break;
-            }
+    public void soccerUpdate(SoccerUpdateEvent event) {
+        switch (event) {
+        case SIMULATION_FINISHED:
+            this.saveSimulationItem.setEnabled(true);
+            break;
+
+        case PLAYBACK_ABORTED:
+            this.saveSimulationItem.setEnabled(false);
+            setPlaybackEnabled(false);
+            break;
+
+        case PLAYBACK_STARTED:
+            setPlaybackEnabled(true);
+            this.restartSimulationItem.setEnabled(true);
+            this.playItem.setEnabled(false);
+            this.pauseItem.setEnabled(true);
+            break;
+            
+        case PLAYBACK_PAUSED:
+            this.playItem.setEnabled(true);
+            this.pauseItem.setEnabled(false);
+            break;
+
+        default:
+            break;
         }
     }
 
@@ -359,6 +394,8 @@ public class SoccerMenuBar extends JMenuBar implements Observer, IRefreshable {
         this.rewindItem.setEnabled(enabled);
         this.stepBackItem.setEnabled(enabled);
         this.stepForwardItem.setEnabled(enabled);
+        this.previousEventItem.setEnabled(enabled);
+        this.nextEventItem.setEnabled(enabled);
         this.jumpToTimeItem.setEnabled(enabled);
         this.simulationOptionItem.setEnabled(enabled);
         this.replayItem.setEnabled(enabled);
@@ -376,11 +413,13 @@ public class SoccerMenuBar extends JMenuBar implements Observer, IRefreshable {
         // if ((tickPosition == 0 && rewindEnabled) || (tickPosition > 0 && !rewindEnabled)) {
         if (tickPosition == 0 ^ !stepBackEnabled) {
             this.stepBackItem.setEnabled(tickPosition > 0);
+            this.previousEventItem.setEnabled(tickPosition > 0);
             this.rewindItem.setEnabled(tickPosition > 0);
         }
 
         if (tickPosition >= simulationTickPosition ^ !stepForwardEnabled) {
             this.stepForwardItem.setEnabled(tickPosition < simulationTickPosition);
+            this.nextEventItem.setEnabled(tickPosition < simulationTickPosition);
             this.forwardItem.setEnabled(tickPosition < simulationTickPosition);
         }
 
@@ -1,45 +1,44 @@
 ﻿package SoSi.View;
 
+import java.awt.BorderLayout;
+import java.awt.Canvas;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.FontMetrics;
-import java.awt.GradientPaint;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Image;
-import java.awt.Paint;
 import java.awt.Point;
-import java.awt.RadialGradientPaint;
 import java.awt.RenderingHints;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.ComponentListener;
-import java.awt.geom.AffineTransform;
-import java.awt.geom.Point2D;
-import java.awt.image.BufferedImage;
-import java.io.File;
+import java.awt.image.VolatileImage;
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Observable;
-import java.util.Observer;
 
 import javax.swing.ImageIcon;
 import javax.swing.JPanel;
 
 import sep.football.Position;
 
+import SoSi.Model.ISoccerUpdateListener;
+import SoSi.Model.InterpolatedFrame;
 import SoSi.Model.PlaybackHandler;
 import SoSi.Model.SoccerUpdateEvent;
+import SoSi.Model.SoccerUpdateEventBus;
 import SoSi.Model.TickData;
+import SoSi.Model.Profiling.FlightRecorder.FlightRecorderSupport;
+import SoSi.Model.Profiling.FlightRecorder.PlaybackFrameEvent;
 
 /**
  * Von JPanel abgeleitete Klasse, die zur Darstellung des Spielfelds und der Simulationsobjekte dient.<br>
  * Die abstrakte Klasse beinhaltet Funktionen zum Laden des Hintergrundsbild und dessen Positionierung. Das
  * Hintergrundbild soll dabei stets im korrekten Seitenverhältnis zentriert angezeigt werden.
  */
-public abstract class SoccerPanel extends JPanel implements IRefreshable, Observer {
+public abstract class SoccerPanel extends JPanel implements IRefreshable, ISoccerUpdateListener {
 
     /**
      * Random generated.
@@ -57,14 +56,21 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
     protected final int imageHeight;
 
     /**
-     * Referenz auf die zu verwendende Bilddatei.
+     * Referenz auf die zu verwendende Bilddatei. Leer, solange die Bilder noch geladen werden (siehe
+     * {@link #loadImages(String)}).
      */
     private final List<Image> backgroundImagesOriginal = new ArrayList<Image>();
 
     /**
-     * Referenz auf das skalierte Hintergrundbild
+     * Skaliert die Hintergrundbilder im Hintergrund auf die aktuelle Zeichengröße. <code>null</code>, solange die
+     * Bilder noch geladen werden.
      */
-    private final List<Image> backgroundImagesScaled = new ArrayList<Image>();
+    private BackgroundScaler backgroundScaler;
+
+    /**
+     * Flag, ob die Bilder bereits über {@link #flushImageCache()} freigegeben wurden
+     */
+    private boolean imageCacheFlushed = false;
 
     /**
      * FPS-Angabe, mit welcher Geschwindigkeit sich das Hintergrundbild (sofern entsprechende animierte
@@ -128,6 +134,35 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
     private static final String GOAL_COUNT_DELIMITER = ":";
     private static final int GOAL_COUNT_Y_RECT = 3;
     private static final int GOAL_COUNT_Y_TEXT = 28;
+    private static final Color GOAL_COUNT_BOX_COLOR = new Color(255, 255, 255, 80);
+
+    /**
+     * Vorgezeichnete Grafiken der Spieler und Event-Einblendungen
+     */
+    private final SoccerSpriteCache spriteCache;
+
+    /**
+     * Beschleunigte Ebene, welche Hintergrundfarbe und Hintergrundbild in Panelgröße enthält. <code>null</code>, falls
+     * (noch) nicht erstellt.
+     */
+    private VolatileImage backgroundLayer;
+
+    /**
+     * Hintergrundbild, welches derzeit in {@link #backgroundLayer} gezeichnet ist. <code>null</code>, falls die Ebene
+     * neu gezeichnet werden muss.
+     */
+    private Image backgroundLayerSource;
+
+    /**
+     * Pixel-Daten der Spieler des aktuellen Bildes. Die Liste samt ihrer Elemente wird für jedes Bild wiederverwendet,
+     * gültig sind die ersten {@link #playerScreenPositionCount} Elemente.
+     */
+    private final List<ScreenPositioningData> playerScreenPositions = new ArrayList<ScreenPositioningData>();
+
+    /**
+     * Anzahl der gültigen Elemente in {@link #playerScreenPositions}
+     */
+    private int playerScreenPositionCount;
 
     /**
      * Referenz auf FpsHelper zur Berechnung der angezeigten Zeichengeschwindigkeit
@@ -176,9 +211,31 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
     protected double backgroundSizeFactor;
 
     /**
-     * Referenz auf aktuellen TickData, welcher gezeichnet werden soll.
+     * Puffer mit den (ggf. interpolierten) Positionen, welche gezeichnet werden sollen. Der Puffer wird für jedes Bild
+     * wiederverwendet und nur unter {@link #renderLock} befüllt bzw. gelesen.
      */
-    protected TickData currentTickData;
+    private final InterpolatedFrame currentFrame = new InterpolatedFrame();
+
+    /**
+     * Position, welche beim Zeichnen für die Umrechnung der Koordinaten aus {@link #currentFrame} wiederverwendet wird
+     */
+    private final FramePosition paintPosition = new FramePosition();
+
+    /**
+     * Sperre, welche das Zeichnen gegenüber der Neuberechnung der Darstellungswerte absichert, da bei aktivem
+     * Zeichnen (siehe {@link #startActiveRendering(FrameBroadcaster)}) beides in unterschiedlichen Threads erfolgt.
+     */
+    private final Object renderLock = new Object();
+
+    /**
+     * Thread zum aktiven Zeichnen, <code>null</code> falls über den Event-Dispatch-Thread gezeichnet wird
+     */
+    private ActiveRenderingThread activeRenderingThread;
+
+    /**
+     * Canvas, in welches bei aktivem Zeichnen gezeichnet wird
+     */
+    private Canvas activeRenderingCanvas;
 
     /**
      * ComponentListener, welcher auf Größenänderungen des Fensters (und somit des Zeichenbereichs) reagiert. Dabei
@@ -187,7 +244,9 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
      */
     private ComponentListener onResize = new ComponentAdapter() {
         public void componentResized(ComponentEvent e) {
-            recalculateConstraints();
+            synchronized (renderLock) {
+                recalculateConstraints();
+            }
             repaint();
         }
     };
@@ -219,37 +278,42 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
         this.goalCountFont = new Font("Arial", Font.BOLD, 25);
         this.eventFont = new Font("Arial", Font.PLAIN, 75);
 
-        this.paintGoalCountActivated = paintGoalCountActivated;
+        this.spriteCache = new SoccerSpriteCache(this, this.playerNumbersFont, this.eventFont, EVENT_BOX_PADDING,
+                EVENT_TEXT_HEIGHT);
 
-        loadImages(backgroundFileName);
+        this.paintGoalCountActivated = paintGoalCountActivated;
 
         ImageIcon ballIcon = new ImageIcon(getClass().getResource("/resources/images/ball.png"));
         this.ballImage = ballIcon.getImage();
 
-        this.imageWidth = backgroundImagesOriginal.get(0).getWidth(null);
-        this.imageHeight = backgroundImagesOriginal.get(0).getHeight(null);
+        // Abmessungen des Hintergrunds dem Manifest entnehmen, damit nicht auf das Laden gewartet werden muss
+        Dimension imageSize = ResourceLoader.getImageSize(backgroundFileName);
+        if (imageSize == null) {
+            Image firstImage = ResourceLoader.readImage(backgroundFileName);
+            if (firstImage == null)
+                throw new NullPointerException("Background image not found: " + backgroundFileName);
+
+            imageSize = new Dimension(firstImage.getWidth(null), firstImage.getHeight(null));
+        }
+        this.imageWidth = imageSize.width;
+        this.imageHeight = imageSize.height;
 
         this.setBackground(Color.DARK_GRAY);
 
+        loadImages(backgroundFileName);
+
         this.addComponentListener(onResize);
     }
 
     /**
-     * Lädt alle benötigten Bilder entsprechend des angegebenen Dateinamens. Dabei wird auf weitere Bilder für die
-     * Animationwiedergabe überprüft.<br>
-     * <br>
-     * Kann unter dem angegebenen Dateinamen kein Bild geladen werden, so wird eine entsprechende
-     * {@link NullPointerException} geworfen.<br>
+     * Lädt alle benötigten Bilder entsprechend des angegebenen Dateinamens im Hintergrund (siehe
+     * {@link ResourceLoader}). Die Anzahl der Frames für die Animationswiedergabe wird dem Manifest entnommen.<br>
+     * Lautet der angegebene Dateiname beispielsweise "background.jpg", so werden zusätzlich die Dateien
+     * "background-02.jpg", "background-03.jpg" etc. geladen.<br>
      * <br>
-     * Wurde das erste Bild erfolgreich geladen, so erfolgt der Versuch des Ladens weiterer Bilder für die
-     * Animationsdarstellung.<br>
-     * Lautet der angegebene Dateiname beispielsweise "background.jpg", so wird versucht, die Dateien
-     * "background-02.jpg", "background-03.jpg" etc. zu laden.<br>
-     * Das Scannen bricht ab, sobald entweder kein weiteres Bild (mit aufsteigender Nummerierung) gefunden wurde oder
-     * das maximum der zu ladenden Bilder erreicht wird.<br>
+     * Die Methode kehrt sofort zurück. Bis sämtliche Frames geladen wurden, wird anstelle des Hintergrundbilds
+     * ausschließlich die Hintergrundfarbe gezeichnet. Frames, welche nicht geladen werden konnten, werden übersprungen.
      * <br>
-     * Wird die maximal zu ladende Anzahl an Bilder überschritten, erfolgt eine entsprechende Warnungs-Ausgabe in der
-     * Konsole.<br>
      * <br>
      * Falls {@link RuntimeArguments#isAnimationsDeactivated()} gesetzt, wird nur das Hauptbild eingelesen und die
      * Wiedergabe von Animationen sommit deaktiviert.
@@ -257,116 +321,44 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
      * @param backgroundFileName
      *            Dateiname des zu verwendenden Haupt-Hintergrundbilds.
      */
-    private void loadImages(String backgroundFileName) {
-        boolean scanNextImage = true;
-        int imageCounter = 1;
-
-        // scan for multiple frames
-        while (scanNextImage) {
-            try {
-                File f = new File(backgroundFileName);
-                String filename = f.getName();
-                String filenamePrefix = backgroundFileName.substring(0, filename.lastIndexOf('.'));
-                String filenameSuffix = backgroundFileName.substring(filename.lastIndexOf('.'));
-
-                // Für imageCounter > 1 entsprechendes Suffix für Bildernummerierung erzeugen. Für einstellige Zahlen
-                // mit führender Null.
-                String suffix = "";
-                if (imageCounter != 1)
-                    suffix = ((imageCounter <= 9) ? "-0" : "-") + Integer.toString(imageCounter);
-
-                // Zu überpürfenden Dateinamen generieren.
-                String checkFileName = "/resources/images/" + filenamePrefix + suffix + filenameSuffix;
-                ImageIcon backroundIcon = new ImageIcon(getClass().getResource(checkFileName));
-                this.backgroundImagesOriginal.add(backroundIcon.getImage());
-                this.backgroundImagesScaled.add(backroundIcon.getImage());
-                imageCounter++;
-
-                // Falls keine Animationen angezeigt werden sollen, nach dem einlesen des ersten Bildes abbrechen.
-                if (RuntimeArguments.getRuntimeArguments().isAnimationsDeactivated()) {
-                    scanNextImage = false;
-                }
+    private void loadImages(final String backgroundFileName) {
+        List<String> frameFileNames = ResourceLoader.getFrameFileNames(backgroundFileName);
 
-                // Abbrechen, falls Maximum der einzulesenden Zahlen überschritten.
-                if (imageCounter >= 32) {
-                    System.err.println("The maximum count of sprite frames was exceeded!");
-                    scanNextImage = false;
-                }
-            } catch (NullPointerException e) {
-                // stop scanning
-                scanNextImage = false;
+        // Falls keine Animationen angezeigt werden sollen, nur das erste Bild laden.
+        if (RuntimeArguments.getRuntimeArguments().isAnimationsDeactivated())
+            frameFileNames = frameFileNames.subList(0, 1);
 
-                // throw exception, if not at least one image was found
-                if (this.backgroundImagesOriginal.size() == 0)
-                    throw e;
-            }
-        }
-    }
+        ResourceLoader.loadImages(frameFileNames, new IImagesLoadedHandler() {
+            @Override
+            public void imagesLoaded(List<Image> images) {
+                synchronized (renderLock) {
+                    // Bilder verwerfen, falls die Instanz nicht mehr verwendet wird
+                    if (imageCacheFlushed)
+                        return;
 
-    /**
-     * Erzeugt skalierte Bilder für die Liste {@link #backgroundImagesScaled}.<br>
-     * Dies dient zur besseren grafischen Darstellung, da in dieser Methode die Skalierung mit einer besseren
-     * Interpoliert erfolgt. Des Weiteren dient die Methode zur Performancesteigerung, damit die Skalierung der Bilder
-     * nur einmal zu erfolgen hat und anschlißened Zwischengespeichert werden kann.<br>
-     * <br>
-     * Die Methode überprüft bei jedem Aufruf, ob in der Liste {@link #backgroundImagesScaled} eine zu aktualiserende
-     * Bildinstanz vorhanden ist. (Dies ist der Fall, wenn die Objektinstanz mit der aus
-     * {@link #backgroundImagesOriginal} übereinstimmt.)<br>
-     * <br>
-     * Pro Aufruf der Methode wird maximal eine Bildinstanz aktualisiert. Dies erfolgt aus Performancegründen, damit bei
-     * einer Sprite-Animation mit mehreren Frames nicht alle Instanzen gleichzeitig aktualisiert werden, was zu
-     * GUI-Freezes führen könnte.<br>
-     * <br>
-     * Der Parameter doNewRescale gibt dabei an, ob die aktuellen skalierten Versionen verworfen werden sollen und alle
-     * Bilder aus {@link #backgroundImagesOriginal} neu skaliert und in der Liste abgelegt werden sollen.<br>
-     * Ist dieser Parameter auf <code>true</code> gesetzt, so werden sämtliche enthaltenen Objektinstanzen der Liste
-     * {@link #backgroundImagesScaled} durch die enthaltenenen Objektinstanzen der Liste
-     * {@link #backgroundImagesOriginal} ersetzt und es findet findet kein Skalierungsvorgang statt.<br>
-     * Andernfalls wird wie entsprechend beschrieben pro Aufruf maximal eine Bildinstanz aktualisiert.
-     * 
-     * @param doNewRescale
-     *            Gibt an, ob die aktuellen Skalierten Versionen verworfen werden sollen und ein neuer
-     *            Skalierungsvorgang gestartet werden soll.
-     */
-    private void scaleImages(boolean doNewRescale) {
-        if (doNewRescale) {
-            for (int i = 0; i < this.backgroundImagesOriginal.size(); i++) {
-                // Replace scaled image with original
-                this.backgroundImagesScaled.add(i, this.backgroundImagesOriginal.get(i));
-                if (this.backgroundImagesScaled.size() > i + 1) {
-                    Image oldScaled = this.backgroundImagesScaled.remove(i + 1);
-                    if (!this.backgroundImagesOriginal.contains(oldScaled)) {
-                        oldScaled.flush();
+                    for (Image image : images) {
+                        if (image != null)
+                            backgroundImagesOriginal.add(image);
                     }
-                }
-            }
-        } else {
-            // Check for new unscaled image. Rescale if found. Abort after one rescale (perfomance reasons)
-            for (int i = 0; i < this.backgroundImagesOriginal.size(); i++) {
-                // Check if rescale is necessary (if objects are same)
-                if (this.backgroundImagesOriginal.get(i) == this.backgroundImagesScaled.get(i)
-                        && backgroundPaintWidth != 0 && backgroundPaintHeight != 0) {
-                    // Generate new scaled image
-                    BufferedImage newScaledImage = new BufferedImage(backgroundPaintWidth, backgroundPaintHeight,
-                            BufferedImage.TRANSLUCENT);
-                    Graphics2D g2d = (Graphics2D) newScaledImage.getGraphics();
-                    g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
-                    AffineTransform aft = new AffineTransform();
-                    aft.scale((double) backgroundPaintWidth / this.imageWidth, (double) backgroundPaintHeight
-                            / this.imageHeight);
-                    g2d.drawImage(this.backgroundImagesOriginal.get(i), aft, null);
-                    g2d.dispose();
-
-                    // Replace scaled Image
-                    this.backgroundImagesScaled.add(i, newScaledImage);
-                    if (this.backgroundImagesScaled.size() > i + 1) {
-                        this.backgroundImagesScaled.remove(i + 1);
+
+                    if (backgroundImagesOriginal.size() == 0) {
+                        System.err.println("Background image could not be loaded: " + backgroundFileName);
+                        return;
                     }
 
-                    break;
+                    backgroundScaler = new BackgroundScaler(backgroundImagesOriginal, imageWidth, imageHeight,
+                            new Runnable() {
+                                @Override
+                                public void run() {
+                                    repaint();
+                                }
+                            });
+                    backgroundScaler.requestSize(backgroundPaintWidth, backgroundPaintHeight);
                 }
+
+                repaint();
             }
-        }
+        });
     }
 
     /**
@@ -374,23 +366,23 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
      * (Wiedergabeposition) abhängig.<br>
      * <br>
      * Das zurückgegebene Bild entspricht dabei der skalierten Version, falls dieses bereits vorliegt. Andernfalls wird
-     * die entsprechende unskalierte Bildversion zurückgegeben.
+     * die entsprechende unskalierte Bildversion zurückgegeben und die Skalierung im Hintergrund angestoßen (siehe
+     * {@link BackgroundScaler}), die Methode wartet somit nicht auf die Skalierung.
      * 
-     * @return Das zum aktuellen Tick ({@link #currentTickData}) zugehörige (ggf. skalierte) Hintergrundbild.
+     * @return Das zum aktuellen Tick ({@link #currentFrame}) zugehörige (ggf. skalierte) Hintergrundbild.
      */
     private Image getCurrentScaledBackgroundImage() {
         int imageId = 0;
 
-        // Null zurückgeben, falls Imagelisten leer
-        if (this.backgroundImagesOriginal.size() == 0 || this.backgroundImagesOriginal.size() == 0) {
+        // Null zurückgeben, falls Imagelisten leer bzw. die Bilder noch geladen werden
+        if (this.backgroundImagesOriginal.size() == 0 || this.backgroundScaler == null) {
             return null;
         }
 
         // Spriteaktualisierung nur durchführen, wenn mehr als 1 Sprite vorhanden ist
         if (this.backgroundImagesOriginal.size() > 1) {
-            TickData printTick = this.currentTickData;
-            if (printTick != null)
-                imageId = (int) Math.round(this.currentTickData.getTickPosition()
+            if (!this.currentFrame.isEmpty())
+                imageId = (int) Math.round(this.currentFrame.getTickPosition()
                         / (double) PlaybackHandler.TICKS_PER_SECOND * (double) ANIMATION_FPS
                         % this.backgroundImagesOriginal.size());
             else
@@ -400,21 +392,9 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
                 imageId = 0;
         }
 
-        // Neue skalierte Bilderversion berechnen
-        this.scaleImages(false);
-
-        // Falls skalierte Version nicht verfügbar, auf Originalgrafik zurückweichen
-        if (imageId >= this.backgroundImagesScaled.size()) {
-            return this.backgroundImagesOriginal.get(imageId);
-        } else {
-            Image scaledImage = this.backgroundImagesScaled.get(imageId);
-
-            if (scaledImage == null) {
-                return this.backgroundImagesOriginal.get(imageId);
-            } else {
-                return scaledImage;
-            }
-        }
+        // Skalierte Version bzw., falls diese noch nicht verfügbar ist, Originalgrafik zurückgeben
+        Image[] frames = this.backgroundScaler.getFrames(backgroundPaintWidth, backgroundPaintHeight);
+        return frames[imageId];
     }
 
     /**
@@ -422,15 +402,100 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
      * {@inheritDoc}
      */
     public void refresh(TickData tickData, double playbackSpeed, int simulationTickPosition) {
-        this.currentTickData = tickData;
-        this.repaint();
+        synchronized (this.renderLock) {
+            this.currentFrame.set(tickData);
+        }
+
+        if (this.activeRenderingThread == null)
+            this.repaint();
+    }
+
+    /**
+     * Übernimmt das zuletzt veröffentlichte, (ggf.) interpolierte Bild des angegebenen {@link FrameBroadcaster} in den
+     * Puffer des Panels und veranlasst das Neuzeichnen. Die Interpolation erfolgt somit nur einmal für sämtliche
+     * Fenster, das Panel rechnet lediglich die Positionen in Pixelkoordinaten um. Wurde noch kein Bild veröffentlicht,
+     * bleibt das zuletzt übernommene Bild erhalten.
+     * 
+     * @param frameBroadcaster
+     *            Quelle des interpolierten Bildes
+     */
+    public void refresh(FrameBroadcaster frameBroadcaster) {
+        synchronized (this.renderLock) {
+            frameBroadcaster.copyLatestFrame(this.currentFrame);
+        }
+
+        if (this.activeRenderingThread == null)
+            this.repaint();
+    }
+
+    /**
+     * Übernimmt das Bild des angegebenen Darstellungstakts vom {@link FrameBroadcaster} in den Puffer des Panels (siehe
+     * {@link FrameBroadcaster#copyFrame(long, InterpolatedFrame)}). Wird bei aktivem Zeichnen vom
+     * {@link ActiveRenderingThread} vor jedem Bild aufgerufen. Liegen keine Tick-Daten vor, bleibt das zuletzt
+     * übernommene Bild erhalten.
+     * 
+     * @param frameBroadcaster
+     *            Quelle des interpolierten Bildes
+     * @param displayTickNanos
+     *            Zeitpunkt des Darstellungstakts entsprechend {@link System#nanoTime()}
+     */
+    void refresh(FrameBroadcaster frameBroadcaster, long displayTickNanos) {
+        synchronized (this.renderLock) {
+            frameBroadcaster.copyFrame(displayTickNanos, this.currentFrame);
+        }
+    }
+
+    /**
+     * Startet das aktive Zeichnen: Das Panel wird durch ein {@link Canvas} ausgefüllt, in welches ein
+     * {@link ActiveRenderingThread} im eigenen Takt zeichnet. Die Bilder werden dabei vom Thread selbst beim
+     * FrameBroadcaster angefordert, Aufrufe von {@link #refresh(FrameBroadcaster)} durch die GUI sind nicht mehr
+     * notwendig.
+     * 
+     * @param frameBroadcaster
+     *            Gemeinsamer Takt sämtlicher Fenster des PlaybackHandlers
+     */
+    public void startActiveRendering(FrameBroadcaster frameBroadcaster) {
+        if (this.activeRenderingThread != null)
+            return;
+
+        this.activeRenderingCanvas = new Canvas();
+        this.activeRenderingCanvas.setIgnoreRepaint(true);
+        this.activeRenderingCanvas.setBackground(this.getBackground());
+        this.setLayout(new BorderLayout());
+        this.add(this.activeRenderingCanvas, BorderLayout.CENTER);
+
+        this.activeRenderingThread = new ActiveRenderingThread(this, this.activeRenderingCanvas, frameBroadcaster);
+        this.activeRenderingThread.start();
+    }
+
+    /**
+     * Beendet ein ggf. aktives Zeichnen und entfernt das dafür verwendete {@link Canvas}.
+     */
+    public void stopActiveRendering() {
+        if (this.activeRenderingThread == null)
+            return;
+
+        this.activeRenderingThread.shutdown();
+        this.activeRenderingThread = null;
+
+        this.remove(this.activeRenderingCanvas);
+        this.activeRenderingCanvas = null;
+    }
+
+    /**
+     * @return <code>true</code>, falls das Panel aktiv gezeichnet wird (siehe
+     *         {@link #startActiveRendering(FrameBroadcaster)})
+     */
+    public boolean isActiveRendering() {
+        return this.activeRenderingThread != null;
     }
 
     /**
      * Für die Darstellung benötigte Werte werden berechnet und gespeichert. Die Werte sind abhängig von der aktuellen
      * Fenstergröße bzw. Zeichenfläche. <br>
      * Es wird bestimmt, wo und in welcher Breite/Höhe das Hintergrundbild gezeichnet werden soll (zentriert im Panel).
-     * Zusäzlich wird der Größenfaktor für das Zeichnen von Simulationsobjekten festgelegt.
+     * Zusäzlich wird der Größenfaktor für das Zeichnen von Simulationsobjekten festgelegt.<br>
+     * Die vorgezeichneten Grafiken der Spieler sowie die Hintergrund-Ebene werden verworfen.
      */
     protected void recalculateConstraints() {
         int width = getWidth();
@@ -454,32 +519,65 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
 
         this.backgroundSizeFactor = (double) this.backgroundPaintWidth / this.imageWidth;
 
-        this.scaleImages(true);
+        if (this.backgroundScaler != null)
+            this.backgroundScaler.requestSize(this.backgroundPaintWidth, this.backgroundPaintHeight);
+
+        this.spriteCache.invalidate();
+        this.backgroundLayerSource = null;
     }
 
     @Override
     public void paintComponent(Graphics g) {
+        this.renderFrame(g);
+    }
+
+    /**
+     * Zeichnet ein vollständiges Bild des Panels. Wird über {@link #paintComponent(Graphics)} bzw. bei aktivem
+     * Zeichnen vom {@link ActiveRenderingThread} aufgerufen.
+     * 
+     * @param g
+     *            Graphics-Objekt, auf welches gezeichnet wird
+     */
+    void renderFrame(Graphics g) {
+        PlaybackFrameEvent frameEvent = null;
+        if (FlightRecorderSupport.AVAILABLE) {
+            frameEvent = new PlaybackFrameEvent();
+            frameEvent.begin();
+        }
+
+        int paintedTickNumber;
+        synchronized (this.renderLock) {
+            this.paintFrame(g);
+            paintedTickNumber = this.currentFrame.isEmpty() ? -1 : this.currentFrame.getTickPosition();
+        }
+
+        if (frameEvent != null && frameEvent.shouldCommit()) {
+            frameEvent.tickNumber = paintedTickNumber;
+            frameEvent.commit();
+        }
+    }
+
+    /**
+     * Zeichnet das Spielfeld, die Simulationsobjekte sowie ggf. Debug-Grafiken und die FPS-Anzeige.
+     * 
+     * @param g
+     *            Graphics-Objekt, auf welches gezeichnet wird
+     */
+    private void paintFrame(Graphics g) {
         Graphics2D g2d = (Graphics2D) g;
-        super.paintComponent(g2d);
 
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        g2d.addRenderingHints(new RenderingHints(RenderingHints.KEY_INTERPOLATION,
-                RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR));
-
-        // Hintergrund festlegen.
-        Image backgroundToDraw = this.getCurrentScaledBackgroundImage();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
 
         // Spielfeld zeichnen
-        if (backgroundToDraw != null) {
-            g2d.drawImage(backgroundToDraw, backgroundOffsetX, backgroundOffsetY, backgroundPaintWidth,
-                    backgroundPaintHeight, null);
-        }
+        this.paintBackground(g2d);
 
         // Simulationsobjekte zeichnen
-        if (currentTickData != null) {
+        if (!this.currentFrame.isEmpty()) {
             // Ballabmessungen bestimmen
-            int ballWidth = getPaintWidth(this.currentTickData.getBallPosition(), SoccerGUI.BALL_DIAMETER);
-            int ballHeight = getPaintHeight(this.currentTickData.getBallPosition(), SoccerGUI.BALL_DIAMETER);
+            this.paintPosition.set(this.currentFrame.getBallX(), this.currentFrame.getBallY());
+            int ballWidth = getPaintWidth(this.paintPosition, SoccerGUI.BALL_DIAMETER);
+            int ballHeight = getPaintHeight(this.paintPosition, SoccerGUI.BALL_DIAMETER);
 
             // Überprüfung, ob BallWidth > 0. Falls nicht, so wurde Background-Image noch nicht vollständig geladen
             if (ballWidth == 0) {
@@ -487,18 +585,21 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
             }
 
             // Spieler-Pixel-Daten berechnen
-            List<ScreenPositioningData> postionsData = this.calculatePlayerScreenPositionData(
-                    this.currentTickData.getPlayerPositionsTeamA(), this.teamAColor);
-            postionsData.addAll(this.calculatePlayerScreenPositionData(this.currentTickData.getPlayerPositionsTeamB(),
-                    this.teamBColor));
+            this.playerScreenPositionCount = 0;
+            for (int i = 0; i < this.currentFrame.getPlayerCountTeamA(); i++)
+                this.calculatePlayerScreenPositionData(this.currentFrame.getPlayerXTeamA(i),
+                        this.currentFrame.getPlayerYTeamA(i), this.teamAColor);
+            for (int i = 0; i < this.currentFrame.getPlayerCountTeamB(); i++)
+                this.calculatePlayerScreenPositionData(this.currentFrame.getPlayerXTeamB(i),
+                        this.currentFrame.getPlayerYTeamB(i), this.teamBColor);
 
             // Alle Spieler zeichnen
-            paintPlayers(g2d, postionsData);
+            paintPlayers(g2d);
 
             // Ball-Image zeichnen
-            Point ballPos = positionToPixelCoordinates(this.currentTickData.getBallPosition());
-            g2d.addRenderingHints(new RenderingHints(RenderingHints.KEY_INTERPOLATION,
-                    RenderingHints.VALUE_INTERPOLATION_BILINEAR));
+            this.paintPosition.set(this.currentFrame.getBallX(), this.currentFrame.getBallY());
+            Point ballPos = positionToPixelCoordinates(this.paintPosition);
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
             g2d.drawImage(this.ballImage, (int) Math.round(ballPos.getX() - ballWidth / 2f),
                     (int) Math.round(ballPos.getY() - ballHeight / 2f), ballWidth, ballHeight, null);
 
@@ -520,10 +621,66 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
             fps.nextFrame();
             g2d.setFont(this.goalCountFont);
             g2d.setColor(Color.WHITE);
-            g2d.drawString("FPS: " + Integer.toString(fps.getFps()), 20, 20);
+            g2d.drawString(String.format("FPS: %d (±%.1f ms)", fps.getFps(), fps.getFrameTimeDeviation()), 20, 20);
         }
     }
 
+    /**
+     * Zeichnet Hintergrundfarbe und Hintergrundbild. Beides wird einmalig in eine beschleunigte Ebene
+     * ({@link VolatileImage}) in Panelgröße gezeichnet, welche je Bild lediglich kopiert wird. Die Ebene wird neu
+     * gezeichnet, sobald sich das Hintergrundbild (skalierte Version bzw. Animations-Frame) oder die Panelgröße ändert
+     * oder deren Inhalt verloren ging.<br>
+     * Ist (noch) keine Grafikkonfiguration vorhanden, wird der Hintergrund direkt gezeichnet.
+     * 
+     * @param g2d
+     *            Graphics-Objekt, auf welches gezeichnet wird
+     */
+    private void paintBackground(Graphics2D g2d) {
+        Image backgroundToDraw = this.getCurrentScaledBackgroundImage();
+        GraphicsConfiguration graphicsConfiguration = this.getGraphicsConfiguration();
+        int width = this.getWidth();
+        int height = this.getHeight();
+
+        if (graphicsConfiguration == null || width <= 0 || height <= 0) {
+            super.paintComponent(g2d);
+            if (backgroundToDraw != null)
+                g2d.drawImage(backgroundToDraw, backgroundOffsetX, backgroundOffsetY, backgroundPaintWidth,
+                        backgroundPaintHeight, null);
+            return;
+        }
+
+        do {
+            int validation = VolatileImage.IMAGE_INCOMPATIBLE;
+            if (this.backgroundLayer != null && this.backgroundLayer.getWidth() == width
+                    && this.backgroundLayer.getHeight() == height)
+                validation = this.backgroundLayer.validate(graphicsConfiguration);
+
+            if (validation == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (this.backgroundLayer != null)
+                    this.backgroundLayer.flush();
+
+                this.backgroundLayer = graphicsConfiguration.createCompatibleVolatileImage(width, height);
+                this.backgroundLayerSource = null;
+            } else if (validation == VolatileImage.IMAGE_RESTORED) {
+                this.backgroundLayerSource = null;
+            }
+
+            if (this.backgroundLayerSource != backgroundToDraw || this.backgroundLayerSource == null) {
+                Graphics2D layerGraphics = this.backgroundLayer.createGraphics();
+                layerGraphics.setColor(this.getBackground());
+                layerGraphics.fillRect(0, 0, width, height);
+                if (backgroundToDraw != null)
+                    layerGraphics.drawImage(backgroundToDraw, backgroundOffsetX, backgroundOffsetY,
+                            backgroundPaintWidth, backgroundPaintHeight, null);
+                layerGraphics.dispose();
+
+                this.backgroundLayerSource = backgroundToDraw;
+            }
+
+            g2d.drawImage(this.backgroundLayer, 0, 0, null);
+        } while (this.backgroundLayer.contentsLost());
+    }
+
     /**
      * Zeichnet das Torverhältniss
      * 
@@ -535,8 +692,8 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
         g2d.setFont(this.goalCountFont);
         FontMetrics metrics = g2d.getFontMetrics();
 
-        String teamACount = Integer.toString(this.currentTickData.getGoalsTeamA());
-        String teamBCount = Integer.toString(this.currentTickData.getGoalsTeamB());
+        String teamACount = Integer.toString(this.currentFrame.getGoalsTeamA());
+        String teamBCount = Integer.toString(this.currentFrame.getGoalsTeamB());
 
         int delimiterWidth = metrics.stringWidth(GOAL_COUNT_DELIMITER);
         int teamACountWidth = metrics.stringWidth(teamACount);
@@ -544,7 +701,7 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
         int teamCountWidthMax = Math.max(teamACountWidth, teamBCountWidth);
 
         // Halbtransparentes Rechteck zeichnen
-        g2d.setColor(new Color(255, 255, 255, 80));
+        g2d.setColor(GOAL_COUNT_BOX_COLOR);
         g2d.fillRect(paintCenterX - teamCountWidthMax - 2 * GOAL_COUNT_PADDING - delimiterWidth / 2, GOAL_COUNT_Y_RECT,
                 (teamCountWidthMax + GOAL_COUNT_PADDING * 2) * 2 + delimiterWidth, GOAL_COUNT_HEIGHT);
 
@@ -563,69 +720,22 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
     }
 
     /**
-     * Zeichnet ein Event, falls eins vorhanden und innerhalb des Anzeige-Zeitraum-Limit ist, an
+     * Zeichnet ein Event, falls eins vorhanden und innerhalb des Anzeige-Zeitraum-Limit ist, an. Die Einblendung wird
+     * dabei einmalig vorgezeichnet (siehe {@link SoccerSpriteCache#getEventSprite(SoccerUpdateEvent)}).
      * 
      * @param g2d
      */
     private void printEvent(Graphics2D g2d) {
         if (this.eventToPrint != null && (System.currentTimeMillis() < this.eventToPrintStoptime)) {
-            String eventText = "";
-            Color textColor = null;
-
-            final Color FOUL_COLOR = new Color(238, 118, 36, 180);
-
-            switch (this.eventToPrint) {
-            case GOAL_SCORED:
-                eventText = "Tor!";
-                textColor = new Color(11, 255, 108, 150);
-                break;
-            case FOUL_OFF:
-                eventText = "Aus!";
-                textColor = FOUL_COLOR;
-                break;
-            case FOUL_OFFSIDE:
-                eventText = "Abseits!";
-                textColor = FOUL_COLOR;
-                break;
-            case FOUL_TACKLING:
-                eventText = "Foul!";
-                textColor = FOUL_COLOR;
-                break;
-            case FREE_KICK:
-                break;
-            case HALFTIME:
-                eventText = "Halbzeit";
-                textColor = new Color(0, 0, 0, 180);
-                break;
-            case KICK_OFF:
-                break;
-            case PLAYBACK_ABORTED:
-                break;
-            case PLAYBACK_END_REACHED:
-                eventText = "Spielende";
-                textColor = new Color(0, 0, 0, 180);
-                break;
-            case PLAYBACK_PAUSED:
-            case PLAYBACK_SPEED_CHANGED:
-            case PLAYBACK_STARTED:
-            case PLAYBACK_STEP:
-            case SIMULATION_FINISHED:
-                break;
-            }
+            Image eventSprite = this.spriteCache.getEventSprite(this.eventToPrint);
+            if (eventSprite == null)
+                return;
 
             int paintPadding = (int) Math.round(EVENT_FONT_PADDING * this.backgroundSizeFactor);
-            g2d.setFont(this.eventFont);
-
-            g2d.setColor(new Color(255, 255, 255, 55));
-            FontMetrics metrics = g2d.getFontMetrics();
-
-            g2d.fillRect(this.backgroundOffsetX + paintPadding - EVENT_BOX_PADDING, this.backgroundOffsetY
-                    + this.backgroundPaintHeight - paintPadding - EVENT_TEXT_HEIGHT - EVENT_BOX_PADDING + 15,
-                    metrics.stringWidth(eventText) + 2 * EVENT_BOX_PADDING, EVENT_TEXT_HEIGHT + 2 * EVENT_BOX_PADDING);
+            int textBaselineY = this.backgroundOffsetY + this.backgroundPaintHeight - paintPadding;
 
-            g2d.setColor(textColor);
-            g2d.drawString(eventText, this.backgroundOffsetX + paintPadding, this.backgroundOffsetY
-                    + this.backgroundPaintHeight - paintPadding);
+            g2d.drawImage(eventSprite, this.backgroundOffsetX + paintPadding - EVENT_BOX_PADDING, textBaselineY
+                    - this.spriteCache.getEventSpriteBaseline(this.eventToPrint), null);
         } else {
             this.eventToPrint = null;
         }
@@ -666,79 +776,71 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
      */
     protected abstract int getPaintHeight(Position position, double simulationDiameter);
 
-    private List<ScreenPositioningData> calculatePlayerScreenPositionData(List<Position> positions, Color color) {
-        List<ScreenPositioningData> postionsData = new LinkedList<ScreenPositioningData>();
-
-        // Alle benötigten Pixelangaben der Spielerpositionen für Bildschirmausgabe berechnen
-        for (Position playerPosition : positions) {
-            int playerWidth = getPaintWidth(playerPosition, SoccerGUI.PLAYER_DIAMETER);
-            int playerHeight = getPaintHeight(playerPosition, SoccerGUI.PLAYER_DIAMETER);
-
-            Point screenCenterPosition = positionToPixelCoordinates(playerPosition);
-            Point screenOvalPosition = new Point((int) Math.round(screenCenterPosition.getX() - playerWidth / 2f),
-                    (int) Math.round(screenCenterPosition.getY() - playerHeight / 2f));
-
-            postionsData.add(new ScreenPositioningData(screenCenterPosition, screenOvalPosition, playerWidth,
-                    playerHeight, color));
-        }
-
-        return postionsData;
+    /**
+     * Berechnet die Pixel-Daten eines Spielers und legt diese im nächsten Element von {@link #playerScreenPositions}
+     * ab.
+     * 
+     * @param x
+     *            X-Koordinate des Spielers
+     * @param y
+     *            Y-Koordinate des Spielers
+     * @param color
+     *            Farbe, mit welcher der Spieler gezeichnet werden soll.
+     */
+    private void calculatePlayerScreenPositionData(double x, double y, Color color) {
+        // Alle benötigten Pixelangaben der Spielerposition für Bildschirmausgabe berechnen
+        this.paintPosition.set(x, y);
+        int playerWidth = getPaintWidth(this.paintPosition, SoccerGUI.PLAYER_DIAMETER);
+        int playerHeight = getPaintHeight(this.paintPosition, SoccerGUI.PLAYER_DIAMETER);
+
+        Point screenCenterPosition = positionToPixelCoordinates(this.paintPosition);
+
+        if (this.playerScreenPositionCount == this.playerScreenPositions.size())
+            this.playerScreenPositions.add(new ScreenPositioningData());
+
+        ScreenPositioningData positionData = this.playerScreenPositions.get(this.playerScreenPositionCount++);
+        positionData.centerX = screenCenterPosition.x;
+        positionData.centerY = screenCenterPosition.y;
+        positionData.ovalX = (int) Math.round(screenCenterPosition.getX() - playerWidth / 2f);
+        positionData.ovalY = (int) Math.round(screenCenterPosition.getY() - playerHeight / 2f);
+        positionData.width = playerWidth;
+        positionData.height = playerHeight;
+        positionData.color = color;
     }
 
     /**
-     * Zeichnet einen Spieler, je nach Darstellung, als Kreis oder als Ellipse auf dem Panel. Dabei werden die
-     * Koordinaten entsprechend umgewandelt und die Größe der Darstellung abgefragt.
+     * Zeichnet einen Spieler, je nach Darstellung, als Kreis oder als Ellipse auf dem Panel. Schatten, Kugel und
+     * Nummer werden dabei nicht je Bild neu berechnet, sondern als vorgezeichnete Grafiken aus dem
+     * {@link SoccerSpriteCache} kopiert.
+     * 
+     * Die Pixel-Daten der Spieler werden {@link #playerScreenPositions} entnommen.
      * 
      * @param g2d
      *            Graphics-Objekt des Panels, mit welchem das Zeichnen erfolgt.
-     * @param color
-     *            Farbe, mit welcher die Spieler gezeichnet werden sollen.
-     * @param positions
-     *            Positionen der zu zeichnenden Spieler.
      */
-    private void paintPlayers(Graphics2D g2d, List<ScreenPositioningData> postionsData) {
+    private void paintPlayers(Graphics2D g2d) {
         // Schatten zeichnen
-        for (ScreenPositioningData screenPosition : postionsData) {
-            Paint shaddowPaint = new GradientPaint(screenPosition.positionOval.x, screenPosition.positionOval.y,
-                    new Color(0.0f, 0.0f, 0.0f, 0.0f), screenPosition.positionOval.x, screenPosition.positionOval.y
-                            + screenPosition.height, new Color(0.0f, 0.0f, 0.0f, 0.4f));
-
-            g2d.setPaint(shaddowPaint);
-            g2d.fillOval(screenPosition.positionOval.x,
-                    screenPosition.positionOval.y + (int) Math.round(screenPosition.height * 0.1),
-                    (int) (Math.round(screenPosition.width * 1.2)), screenPosition.height);
+        for (int i = 0; i < this.playerScreenPositionCount; i++) {
+            ScreenPositioningData screenPosition = this.playerScreenPositions.get(i);
+            g2d.drawImage(this.spriteCache.getShadowSprite(screenPosition.width, screenPosition.height),
+                    screenPosition.ovalX, screenPosition.ovalY + (int) Math.round(screenPosition.height * 0.1), null);
         }
 
         // Spieler (als Kugeln) zeichnen
-        for (ScreenPositioningData screenPosition : postionsData) {
-            int playerWidth = screenPosition.width;
-            int playerHeight = screenPosition.height;
-
-            int ovalPositionX = screenPosition.positionOval.x;
-            int ovalPositionY = screenPosition.positionOval.y;
-
-            // Farben des Farbverlaufs generieren
-            double colorFactor = 180;
-            Color colorCenter = new Color(Math.min((int) (screenPosition.color.getRed() + colorFactor), 255), Math.min(
-                    (int) (screenPosition.color.getGreen() + colorFactor), 255), Math.min(
-                    (int) (screenPosition.color.getBlue() + colorFactor), 255), screenPosition.color.getAlpha());
-            Color colorSides = screenPosition.color;
-
-            Paint spherePaint = new RadialGradientPaint(new Point2D.Double(screenPosition.positionCenter.getX()
-                    - playerWidth / 6d, screenPosition.positionCenter.getY() - playerHeight / 6d), playerWidth / 2f,
-                    new float[] { 0.0f, 1.0f }, new Color[] { colorCenter, colorSides, });
-
-            g2d.setPaint(spherePaint);
-            g2d.fillOval(ovalPositionX, ovalPositionY, playerWidth, playerHeight);
+        for (int i = 0; i < this.playerScreenPositionCount; i++) {
+            ScreenPositioningData screenPosition = this.playerScreenPositions.get(i);
+            g2d.drawImage(
+                    this.spriteCache.getPlayerSprite(screenPosition.color, screenPosition.width, screenPosition.height),
+                    screenPosition.ovalX, screenPosition.ovalY, null);
         }
 
         // Spieler-Nummern zeichnen
         Color firstColor = null; // Für Fallunterscheidung, welches Team nummeriert wird
         int playerIdTeamA = 0;
         int playerIdTeamB = 0;
-        g2d.setFont(this.playerNumbersFont);
-        g2d.setColor(Color.WHITE);
-        for (ScreenPositioningData screenPosition : postionsData) {
+        int numberAscent = this.spriteCache.getNumberAscent();
+        for (int i = 0; i < this.playerScreenPositionCount; i++) {
+            ScreenPositioningData screenPosition = this.playerScreenPositions.get(i);
             if (firstColor == null)
                 firstColor = screenPosition.color;
 
@@ -747,11 +849,9 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
 
             int y = (int) Math.round(screenPosition.height / 2d) + 2;
 
-            String playerText = Integer.toString(playerId);
-            int stringWidth = g2d.getFontMetrics().stringWidth(playerText);
-            g2d.drawString(playerText, (int) screenPosition.positionCenter.getX() - stringWidth / 2,
-                    (int) (screenPosition.positionCenter.getY() - y));
-            playerId++;
+            Image numberSprite = this.spriteCache.getNumberSprite(playerId);
+            g2d.drawImage(numberSprite, screenPosition.centerX - numberSprite.getWidth(null) / 2,
+                    screenPosition.centerY - y - numberAscent, null);
         }
     }
 
@@ -772,32 +872,39 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
      * verwendet wird. Nach Aufruf der Funktion werden keine Hintergrundbilder mehr gezeichnet.
      */
     public void flushImageCache() {
-        // Flush image cache
-        for (Image imageScaled : this.backgroundImagesScaled) {
-            imageScaled.flush();
+        synchronized (this.renderLock) {
+            // Flush image cache (cancels pending rescaling)
+            this.imageCacheFlushed = true;
+            if (this.backgroundScaler != null)
+                this.backgroundScaler.flush();
+
+            // remove instances from lists (so GC can free memory)
+            this.backgroundImagesOriginal.clear();
+
+            // Flush sprites and background layer
+            this.spriteCache.flush();
+            if (this.backgroundLayer != null) {
+                this.backgroundLayer.flush();
+                this.backgroundLayer = null;
+            }
+            this.backgroundLayerSource = null;
         }
-
-        // remove instances from lists (so GC can free memory)
-        this.backgroundImagesOriginal.clear();
-        this.backgroundImagesScaled.clear();
     }
 
     @Override
-    public void update(Observable o, Object arg) {
-        if (arg instanceof SoccerUpdateEvent) {
-            switch ((SoccerUpdateEvent) arg) {
-            case FOUL_OFF:
-            case FOUL_OFFSIDE:
-            case FOUL_TACKLING:
-            case GOAL_SCORED:
-            case PLAYBACK_END_REACHED:
-            case HALFTIME:
-                setEventToPrint((SoccerUpdateEvent) arg);
-                this.repaint();
-                break;
-            default:
-                break;
-            }
+    public void soccerUpdate(SoccerUpdateEvent event) {
+        switch (event) {
+        case FOUL_OFF:
+        case FOUL_OFFSIDE:
+        case FOUL_TACKLING:
+        case GOAL_SCORED:
+        case PLAYBACK_END_REACHED:
+        case HALFTIME:
+            setEventToPrint(event);
+            this.repaint();
+            break;
+        default:
+            break;
         }
     }
 
@@ -805,21 +912,41 @@ public abstract class SoccerPanel extends JPanel implements IRefreshable, Observ
      * Beinhaltet für die Bildschirmausgabe benötigte Daten (insb. Positions- und Größenangaben in Pixel)<br>
      * Dadurch erfolgt die Berechnung der Daten nur einmal für sämtliche Spieler und muss nicht für jeden
      * Teil-Zeichenvorgang erneut durchgeführt werden. <br>
-     * (zB erfolgt zuerst das Zeichnen des Schattens aller Spieler, dann der Kugeln und zuletzt der Spielernummern)
-     */
-    private class ScreenPositioningData {
-        public final Point positionCenter;
-        public final Point positionOval;
-        public final int width;
-        public final int height;
-        public final Color color;
-
-        public ScreenPositioningData(Point positionCenter, Point positionOval, int width, int height, Color color) {
-            this.positionCenter = positionCenter;
-            this.positionOval = positionOval;
-            this.width = width;
-            this.height = height;
-            this.color = color;
+     * (zB erfolgt zuerst das Zeichnen des Schattens aller Spieler, dann der Kugeln und zuletzt der Spielernummern)<br>
+     * Instanzen werden für jedes Bild wiederverwendet (siehe {@link SoccerPanel#playerScreenPositions}).
+     */
+    private static class ScreenPositioningData {
+        public int centerX;
+        public int centerY;
+        public int ovalX;
+        public int ovalY;
+        public int width;
+        public int height;
+        public Color color;
+    }
+
+    /**
+     * Veränderliche Position, über welche die Koordinaten aus dem {@link InterpolatedFrame} an
+     * {@link SoccerPanel#positionToPixelCoordinates(Position)} etc. übergeben werden, ohne je Simulationsobjekt eine
+     * neue Position zu erzeugen. Die Instanz darf daher nicht über den jeweiligen Aufruf hinaus verwendet werden.
+     */
+    private static class FramePosition implements Position {
+        private double x;
+        private double y;
+
+        void set(double x, double y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public double getX() {
+            return this.x;
+        }
+
+        @Override
+        public double getY() {
+            return this.y;
         }
     }
 
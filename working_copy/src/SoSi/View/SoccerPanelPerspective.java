@@ -36,6 +36,24 @@ public class SoccerPanelPerspective extends SoccerPanel {
 	 */
 	private static final double CAMERA_ANGLE = 5;
 
+	/**
+	 * Kleinstes Verhältnis (Y-Position zu Spielfeldbreite in der Draufsicht), welches in den Projektionstabellen
+	 * enthalten ist. Objekte können sich auch außerhalb des Spielfelds befinden.
+	 */
+	private static final double PROJECTION_TABLE_MIN_RATIO = -0.25;
+
+	/**
+	 * Größtes Verhältnis (Y-Position zu Spielfeldbreite in der Draufsicht), welches in den Projektionstabellen
+	 * enthalten ist.
+	 */
+	private static final double PROJECTION_TABLE_MAX_RATIO = 1.25;
+
+	/**
+	 * Anzahl der Tabelleneinträge je Einheit des Verhältnisses. Der Fehler der linearen Interpolation liegt damit
+	 * deutlich unter einem Tausendstel Pixel.
+	 */
+	private static final int PROJECTION_TABLE_RESOLUTION = 1000;
+
 	/**
 	 * Linker oberer Punkt (in Pixel) auf dem Hintergrundbild, wo das Spielfeld beginnt.
 	 */
@@ -76,6 +94,20 @@ public class SoccerPanelPerspective extends SoccerPanel {
 	 */
 	private int fieldPaintHeight;
 
+	/**
+	 * Projektionstabelle: Abstand (in Pixel) zur oberen Trapezseite je Verhältnis (Y-Position zu Spielfeldbreite in
+	 * der Draufsicht), beginnend bei {@link #PROJECTION_TABLE_MIN_RATIO} im Abstand 1 /
+	 * {@link #PROJECTION_TABLE_RESOLUTION}. <code>null</code>, solange die Darstellungswerte noch nicht berechnet
+	 * wurden.
+	 */
+	private double[] projectionTableY;
+
+	/**
+	 * Projektionstabelle: Breite (in Pixel) des Spielfelds auf Höhe des jeweiligen Eintrags in
+	 * {@link #projectionTableY}.
+	 */
+	private double[] projectionTableRowWidth;
+
 	/**
 	 * Erzeugt ein neues Panel zur Darstellung des Spielfelds. Die Darstellung erfolgt dabei perspektivisch als
 	 * Seitenansicht.
@@ -126,6 +158,86 @@ public class SoccerPanelPerspective extends SoccerPanel {
 
 		this.fieldPaintHeight = (int) Math.round((this.fieldBottomLeft.y - this.fieldTopLeft.y)
 				* this.backgroundSizeFactor);
+
+		this.calculateProjectionTables();
+	}
+
+	/**
+	 * Berechnet die Projektionstabellen {@link #projectionTableY} und {@link #projectionTableRowWidth} für die
+	 * aktuellen Darstellungswerte. Beim Zeichnen werden die Werte daraus linear interpoliert, so dass die
+	 * perspektivische Umrechnung (siehe {@link #getPerspectiveYRatio(double)}) nicht je Objekt und Bild erfolgen muss.
+	 */
+	private void calculateProjectionTables() {
+		int tableSize = (int) Math.round((PROJECTION_TABLE_MAX_RATIO - PROJECTION_TABLE_MIN_RATIO)
+				* PROJECTION_TABLE_RESOLUTION) + 1;
+		double[] tableY = new double[tableSize];
+		double[] tableRowWidth = new double[tableSize];
+
+		for (int i = 0; i < tableSize; i++) {
+			double nonPerspectiveYRatio = PROJECTION_TABLE_MIN_RATIO + (double) i / PROJECTION_TABLE_RESOLUTION;
+			tableY[i] = this.getPerspectiveYRatio(nonPerspectiveYRatio) * this.fieldPaintHeight;
+			tableRowWidth[i] = this.getRowWidth(tableY[i]);
+		}
+
+		this.projectionTableY = tableY;
+		this.projectionTableRowWidth = tableRowWidth;
+	}
+
+	/**
+	 * Ermittelt die Breite (in Pixel) des Spielfelds im angegebenen Abstand zur oberen Trapezseite.
+	 * 
+	 * @param y
+	 *            Abstand (in Pixel) zur oberen Trapezseite
+	 * @return Breite des Spielfelds in Pixel
+	 */
+	private double getRowWidth(double y) {
+		if (this.fieldPaintHeight == 0)
+			return this.fieldPaintBottomWidth;
+
+		double x = (((this.fieldPaintBottomWidth - this.fieldPaintTopWidth) / 2d) * (this.fieldPaintHeight - y))
+				/ this.fieldPaintHeight;
+		return this.fieldPaintBottomWidth - (2 * x);
+	}
+
+	/**
+	 * Ermittelt den Abstand (in Pixel) zur oberen Trapezseite, an welchem ein Objekt mit dem angegebenen Verhältnis
+	 * gezeichnet wird. Der Wert wird aus {@link #projectionTableY} interpoliert bzw. außerhalb des Tabellenbereichs
+	 * direkt berechnet.
+	 * 
+	 * @param nonPerspectiveYRatio
+	 *            Verhältnis Y-Position zu Spielfeldbreite (in der Draufsicht)
+	 * @return Abstand in Pixel
+	 */
+	private double getPerspectiveY(double nonPerspectiveYRatio) {
+		double[] tableY = this.projectionTableY;
+		double tablePosition = (nonPerspectiveYRatio - PROJECTION_TABLE_MIN_RATIO) * PROJECTION_TABLE_RESOLUTION;
+
+		if (tableY == null || !(tablePosition >= 0) || tablePosition >= tableY.length - 1)
+			return this.getPerspectiveYRatio(nonPerspectiveYRatio) * this.fieldPaintHeight;
+
+		int index = (int) tablePosition;
+		double fraction = tablePosition - index;
+		return tableY[index] + (tableY[index + 1] - tableY[index]) * fraction;
+	}
+
+	/**
+	 * Ermittelt die Breite (in Pixel) des Spielfelds auf Höhe eines Objekts mit dem angegebenen Verhältnis. Der Wert
+	 * wird aus {@link #projectionTableRowWidth} interpoliert bzw. außerhalb des Tabellenbereichs direkt berechnet.
+	 * 
+	 * @param nonPerspectiveYRatio
+	 *            Verhältnis Y-Position zu Spielfeldbreite (in der Draufsicht)
+	 * @return Breite des Spielfelds in Pixel
+	 */
+	private double getPerspectiveRowWidth(double nonPerspectiveYRatio) {
+		double[] tableRowWidth = this.projectionTableRowWidth;
+		double tablePosition = (nonPerspectiveYRatio - PROJECTION_TABLE_MIN_RATIO) * PROJECTION_TABLE_RESOLUTION;
+
+		if (tableRowWidth == null || !(tablePosition >= 0) || tablePosition >= tableRowWidth.length - 1)
+			return this.getRowWidth(this.getPerspectiveYRatio(nonPerspectiveYRatio) * this.fieldPaintHeight);
+
+		int index = (int) tablePosition;
+		double fraction = tablePosition - index;
+		return tableRowWidth[index] + (tableRowWidth[index + 1] - tableRowWidth[index]) * fraction;
 	}
 
 	/**
@@ -174,11 +286,9 @@ public class SoccerPanelPerspective extends SoccerPanel {
 	@Override
 	protected Point positionToPixelCoordinates(Position position) {
 		double nonPerspectiveYRatio = position.getY() / SoccerGUI.FIELD_WIDTH;
-		double perspectiveYRatio = this.getPerspectiveYRatio(nonPerspectiveYRatio);
-		double y = perspectiveYRatio * this.fieldPaintHeight;
-		double x = (((this.fieldPaintBottomWidth - this.fieldPaintTopWidth) / 2d) * (this.fieldPaintHeight - y))
-				/ this.fieldPaintHeight;
-		double positionFieldPaintWidth = this.fieldPaintBottomWidth - (2 * x);
+		double y = this.getPerspectiveY(nonPerspectiveYRatio);
+		double positionFieldPaintWidth = this.getPerspectiveRowWidth(nonPerspectiveYRatio);
+		double x = (this.fieldPaintBottomWidth - positionFieldPaintWidth) / 2d;
 
 		double dX = position.getX() * (positionFieldPaintWidth / SoccerGUI.FIELD_LENGTH);
 
@@ -188,11 +298,7 @@ public class SoccerPanelPerspective extends SoccerPanel {
 	@Override
 	protected int getPaintWidth(Position position, double simulationDiameter) {
 		double nonPerspectiveYRatio = position.getY() / SoccerGUI.FIELD_WIDTH;
-		double perspectiveYRatio = this.getPerspectiveYRatio(nonPerspectiveYRatio);
-		double y = perspectiveYRatio * this.fieldPaintHeight;
-		double x = (((this.fieldPaintBottomWidth - this.fieldPaintTopWidth) / 2d) * (this.fieldPaintHeight - y))
-				/ this.fieldPaintHeight;
-		double positionFieldPaintWidth = this.fieldPaintBottomWidth - (2 * x);
+		double positionFieldPaintWidth = this.getPerspectiveRowWidth(nonPerspectiveYRatio);
 
 		double objectWidthSizeFactor = positionFieldPaintWidth / SoccerGUI.FIELD_LENGTH;
 
@@ -205,11 +311,8 @@ public class SoccerPanelPerspective extends SoccerPanel {
 		double nonPerspectiveTopCircleRatio = (position.getY() - (simulationDiameter / 2d)) / SoccerGUI.FIELD_WIDTH;
 		double nonPerspectiveBottomCircleRatio = (position.getY() + (simulationDiameter / 2d)) / SoccerGUI.FIELD_WIDTH;
 
-		double perspectiveTopCircleRatio = this.getPerspectiveYRatio(nonPerspectiveTopCircleRatio);
-		double perspectiveBottomCircleRatio = this.getPerspectiveYRatio(nonPerspectiveBottomCircleRatio);
-
-		return (int) Math.round((perspectiveBottomCircleRatio * this.fieldPaintHeight)
-				- (perspectiveTopCircleRatio * this.fieldPaintHeight));
+		return (int) Math.round(this.getPerspectiveY(nonPerspectiveBottomCircleRatio)
+				- this.getPerspectiveY(nonPerspectiveTopCircleRatio));
 	}
 
 	@Override
@@ -0,0 +1,489 @@
+﻿package SoSi.View;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.RadialGradientPaint;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import SoSi.Model.SoccerUpdateEvent;
+
+/**
+ * Zwischenspeicher für vorgezeichnete Grafiken (Sprites) eines {@link SoccerPanel}. Schatten und Kugeln der Spieler
+ * werden je Teamfarbe und Pixelgröße einmalig gezeichnet, Spielernummern und Event-Einblendungen einmalig je Nummer
+ * bzw. Event. Beim Zeichnen eines Bildes genügt dadurch je Objekt das Kopieren weniger Bilder.<br>
+ * Die Bilder werden, sofern möglich, zur {@link GraphicsConfiguration} des Panels kompatibel erstellt, so dass Java2D
+ * diese im Grafikspeicher halten kann.<br>
+ * Die Klasse ist nicht threadsicher und wird ausschließlich unter der Zeichensperre des Panels verwendet.
+ */
+class SoccerSpriteCache {
+
+    /**
+     * Maximale Anzahl der größenabhängigen Sprites. Bei Überschreitung werden diese verworfen und bei Bedarf neu
+     * gezeichnet.
+     */
+    private static final int MAXIMUM_SIZED_SPRITES = 512;
+
+    /**
+     * Aufhellung der Teamfarbe in der Mitte der Spielerkugel
+     */
+    private static final int SPHERE_CENTER_BRIGHTENING = 180;
+
+    /**
+     * Farbe des Kastens hinter Event-Einblendungen
+     */
+    private static final Color EVENT_BOX_COLOR = new Color(255, 255, 255, 55);
+
+    /**
+     * Textfarbe von Foul-Einblendungen
+     */
+    private static final Color EVENT_FOUL_COLOR = new Color(238, 118, 36, 180);
+
+    /**
+     * Textfarbe der Tor-Einblendung
+     */
+    private static final Color EVENT_GOAL_COLOR = new Color(11, 255, 108, 150);
+
+    /**
+     * Textfarbe der Einblendungen zu Halbzeit und Spielende
+     */
+    private static final Color EVENT_GAME_STATE_COLOR = new Color(0, 0, 0, 180);
+
+    /**
+     * Das Panel, für welches die Sprites erstellt werden
+     */
+    private final SoccerPanel soccerPanel;
+
+    /**
+     * Font der Spielernummern
+     */
+    private final Font playerNumbersFont;
+
+    /**
+     * Font der Event-Einblendungen
+     */
+    private final Font eventFont;
+
+    /**
+     * Abstand zwischen Text und Rand des Kastens der Event-Einblendungen
+     */
+    private final int eventBoxPadding;
+
+    /**
+     * Höhe des Textes der Event-Einblendungen
+     */
+    private final int eventTextHeight;
+
+    /**
+     * Schatten der Spieler je Pixelgröße
+     */
+    private final SizedSpriteTable shadowSprites = new SizedSpriteTable();
+
+    /**
+     * Kugeln der Spieler je Teamfarbe und Pixelgröße
+     */
+    private final Map<Color, SizedSpriteTable> playerSprites = new HashMap<Color, SizedSpriteTable>();
+
+    /**
+     * Spielernummern je Nummer
+     */
+    private final Map<Integer, BufferedImage> numberSprites = new HashMap<Integer, BufferedImage>();
+
+    /**
+     * Oberlänge des Fonts der Spielernummern, -1 solange nicht ermittelt
+     */
+    private int numberAscent = -1;
+
+    /**
+     * Event-Einblendungen je Event. Events ohne Einblendung sind nicht enthalten.
+     */
+    private final Map<SoccerUpdateEvent, BufferedImage> eventSprites = new EnumMap<SoccerUpdateEvent, BufferedImage>(
+            SoccerUpdateEvent.class);
+
+    /**
+     * Abstand zwischen Oberkante der Event-Einblendung und Grundlinie des Textes je Event
+     */
+    private final Map<SoccerUpdateEvent, Integer> eventSpriteBaselines = new EnumMap<SoccerUpdateEvent, Integer>(
+            SoccerUpdateEvent.class);
+
+    /**
+     * Anzahl der enthaltenen größenabhängigen Sprites
+     */
+    private int sizedSpriteCount = 0;
+
+    /**
+     * Erstellt einen neuen, leeren Zwischenspeicher.
+     *
+     * @param soccerPanel
+     *            Das Panel, für welches die Sprites erstellt werden
+     * @param playerNumbersFont
+     *            Font der Spielernummern
+     * @param eventFont
+     *            Font der Event-Einblendungen
+     * @param eventBoxPadding
+     *            Abstand zwischen Text und Rand des Kastens der Event-Einblendungen
+     * @param eventTextHeight
+     *            Höhe des Textes der Event-Einblendungen
+     */
+    SoccerSpriteCache(SoccerPanel soccerPanel, Font playerNumbersFont, Font eventFont, int eventBoxPadding,
+            int eventTextHeight) {
+        this.soccerPanel = soccerPanel;
+        this.playerNumbersFont = playerNumbersFont;
+        this.eventFont = eventFont;
+        this.eventBoxPadding = eventBoxPadding;
+        this.eventTextHeight = eventTextHeight;
+    }
+
+    /**
+     * Gibt den Schatten eines Spielers zurück. Dieser ist an der Position (x, y + Höhe * 0,1) der umschließenden
+     * Ellipse des Spielers zu zeichnen.
+     *
+     * @param width
+     *            Breite des Spielers in Pixel
+     * @param height
+     *            Höhe des Spielers in Pixel
+     * @return Schatten des Spielers
+     */
+    BufferedImage getShadowSprite(int width, int height) {
+        long key = sizeKey(width, height);
+        BufferedImage sprite = this.shadowSprites.get(key);
+
+        if (sprite == null) {
+            int shadowWidth = (int) Math.round(width * 1.2);
+            sprite = this.createImage(shadowWidth, height);
+
+            Graphics2D g2d = sprite.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setPaint(new GradientPaint(0, -Math.round(height * 0.1), new Color(0.0f, 0.0f, 0.0f, 0.0f), 0,
+                    height - Math.round(height * 0.1), new Color(0.0f, 0.0f, 0.0f, 0.4f)));
+            g2d.fillOval(0, 0, shadowWidth, height);
+            g2d.dispose();
+
+            this.ensureSizedSpriteCapacity();
+            this.shadowSprites.put(key, sprite);
+            this.sizedSpriteCount++;
+        }
+
+        return sprite;
+    }
+
+    /**
+     * Gibt die Kugel eines Spielers zurück. Diese ist an der Position der umschließenden Ellipse des Spielers zu
+     * zeichnen.
+     *
+     * @param color
+     *            Teamfarbe
+     * @param width
+     *            Breite des Spielers in Pixel
+     * @param height
+     *            Höhe des Spielers in Pixel
+     * @return Kugel des Spielers
+     */
+    BufferedImage getPlayerSprite(Color color, int width, int height) {
+        long key = sizeKey(width, height);
+        SizedSpriteTable colorSprites = this.playerSprites.get(color);
+        BufferedImage sprite = (colorSprites == null) ? null : colorSprites.get(key);
+
+        if (sprite == null) {
+            sprite = this.createImage(width, height);
+
+            Color colorCenter = new Color(Math.min(color.getRed() + SPHERE_CENTER_BRIGHTENING, 255), Math.min(
+                    color.getGreen() + SPHERE_CENTER_BRIGHTENING, 255), Math.min(color.getBlue()
+                    + SPHERE_CENTER_BRIGHTENING, 255), color.getAlpha());
+
+            Graphics2D g2d = sprite.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setPaint(new RadialGradientPaint(new Point2D.Double(width / 2d - width / 6d, height / 2d - height
+                    / 6d), width / 2f, new float[] { 0.0f, 1.0f }, new Color[] { colorCenter, color }));
+            g2d.fillOval(0, 0, width, height);
+            g2d.dispose();
+
+            this.ensureSizedSpriteCapacity();
+            colorSprites = this.playerSprites.get(color);
+            if (colorSprites == null) {
+                colorSprites = new SizedSpriteTable();
+                this.playerSprites.put(color, colorSprites);
+            }
+            colorSprites.put(key, sprite);
+            this.sizedSpriteCount++;
+        }
+
+        return sprite;
+    }
+
+    /**
+     * Gibt die Spielernummer zurück. Die Grundlinie des Textes liegt dabei {@link #getNumberAscent()} Pixel unterhalb
+     * der Oberkante des Bildes.
+     *
+     * @param playerId
+     *            Die Spielernummer
+     * @return Spielernummer als Bild
+     */
+    BufferedImage getNumberSprite(int playerId) {
+        BufferedImage sprite = this.numberSprites.get(playerId);
+
+        if (sprite == null) {
+            String playerText = Integer.toString(playerId);
+            FontMetrics metrics = this.soccerPanel.getFontMetrics(this.playerNumbersFont);
+            this.numberAscent = metrics.getAscent();
+
+            sprite = this.createImage(Math.max(1, metrics.stringWidth(playerText)), metrics.getAscent()
+                    + metrics.getDescent());
+
+            Graphics2D g2d = sprite.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setFont(this.playerNumbersFont);
+            g2d.setColor(Color.WHITE);
+            g2d.drawString(playerText, 0, metrics.getAscent());
+            g2d.dispose();
+
+            this.numberSprites.put(playerId, sprite);
+        }
+
+        return sprite;
+    }
+
+    /**
+     * @return Oberlänge des Fonts der Spielernummern in Pixel
+     */
+    int getNumberAscent() {
+        if (this.numberAscent < 0)
+            this.numberAscent = this.soccerPanel.getFontMetrics(this.playerNumbersFont).getAscent();
+
+        return this.numberAscent;
+    }
+
+    /**
+     * Gibt die Einblendung eines Events zurück. Diese besteht aus dem halbtransparenten Kasten sowie dem Text des
+     * Events. Der Abstand zwischen Oberkante des Bildes und Grundlinie des Textes wird über
+     * {@link #getEventSpriteBaseline(SoccerUpdateEvent)} ermittelt, der Text beginnt {@link #eventBoxPadding} Pixel
+     * rechts des linken Bildrands.
+     *
+     * @param event
+     *            Das Event
+     * @return Einblendung des Events, <code>null</code> falls für das Event keine Einblendung vorgesehen ist
+     */
+    BufferedImage getEventSprite(SoccerUpdateEvent event) {
+        if (this.eventSprites.containsKey(event))
+            return this.eventSprites.get(event);
+
+        String eventText;
+        Color textColor;
+
+        switch (event) {
+        case GOAL_SCORED:
+            eventText = "Tor!";
+            textColor = EVENT_GOAL_COLOR;
+            break;
+        case FOUL_OFF:
+            eventText = "Aus!";
+            textColor = EVENT_FOUL_COLOR;
+            break;
+        case FOUL_OFFSIDE:
+            eventText = "Abseits!";
+            textColor = EVENT_FOUL_COLOR;
+            break;
+        case FOUL_TACKLING:
+            eventText = "Foul!";
+            textColor = EVENT_FOUL_COLOR;
+            break;
+        case HALFTIME:
+            eventText = "Halbzeit";
+            textColor = EVENT_GAME_STATE_COLOR;
+            break;
+        case PLAYBACK_END_REACHED:
+            eventText = "Spielende";
+            textColor = EVENT_GAME_STATE_COLOR;
+            break;
+        default:
+            eventText = null;
+            textColor = null;
+            break;
+        }
+
+        BufferedImage sprite = null;
+        if (eventText != null) {
+            FontMetrics metrics = this.soccerPanel.getFontMetrics(this.eventFont);
+            int boxWidth = metrics.stringWidth(eventText) + 2 * this.eventBoxPadding;
+            int boxHeight = this.eventTextHeight + 2 * this.eventBoxPadding;
+            int boxBaseline = this.eventTextHeight + this.eventBoxPadding - 15;
+
+            // Der Text darf über den Kasten hinausragen
+            int textOverhangTop = Math.max(0, metrics.getAscent() - boxBaseline);
+            int textOverhangBottom = Math.max(0, boxBaseline + metrics.getDescent() - boxHeight);
+
+            sprite = this.createImage(boxWidth, textOverhangTop + boxHeight + textOverhangBottom);
+            Graphics2D g2d = sprite.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setColor(EVENT_BOX_COLOR);
+            g2d.fillRect(0, textOverhangTop, boxWidth, boxHeight);
+            g2d.setFont(this.eventFont);
+            g2d.setColor(textColor);
+            g2d.drawString(eventText, this.eventBoxPadding, textOverhangTop + boxBaseline);
+            g2d.dispose();
+
+            this.eventSpriteBaselines.put(event, textOverhangTop + boxBaseline);
+        }
+
+        this.eventSprites.put(event, sprite);
+        return sprite;
+    }
+
+    /**
+     * @param event
+     *            Das Event, dessen Einblendung bereits über {@link #getEventSprite(SoccerUpdateEvent)} erstellt wurde
+     * @return Abstand zwischen Oberkante der Einblendung und Grundlinie des Textes in Pixel
+     */
+    int getEventSpriteBaseline(SoccerUpdateEvent event) {
+        Integer baseline = this.eventSpriteBaselines.get(event);
+        return (baseline == null) ? 0 : baseline;
+    }
+
+    /**
+     * Verwirft sämtliche größenabhängigen Sprites, z.B. nach einer Größenänderung des Panels.
+     */
+    void invalidate() {
+        this.shadowSprites.flushAll();
+        for (SizedSpriteTable colorSprites : this.playerSprites.values())
+            colorSprites.flushAll();
+        this.playerSprites.clear();
+        this.sizedSpriteCount = 0;
+    }
+
+    /**
+     * Verwirft sämtliche Sprites.
+     */
+    void flush() {
+        this.invalidate();
+        flushAll(this.numberSprites);
+        for (BufferedImage sprite : this.eventSprites.values()) {
+            if (sprite != null)
+                sprite.flush();
+        }
+        this.eventSprites.clear();
+        this.eventSpriteBaselines.clear();
+    }
+
+    /**
+     * Verwirft sämtliche größenabhängigen Sprites, falls deren maximale Anzahl erreicht ist. Ist vor dem Erstellen
+     * eines neuen größenabhängigen Sprites aufzurufen.
+     */
+    private void ensureSizedSpriteCapacity() {
+        if (this.sizedSpriteCount >= MAXIMUM_SIZED_SPRITES)
+            this.invalidate();
+    }
+
+    /**
+     * Erstellt ein transparentes Bild, nach Möglichkeit kompatibel zur Grafikkonfiguration des Panels.
+     */
+    private BufferedImage createImage(int width, int height) {
+        width = Math.max(1, width);
+        height = Math.max(1, height);
+
+        GraphicsConfiguration graphicsConfiguration = this.soccerPanel.getGraphicsConfiguration();
+        if (graphicsConfiguration != null)
+            return graphicsConfiguration.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        else
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    /**
+     * Gibt sämtliche Bilder der Map frei und leert diese.
+     */
+    private static <K> void flushAll(Map<K, BufferedImage> sprites) {
+        for (BufferedImage sprite : sprites.values())
+            sprite.flush();
+        sprites.clear();
+    }
+
+    /**
+     * Erstellt den Schlüssel einer Pixelgröße.
+     */
+    private static long sizeKey(int width, int height) {
+        return ((long) width << 32) | (height & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Hashtabelle mit offener Adressierung für größenabhängige Sprites, deren Schlüssel als primitiver
+     * <code>long</code> abgelegt werden. Nachschlagen und Einfügen erzeugen daher keine Objekte. Die Kapazität reicht
+     * für {@link SoccerSpriteCache#MAXIMUM_SIZED_SPRITES} Einträge, welche durch
+     * {@link SoccerSpriteCache#ensureSizedSpriteCapacity()} nicht überschritten werden.
+     */
+    private static class SizedSpriteTable {
+
+        /**
+         * Anzahl der Plätze der Tabelle, Zweierpotenz bei einem maximalen Füllgrad von 50%
+         */
+        private static final int CAPACITY = Integer.highestOneBit(MAXIMUM_SIZED_SPRITES - 1) << 2;
+
+        /**
+         * Schlüssel je Platz, nur gültig, falls der Platz in {@link #sprites} belegt ist
+         */
+        private final long[] keys = new long[CAPACITY];
+
+        /**
+         * Sprite je Platz, <code>null</code> für freie Plätze
+         */
+        private final BufferedImage[] sprites = new BufferedImage[CAPACITY];
+
+        /**
+         * Gibt das Sprite eines Schlüssels zurück.
+         *
+         * @param key
+         *            Schlüssel der Pixelgröße
+         * @return Das Sprite, <code>null</code> falls nicht enthalten
+         */
+        BufferedImage get(long key) {
+            for (int slot = slot(key);; slot = (slot + 1) & (CAPACITY - 1)) {
+                if (this.sprites[slot] == null || this.keys[slot] == key)
+                    return this.sprites[slot];
+            }
+        }
+
+        /**
+         * Legt das Sprite eines Schlüssels ab.
+         *
+         * @param key
+         *            Schlüssel der Pixelgröße
+         * @param sprite
+         *            Das Sprite
+         */
+        void put(long key, BufferedImage sprite) {
+            int slot = slot(key);
+            while (this.sprites[slot] != null && this.keys[slot] != key)
+                slot = (slot + 1) & (CAPACITY - 1);
+
+            this.keys[slot] = key;
+            this.sprites[slot] = sprite;
+        }
+
+        /**
+         * Gibt sämtliche Sprites frei und leert die Tabelle.
+         */
+        void flushAll() {
+            for (int slot = 0; slot < CAPACITY; slot++) {
+                if (this.sprites[slot] != null) {
+                    this.sprites[slot].flush();
+                    this.sprites[slot] = null;
+                }
+            }
+        }
+
+        /**
+         * Ermittelt den ersten zu prüfenden Platz eines Schlüssels.
+         */
+        private static int slot(long key) {
+            int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+            return (hash ^ (hash >>> 16)) & (CAPACITY - 1);
+        }
+    }
+}
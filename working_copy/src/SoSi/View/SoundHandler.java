@@ -1,7 +1,7 @@
 ﻿package SoSi.View;
 
-import java.util.Observable;
-import java.util.Observer;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
 import java.io.IOException;
 
 import javax.sound.sampled.AudioFormat;
@@ -12,14 +12,16 @@ import javax.sound.sampled.DataLine;
 import javax.sound.sampled.LineUnavailableException;
 import javax.sound.sampled.UnsupportedAudioFileException;
 
+import SoSi.Model.ISoccerUpdateListener;
 import SoSi.Model.PlaybackHandler;
 import SoSi.Model.SoccerUpdateEvent;
+import SoSi.Model.SoccerUpdateEventBus;
 
 /**
  * Die Klasse dient zur Augabe von Sounds. Diese werden bei speziellen Spielereignissen (wie z.B. Foul, Tor, Anstoß oder
  * Spielende) wiedergegeben.
  */
-public class SoundHandler implements Observer {
+public class SoundHandler implements ISoccerUpdateListener {
 
     private static final String FOUL_FILEPATH = "Foul.wav";
     private static final String GOAL_FILEPATH = "Applaus.wav";
@@ -27,11 +29,15 @@ public class SoundHandler implements Observer {
     private static final String HALFTIME_FILEPATH = "Halbzeit.wav";
     private static final String END_FILEPATH = "Abpfiff.wav";
 
-    private final Clip foulClip;
-    private final Clip goalClip;
-    private final Clip kickClip;
-    private final Clip halfTimeClip;
-    private final Clip endClip;
+    /**
+     * Die Clips werden im Hintergrund dekodiert (siehe {@link ResourceLoader}). Solange ein Clip noch nicht geladen
+     * wurde, wird dieser nicht wiedergegeben.
+     */
+    private final Future<Clip> foulClip;
+    private final Future<Clip> goalClip;
+    private final Future<Clip> kickClip;
+    private final Future<Clip> halfTimeClip;
+    private final Future<Clip> endClip;
 
     private static final String ERROR_MESSAGE = "Error while loading soundfiles %s (%s)!\n" + "Details: %s\n";
 
@@ -42,20 +48,22 @@ public class SoundHandler implements Observer {
 
     /**
      * Erstellt eine neue Instanz der Klasse. Um auf Ereignisse reagieren zu können, registriert sie sich beim
-     * {@link PlaybackHandler} als Observer. <br>
-     * Damit die Klasse beginnt, Sounds auszugeben, ist ein Aufruf von setEnabled(true) erforderlich.
+     * {@link PlaybackHandler} als Listener. Die Ereignisse werden in einem eigenen Thread
+     * zugestellt, so dass das Abspielen weder die Wiedergabe noch den Event-Dispatch-Thread verzögert.<br>
+     * Damit die Klasse beginnt, Sounds auszugeben, ist ein Aufruf von setEnabled(true) erforderlich.<br>
+     * Die Sounddateien werden parallel im Hintergrund geladen, der Konstruktor kehrt sofort zurück.
      * 
      * @param playbackHandler
      *            Referenz auf {@link PlaybackHandler}.
      */
     public SoundHandler(PlaybackHandler playbackHandler) {
-        playbackHandler.addObserver(this);
+        playbackHandler.addSoccerUpdateListener(this, SoccerUpdateEventBus.Delivery.OWN_THREAD);
 
-        this.foulClip = loadFile(FOUL_FILEPATH);
-        this.goalClip = loadFile(GOAL_FILEPATH);
-        this.kickClip = loadFile(KICK_FILEPATH);
-        this.halfTimeClip = loadFile(HALFTIME_FILEPATH);
-        this.endClip = loadFile(END_FILEPATH);
+        this.foulClip = loadFileAsync(FOUL_FILEPATH);
+        this.goalClip = loadFileAsync(GOAL_FILEPATH);
+        this.kickClip = loadFileAsync(KICK_FILEPATH);
+        this.halfTimeClip = loadFileAsync(HALFTIME_FILEPATH);
+        this.endClip = loadFileAsync(END_FILEPATH);
     }
 
     /**
@@ -70,10 +78,10 @@ public class SoundHandler implements Observer {
     }
 
     @Override
-    public void update(Observable o, Object arg) {
+    public void soccerUpdate(SoccerUpdateEvent event) {
         if (isEnabled) {
             try {
-                switch ((SoccerUpdateEvent) arg) {
+                switch (event) {
                 case FOUL_OFF:
                 case FOUL_OFFSIDE:
                 case FOUL_TACKLING:
@@ -110,12 +118,14 @@ public class SoundHandler implements Observer {
     /**
      * Spielt einen Clip ab. Dabei wird überpürft, ob dieser nicht bereits wiedergegeben wird und die Wiedergabeposition
      * wird an den Anfang gesetzt.<br>
-     * Ist der übergebene Parameter clipToPlay null, so erfolgt keine Wiedergabe.
+     * Wurde der Clip noch nicht oder nicht erfolgreich geladen, so erfolgt keine Wiedergabe.
      * 
-     * @param clipToPlay
+     * @param clipFuture
      *            Abzuspielende Clip-Instanz.
      */
-    private static void playClip(Clip clipToPlay) {
+    private static void playClip(Future<Clip> clipFuture) {
+        Clip clipToPlay = ResourceLoader.getIfDone(clipFuture);
+
         // if (clipToPlay != null) {
         // System.out.println(clipToPlay.toString());
         // System.out.println("active: " + clipToPlay.isActive());
@@ -131,6 +141,22 @@ public class SoundHandler implements Observer {
         }
     }
 
+    /**
+     * Lädt eine Sounddatei im Hintergrund (siehe {@link #loadFile(String)}).
+     * 
+     * @param filename
+     *            Dateiname der zu ladenden Sounddatei
+     * @return Future der geladenen {@link Clip}-Instanz
+     */
+    private Future<Clip> loadFileAsync(final String filename) {
+        return ResourceLoader.submit(new Callable<Clip>() {
+            @Override
+            public Clip call() {
+                return loadFile(filename);
+            }
+        });
+    }
+
     /**
      * Lädt eine Sounddatei und gibt, falls erfolgreich, die entsprechende {@link Clip}-Instanz zurück
      * 
@@ -142,7 +168,7 @@ public class SoundHandler implements Observer {
         Clip clip = null;
         try {
             AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(getClass().getResource(
-                    "/resources/sounds/" + filename));
+                    ResourceLoader.SOUND_PATH + filename));
             AudioFormat format = audioInputStream.getFormat();
             DataLine.Info info = new DataLine.Info(Clip.class, format);
             clip = (Clip) AudioSystem.getLine(info);
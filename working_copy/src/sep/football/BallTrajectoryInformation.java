@@ -0,0 +1,63 @@
+﻿package sep.football;
+
+/**
+ * Optional extension of {@link TickInformation}, which provides the projected
+ * path of the ball as calculated by the simulation itself.
+ *
+ * <p>The projection is calculated once per tick and shared by both AIs. It
+ * covers the following {@link #getBallTrajectoryLength()} ticks and takes the
+ * friction of the ball as well as its rebounds at the boundaries of the field
+ * into account. Players are ignored, so the projection is only valid as long
+ * as no player touches, kicks or possesses the ball.</p>
+ *
+ * <p>An AI may check whether the given tick information supports this
+ * interface via <code>tick instanceof BallTrajectoryInformation</code>.</p>
+ */
+public interface BallTrajectoryInformation extends TickInformation {
+
+	/**
+	 * Returns the number of ticks covered by the projection.
+	 *
+	 * @return The number of projected ticks.
+	 */
+	public int getBallTrajectoryLength();
+
+	/**
+	 * Returns the projected position of the ball.
+	 *
+	 * @param ticksAhead
+	 *            The number of ticks after the current tick. Must be a value in
+	 *            [0, {@link #getBallTrajectoryLength()}], where 0 is the current
+	 *            position of the ball.
+	 * @return The projected position of the ball.
+	 * @throws IndexOutOfBoundsException Thrown, if <code>ticksAhead</code> is
+	 *            not within the projection.
+	 */
+	public Position getPredictedBallPosition(int ticksAhead)
+			throws IndexOutOfBoundsException;
+
+	/**
+	 * Returns the number of ticks until the projected path of the ball reaches
+	 * a position for the first time.
+	 *
+	 * <p>The lookup takes constant time. The field is divided into square
+	 * cells of the size {@link #getBallTrajectoryResolution()}; a position is
+	 * considered reached, once the center of the ball passes through the cell
+	 * containing the position.</p>
+	 *
+	 * @param position
+	 *            The position on the field.
+	 * @return The number of ticks after the current tick, or -1 if the ball
+	 *            does not reach the position within the projection.
+	 */
+	public int getTicksUntilBallReaches(Position position);
+
+	/**
+	 * Returns the edge length of the cells used by
+	 * {@link #getTicksUntilBallReaches(Position)}.
+	 *
+	 * @return The edge length of a cell.
+	 */
+	public double getBallTrajectoryResolution();
+
+}
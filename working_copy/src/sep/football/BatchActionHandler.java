@@ -0,0 +1,33 @@
+﻿package sep.football;
+
+/**
+ * Optional extension of {@link ActionHandler}, which executes all actions of
+ * a tick at once.
+ *
+ * <p>Instead of calling the single action methods, the AI fills an
+ * {@link ActionCommandBuffer} and submits it. The commands are validated and
+ * executed in the order they were added. Rejected commands do not abort the
+ * submission; their reason is written to the buffer.</p>
+ *
+ * <p>An AI may check whether the given action handler supports this interface
+ * via <code>actionHandler instanceof BatchActionHandler</code>.</p>
+ */
+public interface BatchActionHandler extends ActionHandler {
+
+	/**
+	 * Validates and executes all commands of a buffer.
+	 *
+	 * <p>Whether an action type is permitted depends on the kind of the action
+	 * handler: {@link ActionCommandBuffer#ACTION_ACQUIRE_BALL_CONTROL} requires
+	 * a {@link FreePlayActionHandler}, {@link ActionCommandBuffer#ACTION_PLACE_PLAYER}
+	 * a {@link KickActionHandler}.</p>
+	 *
+	 * @param commands
+	 *            The commands to execute. After the call, the result of each
+	 *            command is available via
+	 *            {@link ActionCommandBuffer#getStatus(int)}.
+	 * @return The number of executed commands.
+	 */
+	public int submitCommands(ActionCommandBuffer commands);
+
+}
@@ -0,0 +1,100 @@
+﻿package sep.football;
+
+/**
+ * Optional extension of {@link TickInformation}, which answers spatial
+ * queries about the players of both teams.
+ *
+ * <p>The queries are backed by a spatial index of the players and the ball,
+ * which the simulation builds once per tick and shares between both AIs.
+ * None of the methods allocate memory; results are written into arrays
+ * provided by the AI, which may be reused across ticks. The methods must not be called concurrently by
+ * several threads of the same AI.</p>
+ *
+ * <p>An AI may check whether the given tick information supports this
+ * interface via <code>tick instanceof SpatialQueryInformation</code>.</p>
+ */
+public interface SpatialQueryInformation extends TickInformation {
+
+	/**
+	 * Returns the id of the player closest to a given position.
+	 *
+	 * @param position
+	 *            The position on the field.
+	 * @param ownTeam
+	 *            If <code>true</code>, only players of the AI's team are
+	 *            considered, if <code>false</code> only players of the
+	 *            opposing team.
+	 * @return The id of the closest player.
+	 */
+	public int getNearestPlayer(Position position, boolean ownTeam);
+
+	/**
+	 * Returns the id of the player closest to the ball. The position of the
+	 * ball is taken from the same tick as the positions of the players.
+	 *
+	 * @param ownTeam
+	 *            If <code>true</code>, only players of the AI's team are
+	 *            considered, if <code>false</code> only players of the
+	 *            opposing team.
+	 * @return The id of the player closest to the ball.
+	 */
+	public int getNearestPlayerToBall(boolean ownTeam);
+
+	/**
+	 * Determines the players closest to a given position.
+	 *
+	 * @param position
+	 *            The position on the field.
+	 * @param ownTeam
+	 *            If <code>true</code>, only players of the AI's team are
+	 *            considered, if <code>false</code> only players of the
+	 *            opposing team.
+	 * @param playerIds
+	 *            The array the ids of the closest players are written to,
+	 *            ordered by ascending distance. Its length determines the
+	 *            number of players searched for.
+	 * @return The number of ids written to <code>playerIds</code>.
+	 */
+	public int findNearestPlayers(Position position, boolean ownTeam,
+			int[] playerIds);
+
+	/**
+	 * Determines the players within a given distance of a position.
+	 *
+	 * @param position
+	 *            The position on the field.
+	 * @param radius
+	 *            The maximum distance between the position and the center of
+	 *            a player.
+	 * @param ownTeam
+	 *            If <code>true</code>, only players of the AI's team are
+	 *            considered, if <code>false</code> only players of the
+	 *            opposing team.
+	 * @param playerIds
+	 *            The array the ids of the found players are written to, in no
+	 *            particular order. If more players are found than fit into the
+	 *            array, the remaining ones are omitted.
+	 * @return The number of players within the distance, which may exceed the
+	 *            length of <code>playerIds</code>.
+	 */
+	public int findPlayersWithinRadius(Position position, double radius,
+			boolean ownTeam, int[] playerIds);
+
+	/**
+	 * Determines whether no player of the opposing team is close to the
+	 * straight line between two positions, e.g. for a pass.
+	 *
+	 * @param from
+	 *            The start of the line.
+	 * @param to
+	 *            The end of the line.
+	 * @param clearance
+	 *            The minimum distance between the line and the center of each
+	 *            opposing player.
+	 * @return <code>true</code> if no opposing player is closer to the line
+	 *            than <code>clearance</code>, <code>false</code> otherwise.
+	 */
+	public boolean isPassingLaneOpen(Position from, Position to,
+			double clearance);
+
+}